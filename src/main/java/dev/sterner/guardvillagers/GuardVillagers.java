@@ -6,27 +6,47 @@ import dev.sterner.guardvillagers.common.entity.GuardEntity;
 import dev.sterner.guardvillagers.common.entity.MasonGuardEntity;
 import dev.sterner.guardvillagers.common.entity.FishermanGuardEntity;
 import dev.sterner.guardvillagers.common.entity.LumberjackGuardEntity;
+import dev.sterner.guardvillagers.common.event.GuardVillagersEvents;
 import dev.sterner.guardvillagers.common.handler.JobBlockPlacementHandler;
+import dev.sterner.guardvillagers.common.handler.DebugCommandHandler;
+import dev.sterner.guardvillagers.common.handler.JournalCommandHandler;
 import dev.sterner.guardvillagers.common.network.GuardData;
 import dev.sterner.guardvillagers.common.network.GuardFollowPacket;
 import dev.sterner.guardvillagers.common.network.GuardPatrolPacket;
 import dev.sterner.guardvillagers.common.screenhandler.GuardVillagerScreenHandler;
 import dev.sterner.guardvillagers.common.util.ConvertedWorkerJobSiteReservationManager;
+import dev.sterner.guardvillagers.common.util.DormantVillageEconomy;
 import dev.sterner.guardvillagers.common.util.JobBlockPairingHelper;
+import dev.sterner.guardvillagers.common.util.MapWallFaceIndex;
+import dev.sterner.guardvillagers.common.util.PlacementSpotIndex;
 import dev.sterner.guardvillagers.common.util.RecipeDemandIndex;
+import dev.sterner.guardvillagers.common.util.SmithingMatchIndex;
+import dev.sterner.guardvillagers.common.util.SweepWorldAccess;
 import dev.sterner.guardvillagers.common.util.TakeJobSiteInjectDiagnostics;
+import dev.sterner.guardvillagers.common.util.VillageAiLod;
+import dev.sterner.guardvillagers.common.util.VillageBellMembershipIndex;
+import dev.sterner.guardvillagers.common.util.VillageLivestockRoster;
 import dev.sterner.guardvillagers.common.util.VillageLumberjackSpawnManager;
 import dev.sterner.guardvillagers.common.util.VillageMembershipTracker;
 import dev.sterner.guardvillagers.common.util.VillagePenRegistry;
 import dev.sterner.guardvillagers.common.util.VillagerBellTracker;
 import dev.sterner.guardvillagers.common.util.VillagerBellTracker.BellVillageReport;
 import dev.sterner.guardvillagers.common.util.VillageBellChestPlacementHelper;
+import dev.sterner.guardvillagers.common.util.VillageDroppedItemTracker;
+import dev.sterner.guardvillagers.common.util.VillageEventJournal;
 import dev.sterner.guardvillagers.common.util.VillageGuardStandManager;
+import dev.sterner.guardvillagers.common.util.VillageTreeSupplyIndex;
+import dev.sterner.guardvillagers.common.util.VillageExpansionWorkQueue;
+import dev.sterner.guardvillagers.common.util.WallPathReachabilityCache;
+import dev.sterner.guardvillagers.common.villager.ChestWatcherIndex;
 import dev.sterner.guardvillagers.common.villager.GuardConversionHelper;
 import dev.sterner.guardvillagers.common.villager.LumberjackPopulationBalancingService;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.VillagerConversionCandidateIndex;
 import dev.sterner.guardvillagers.common.villager.VillagerProfessionBehaviorRegistry;
+import dev.sterner.guardvillagers.common.villager.VillagerWorldIndex;
+import net.minecraft.entity.passive.AnimalEntity;
 import net.minecraft.entity.passive.VillagerEntity;
 import dev.sterner.guardvillagers.compat.morevillagers.MoreVillagersBehaviorBridge;
 import net.fabricmc.loader.api.FabricLoader;
@@ -50,6 +70,7 @@ import net.minecraft.block.AbstractBlock;
 import net.minecraft.block.Block;
 import net.minecraft.entity.*;
 import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.entity.decoration.ArmorStandEntity;
 import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.entity.mob.*;
 import net.minecraft.entity.passive.*;
@@ -207,14 +228,22 @@ public class GuardVillagers implements ModInitializer {
         });
 
         ServerLivingEntityEvents.ALLOW_DAMAGE.register(this::onDamage);
+        ServerLivingEntityEvents.AFTER_DEATH.register((entity, damageSource) -> {
+            if (entity.getWorld() instanceof ServerWorld) {
+                VillagerComponents.release(entity, VillagerComponents.ReleaseReason.DIED);
+            }
+        });
         UseEntityCallback.EVENT.register(this::villagerConvert);
         JobBlockPlacementHandler.register();
+        JournalCommandHandler.register();
+        DebugCommandHandler.register();
         UseItemCallback.EVENT.register(this::onUseItem);
         ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
             if (entity instanceof VillagerEntity villagerEntity) {
                 if (world instanceof ServerWorld serverWorld) {
                     JobBlockPairingHelper.refreshVillagerPairings(serverWorld, villagerEntity);
                     VillagerConversionCandidateIndex.markCandidate(serverWorld, villagerEntity);
+                    VillageMembershipTracker.refreshMembership(serverWorld, villagerEntity);
                 }
                 if (villagerEntity.isNatural()) {
                     var spawnChance = MathHelper.clamp(GuardVillagersConfig.spawnChancePerVillager, 0f, 1f);
@@ -243,6 +272,9 @@ public class GuardVillagers implements ModInitializer {
                     }
                 }
             }
+            if (entity instanceof GuardEntity guardEntity && world instanceof ServerWorld serverWorld) {
+                VillageGuardStandManager.onGuardLoaded(serverWorld, guardEntity);
+            }
             if (entity instanceof ButcherGuardEntity guardEntity && world instanceof ServerWorld serverWorld) {
                 JobBlockPairingHelper.refreshButcherGuardPairings(serverWorld, guardEntity);
                 rehydrateConvertedWorkerReservation(serverWorld, guardEntity, guardEntity.getPairedSmokerPos(), VillagerProfession.BUTCHER, "paired smoker");
@@ -256,15 +288,52 @@ public class GuardVillagers implements ModInitializer {
             if (entity instanceof LumberjackGuardEntity guardEntity && world instanceof ServerWorld serverWorld) {
                 rehydrateConvertedWorkerReservation(serverWorld, guardEntity, guardEntity.getPairedCraftingTablePos(), VillagerProfession.NONE, "paired crafting table");
             }
+            if (entity instanceof AnimalEntity && world instanceof ServerWorld serverWorld) {
+                VillageLivestockRoster.onEntityLoad(serverWorld, entity);
+            }
+            if (entity instanceof ItemEntity && world instanceof ServerWorld serverWorld) {
+                VillageDroppedItemTracker.onEntityLoad(serverWorld, entity);
+            }
         });
         ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (world instanceof ServerWorld) {
+                VillagerComponents.release(entity, VillagerComponents.ReleaseReason.UNLOADED);
+            }
             if (entity instanceof VillagerEntity villagerEntity && world instanceof ServerWorld serverWorld) {
                 JobBlockPairingHelper.invalidateVillagerChestPairing(serverWorld, villagerEntity.getUuid());
+                VillageExpansionWorkQueue.onVillagerUnloaded(serverWorld, villagerEntity.getUuid());
+                VillageMembershipTracker.onVillagerUnloaded(serverWorld, villagerEntity.getUuid());
+            }
+            if (entity instanceof GuardEntity guardEntity && world instanceof ServerWorld serverWorld) {
+                VillageGuardStandManager.onGuardUnloaded(serverWorld, guardEntity);
+            }
+            if (entity instanceof ArmorStandEntity armorStand && world instanceof ServerWorld serverWorld) {
+                VillageGuardStandManager.onStandUnloaded(serverWorld, armorStand);
+            }
+            if (entity instanceof AnimalEntity && world instanceof ServerWorld serverWorld) {
+                VillageLivestockRoster.onEntityUnload(serverWorld, entity);
+            }
+            if (entity instanceof ItemEntity && world instanceof ServerWorld serverWorld) {
+                VillageDroppedItemTracker.onEntityUnload(serverWorld, entity);
             }
         });
 
-        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) ->
-                VillagerConversionCandidateIndex.markCandidatesInChunk(world, chunk.getPos().x, chunk.getPos().z));
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
+            VillagerConversionCandidateIndex.markCandidatesInChunk(world, chunk.getPos().x, chunk.getPos().z);
+            VillageTreeSupplyIndex.onChunkLoad(world, chunk);
+            SweepWorldAccess.onChunkLoad(world, chunk);
+            ConvertedWorkerJobSiteReservationManager.onChunkLoad(world, chunk);
+        });
+
+        GuardVillagersEvents.BLOCK_CHANGED.register((world, pos, oldState, newState) -> {
+            WallPathReachabilityCache.onBlockChanged(world, pos);
+            VillageTreeSupplyIndex.onBlockChanged(world, pos, oldState, newState);
+            MapWallFaceIndex.onBlockChanged(world, pos, newState);
+            PlacementSpotIndex.onBlockChanged(world, pos);
+            VillageExpansionWorkQueue.onBlockChanged(world, pos, oldState, newState);
+            ConvertedWorkerJobSiteReservationManager.onBlockChanged(world, pos, newState);
+            VillageMembershipTracker.onBlockChanged(world, pos, oldState, newState);
+        });
 
         ServerWorldEvents.LOAD.register((server, world) -> {
             JobBlockPairingHelper.refreshWorldPairings(world);
@@ -277,12 +346,29 @@ public class GuardVillagers implements ModInitializer {
             LumberjackPopulationBalancingService.onWorldUnload(world.getRegistryKey());
             RecipeDemandIndex.clearWorld(world);
             JobBlockPairingHelper.clearWorldCaches(world);
+            WallPathReachabilityCache.clearWorld(world);
+            VillageEventJournal.clearWorld(world);
+            VillageGuardStandManager.clearWorld(world);
+            VillageTreeSupplyIndex.clearWorld(world);
+            SweepWorldAccess.clearWorld(world);
+            VillageLivestockRoster.clearWorld(world);
+            VillageDroppedItemTracker.clearWorld(world);
+            VillageAiLod.clearWorld(world);
+            DormantVillageEconomy.clearWorld(world);
+            MapWallFaceIndex.clearWorld(world);
+            SmithingMatchIndex.clearWorld(world);
+            VillageExpansionWorkQueue.clearWorld(world);
+            VillageBellMembershipIndex.clearWorld(world);
+            PlacementSpotIndex.clearWorld(world);
+            ChestWatcherIndex.clearWorld(world);
+            VillagerWorldIndex.clearWorld(world);
         });
 
         ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
             int invalidatedWorlds = 0;
             for (ServerWorld world : server.getWorlds()) {
                 RecipeDemandIndex.clearWorld(world);
+                SmithingMatchIndex.clearWorld(world);
                 invalidatedWorlds++;
             }
             LOGGER.info("[recipe-demand-index] invalidated {} world cache entries after datapack reload (success={})", invalidatedWorlds, success);
@@ -294,6 +380,10 @@ public class GuardVillagers implements ModInitializer {
                     VillageGuardStandManager.handlePlayerNearby(world, player);
                 }
                 VillagerBellTracker.tickVillagerReports(world);
+                VillageGuardStandManager.tickStandSync(world);
+                SweepWorldAccess.tick(world);
+                VillageLivestockRoster.tick(world);
+                VillageDroppedItemTracker.tick(world);
                 // 1200 ticks = 60 s. Bell-chest reconciliation can place block states;
                 // running it every 5 seconds was unnecessarily hot.
                 if (world.getTime() % 1200L == 7L) {
@@ -310,6 +400,8 @@ public class GuardVillagers implements ModInitializer {
                 if (world.getTime() % RESERVATION_RECONCILIATION_INTERVAL_TICKS == 0L) {
                     reconcileConvertedWorkerReservations(world, "scheduled");
                 }
+                ConvertedWorkerJobSiteReservationManager.evictStaleIfDue(world);
+                WallPathReachabilityCache.evictIdleIfDue(world);
                 // Re-run pairing for all behavior-registered villagers every 60 s.
                 // This catches foresters (and other soft-dep profession villagers) that
                 // claimed a job site AFTER entity load, so their V1 goals get registered
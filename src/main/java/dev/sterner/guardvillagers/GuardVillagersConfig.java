@@ -292,6 +292,36 @@ public class GuardVillagersConfig extends MidnightConfig {
     public static int quartermasterNaturalVillagePoiScanRadius = 64;
     @Entry(min=1)
     public static int quartermasterNaturalVillageChestLocalPoiRadius = 20;
+    @Entry
+    public static boolean eventJournalEnabled = true;
+    @Entry(min=256)
+    public static int eventJournalCapacity = 8192;
+    @Entry(min=1)
+    public static int eventJournalSampleEvery = 4;
+    @Entry
+    public static List<String> eventJournalDisabledCategories = new ArrayList<>();
+    @Entry
+    public static boolean villageAiLodEnabled = true;
+    @Entry(min=16)
+    public static int villageAiLodNearRange = 96;
+    @Entry(min=16)
+    public static int villageAiLodFarRange = 176;
+    @Entry(min=1)
+    public static int villageAiLodMidCooldownMultiplier = 3;
+    @Entry(min=1)
+    public static int villageAiLodMidTransferBatchSize = 4;
+    @Entry
+    public static boolean villageDormancyEnabled = true;
+    @Entry(min=0)
+    public static int villageDormancyMaxCatchUpDays = 3;
+    @Entry(min=0)
+    public static int villageDormancyMaxCatchUpTransfers = 64;
+    @Entry(min=1)
+    public static int distributionSortieMaxLegs = 4;
+    @Entry(min=1200)
+    public static int lumberjackUpgradeStateTtlTicks = 72000;
+    @Entry(min=1200)
+    public static int convertedWorkerReservationTtlTicks = 72000;
 
     public static void validateClampedRanges() {
         quartermasterScanRange = clamp(quartermasterScanRange, MIN_HEAVY_SCAN_RANGE, MAX_HEAVY_SCAN_RANGE);
@@ -414,6 +444,17 @@ public class GuardVillagersConfig extends MidnightConfig {
                 farmerBonemealScanRadius,
                 MIN_FARMER_BONEMEAL_SCAN_RADIUS,
                 MAX_FARMER_BONEMEAL_SCAN_RADIUS);
+        eventJournalCapacity = clamp(eventJournalCapacity, 256, 1 << 17);
+        eventJournalSampleEvery = clamp(eventJournalSampleEvery, 1, 1024);
+        villageAiLodNearRange = clamp(villageAiLodNearRange, 16, 1024);
+        villageAiLodFarRange = clamp(villageAiLodFarRange, villageAiLodNearRange, 2048);
+        villageAiLodMidCooldownMultiplier = clamp(villageAiLodMidCooldownMultiplier, 1, 16);
+        villageAiLodMidTransferBatchSize = clamp(villageAiLodMidTransferBatchSize, 1, 64);
+        villageDormancyMaxCatchUpDays = clamp(villageDormancyMaxCatchUpDays, 0, 30);
+        villageDormancyMaxCatchUpTransfers = clamp(villageDormancyMaxCatchUpTransfers, 0, 1728);
+        distributionSortieMaxLegs = clamp(distributionSortieMaxLegs, 1, 16);
+        lumberjackUpgradeStateTtlTicks = clamp(lumberjackUpgradeStateTtlTicks, 1200, 24000 * 30);
+        convertedWorkerReservationTtlTicks = clamp(convertedWorkerReservationTtlTicks, 1200, 24000 * 30);
     }
 
     private static int clamp(int value, int min, int max) {
@@ -11,6 +11,8 @@ import dev.sterner.guardvillagers.common.screenhandler.GuardVillagerScreenHandle
 import dev.sterner.guardvillagers.common.util.ConvertedWorkerJobSiteReservationManager;
 import dev.sterner.guardvillagers.common.util.GuardStandEquipmentSync;
 import dev.sterner.guardvillagers.common.util.VillageGuardStandManager;
+import dev.sterner.guardvillagers.common.villager.VillagerComponentHolder;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import net.fabricmc.fabric.api.item.v1.EnchantmentEvents;
 import net.fabricmc.fabric.api.screenhandler.v1.ExtendedScreenHandlerFactory;
 import net.minecraft.component.DataComponentTypes;
@@ -81,7 +83,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 import java.util.function.Predicate;
 
-public class GuardEntity extends PathAwareEntity implements CrossbowUser, RangedAttackMob, Angerable, InventoryChangedListener, InteractionObserver {
+public class GuardEntity extends PathAwareEntity implements CrossbowUser, RangedAttackMob, Angerable, InventoryChangedListener, InteractionObserver, VillagerComponentHolder {
     protected static final TrackedData<Optional<UUID>> OWNER_UNIQUE_ID = DataTracker.registerData(GuardEntity.class, TrackedDataHandlerRegistry.OPTIONAL_UUID);
     private static final EntityAttributeModifier USE_ITEM_SPEED_PENALTY = new EntityAttributeModifier(GuardVillagers.id("speed_penalty"), -0.25D, EntityAttributeModifier.Operation.ADD_VALUE);
     private static final TrackedData<Optional<BlockPos>> GUARD_POS = DataTracker.registerData(GuardEntity.class, TrackedDataHandlerRegistry.OPTIONAL_BLOCK_POS);
@@ -104,6 +106,7 @@ public class GuardEntity extends PathAwareEntity implements CrossbowUser, Ranged
     private BlockPos hornTargetPos;
     private long hornTargetEndTime;
     private final VillagerGossips gossips = new VillagerGossips();
+    private final VillagerComponents components = new VillagerComponents();
     public long lastGossipTime;
     public long lastGossipDecayTime;
     public SimpleInventory guardInventory = new SimpleInventory(6);
@@ -389,6 +392,11 @@ public class GuardEntity extends PathAwareEntity implements CrossbowUser, Ranged
         return this.gossips;
     }
 
+    @Override
+    public VillagerComponents guardvillagers$getComponents() {
+        return this.components;
+    }
+
     public int getPlayerEntityReputation(PlayerEntity player) {
         return this.gossips.getReputationFor(player.getUuid(), (gossipType) -> true);
     }
@@ -446,7 +454,9 @@ public class GuardEntity extends PathAwareEntity implements CrossbowUser, Ranged
 
     @Override
     public void remove(RemovalReason reason) {
-        if (!this.getWorld().isClient && this.getWorld() instanceof ServerWorld serverWorld) {
+        // Unloading keeps the reservation: it is saved and the guard returns to its job site.
+        if (!this.getWorld().isClient && this.getWorld() instanceof ServerWorld serverWorld
+                && reason != RemovalReason.UNLOADED_TO_CHUNK && reason != RemovalReason.UNLOADED_WITH_PLAYER) {
             ConvertedWorkerJobSiteReservationManager.unreserveByGuard(serverWorld, this.getUuid(), "guard removed: " + reason);
         }
         super.remove(reason);
@@ -508,12 +518,6 @@ public class GuardEntity extends PathAwareEntity implements CrossbowUser, Ranged
     @Override
     public void tick() {
         this.maybeDecayGossip();
-        if (!this.getWorld().isClient && this.age % 40 == 0 && this.getWorld() instanceof ServerWorld serverWorld) {
-            VillageGuardStandManager.validateGuardStandPairing(serverWorld, this);
-        }
-        if (!this.getWorld().isClient && this.standCustomizationEnabled && !this.spawnWithArmor && this.age % 20 == 0 && this.getWorld() instanceof ServerWorld serverWorld) {
-            syncGuardFromStand(serverWorld);
-        }
         super.tick();
     }
 
@@ -523,7 +527,11 @@ public class GuardEntity extends PathAwareEntity implements CrossbowUser, Ranged
     }
 
     public void setPairedStandUuid(@Nullable UUID pairedStandUuid) {
+        UUID previousStandUuid = this.pairedStandUuid;
         this.pairedStandUuid = pairedStandUuid;
+        if (!Objects.equals(previousStandUuid, pairedStandUuid) && this.getWorld() instanceof ServerWorld serverWorld) {
+            VillageGuardStandManager.onGuardStandPairingChanged(serverWorld, this, previousStandUuid);
+        }
     }
 
     public boolean isStandCustomizationEnabled() {
@@ -807,6 +815,17 @@ public class GuardEntity extends PathAwareEntity implements CrossbowUser, Ranged
                 this.guardInventory.setStack(4, this.handItems.get(slotIn.getEntitySlotId()));
                 break;
         }
+        if (this.standCustomizationEnabled && this.getWorld() instanceof ServerWorld serverWorld) {
+            VillageGuardStandManager.onGuardEquipmentChanged(serverWorld, this);
+        }
+    }
+
+    @Override
+    public void sendEquipmentBreakStatus(Item item, EquipmentSlot slot) {
+        super.sendEquipmentBreakStatus(item, slot);
+        if (this.standCustomizationEnabled && this.getWorld() instanceof ServerWorld serverWorld) {
+            VillageGuardStandManager.onGuardEquipmentChanged(serverWorld, this);
+        }
     }
 
     public int getGuardVariant() {
@@ -930,19 +949,6 @@ public class GuardEntity extends PathAwareEntity implements CrossbowUser, Ranged
         }
     }
 
-    private void syncGuardFromStand(ServerWorld serverWorld) {
-        if (this.pairedStandUuid == null) {
-            return;
-        }
-
-        Entity standEntity = serverWorld.getEntity(this.pairedStandUuid);
-        if (standEntity instanceof ArmorStandEntity armorStand
-                && armorStand.isAlive()
-                && armorStand.getCommandTags().contains(VillageGuardStandManager.GUARD_STAND_TAG)) {
-            GuardStandEquipmentSync.syncGuardFromStand(this, armorStand);
-        }
-    }
-
 
     @Override
     public void damageArmor(DamageSource damageSource, float damage) {
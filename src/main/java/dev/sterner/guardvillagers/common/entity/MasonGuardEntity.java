@@ -15,6 +15,7 @@ import dev.sterner.guardvillagers.common.entity.goal.MasonWallBuilderGoal;
 import dev.sterner.guardvillagers.common.entity.goal.RaiseShieldGoal;
 import dev.sterner.guardvillagers.common.entity.goal.RunToClericGoal;
 import dev.sterner.guardvillagers.common.entity.goal.WalkBackToCheckPointGoal;
+import dev.sterner.guardvillagers.common.util.MasonShaftRegistryState;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.ai.goal.FleeEntityGoal;
@@ -274,6 +275,17 @@ public class MasonGuardEntity extends GuardEntity {
         this.setTarget(null);
     }
 
+    @Override
+    public void remove(RemovalReason reason) {
+        // Shafts owned by a mason that is gone for good become claimable by the rest of its village.
+        if (this.getWorld() instanceof ServerWorld serverWorld
+                && reason != RemovalReason.UNLOADED_TO_CHUNK && reason != RemovalReason.UNLOADED_WITH_PLAYER) {
+            MasonShaftRegistryState.get(serverWorld.getServer()).releaseShafts(serverWorld.getRegistryKey(),
+                    MasonShaftRegistryState.villageKey(serverWorld, this.pairedChestPos, this.getBlockPos()), this.getUuid());
+        }
+        super.remove(reason);
+    }
+
     @Override
     public void readCustomDataFromNbt(NbtCompound nbt) {
         super.readCustomDataFromNbt(nbt);
@@ -1,5 +1,8 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
+import dev.sterner.guardvillagers.common.util.DormantVillageEconomy;
+import dev.sterner.guardvillagers.common.util.RecipeDemandIndex;
+import dev.sterner.guardvillagers.common.util.VillageAiLod;
 import dev.sterner.guardvillagers.common.villager.CraftingCheckLogger;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
@@ -12,12 +15,13 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
-public abstract class AbstractCraftingGoal<R> extends Goal {
+public abstract class AbstractCraftingGoal<R> extends Goal implements DormantVillageEconomy.Participant {
     protected static final int CHECK_INTERVAL_TICKS = CraftingCheckLogger.MATERIAL_CHECK_INTERVAL_TICKS;
     private static final double TARGET_REACH_SQUARED = 4.0D;
     private static final double MOVE_SPEED = 0.6D;
@@ -74,6 +78,10 @@ public abstract class AbstractCraftingGoal<R> extends Goal {
     }
 
     public void requestCraftNoSoonerThan(long targetTick) {
+        if (villager.getWorld() instanceof ServerWorld world && targetTick > world.getTime()) {
+            long now = world.getTime();
+            targetTick = now + VillageAiLod.tierAt(world, jobPos).scaleCooldown(targetTick - now);
+        }
         if (nextCheckTime == 0L || nextCheckTime > targetTick) {
             nextCheckTime = targetTick;
         }
@@ -90,6 +98,12 @@ public abstract class AbstractCraftingGoal<R> extends Goal {
         if (jobPos == null || chestPos == null) {
             return false;
         }
+        VillageAiLod.Tier lodTier = VillageAiLod.tierAt(world, jobPos);
+        if (!lodTier.runsProfessionWork()) {
+            DormantVillageEconomy.enterDormancy(world, jobPos, this);
+            return false;
+        }
+        DormantVillageEconomy.wakeIfDormant(world, jobPos);
         if (requiresCraftingTable() && !hasCraftingTable(world)) {
             return false;
         }
@@ -111,7 +125,7 @@ public abstract class AbstractCraftingGoal<R> extends Goal {
         List<R> craftableRecipes = discoverRecipes(world, inventory);
         lastCheckCount = craftableRecipes.size();
         logCheck(world, bypassCooldown, lastCheckCount);
-        nextCheckTime = world.getTime() + CHECK_INTERVAL_TICKS;
+        nextCheckTime = world.getTime() + lodTier.scaleCooldown(CHECK_INTERVAL_TICKS);
         immediateCheckPending = false;
         onCheckPerformed(world);
 
@@ -188,6 +202,56 @@ public abstract class AbstractCraftingGoal<R> extends Goal {
         }
     }
 
+    @Override
+    public boolean isDormantParticipantActive() {
+        return villager.isAlive() && !villager.isRemoved() && hasRequiredProfession();
+    }
+
+    @Override
+    public DormantVillageEconomy.Snapshot snapshotForDormancy(ServerWorld world) {
+        refreshDailyLimit(world);
+        return DormantVillageEconomy.Snapshot.producer(chestPos, dailyCraftLimit, craftedToday);
+    }
+
+    /**
+     * Crafts up to {@code budget} recipes straight out of the paired chest, skipping the walk to
+     * the table. Stops at the first check that finds nothing craftable.
+     */
+    @Override
+    public int applyDormantCatchUp(ServerWorld world, DormantVillageEconomy.Snapshot snapshot, int budget,
+                                   @Nullable RecipeDemandIndex.RouteIndex routes) {
+        if (!snapshot.chestPos().equals(chestPos)) {
+            return 0;
+        }
+        Inventory inventory = getChestInventory(world).orElse(null);
+        if (inventory == null) {
+            return 0;
+        }
+        boolean tablePresent = hasCraftingTable(world);
+        int crafted = 0;
+        while (crafted < budget) {
+            List<R> craftable = new ArrayList<>();
+            for (R recipe : discoverRecipes(world, inventory)) {
+                if (tablePresent || !requiresCraftingTableForRecipe(recipe)) {
+                    craftable.add(recipe);
+                }
+            }
+            if (craftable.isEmpty()) {
+                break;
+            }
+            R recipe = chooseRecipe(craftable);
+            if (!canStillCraftRecipe(world, inventory, recipe) || !craftRecipe(world, inventory, recipe)) {
+                break;
+            }
+            crafted++;
+            onCraftSucceeded(world, recipe);
+        }
+        if (crafted > 0) {
+            inventory.markDirty();
+        }
+        return crafted;
+    }
+
     protected void logCheck(ServerWorld world, boolean immediate, int craftableCount) {
         CraftingCheckLogger.report(world, getGoalName(), immediate ? "immediate request" : "natural interval", formatCheckResult(craftableCount));
     }
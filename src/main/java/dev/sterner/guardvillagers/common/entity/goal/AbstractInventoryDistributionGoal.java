@@ -2,7 +2,11 @@ package dev.sterner.guardvillagers.common.entity.goal;
 
 import dev.sterner.guardvillagers.GuardVillagersConfig;
 import dev.sterner.guardvillagers.common.util.DistributionRecipientHelper;
+import dev.sterner.guardvillagers.common.util.DistributionSortieCargoHolder;
+import dev.sterner.guardvillagers.common.util.DormantVillageEconomy;
+import dev.sterner.guardvillagers.common.util.RecipeDemandIndex;
 import dev.sterner.guardvillagers.common.util.UniversalDistributionRouter;
+import dev.sterner.guardvillagers.common.util.VillageAiLod;
 import dev.sterner.guardvillagers.common.util.VillageAnchorState;
 import dev.sterner.guardvillagers.common.villager.CraftingCheckLogger;
 import net.minecraft.block.BarrelBlock;
@@ -13,18 +17,22 @@ import net.minecraft.entity.ai.goal.Goal;
 import net.minecraft.entity.decoration.ArmorStandEntity;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.inventory.Inventory;
+import net.minecraft.inventory.SimpleInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Predicate;
 
-public abstract class AbstractInventoryDistributionGoal extends Goal {
+public abstract class AbstractInventoryDistributionGoal extends Goal implements DormantVillageEconomy.Participant {
     protected static final int CHECK_INTERVAL_TICKS = CraftingCheckLogger.MATERIAL_CHECK_INTERVAL_TICKS;
     protected static final int PATH_RETRY_INTERVAL_TICKS = 20;
     protected static final double TARGET_REACH_SQUARED = 4.0D;
@@ -49,6 +57,10 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
     protected long lastImmediateRequestTick = Long.MIN_VALUE;
     protected boolean pendingUniversalRoute;
     protected boolean pendingOverflowTransfer;
+    /** Universal-route legs still to deliver in the current sortie, after the pending one. */
+    protected final Deque<SortieLeg> queuedSortieLegs = new ArrayDeque<>();
+    /** Sortie cargo slot carrying the pending universal-route leg, or -1 when it is not carried. */
+    protected int pendingCarriedSlot = -1;
 
     protected AbstractInventoryDistributionGoal(VillagerEntity villager, BlockPos jobPos, BlockPos chestPos, BlockPos craftingTablePos) {
         this.villager = villager;
@@ -94,11 +106,17 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
         if (!immediateCheckPending && world.getTime() < nextCheckTime) {
             return false;
         }
+        if (!VillageAiLod.tierAt(world, getDistributionCenter()).runsProfessionWork()) {
+            DormantVillageEconomy.enterDormancy(world, getDistributionCenter(), this);
+            return false;
+        }
+        DormantVillageEconomy.wakeIfDormant(world, getDistributionCenter());
 
         Inventory inventory = getChestInventory(world).orElse(null);
         if (inventory == null) {
             return false;
         }
+        returnOrphanedSortieCargo(world);
 
         boolean universalCandidate = supportsUniversalRouting() && hasUniversalTransferCandidate(world, inventory);
         if (!universalCandidate && !canStartWithInventory(world, inventory)) {
@@ -126,6 +144,12 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
         currentNavigationTarget = null;
         lastPathRequestTick = Long.MIN_VALUE;
         stage = Stage.DONE;
+        if (villager.getWorld() instanceof ServerWorld world) {
+            if (pendingCarriedSlot >= 0) {
+                returnPendingItem(world);
+            }
+            returnQueuedSortieLegs(world);
+        }
     }
 
     @Override
@@ -151,12 +175,12 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
             }
             case GO_TO_TARGET -> {
                 if (pendingItem.isEmpty()) {
-                    stage = Stage.DONE;
+                    finishSortieLeg();
                     return;
                 }
                 if (!refreshPendingTarget(world)) {
                     returnPendingItem(world);
-                    stage = Stage.DONE;
+                    finishSortieLeg();
                     return;
                 }
                 if (isNear(pendingTargetPos)) {
@@ -167,17 +191,17 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
             }
             case EXECUTE_TRANSFER -> {
                 if (pendingItem.isEmpty()) {
-                    stage = Stage.DONE;
+                    finishSortieLeg();
                     return;
                 }
                 if (!refreshPendingTarget(world)) {
                     returnPendingItem(world);
-                    stage = Stage.DONE;
+                    finishSortieLeg();
                     return;
                 }
                 if (executePendingTransfer(world)) {
                     clearPendingState();
-                    stage = Stage.DONE;
+                    finishSortieLeg();
                     return;
                 }
                 if (refreshPendingTarget(world)) {
@@ -185,7 +209,7 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
                     return;
                 }
                 returnPendingItem(world);
-                stage = Stage.DONE;
+                finishSortieLeg();
             }
             case IDLE, DONE -> {
             }
@@ -203,10 +227,86 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
     }
 
     protected void scheduleNextCooldown(ServerWorld world) {
-        nextCheckTime = world.getTime() + CHECK_INTERVAL_TICKS;
+        nextCheckTime = world.getTime() + VillageAiLod.tierAt(world, getDistributionCenter()).scaleCooldown(CHECK_INTERVAL_TICKS);
         immediateCheckPending = false;
     }
 
+    /**
+     * Items one chest-to-chest leg (universal route or overflow) takes from a source stack. Mid-tier
+     * villages batch several items per trip since they distribute less often.
+     */
+    protected int getChestTransferBatchSize(ServerWorld world) {
+        return VillageAiLod.tierAt(world, getDistributionCenter()).transferBatchSize();
+    }
+
+    @Override
+    public boolean isDormantParticipantActive() {
+        return villager.isAlive() && !villager.isRemoved() && matchesProfession(villager);
+    }
+
+    @Override
+    public DormantVillageEconomy.Snapshot snapshotForDormancy(ServerWorld world) {
+        return DormantVillageEconomy.Snapshot.transfer(chestPos, CHECK_INTERVAL_TICKS);
+    }
+
+    /**
+     * Moves up to {@code budget} items from the paired chest straight into universal-route
+     * recipient chests, keeping each recipient under its snapshotted demand-route stock cap.
+     * Stand placement and overflow legs need the villager on site and are left to the real goal.
+     */
+    @Override
+    public int applyDormantCatchUp(ServerWorld world, DormantVillageEconomy.Snapshot snapshot, int budget,
+                                   @Nullable RecipeDemandIndex.RouteIndex routes) {
+        if (!supportsUniversalRouting() || !snapshot.chestPos().equals(chestPos)) {
+            return 0;
+        }
+        Inventory inventory = getChestInventory(world).orElse(null);
+        if (inventory == null) {
+            return 0;
+        }
+        int moved = 0;
+        while (moved < budget) {
+            UniversalDistributionRouter.ResolvedRoute route = resolveUniversalRoute(world, inventory).orElse(null);
+            if (route == null || route.sourceSlot() < 0 || route.sourceSlot() >= inventory.size()) {
+                break;
+            }
+            DistributionRecipientHelper.RecipientRecord recipient = route.splitPlan() != null
+                    ? route.splitPlan().selectedRecipient()
+                    : null;
+            if (recipient == null) {
+                if (route.recipients().isEmpty()) {
+                    break;
+                }
+                recipient = route.recipients().getFirst();
+            }
+            Inventory target = getChestInventoryAt(world, recipient.chestPos()).orElse(null);
+            ItemStack stack = inventory.getStack(route.sourceSlot());
+            if (target == null || stack.isEmpty()) {
+                break;
+            }
+            int room = DormantVillageEconomy.routeStockRoom(routes, stack,
+                    recipient.recipient().getVillagerData().getProfession(), target);
+            int amount = Math.min(Math.min(stack.getCount(), budget - moved), room);
+            if (amount <= 0) {
+                break;
+            }
+            ItemStack remaining = insertStack(target, stack.copyWithCount(amount));
+            int inserted = amount - remaining.getCount();
+            if (inserted <= 0) {
+                break;
+            }
+            stack.decrement(inserted);
+            inventory.setStack(route.sourceSlot(), stack);
+            inventory.markDirty();
+            target.markDirty();
+            moved += inserted;
+            if (!remaining.isEmpty()) {
+                break;
+            }
+        }
+        return moved;
+    }
+
     protected Optional<Inventory> getChestInventory(ServerWorld world) {
         if (chestPos == null) {
             return Optional.empty();
@@ -297,7 +397,19 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
         if (pendingItem.isEmpty()) {
             return;
         }
-        ItemStack remaining = insertStack(getChestInventory(world).orElse(villager.getInventory()), pendingItem);
+        ItemStack stack = pendingItem;
+        if (pendingCarriedSlot >= 0) {
+            sortieCargo().setStack(pendingCarriedSlot, ItemStack.EMPTY);
+        }
+        returnStackToSource(world, stack);
+        clearPendingState();
+    }
+
+    private void returnStackToSource(ServerWorld world, ItemStack stack) {
+        if (stack.isEmpty()) {
+            return;
+        }
+        ItemStack remaining = insertStack(getChestInventory(world).orElse(villager.getInventory()), stack);
         if (!remaining.isEmpty()) {
             ItemStack villagerRemaining = insertStack(villager.getInventory(), remaining);
             if (!villagerRemaining.isEmpty()) {
@@ -305,7 +417,6 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
             }
             villager.getInventory().markDirty();
         }
-        clearPendingState();
     }
 
     protected void clearPendingState() {
@@ -314,6 +425,7 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
         pendingTargetPos = null;
         pendingUniversalRoute = false;
         pendingOverflowTransfer = false;
+        pendingCarriedSlot = -1;
         clearPendingTargetState();
     }
 
@@ -426,7 +538,7 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
                 continue;
             }
 
-            ItemStack extracted = stack.split(1);
+            ItemStack extracted = stack.split(getChestTransferBatchSize(world));
             sourceInventory.setStack(slot, stack);
             sourceInventory.markDirty();
 
@@ -527,6 +639,10 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
         return Optional.ofNullable(ChestBlock.getInventory(chestBlock, state, world, position, false));
     }
 
+    /** One universal-route delivery within a sortie; its items ride in {@code carriedSlot} of the sortie cargo. */
+    protected record SortieLeg(int carriedSlot, UUID recipientId, BlockPos chestPos) {
+    }
+
     protected enum Stage {
         IDLE,
         GO_TO_CHEST,
@@ -603,54 +719,207 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
     }
 
     protected boolean hasUniversalTransferCandidate(ServerWorld world, Inventory inventory) {
-        if (!supportsUniversalRouting() || inventory == null) {
+        if (!supportsUniversalRouting() || inventory == null || getSortieLegCapacity() <= 0) {
             return false;
         }
         return resolveUniversalRoute(world, inventory).isPresent();
     }
 
+    /**
+     * Plans a universal-route sortie from the paired chest: one leg per (item, recipient) pair,
+     * taken from the split plan of each routable source slot, up to {@link #getSortieLegCapacity}
+     * legs and ordered by travel distance. Each leg is moved into a free slot of the villager's
+     * sortie cargo, which is saved with the villager and out of reach of vanilla AI. The first
+     * leg becomes the pending transfer and the rest are queued for {@link #finishSortieLeg()}.
+     */
     protected boolean selectUniversalPendingTransfer(ServerWorld world, Inventory inventory) {
         if (!supportsUniversalRouting() || inventory == null) {
             return false;
         }
 
-        Optional<UniversalDistributionRouter.ResolvedRoute> route = resolveUniversalRoute(world, inventory);
-        if (route.isEmpty()) {
+        List<SortieLeg> legs = planUniversalSortie(world, inventory);
+        if (legs.isEmpty()) {
             return false;
         }
+        inventory.markDirty();
+        sortieCargo().markDirty();
 
-        UniversalDistributionRouter.ResolvedRoute resolvedRoute = route.get();
-        int sourceSlot = resolvedRoute.sourceSlot();
-        if (sourceSlot < 0 || sourceSlot >= inventory.size()) {
-            return false;
-        }
+        queuedSortieLegs.clear();
+        queuedSortieLegs.addAll(orderSortieLegs(chestPos, legs));
+        activateSortieLeg(queuedSortieLegs.poll());
+        return true;
+    }
 
-        ItemStack stack = inventory.getStack(sourceSlot);
-        if (stack.isEmpty()) {
-            return false;
+    protected List<SortieLeg> planUniversalSortie(ServerWorld world, Inventory inventory) {
+        int capacity = getSortieLegCapacity();
+        int batchSize = getChestTransferBatchSize(world);
+        Inventory carried = sortieCargo();
+        // Routes are resolved against a copy so each source slot is planned once per sortie.
+        SimpleInventory view = new SimpleInventory(inventory.size());
+        for (int slot = 0; slot < inventory.size(); slot++) {
+            view.setStack(slot, inventory.getStack(slot).copy());
         }
 
-        UniversalDistributionRouter.SplitPlan splitPlan = resolvedRoute.splitPlan();
-        DistributionRecipientHelper.RecipientRecord recipient = splitPlan != null
-                ? splitPlan.selectedRecipient()
-                : null;
-        if (recipient == null) {
-            List<DistributionRecipientHelper.RecipientRecord> recipients = resolvedRoute.recipients();
-            if (recipients.isEmpty()) {
-                return false;
+        List<SortieLeg> legs = new ArrayList<>();
+        while (legs.size() < capacity) {
+            Optional<UniversalDistributionRouter.ResolvedRoute> route = resolveUniversalRoute(world, view);
+            if (route.isEmpty()) {
+                break;
+            }
+            UniversalDistributionRouter.ResolvedRoute resolvedRoute = route.get();
+            int sourceSlot = resolvedRoute.sourceSlot();
+            if (sourceSlot < 0 || sourceSlot >= inventory.size()) {
+                break;
+            }
+            view.setStack(sourceSlot, ItemStack.EMPTY);
+
+            UniversalDistributionRouter.SplitPlan splitPlan = resolvedRoute.splitPlan();
+            DistributionRecipientHelper.RecipientRecord selected = splitPlan != null
+                    ? splitPlan.selectedRecipient()
+                    : null;
+            if (selected == null) {
+                if (resolvedRoute.recipients().isEmpty()) {
+                    continue;
+                }
+                selected = resolvedRoute.recipients().getFirst();
+            }
+            ItemStack stack = inventory.getStack(sourceSlot);
+            addSortieLeg(legs, inventory, sourceSlot, stack, carried, selected, batchSize);
+            if (splitPlan == null) {
+                continue;
+            }
+            for (UniversalDistributionRouter.RecipientShare share : splitPlan.shares()) {
+                if (legs.size() >= capacity || stack.isEmpty()) {
+                    break;
+                }
+                if (share.share() > 0 && share.recipient() != selected) {
+                    addSortieLeg(legs, inventory, sourceSlot, stack, carried, share.recipient(), Math.min(share.share(), batchSize));
+                }
             }
-            recipient = recipients.getFirst();
         }
-        ItemStack extracted = stack.split(1);
+        return legs;
+    }
+
+    private static void addSortieLeg(List<SortieLeg> legs,
+                                     Inventory inventory,
+                                     int sourceSlot,
+                                     ItemStack stack,
+                                     Inventory carried,
+                                     DistributionRecipientHelper.RecipientRecord recipient,
+                                     int count) {
+        if (stack.isEmpty() || count <= 0) {
+            return;
+        }
+        int carriedSlot = findEmptySlot(carried);
+        if (carriedSlot < 0) {
+            return;
+        }
+        ItemStack extracted = stack.split(count);
         inventory.setStack(sourceSlot, stack);
-        inventory.markDirty();
+        carried.setStack(carriedSlot, extracted);
+        legs.add(new SortieLeg(carriedSlot, recipient.recipient().getUuid(), recipient.chestPos().toImmutable()));
+    }
 
-        pendingItem = extracted;
-        pendingTargetId = recipient.recipient().getUuid();
-        pendingTargetPos = recipient.chestPos();
+    private static int findEmptySlot(Inventory inventory) {
+        for (int slot = 0; slot < inventory.size(); slot++) {
+            if (inventory.getStack(slot).isEmpty()) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Legs one sortie may carry: one per free slot of the sortie cargo, up to
+     * {@code distributionSortieMaxLegs}.
+     */
+    protected int getSortieLegCapacity() {
+        int freeSlots = 0;
+        Inventory carried = sortieCargo();
+        for (int slot = 0; slot < carried.size(); slot++) {
+            if (carried.getStack(slot).isEmpty()) {
+                freeSlots++;
+            }
+        }
+        return Math.min(GuardVillagersConfig.distributionSortieMaxLegs, freeSlots);
+    }
+
+    /** Moves on to the next queued sortie leg, or ends the sortie when none is left. */
+    protected void finishSortieLeg() {
+        SortieLeg next = queuedSortieLegs.poll();
+        if (next == null) {
+            stage = Stage.DONE;
+            return;
+        }
+        activateSortieLeg(next);
+        stage = Stage.GO_TO_TARGET;
+        moveTo(pendingTargetPos);
+    }
+
+    /** Makes {@code leg} the pending transfer, delivering straight from its carried slot. */
+    private void activateSortieLeg(SortieLeg leg) {
+        pendingItem = sortieCargo().getStack(leg.carriedSlot());
+        pendingCarriedSlot = leg.carriedSlot();
+        pendingTargetId = leg.recipientId();
+        pendingTargetPos = leg.chestPos();
         pendingUniversalRoute = true;
         pendingOverflowTransfer = false;
-        return true;
+    }
+
+    protected void returnQueuedSortieLegs(ServerWorld world) {
+        Inventory carried = sortieCargo();
+        while (!queuedSortieLegs.isEmpty()) {
+            returnStackToSource(world, carried.removeStack(queuedSortieLegs.poll().carriedSlot()));
+        }
+        carried.markDirty();
+    }
+
+    /**
+     * Returns cargo no live leg owns to the source chest. Legs live only as long as the goal runs,
+     * so anything still carried between runs was left by an unload, save or profession change
+     * mid-sortie and would otherwise hold a cargo slot forever.
+     */
+    protected void returnOrphanedSortieCargo(ServerWorld world) {
+        if (pendingCarriedSlot >= 0 || !queuedSortieLegs.isEmpty()) {
+            return;
+        }
+        Inventory carried = sortieCargo();
+        if (carried.isEmpty()) {
+            return;
+        }
+        for (int slot = 0; slot < carried.size(); slot++) {
+            returnStackToSource(world, carried.removeStack(slot));
+        }
+        carried.markDirty();
+    }
+
+    protected Inventory sortieCargo() {
+        return ((DistributionSortieCargoHolder) villager).guardvillagers$getSortieCargo();
+    }
+
+    /**
+     * Greedy nearest-neighbour order starting from {@code start}. Legs to the same chest end up
+     * adjacent; ties keep planning order.
+     */
+    static List<SortieLeg> orderSortieLegs(BlockPos start, List<SortieLeg> legs) {
+        List<SortieLeg> remaining = new ArrayList<>(legs);
+        List<SortieLeg> ordered = new ArrayList<>(legs.size());
+        BlockPos current = start;
+        while (!remaining.isEmpty()) {
+            int best = 0;
+            double bestDistance = Double.MAX_VALUE;
+            for (int i = 0; i < remaining.size(); i++) {
+                double distance = remaining.get(i).chestPos().getSquaredDistance(current);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = i;
+                }
+            }
+            SortieLeg next = remaining.remove(best);
+            ordered.add(next);
+            current = next.chestPos();
+        }
+        return ordered;
     }
 
     protected boolean refreshPendingTarget(ServerWorld world) {
@@ -734,12 +1003,12 @@ public abstract class AbstractInventoryDistributionGoal extends Goal {
 
         ItemStack remaining = insertStack(targetInventory, pendingItem);
         targetInventory.markDirty();
-        if (remaining.isEmpty()) {
-            return true;
-        }
-
         pendingItem = remaining;
-        return false;
+        if (pendingCarriedSlot >= 0) {
+            sortieCargo().setStack(pendingCarriedSlot, remaining);
+            sortieCargo().markDirty();
+        }
+        return remaining.isEmpty();
     }
 
     protected boolean executeTransfer(ServerWorld world) {
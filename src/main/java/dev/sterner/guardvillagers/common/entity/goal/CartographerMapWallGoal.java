@@ -1,5 +1,6 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
+import dev.sterner.guardvillagers.common.util.MapWallFaceIndex;
 import net.minecraft.block.BarrelBlock;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
@@ -30,8 +31,8 @@ import java.util.Optional;
  *
  * <p>Behaviour:
  * <ol>
- *   <li>Find a 2×2 wall surface within {@value SCAN_RADIUS} blocks of the job site with
- *       solid backing and clear face positions (air in front).</li>
+ *   <li>Find the nearest 2×2 wall surface within {@value SCAN_RADIUS} blocks of the job site with
+ *       solid backing and clear face positions (air in front), via {@link MapWallFaceIndex}.</li>
  *   <li>Walk to each of the 4 frame positions in sequence.</li>
  *   <li>Consume 1 ITEM_FRAME + 1 FILLED_MAP from chest, spawn an ItemFrameEntity on the wall,
  *       put the map in it.</li>
@@ -208,31 +209,22 @@ public class CartographerMapWallGoal extends Goal {
     private boolean planWall(ServerWorld world) {
         pendingSlots.clear();
 
-        // Search for a 2×2 arrangement on any cardinal wall face within radius.
-        // For each candidate wall block, try all 4 horizontal directions.
-        int range = SCAN_RADIUS;
-        BlockPos center = jobPos;
-
-        for (int dx = -range; dx <= range; dx++) {
-            for (int dy = -2; dy <= 2; dy++) {
-                for (int dz = -range; dz <= range; dz++) {
-                    BlockPos wallBlock = center.add(dx, dy, dz);
-                    if (!world.getBlockState(wallBlock).isSolidBlock(world, wallBlock)) continue;
-
-                    for (Direction dir : Direction.Type.HORIZONTAL) {
-                        // The face position is one block in `dir` from the wall block
-                        List<FrameSlot> slots = tryFind2x2Wall(world, wallBlock, dir);
-                        if (slots != null) {
-                            pendingSlots.addAll(slots);
-                            LOGGER.info("CartographerMapWall {}: planned 2×2 map wall on {} face at {}",
-                                    villager.getUuidAsString(), dir, wallBlock.toShortString());
-                            return true;
-                        }
-                    }
-                }
-            }
+        // Nearest 2×2 arrangement on any cardinal wall face within radius, from the face index.
+        // Each candidate is re-verified against the live world (blocks + existing frames);
+        // candidates that fail are remembered by the index and skipped on the next retries.
+        MapWallFaceIndex.Candidate candidate = MapWallFaceIndex.forWorld(world).findNearest2x2(world, jobPos, SCAN_RADIUS,
+                option -> {
+                    List<FrameSlot> slots = tryFind2x2Wall(world, option.bottomLeftWall(), option.facing());
+                    if (slots == null) return false;
+                    pendingSlots.addAll(slots);
+                    return true;
+                });
+        if (candidate == null) {
+            return false;
         }
-        return false;
+        LOGGER.info("CartographerMapWall {}: planned 2×2 map wall on {} face at {}",
+                villager.getUuidAsString(), candidate.facing(), candidate.bottomLeftWall().toShortString());
+        return true;
     }
 
     /**
@@ -1,6 +1,7 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
 import dev.sterner.guardvillagers.GuardVillagersConfig;
+import dev.sterner.guardvillagers.common.util.SurfaceColumnScan;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
 import net.minecraft.block.CropBlock;
@@ -148,11 +149,26 @@ public class FarmerBonemealGoal extends Goal {
         int maxTargets = GuardVillagersConfig.farmerBonemealMaxApplicationsPerSession;
         List<BlockPos> found = new ArrayList<>();
 
-        for (BlockPos pos : BlockPos.iterate(jobPos.add(-radius, -1, -radius), jobPos.add(radius, 2, radius))) {
-            if (isValidCropTarget(world, pos)) {
-                found.add(pos.toImmutable());
+        int minY = jobPos.getY() - 1;
+        int maxY = jobPos.getY() + 2;
+        BlockPos.Mutable cursor = new BlockPos.Mutable();
+
+        // Crops have no collision, so in an open field each sits directly on its column's heightmap
+        // surface. Columns whose surface is above the band (greenhouse roofs, overhangs) fall back
+        // to checking the band itself.
+        SurfaceColumnScan.capture(world, jobPos, radius).forEachColumn((x, groundY, z) -> {
+            int cropY = groundY + 1;
+            if (cropY > maxY) {
+                for (int y = minY; y <= maxY; y++) {
+                    if (isValidCropTarget(world, cursor.set(x, y, z))) {
+                        found.add(cursor.toImmutable());
+                    }
+                }
+            } else if (cropY >= minY && isValidCropTarget(world, cursor.set(x, cropY, z))) {
+                found.add(cursor.toImmutable());
             }
-        }
+            return true;
+        });
 
         found.sort(Comparator.comparingDouble(p -> p.getSquaredDistance(villager.getPos())));
         if (found.size() > maxTargets) {
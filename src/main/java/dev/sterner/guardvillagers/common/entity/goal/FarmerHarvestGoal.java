@@ -1,6 +1,7 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
 import dev.sterner.guardvillagers.GuardVillagersConfig;
+import dev.sterner.guardvillagers.common.util.VillageLivestockRoster;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
@@ -21,6 +22,8 @@ import net.minecraft.util.Hand;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Direction;
+import dev.sterner.guardvillagers.common.util.VillageAiLod;
+import dev.sterner.guardvillagers.common.util.VillageDroppedItemTracker;
 import dev.sterner.guardvillagers.common.util.VillagePenRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -229,6 +232,11 @@ public class FarmerHarvestGoal extends Goal {
         if (world.getTime() < adaptiveThrottleUntilTick) {
             return false;
         }
+        VillageAiLod.Tier lodTier = VillageAiLod.tierAt(world, jobPos);
+        if (!lodTier.runsProfessionWork()) {
+            nextCheckTime = world.getTime() + lodTier.scaleCooldown(CHECK_INTERVAL_TICKS);
+            return false;
+        }
         int matureCropSignalCount = countMatureCrops(world);
         boolean hasMatureCropSignal = matureCropSignalCount > 0;
         ensureEligibleTerritoryCache(world, false);
@@ -237,7 +245,7 @@ public class FarmerHarvestGoal extends Goal {
         if (isBlockedByTerritoryBootstrap(matureCropSignalCount, eligibleTerritoryCount, MIN_VIABLE_TERRITORY_PLOTS)) {
             LOGGER.debug("Farmer {} blocked by territory bootstrap (eligibleTerritoryCount={} minRequired={} matureCropCount={})",
                     villager.getUuidAsString(), eligibleTerritoryCount, MIN_VIABLE_TERRITORY_PLOTS, matureCropSignalCount);
-            nextCheckTime = world.getTime() + BOOTSTRAP_SCAN_INTERVAL_TICKS;
+            nextCheckTime = world.getTime() + lodTier.scaleCooldown(BOOTSTRAP_SCAN_INTERVAL_TICKS);
             return false;
         }
         if (eligibleTerritoryCount < MIN_VIABLE_TERRITORY_PLOTS) {
@@ -269,7 +277,7 @@ public class FarmerHarvestGoal extends Goal {
                 nextIncrementalSeedPickupTick = world.getTime() + SEED_INCREMENT_INTERVAL_TICKS;
                 tryIncrementalSeedPickupFromChest(world);
             }
-            nextCheckTime = world.getTime() + SEED_INCREMENT_INTERVAL_TICKS;
+            nextCheckTime = world.getTime() + lodTier.scaleCooldown(SEED_INCREMENT_INTERVAL_TICKS);
             return false;
         }
 
@@ -306,7 +314,7 @@ public class FarmerHarvestGoal extends Goal {
                     LOGGER.debug("Farmer {} obligation: {} unseeded farmland blocks, seeds available — resuming",
                             villager.getUuidAsString(), unseededCount);
                 }
-                nextCheckTime = world.getTime() + CHECK_INTERVAL_TICKS;
+                nextCheckTime = world.getTime() + lodTier.scaleCooldown(CHECK_INTERVAL_TICKS);
                 long day = world.getTime() / 24000L;
                 if (day != lastHarvestDay) {
                     lastHarvestDay = day;
@@ -327,7 +335,7 @@ public class FarmerHarvestGoal extends Goal {
                             villager.getUuidAsString(), unseededCount);
                 }
                 wheatSeedForagingRequested = true;
-                nextCheckTime = world.getTime() + CHECK_INTERVAL_TICKS;
+                nextCheckTime = world.getTime() + lodTier.scaleCooldown(CHECK_INTERVAL_TICKS);
                 long day = world.getTime() / 24000L;
                 if (day != lastHarvestDay) {
                     lastHarvestDay = day;
@@ -349,18 +357,18 @@ public class FarmerHarvestGoal extends Goal {
                     && preflight.matureCropCount == 0
                     && preflight.plantedCropCount == 0;
             if (nothingActionable) {
-                nextCheckTime = world.getTime() + IDLE_BACKOFF_INTERVAL_TICKS;
+                nextCheckTime = world.getTime() + lodTier.scaleCooldown(IDLE_BACKOFF_INTERVAL_TICKS);
                 return false;
             }
             dailyHarvestRun = true;
-            nextCheckTime = world.getTime() + CHECK_INTERVAL_TICKS;
+            nextCheckTime = world.getTime() + lodTier.scaleCooldown(CHECK_INTERVAL_TICKS);
             return true;
         }
 
         int matureCount = preflight.matureCropCount;
         boolean canRunForHoeing = preflight.canHoeGround;
         if (matureCount >= 1 || canRunForHoeing) {
-            nextCheckTime = world.getTime() + CHECK_INTERVAL_TICKS;
+            nextCheckTime = world.getTime() + lodTier.scaleCooldown(CHECK_INTERVAL_TICKS);
             return true;
         }
         if (preflight.shouldRun()) {
@@ -372,14 +380,14 @@ public class FarmerHarvestGoal extends Goal {
                     && !preflight.hasSeedsForPlanting
                     && preflight.matureCropCount == 0
                     && preflight.plantedCropCount == 0;
-            nextCheckTime = world.getTime() + (nothingActionable ? IDLE_BACKOFF_INTERVAL_TICKS : CHECK_INTERVAL_TICKS);
+            nextCheckTime = world.getTime() + lodTier.scaleCooldown(nothingActionable ? IDLE_BACKOFF_INTERVAL_TICKS : CHECK_INTERVAL_TICKS);
             if (!nothingActionable) {
                 logBootstrapReason(preflight.reason);
                 return true;
             }
             return false;
         }
-        nextCheckTime = world.getTime() + CHECK_INTERVAL_TICKS;
+        nextCheckTime = world.getTime() + lodTier.scaleCooldown(CHECK_INTERVAL_TICKS);
         return false;
     }
 
@@ -930,9 +938,8 @@ public class FarmerHarvestGoal extends Goal {
 
     private void collectNearbyDrops(ServerWorld world, BlockPos pos) {
         Box box = new Box(pos).expand(2.0D);
-        for (ItemEntity itemEntity : world.getEntitiesByClass(ItemEntity.class, box, entity -> entity.isAlive() && !entity.getStack().isEmpty())) {
-            pickupItemEntity(itemEntity);
-        }
+        VillageDroppedItemTracker.forWorld(world)
+                .pickUpInPlace(box, VillageDroppedItemTracker.DropKind.ANY, villager.getUuid(), entity -> true, this::pickupItemEntity);
     }
 
     private void pickupItemEntity(ItemEntity itemEntity) {
@@ -1352,8 +1359,8 @@ public class FarmerHarvestGoal extends Goal {
     }
 
     private List<AnimalEntity> getAnimalsNearBanner(ServerWorld world) {
-        Box box = new Box(bannerPos).expand(6.0D);
-        return world.getEntitiesByClass(AnimalEntity.class, box, animal -> animal.isAlive() && !animal.isBaby());
+        return VillageLivestockRoster.forWorld(world).getPenRoster(bannerPos, 6.0D, 6.0D)
+                .members(AnimalEntity.class, animal -> !animal.isBaby());
     }
 
     private ItemStack findBreedingStack(Inventory inventory, AnimalEntity animal) {
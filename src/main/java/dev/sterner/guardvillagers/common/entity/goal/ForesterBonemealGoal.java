@@ -1,6 +1,7 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
 import dev.sterner.guardvillagers.GuardVillagersConfig;
+import dev.sterner.guardvillagers.common.util.SurfaceColumnScan;
 import dev.sterner.guardvillagers.common.util.VillageAnchorState;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
@@ -160,21 +161,17 @@ public class ForesterBonemealGoal extends Goal {
         int maxTargets = GuardVillagersConfig.foresterBonemealMaxApplicationsPerSession;
         List<BlockPos> found = new ArrayList<>();
 
-        outer:
-        for (int ring = MIN_PLANT_DISTANCE; ring <= maxRing; ring += 4) {
-            int ringMax = Math.min(ring + 3, maxRing);
-            for (BlockPos candidate : BlockPos.iterate(
-                    center.add(-ringMax, -SCAN_Y_RANGE, -ringMax),
-                    center.add(ringMax, SCAN_Y_RANGE, ringMax))) {
-                double dx = candidate.getX() - center.getX();
-                double dz = candidate.getZ() - center.getZ();
-                double horizDist = Math.sqrt(dx * dx + dz * dz);
-                if (horizDist < ring || horizDist > ringMax) continue;
-                if (!isValidSaplingTarget(world, candidate)) continue;
-                found.add(candidate.toImmutable());
-                if (found.size() >= maxTargets) break outer;
+        // Saplings have no collision, so each one sits directly on its column's ground block; the scan
+        // reads below leaves, so saplings growing under an existing canopy are found too.
+        SurfaceColumnScan surface = SurfaceColumnScan.capture(world, center, maxRing);
+        surface.forEachAnnulusColumn(MIN_PLANT_DISTANCE, maxRing, 4, (x, groundY, z) -> {
+            if (Math.abs(groundY + 1 - center.getY()) > SCAN_Y_RANGE) return true;
+            BlockPos candidate = new BlockPos(x, groundY + 1, z);
+            if (isValidSaplingTarget(world, candidate)) {
+                found.add(candidate);
             }
-        }
+            return found.size() < maxTargets;
+        });
         return found;
     }
 
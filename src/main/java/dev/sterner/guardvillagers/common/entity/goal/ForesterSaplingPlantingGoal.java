@@ -1,5 +1,6 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
+import dev.sterner.guardvillagers.common.util.SurfaceColumnScan;
 import dev.sterner.guardvillagers.common.util.VillageAnchorState;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
@@ -16,7 +17,7 @@ import net.minecraft.registry.tag.ItemTags;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Box;
+import net.minecraft.world.Heightmap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,8 +46,8 @@ import java.util.Set;
  * </ul>
  *
  * <p>Valid planting ground: dirt, grass, podzol, coarse dirt, rooted dirt, or moss.
- * The block immediately above must be air, and no existing sapling/log may exist
- * within {@link #MIN_SAPLING_SPACING} of the candidate.
+ * The block immediately above must be air, and no existing sapling, log or canopy may exist
+ * within {@link #MIN_SAPLING_SPACING} columns of the candidate (see {@link SurfaceColumnScan}).
  */
 public class ForesterSaplingPlantingGoal extends Goal {
 
@@ -358,60 +359,37 @@ public class ForesterSaplingPlantingGoal extends Goal {
                 .orElse(jobPos);
 
         List<BlockPos> found = new ArrayList<>();
-        // Positions already committed in this scan (to enforce spacing between new plantings)
-        List<BlockPos> committed = new ArrayList<>();
 
-        // Scan outward in concentric rings from MIN to MAX so we fill from the inner boundary
+        // One heightmap pass over the whole area, with saplings, logs and canopy folded into a
+        // spacing grid. This reads MOTION_BLOCKING so the canopy itself is the surface: leaves
+        // count as occupied and nothing gets planted in a tree's shade.
+        SurfaceColumnScan surface = SurfaceColumnScan.capture(world, center, MAX_PLANT_DISTANCE + MIN_SAPLING_SPACING,
+                Heightmap.Type.MOTION_BLOCKING,
+                state -> state.isIn(BlockTags.SAPLINGS) || state.isIn(BlockTags.LOGS) || state.isIn(BlockTags.LEAVES));
+        BlockPos.Mutable cursor = new BlockPos.Mutable();
+
+        // Walk outward in 4-block bands from MIN to MAX so we fill from the inner boundary
         // outward. This avoids always landing at the same far corner every run and distributes
         // plantings more evenly around the village perimeter.
-        outer:
-        for (int ring = MIN_PLANT_DISTANCE; ring <= MAX_PLANT_DISTANCE; ring += 4) {
-            int ringMax = Math.min(ring + 3, MAX_PLANT_DISTANCE);
-            for (BlockPos candidate : BlockPos.iterate(
-                    center.add(-ringMax, -SCAN_Y_RANGE, -ringMax),
-                    center.add(ringMax, SCAN_Y_RANGE, ringMax))) {
-
-                double dx = candidate.getX() - center.getX();
-                double dz = candidate.getZ() - center.getZ();
-                double horizDist = Math.sqrt(dx * dx + dz * dz);
-
-                if (horizDist < ring || horizDist > ringMax) continue;
-                if (!VALID_GROUND.contains(world.getBlockState(candidate).getBlock())) continue;
-
-                BlockPos above = candidate.up();
-                if (!world.getBlockState(above).isAir()) continue;
-
-                // No existing sapling or log within spacing radius (keeps trees spread out)
-                if (hasNearbySaplingOrLog(world, candidate, MIN_SAPLING_SPACING)) continue;
-
-                // No committed target within spacing radius
-                boolean tooClose = false;
-                for (BlockPos c : committed) {
-                    if (c.getManhattanDistance(candidate) < MIN_SAPLING_SPACING) {
-                        tooClose = true;
-                        break;
-                    }
-                }
-                if (tooClose) continue;
-
-                found.add(candidate.toImmutable());
-                committed.add(candidate.toImmutable());
-                if (found.size() >= MAX_SAPLINGS_PER_RUN) break outer;
+        surface.forEachAnnulusColumn(MIN_PLANT_DISTANCE, MAX_PLANT_DISTANCE, 4, (x, groundY, z) -> {
+            if (Math.abs(groundY - center.getY()) > SCAN_Y_RANGE) return true;
+            if (!VALID_GROUND.contains(world.getBlockState(cursor.set(x, groundY, z)).getBlock())) return true;
+            if (!world.getBlockState(cursor.set(x, groundY + 1, z)).isAir()) return true;
+
+            // No existing sapling, log or canopy within spacing radius (keeps trees spread out)
+            if (surface.isOccupiedWithin(x, z, MIN_SAPLING_SPACING)) return true;
+
+            // No target committed in this scan within spacing radius
+            BlockPos candidate = new BlockPos(x, groundY, z);
+            for (BlockPos c : found) {
+                if (c.getManhattanDistance(candidate) < MIN_SAPLING_SPACING) return true;
             }
-        }
 
-        return found;
-    }
+            found.add(candidate);
+            return found.size() < MAX_SAPLINGS_PER_RUN;
+        });
 
-    private boolean hasNearbySaplingOrLog(ServerWorld world, BlockPos center, int radius) {
-        Box box = new Box(center).expand(radius);
-        for (BlockPos pos : BlockPos.iterate(
-                (int) box.minX, (int) box.minY, (int) box.minZ,
-                (int) box.maxX, (int) box.maxY, (int) box.maxZ)) {
-            BlockState state = world.getBlockState(pos);
-            if (state.isIn(BlockTags.SAPLINGS) || state.isIn(BlockTags.LOGS)) return true;
-        }
-        return false;
+        return found;
     }
 
     private boolean tryPlantSapling(ServerWorld world, BlockPos groundPos) {
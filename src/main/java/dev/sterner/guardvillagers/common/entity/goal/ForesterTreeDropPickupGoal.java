@@ -1,5 +1,6 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
+import dev.sterner.guardvillagers.common.util.VillageDroppedItemTracker;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
 import net.minecraft.entity.ItemEntity;
@@ -29,7 +30,8 @@ import java.util.Optional;
  * so they don't clog inventory slots.
  *
  * <p>Scanning is throttled by {@link #SCAN_COOLDOWN_TICKS} to avoid per-tick
- * world queries. Once a target item entity is acquired the Forester walks to it,
+ * world queries. Once a target item entity is acquired the Forester claims it in the
+ * {@link VillageDroppedItemTracker} so other collectors leave it alone, walks to it,
  * absorbs it, then either deposits into the chest (V2) or stays put (V1).
  */
 public class ForesterTreeDropPickupGoal extends Goal {
@@ -73,7 +75,7 @@ public class ForesterTreeDropPickupGoal extends Goal {
         this.jobPos = jobPos.toImmutable();
         this.chestPos = chestPos != null ? chestPos.toImmutable() : null;
         this.stage = Stage.IDLE;
-        this.targetItem = null;
+        releaseTarget();
     }
 
     // -------------------------------------------------------------------------
@@ -112,7 +114,7 @@ public class ForesterTreeDropPickupGoal extends Goal {
         villager.getNavigation().stop();
         currentNavTarget = null;
         lastPathRequestTick = Long.MIN_VALUE;
-        targetItem = null;
+        releaseTarget();
         stage = Stage.IDLE;
     }
 
@@ -135,7 +137,7 @@ public class ForesterTreeDropPickupGoal extends Goal {
                 }
                 if (villager.squaredDistanceTo(targetItem) <= REACH_SQ) {
                     absorb(targetItem);
-                    targetItem = null;
+                    releaseTarget();
                     // Check if there are more drops to collect in one trip
                     ItemEntity next = findNearestTreeDrop(world);
                     if (next != null && canAbsorb(next.getStack())) {
@@ -146,6 +148,7 @@ public class ForesterTreeDropPickupGoal extends Goal {
                                 villager.getUuidAsString(),
                                 next.getStack().getCount(),
                                 next.getStack().getItem());
+                        VillageDroppedItemTracker.forWorld(world).release(next, villager.getUuid());
                     } else if (chestPos != null) {
                         stage = Stage.DEPOSIT_TO_CHEST;
                         moveTo(chestPos);
@@ -190,10 +193,12 @@ public class ForesterTreeDropPickupGoal extends Goal {
     // Item scanning
     // -------------------------------------------------------------------------
 
+    /** Finds the nearest unclaimed tree drop and claims it for this villager. */
     private ItemEntity findNearestTreeDrop(ServerWorld world) {
         Box searchBox = new Box(jobPos).expand(PICKUP_RANGE);
-        List<ItemEntity> drops = world.getEntitiesByClass(ItemEntity.class, searchBox,
-                e -> e.isAlive() && !e.isRemoved() && isTreeDrop(e.getStack()));
+        VillageDroppedItemTracker tracker = VillageDroppedItemTracker.forWorld(world);
+        List<ItemEntity> drops = tracker.findDrops(searchBox, VillageDroppedItemTracker.DropKind.TREE, villager.getUuid(),
+                e -> !e.isRemoved() && isTreeDrop(e.getStack()));
         if (drops.isEmpty()) return null;
 
         // Return the closest qualifying drop
@@ -213,9 +218,19 @@ public class ForesterTreeDropPickupGoal extends Goal {
                 best = e;
             }
         }
+        if (best != null) {
+            tracker.claim(best, villager.getUuid());
+        }
         return best;
     }
 
+    private void releaseTarget() {
+        if (targetItem != null && villager.getWorld() instanceof ServerWorld world) {
+            VillageDroppedItemTracker.forWorld(world).release(targetItem, villager.getUuid());
+        }
+        targetItem = null;
+    }
+
     /**
      * Returns true for items that Foresters should collect: saplings, logs,
      * sticks, and apples — the typical drops from a lumberjack tree harvest.
@@ -1,5 +1,7 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
+import dev.sterner.guardvillagers.common.util.DormantVillageEconomy;
+import dev.sterner.guardvillagers.common.util.VillageAiLod;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
 import net.minecraft.entity.decoration.ArmorStandEntity;
@@ -21,10 +23,15 @@ public class LibrarianBellChestDistributionGoal extends AbstractInventoryDistrib
 
     @Override
     protected void scheduleNextCooldown(ServerWorld world) {
-        nextCheckTime = world.getTime() + DISTRIBUTION_INTERVAL_TICKS;
+        nextCheckTime = world.getTime() + VillageAiLod.tierAt(world, getDistributionCenter()).scaleCooldown(DISTRIBUTION_INTERVAL_TICKS);
         immediateCheckPending = false;
     }
 
+    @Override
+    public DormantVillageEconomy.Snapshot snapshotForDormancy(ServerWorld world) {
+        return DormantVillageEconomy.Snapshot.transfer(chestPos, DISTRIBUTION_INTERVAL_TICKS);
+    }
+
     @Override
     protected boolean isDistributableItem(ItemStack stack) {
         return !stack.isEmpty();
@@ -4,6 +4,9 @@ import dev.sterner.guardvillagers.common.entity.LumberjackGuardEntity;
 import dev.sterner.guardvillagers.common.util.DistributionInventoryAccess;
 import dev.sterner.guardvillagers.common.util.JobBlockPairingHelper;
 import dev.sterner.guardvillagers.common.util.LumberjackUpgradeState;
+import dev.sterner.guardvillagers.common.util.PlacementSpotIndex;
+import dev.sterner.guardvillagers.common.util.VillageAiLod;
+import dev.sterner.guardvillagers.common.util.VillageExpansionWorkQueue;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import dev.sterner.guardvillagers.common.villager.behavior.LumberjackChestTriggerBehavior;
 import net.minecraft.block.BlockState;
@@ -20,6 +23,7 @@ import net.minecraft.item.Items;
 import net.minecraft.registry.tag.TagKey;
 import net.minecraft.registry.tag.ItemTags;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockBox;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.GlobalPos;
 import net.minecraft.util.math.BlockPos;
@@ -31,10 +35,9 @@ import org.slf4j.LoggerFactory;
 import java.util.Comparator;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
@@ -51,27 +54,6 @@ public final class LumberjackChestTriggerController {
     private static final long MIDPOINT_RETRY_MAX_DELAY_TICKS = 20L * 60L * 8L;
     private static final int MIDPOINT_RETRY_MAX_ATTEMPTS = 5;
     private static final int IMMEDIATE_UPGRADE_PASS_MAX_ACTIONS = 12;
-    private static final Map<UUID, UpgradeStage> UPGRADE_STAGE_BY_VILLAGER = new HashMap<>();
-    private static final Map<BlockPos, UpgradeStage> UPGRADE_STAGE_BY_JOB_SITE = new HashMap<>();
-    private static final Map<UUID, Long> CHEST_PAIRED_TICKS_BY_VILLAGER = new HashMap<>();
-    private static final Map<BlockPos, Long> CHEST_PAIRED_TICKS_BY_JOB_SITE = new HashMap<>();
-    private static final Map<UUID, MidpointRetryBackoffState> MIDPOINT_RETRY_STATE_BY_GUARD = new HashMap<>();
-    private static final Set<VillagerProfession> CHECKED_JOB_PROFESSIONS = Set.of(
-            VillagerProfession.NONE,
-            VillagerProfession.ARMORER,
-            VillagerProfession.BUTCHER,
-            VillagerProfession.CARTOGRAPHER,
-            VillagerProfession.CLERIC,
-            VillagerProfession.FARMER,
-            VillagerProfession.FISHERMAN,
-            VillagerProfession.FLETCHER,
-            VillagerProfession.LIBRARIAN,
-            VillagerProfession.LEATHERWORKER,
-            VillagerProfession.MASON,
-            VillagerProfession.SHEPHERD,
-            VillagerProfession.TOOLSMITH,
-            VillagerProfession.WEAPONSMITH
-    );
 
     /**
      * Priority order for crafting table placement. Lower index = higher priority.
@@ -93,6 +75,7 @@ public final class LumberjackChestTriggerController {
             VillagerProfession.SHEPHERD,
             VillagerProfession.FISHERMAN
     );
+    private static final Map<VillagerProfession, Integer> V2_CRAFTING_TABLE_PROFESSION_RANK = rankProfessions(V2_CRAFTING_TABLE_PROFESSION_PRIORITY);
 
     private static final List<TriggerRule> RULES = List.of(
             new TriggerRule("craft_place_furnace_modifier", 100,
@@ -121,7 +104,7 @@ public final class LumberjackChestTriggerController {
             return;
         }
 
-        cleanupInvalidV2ChestDelayEntries(world, guard);
+        LumberjackUpgradeState.get(world.getServer()).evictStaleIfDue(world);
 
         BlockPos chestPos = guard.getPairedChestPos();
         if (chestPos != null) {
@@ -401,7 +384,8 @@ public final class LumberjackChestTriggerController {
                                                                      int maxAttempts) {
         long now = world.getTime();
         UUID guardId = guard.getUuid();
-        MidpointRetryBackoffState previous = MIDPOINT_RETRY_STATE_BY_GUARD.get(guardId);
+        LumberjackUpgradeState state = LumberjackUpgradeState.get(world.getServer());
+        LumberjackUpgradeState.RetryBackoff previous = state.getRetryBackoff(world.getRegistryKey(), guardId);
         if (previous != null && now < previous.nextAllowedScheduleTick()) {
             return new MidpointRetryPlan(false, previous.attempt(), previous.delayTicks(), previous.nextAllowedScheduleTick(), true);
         }
@@ -411,12 +395,14 @@ public final class LumberjackChestTriggerController {
         long retryTick = now + computedDelay;
         guard.setNextTriggerEvaluationTick(retryTick);
         guard.clearTriggerEvaluationRequest();
-        MIDPOINT_RETRY_STATE_BY_GUARD.put(guardId, new MidpointRetryBackoffState(attempt, computedDelay, retryTick));
+        state.putRetryBackoff(world.getRegistryKey(), guardId, new LumberjackUpgradeState.RetryBackoff(attempt, computedDelay, retryTick), now);
         return new MidpointRetryPlan(true, attempt, computedDelay, retryTick, false);
     }
 
     public static void resetMidpointUpgradeRetryBackoff(LumberjackGuardEntity guard) {
-        MIDPOINT_RETRY_STATE_BY_GUARD.remove(guard.getUuid());
+        if (guard.getWorld() instanceof ServerWorld world) {
+            LumberjackUpgradeState.get(world.getServer()).removeRetryBackoff(world.getRegistryKey(), guard.getUuid());
+        }
     }
 
     static long computeCappedRetryDelay(long retryDelayTicks, long maxRetryDelayTicks, int attempt) {
@@ -487,7 +473,7 @@ public final class LumberjackChestTriggerController {
 
     public static int countActionableEligibleV1VillagersMissingPairedChest(ServerWorld world, LumberjackGuardEntity guard) {
         int count = 0;
-        for (VillagerEntity villager : collectNearbyVillagers(world, guard)) {
+        for (VillagerEntity villager : collectPendingVillagers(world, guard)) {
             if (!isEligibleV1Villager(world, villager)) {
                 continue;
             }
@@ -507,7 +493,7 @@ public final class LumberjackChestTriggerController {
 
     public static int countEligibleV2VillagersMissingCraftingTable(ServerWorld world, LumberjackGuardEntity guard) {
         int count = 0;
-        for (VillagerEntity villager : collectNearbyVillagers(world, guard)) {
+        for (VillagerEntity villager : collectPendingVillagers(world, guard)) {
             if (isEligibleV2VillagerMissingCraftingTableQuery(world, villager)) {
                 count++;
             }
@@ -761,7 +747,7 @@ public final class LumberjackChestTriggerController {
             return false;
         }
 
-        for (VillagerEntity villager : collectNearbyVillagers(context.world(), context.guard())) {
+        for (VillagerEntity villager : collectPendingVillagers(context.world(), context.guard())) {
             if (!isEligibleV1Villager(context.world(), villager)) {
                 continue;
             }
@@ -1143,29 +1129,66 @@ public final class LumberjackChestTriggerController {
         }
     }
 
-    private static ArrayList<VillagerEntity> collectNearbyVillagers(ServerWorld world, LumberjackGuardEntity guard) {
-        return new ArrayList<>(world.getEntitiesByClass(
-                VillagerEntity.class,
+    /**
+     * Villagers in the guard's expansion scan box that the {@link VillageExpansionWorkQueue} still
+     * lists as needing a chest or crafting table.
+     */
+    private static List<VillagerEntity> collectPendingVillagers(ServerWorld world, LumberjackGuardEntity guard) {
+        return VillageExpansionWorkQueue.forWorld(world).pendingVillagers(
+                world,
                 villageExpansionScanBox(guard.getPairedJobPos(), guard.getBlockPos()),
-                VillagerEntity::isAlive
-        ));
+                villager -> classifyExpansionNeed(world, villager));
     }
 
     /**
-     * Returns nearby villagers sorted by the V2 crafting table profession priority order.
+     * Pending villagers sorted by the V2 crafting table profession priority order.
      * Professions listed in {@link #V2_CRAFTING_TABLE_PROFESSION_PRIORITY} are placed first;
      * all unlisted professions are appended at the end in their natural order.
      */
     private static List<VillagerEntity> collectNearbyVillagersForV2Placement(ServerWorld world, LumberjackGuardEntity guard) {
-        List<VillagerEntity> villagers = collectNearbyVillagers(world, guard);
-        villagers.sort(Comparator.comparingInt(v -> {
-            int idx = V2_CRAFTING_TABLE_PROFESSION_PRIORITY.indexOf(
-                    v.getVillagerData().getProfession());
-            return idx < 0 ? V2_CRAFTING_TABLE_PROFESSION_PRIORITY.size() : idx;
-        }));
+        List<VillagerEntity> villagers = collectPendingVillagers(world, guard);
+        villagers.sort(Comparator.comparingInt(v -> V2_CRAFTING_TABLE_PROFESSION_RANK.getOrDefault(
+                v.getVillagerData().getProfession(), V2_CRAFTING_TABLE_PROFESSION_PRIORITY.size())));
         return villagers;
     }
 
+    private static Map<VillagerProfession, Integer> rankProfessions(List<VillagerProfession> priority) {
+        Map<VillagerProfession, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < priority.size(); i++) {
+            ranks.putIfAbsent(priority.get(i), i);
+        }
+        return Map.copyOf(ranks);
+    }
+
+    /**
+     * Classifies a villager queued after a job-site, profession or nearby chest/table change, and
+     * drops a CHEST_PAIRED stage the change invalidated (chest gone, or a table already present).
+     */
+    private static VillageExpansionWorkQueue.Need classifyExpansionNeed(ServerWorld world, VillagerEntity villager) {
+        UUID villagerId = villager.getUuid();
+        BlockPos jobPos = resolveVillagerJobSite(world, villager);
+        if (jobPos == null) {
+            clearUpgradeState(world, villagerId, null);
+            return VillageExpansionWorkQueue.Need.NONE;
+        }
+
+        boolean hasChest = JobBlockPairingHelper.findNearbyChest(world, jobPos, jobPos).isPresent();
+        boolean hasCraftingTable = findNearbyCraftingTable(world, jobPos) != null;
+        if (LumberjackUpgradeState.get(world.getServer()).isTracked(world.getRegistryKey(), villagerId)
+                && getTrackedUpgradeStage(world, villagerId, jobPos) == UpgradeStage.CHEST_PAIRED
+                && (!hasChest || hasCraftingTable)) {
+            clearUpgradeState(world, villagerId, jobPos);
+        }
+
+        if (!isEligibleV1Villager(world, villager)) {
+            return VillageExpansionWorkQueue.Need.NONE;
+        }
+        if (!hasChest) {
+            return VillageExpansionWorkQueue.Need.CHEST;
+        }
+        return hasCraftingTable ? VillageExpansionWorkQueue.Need.NONE : VillageExpansionWorkQueue.Need.CRAFTING_TABLE;
+    }
+
     private static ArrayList<VillagerEntity> collectVillagersNearAnchor(ServerWorld world, BlockPos anchor, double radius) {
         return new ArrayList<>(world.getEntitiesByClass(
                 VillagerEntity.class,
@@ -1176,7 +1199,7 @@ public final class LumberjackChestTriggerController {
 
     private static List<VillagerEntity> collectEligibleV1MissingChestVillagers(ServerWorld world, LumberjackGuardEntity guard) {
         List<VillagerEntity> missing = new ArrayList<>();
-        for (VillagerEntity villager : collectNearbyVillagers(world, guard)) {
+        for (VillagerEntity villager : collectPendingVillagers(world, guard)) {
             if (!isEligibleV1Villager(world, villager)) {
                 continue;
             }
@@ -1288,112 +1311,39 @@ public final class LumberjackChestTriggerController {
         return !requireDelay || now - chestPairedTick >= V2_AFTER_CHEST_DELAY_TICKS;
     }
 
-    private static void cleanupInvalidV2ChestDelayEntries(ServerWorld world, LumberjackGuardEntity guard) {
-        if (UPGRADE_STAGE_BY_VILLAGER.isEmpty()) {
-            return;
-        }
-
-        Iterator<VillagerEntity> iterator = collectNearbyVillagers(world, guard).iterator();
-        while (iterator.hasNext()) {
-            VillagerEntity villager = iterator.next();
-            UUID villagerId = villager.getUuid();
-            if (!UPGRADE_STAGE_BY_VILLAGER.containsKey(villagerId)) {
-                continue;
-            }
-
-            BlockPos jobPos = resolveVillagerJobSite(world, villager);
-            if (jobPos == null) {
-                clearUpgradeState(world, villagerId, null);
-                continue;
-            }
-
-            UpgradeStage stage = getTrackedUpgradeStage(world, villagerId, jobPos);
-            if (stage == UpgradeStage.CHEST_PAIRED
-                    && (!JobBlockPairingHelper.findNearbyChest(world, jobPos, jobPos).isPresent()
-                    || findNearbyCraftingTable(world, jobPos) != null)) {
-                clearUpgradeState(world, villagerId, jobPos);
-            }
-        }
-    }
-
     private static void transitionUpgradeStageToChestPaired(ServerWorld world, UUID villagerId, BlockPos jobPos) {
-        hydrateUpgradeStageToChestPaired(world, world.getTime(), villagerId, jobPos);
+        putUpgradeStage(world, villagerId, jobPos, UpgradeStage.CHEST_PAIRED, world.getTime());
     }
 
-    private static void hydrateUpgradeStageToChestPaired(ServerWorld world, long now, UUID villagerId, BlockPos jobPos) {
-        BlockPos immutableJobPos = jobPos.toImmutable();
-        UPGRADE_STAGE_BY_VILLAGER.put(villagerId, UpgradeStage.CHEST_PAIRED);
-        UPGRADE_STAGE_BY_JOB_SITE.put(immutableJobPos, UpgradeStage.CHEST_PAIRED);
-        CHEST_PAIRED_TICKS_BY_VILLAGER.put(villagerId, now);
-        CHEST_PAIRED_TICKS_BY_JOB_SITE.put(immutableJobPos, now);
-        LumberjackUpgradeState.get(world.getServer()).putEntry(world, villagerId, immutableJobPos, UpgradeStage.CHEST_PAIRED, now);
+    private static void transitionUpgradeStageToTablePaired(ServerWorld world, UUID villagerId, BlockPos jobPos) {
+        putUpgradeStage(world, villagerId, jobPos, UpgradeStage.TABLE_PAIRED, 0L);
     }
 
-    private static void transitionUpgradeStageToTablePaired(ServerWorld world, UUID villagerId, BlockPos jobPos) {
-        BlockPos immutableJobPos = jobPos.toImmutable();
-        UPGRADE_STAGE_BY_VILLAGER.put(villagerId, UpgradeStage.TABLE_PAIRED);
-        UPGRADE_STAGE_BY_JOB_SITE.put(immutableJobPos, UpgradeStage.TABLE_PAIRED);
-        CHEST_PAIRED_TICKS_BY_VILLAGER.remove(villagerId);
-        CHEST_PAIRED_TICKS_BY_JOB_SITE.remove(immutableJobPos);
-        LumberjackUpgradeState.get(world.getServer()).putEntry(world, villagerId, immutableJobPos, UpgradeStage.TABLE_PAIRED, 0L);
+    private static void putUpgradeStage(ServerWorld world, UUID villagerId, BlockPos jobPos, UpgradeStage stage, long chestPairedTick) {
+        LumberjackUpgradeState.get(world.getServer()).putEntry(world.getRegistryKey(), villagerId, jobPos,
+                VillageAiLod.villageKeyAt(world, jobPos), stage, chestPairedTick, world.getTime());
     }
 
     private static UpgradeStage getTrackedUpgradeStage(ServerWorld world, UUID villagerId, BlockPos jobPos) {
-        UpgradeStage stage = getUpgradeStage(villagerId, jobPos);
-        if (stage != UpgradeStage.UNPAIRED || jobPos == null) {
-            return stage;
-        }
-
-        LumberjackUpgradeState.EntryValue entry = LumberjackUpgradeState.get(world.getServer())
-                .getEntry(world, villagerId, jobPos)
-                .orElse(null);
-        if (entry == null || !canHydrateFromPersistedStage(entry.stage())) {
-            return UpgradeStage.UNPAIRED;
-        }
-
-        if (entry.stage() == UpgradeStage.CHEST_PAIRED) {
-            hydrateUpgradeStageToChestPaired(world, entry.chestPairedTick(), villagerId, jobPos);
-            return UpgradeStage.CHEST_PAIRED;
-        }
-
-        BlockPos immutableJobPos = jobPos.toImmutable();
-        UPGRADE_STAGE_BY_VILLAGER.put(villagerId, UpgradeStage.TABLE_PAIRED);
-        UPGRADE_STAGE_BY_JOB_SITE.put(immutableJobPos, UpgradeStage.TABLE_PAIRED);
-        CHEST_PAIRED_TICKS_BY_VILLAGER.remove(villagerId);
-        CHEST_PAIRED_TICKS_BY_JOB_SITE.remove(immutableJobPos);
-        return UpgradeStage.TABLE_PAIRED;
+        return findTrackedEntry(world, villagerId, jobPos)
+                .map(LumberjackUpgradeState.EntryValue::stage)
+                .filter(LumberjackChestTriggerController::canHydrateFromPersistedStage)
+                .orElse(UpgradeStage.UNPAIRED);
     }
 
-    private static UpgradeStage getUpgradeStage(UUID villagerId, BlockPos jobPos) {
-        UpgradeStage villagerStage = UPGRADE_STAGE_BY_VILLAGER.get(villagerId);
-        if (villagerStage != null) {
-            return villagerStage;
-        }
-        if (jobPos != null) {
-            UpgradeStage jobSiteStage = UPGRADE_STAGE_BY_JOB_SITE.get(jobPos);
-            if (jobSiteStage != null) {
-                return jobSiteStage;
-            }
-        }
-        return UpgradeStage.UNPAIRED;
+    private static Optional<LumberjackUpgradeState.EntryValue> findTrackedEntry(ServerWorld world, UUID villagerId, BlockPos jobPos) {
+        return LumberjackUpgradeState.get(world.getServer()).getEntry(world.getRegistryKey(), villagerId, jobPos, world.getTime());
     }
 
     private static boolean hasMetV2ChestDelay(ServerWorld world, UUID villagerId, BlockPos jobPos) {
-        Long placedTick = CHEST_PAIRED_TICKS_BY_VILLAGER.get(villagerId);
-        if (placedTick == null) {
-            placedTick = CHEST_PAIRED_TICKS_BY_JOB_SITE.get(jobPos);
-        }
-        return placedTick != null && world.getTime() - placedTick >= V2_AFTER_CHEST_DELAY_TICKS;
+        return findTrackedEntry(world, villagerId, jobPos)
+                .filter(entry -> entry.stage() == UpgradeStage.CHEST_PAIRED)
+                .map(entry -> world.getTime() - entry.chestPairedTick() >= V2_AFTER_CHEST_DELAY_TICKS)
+                .orElse(false);
     }
 
     private static void clearUpgradeState(ServerWorld world, UUID villagerId, BlockPos jobPos) {
-        UPGRADE_STAGE_BY_VILLAGER.remove(villagerId);
-        CHEST_PAIRED_TICKS_BY_VILLAGER.remove(villagerId);
-        if (jobPos != null) {
-            UPGRADE_STAGE_BY_JOB_SITE.remove(jobPos);
-            CHEST_PAIRED_TICKS_BY_JOB_SITE.remove(jobPos);
-            LumberjackUpgradeState.get(world.getServer()).removeEntry(world, villagerId, jobPos);
-        }
+        LumberjackUpgradeState.get(world.getServer()).removeEntry(world.getRegistryKey(), villagerId, jobPos);
     }
 
     static boolean canHydrateFromPersistedStage(UpgradeStage persistedStage) {
@@ -1466,34 +1416,8 @@ public final class LumberjackChestTriggerController {
     }
 
     private static BlockPos findPlacementNear(ServerWorld world, BlockPos center, double range, BlockPos secondaryAnchor) {
-        int blockRange = (int) Math.ceil(range);
-        BlockPos best = null;
-        double bestDistance = Double.MAX_VALUE;
-
-        for (BlockPos candidate : BlockPos.iterate(center.add(-blockRange, -1, -blockRange), center.add(blockRange, 1, blockRange))) {
-            if (!center.isWithinDistance(candidate, range)) {
-                continue;
-            }
-            if (secondaryAnchor != null && !secondaryAnchor.isWithinDistance(candidate, range)) {
-                continue;
-            }
-            if (!world.getBlockState(candidate).isReplaceable()) {
-                continue;
-            }
-
-            BlockPos below = candidate.down();
-            if (!world.getBlockState(below).isSolidBlock(world, below)) {
-                continue;
-            }
-
-            double distance = center.getSquaredDistance(candidate);
-            if (distance < bestDistance) {
-                bestDistance = distance;
-                best = candidate.toImmutable();
-            }
-        }
-
-        return best;
+        return PlacementSpotIndex.forWorld(world)
+                .findNearest(world, center, range, secondaryAnchor, 1, PlacementSpotIndex.SOLID_FLOOR, null);
     }
 
     private static BlockPos findOwnedExistingFurnace(ServerWorld world, LumberjackGuardEntity guard) {
@@ -1552,22 +1476,22 @@ public final class LumberjackChestTriggerController {
                 Math.max(chestPos.getZ(), tablePos.getZ()) + range
         );
 
+        double zoneRange = JobBlockPairingHelper.JOB_BLOCK_PAIRING_RANGE + 2.0D;
         FurnacePlacementCandidate best = null;
-        for (BlockPos pos : BlockPos.iterate(min, max)) {
-            if (!world.getBlockState(pos).isReplaceable()) {
+        for (PlacementSpotIndex.Spot spot : PlacementSpotIndex.forWorld(world)
+                .spotsIn(world, BlockBox.create(min, max), PlacementSpotIndex.SOLID_FLOOR)) {
+            BlockPos pos = spot.pos();
+            if (!pos.isWithinDistance(chestPos, zoneRange) || !pos.isWithinDistance(tablePos, zoneRange)) {
                 continue;
             }
-            BlockPos below = pos.down();
-            if (!world.getBlockState(below).isSolidBlock(world, below)) {
-                continue;
-            }
-            if (!belongsToPairedLumberjackZone(world, guard, pos)) {
+            // Only spots flagged next to a job block need the full foreign-job-block check.
+            if (spot.has(PlacementSpotIndex.NEAR_JOB_BLOCK) && isAdjacentToUnrelatedJobBlock(world, pos, chestPos, tablePos)) {
                 continue;
             }
 
             int score = scoreWorkflowPosition(world, pos, chestPos, tablePos);
             if (best == null || score > best.score()) {
-                best = new FurnacePlacementCandidate(pos.toImmutable(), score, "workflow_scored");
+                best = new FurnacePlacementCandidate(pos, score, "workflow_scored");
             }
         }
         return best;
@@ -1610,7 +1534,7 @@ public final class LumberjackChestTriggerController {
             if (state.isOf(Blocks.CRAFTING_TABLE)) {
                 continue;
             }
-            if (!isAnyKnownJobBlock(state)) {
+            if (!PlacementSpotIndex.isJobBlock(state)) {
                 continue;
             }
             if (adjacent.equals(tablePos) || adjacent.equals(chestPos)) {
@@ -1624,15 +1548,6 @@ public final class LumberjackChestTriggerController {
         return false;
     }
 
-    private static boolean isAnyKnownJobBlock(BlockState state) {
-        for (VillagerProfession profession : CHECKED_JOB_PROFESSIONS) {
-            if (ProfessionDefinitions.isExpectedJobBlock(profession, state)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private static boolean hasNearbyModifier(ServerWorld world, BlockPos pos) {
         for (BlockPos checkPos : BlockPos.iterateOutwards(pos, 1, 1, 1)) {
             if (world.getBlockState(checkPos).isOf(dev.sterner.guardvillagers.GuardVillagers.GUARD_STAND_MODIFIER)) {
@@ -2013,7 +1928,4 @@ public final class LumberjackChestTriggerController {
                                     long retryTick,
                                     boolean throttled) {
     }
-
-    private record MidpointRetryBackoffState(int attempt, long delayTicks, long nextAllowedScheduleTick) {
-    }
 }
@@ -3,6 +3,9 @@ package dev.sterner.guardvillagers.common.entity.goal;
 import dev.sterner.guardvillagers.GuardVillagersConfig;
 import dev.sterner.guardvillagers.common.entity.LumberjackGuardEntity;
 import dev.sterner.guardvillagers.common.util.CartographerMapChestUtil;
+import dev.sterner.guardvillagers.common.util.VillageAiLod;
+import dev.sterner.guardvillagers.common.util.VillageDroppedItemTracker;
+import dev.sterner.guardvillagers.common.util.VillageEventJournal;
 import dev.sterner.guardvillagers.common.util.VillageMappedBoundsState;
 import dev.sterner.guardvillagers.common.villager.behavior.CartographerBehavior;
 import net.minecraft.block.Block;
@@ -11,7 +14,6 @@ import net.minecraft.block.Blocks;
 import net.minecraft.block.ChestBlock;
 import net.minecraft.block.LeavesBlock;
 import net.minecraft.block.entity.BlockEntity;
-import net.minecraft.entity.ItemEntity;
 import net.minecraft.entity.ai.goal.Goal;
 import net.minecraft.inventory.Inventory;
 import net.minecraft.item.Item;
@@ -124,6 +126,7 @@ public class LumberjackGuardChopTreesGoal extends Goal {
     private static final int GOVERNOR_LOAD_RETRY_WEIGHT = 90;
     private static final int GOVERNOR_LOAD_FORCED_WEIGHT = 220;
     private static final String COUNTDOWN_REASON_GOVERNOR_BACKPRESSURE = "governor backpressure";
+    private static final String COUNTDOWN_REASON_LOD_FAR = "village ai lod far";
     private static final long BACKPRESSURE_RETRIGGER_COOLDOWN_TICKS = 20L * 10L;
     private static final long MIDPOINT_AUDIT_DEFER_ONLY_LOG_MIN_INTERVAL_TICKS = 20L * 60L;
 
@@ -388,6 +391,11 @@ public class LumberjackGuardChopTreesGoal extends Goal {
             if (world.getTime() < this.throttleUntilTick) {
                 return;
             }
+            VillageAiLod.Tier lodTier = VillageAiLod.tierAt(world, this.guard.getPairedCraftingTablePos());
+            if (!lodTier.runsProfessionWork()) {
+                startChopCountdown(world, lodTier.scaleCooldown(CHOP_INTERVAL_MIN_TICKS), COUNTDOWN_REASON_LOD_FAR);
+                return;
+            }
             if (shouldThrottleAdaptiveScan(world)) {
                 return;
             }
@@ -415,9 +423,16 @@ public class LumberjackGuardChopTreesGoal extends Goal {
                         world.getTime(),
                         this.lastBackpressureDeferLogTick,
                         getConfiguredGovernorBackpressureDeferLogMinIntervalTicks())) {
-                    LOGGER.info("Lumberjack Guard {} deferring tree scan session due to governor backpressure (deferTicks={})",
-                            this.guard.getUuidAsString(),
-                            deferTicks);
+                    VillageEventJournal.record(world, VillageEventJournal.EventType.LUMBERJACK_BACKPRESSURE_DEFER,
+                            VillageEventJournal.subjectOf(this.guard.getUuid()),
+                            VillageEventJournal.posOf(this.guard.getBlockPos()),
+                            deferTicks,
+                            this.consecutiveBackpressureDefers);
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("Lumberjack Guard {} deferring tree scan session due to governor backpressure (deferTicks={})",
+                                this.guard.getUuidAsString(),
+                                deferTicks);
+                    }
                     this.lastBackpressureDeferLogTick = world.getTime();
                 }
                 maybeLogBackpressureDeferLoopSnapshot(world);
@@ -426,9 +441,15 @@ public class LumberjackGuardChopTreesGoal extends Goal {
                 return;
             }
             if (forcedProbe) {
-                LOGGER.info("Lumberjack Guard {} bypassing governor defer via forced probe (consecutiveBackpressureDefers={})",
-                        this.guard.getUuidAsString(),
+                VillageEventJournal.record(world, VillageEventJournal.EventType.LUMBERJACK_FORCED_PROBE,
+                        VillageEventJournal.subjectOf(this.guard.getUuid()),
+                        VillageEventJournal.posOf(this.guard.getBlockPos()),
                         this.consecutiveBackpressureDefers);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Lumberjack Guard {} bypassing governor defer via forced probe (consecutiveBackpressureDefers={})",
+                            this.guard.getUuidAsString(),
+                            this.consecutiveBackpressureDefers);
+                }
             }
             this.consecutiveBackpressureDefers = 0;
             this.pendingTreeTargetScan = createTreeTargetScanSession(world);
@@ -1026,7 +1047,8 @@ public class LumberjackGuardChopTreesGoal extends Goal {
         boolean bootstrap = this.guard.getPairedChestPos() == null;
         long totalTicks = bootstrap
                 ? BOOTSTRAP_CHOP_INTERVAL_TICKS
-                : MathHelper.nextInt(this.guard.getRandom(), CHOP_INTERVAL_MIN_TICKS, CHOP_INTERVAL_MAX_TICKS);
+                : VillageAiLod.tierAt(world, this.guard.getPairedCraftingTablePos())
+                        .scaleCooldown(MathHelper.nextInt(this.guard.getRandom(), CHOP_INTERVAL_MIN_TICKS, CHOP_INTERVAL_MAX_TICKS));
         startChopCountdown(world, totalTicks, reason);
     }
 
@@ -1687,6 +1709,16 @@ public class LumberjackGuardChopTreesGoal extends Goal {
                     chestBounds.size());
             allBounds.addAll(chestBounds);
         }
+        List<VillageMappedBoundsState.MappedBounds> registeredBounds = collectRegisteredMappedBounds(
+                VillageMappedBoundsState.get(world.getServer()),
+                world.getRegistryKey(),
+                center,
+                CARTOGRAPHER_INFLUENCE_RADIUS);
+        LOGGER.debug("Lumberjack Guard {} mapped-bounds registry entries near {}: {}",
+                this.guard.getUuidAsString(),
+                center.toShortString(),
+                registeredBounds.size());
+        allBounds.addAll(registeredBounds);
 
         List<VillageMappedBoundsState.MappedBounds> uniqueValidBounds = uniqueValidMappedBounds(allBounds);
         if (!isMappedModeEnabled(uniqueValidBounds)) {
@@ -1704,6 +1736,25 @@ public class LumberjackGuardChopTreesGoal extends Goal {
         return new MappedBoundsSearchContext(mergedBounds, nearbyCartographers.size());
     }
 
+    /**
+     * Bounds completed cartographers have registered around {@code center}: every region covering
+     * the center plus every region anchored within {@code searchRadius}. Both come from the
+     * registry's grid index, so this stays cheap however many territories have been mapped.
+     */
+    static List<VillageMappedBoundsState.MappedBounds> collectRegisteredMappedBounds(VillageMappedBoundsState state,
+                                                                                    RegistryKey<net.minecraft.world.World> worldKey,
+                                                                                    BlockPos center,
+                                                                                    int searchRadius) {
+        List<VillageMappedBoundsState.MappedBounds> bounds = new ArrayList<>();
+        for (VillageMappedBoundsState.AnchorMappedBounds entry : state.getBoundsContaining(worldKey, center)) {
+            bounds.add(entry.bounds());
+        }
+        for (VillageMappedBoundsState.AnchorMappedBounds entry : state.getBoundsEntriesNear(worldKey, center, searchRadius)) {
+            bounds.add(entry.bounds());
+        }
+        return bounds;
+    }
+
     static boolean isMappedModeEnabled(List<VillageMappedBoundsState.MappedBounds> bounds) {
         return !uniqueValidMappedBounds(bounds).isEmpty();
     }
@@ -1940,12 +1991,25 @@ public class LumberjackGuardChopTreesGoal extends Goal {
             int interval = getConfiguredGovernorMetricsLogInterval();
             boolean transitioned = previousBackpressure != state.backpressurePermille;
             if (transitioned || state.scanSessions % interval == 0) {
+                int budgetScalePermille = getBudgetScalePermille(world);
+                if (VillageEventJournal.isEnabled(VillageEventJournal.Category.LUMBERJACK)) {
+                    VillageEventJournal.record(world, VillageEventJournal.EventType.LUMBERJACK_GOVERNOR_SESSION, 0L, Long.MIN_VALUE,
+                            state.scanSessions,
+                            loadPermille,
+                            state.backpressurePermille,
+                            budgetScalePermille,
+                            round(state.emaElapsedMs),
+                            round(state.emaVisitedBlocks));
+                }
+                if (!transitioned && !GuardVillagersConfig.lumberjackVerboseLogging) {
+                    return;
+                }
                 LOGGER.info("Lumberjack governor world={} session={} loadPermille={} backpressure={} budgetScalePermille={} emaElapsedMs={} emaVisited={} emaRetry={} emaForced={} transitioned={}",
                         world.getRegistryKey().getValue(),
                         state.scanSessions,
                         loadPermille,
                         state.backpressurePermille,
-                        getBudgetScalePermille(world),
+                        budgetScalePermille,
                         round(state.emaElapsedMs),
                         round(state.emaVisitedBlocks),
                         round(state.emaRetryEvents),
@@ -3010,14 +3074,14 @@ public class LumberjackGuardChopTreesGoal extends Goal {
 
     private void collectNearbyWoodDrops(ServerWorld world) {
         Box pickupBox = this.guard.getBoundingBox().expand(ITEM_PICKUP_RADIUS, 1.0D, ITEM_PICKUP_RADIUS);
-        List<ItemEntity> nearbyItems = world.getEntitiesByClass(ItemEntity.class,
-                pickupBox,
-                entity -> entity.isAlive() && !entity.getStack().isEmpty() && isGatherableTreeDrop(entity.getStack()));
-
-        for (ItemEntity itemEntity : nearbyItems) {
-            bufferStack(itemEntity.getStack().copy());
-            itemEntity.discard();
-        }
+        VillageDroppedItemTracker.forWorld(world).pickUpInPlace(pickupBox,
+                VillageDroppedItemTracker.DropKind.TREE,
+                this.guard.getUuid(),
+                entity -> isGatherableTreeDrop(entity.getStack()),
+                itemEntity -> {
+                    bufferStack(itemEntity.getStack().copy());
+                    itemEntity.discard();
+                });
     }
 
     static boolean isGatherableTreeDrop(ItemStack stack) {
@@ -2,6 +2,7 @@ package dev.sterner.guardvillagers.common.entity.goal;
 
 import dev.sterner.guardvillagers.common.entity.LumberjackGuardEntity;
 import dev.sterner.guardvillagers.common.util.LumberjackDemandPlanner;
+import dev.sterner.guardvillagers.common.util.VillageDroppedItemTracker;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
 import net.minecraft.entity.ItemEntity;
@@ -479,14 +480,14 @@ public class LumberjackGuardDepositLogsGoal extends Goal {
 
     private void collectNearbyWoodDrops(ServerWorld world) {
         Box pickupBox = this.guard.getBoundingBox().expand(ITEM_PICKUP_RADIUS, 1.0D, ITEM_PICKUP_RADIUS);
-        List<ItemEntity> nearbyItems = world.getEntitiesByClass(ItemEntity.class,
-                pickupBox,
-                entity -> entity.isAlive() && !entity.getStack().isEmpty() && LumberjackGuardChopTreesGoal.isGatherableTreeDrop(entity.getStack()));
-
-        for (ItemEntity itemEntity : nearbyItems) {
-            bufferStack(itemEntity.getStack().copy());
-            itemEntity.discard();
-        }
+        VillageDroppedItemTracker.forWorld(world).pickUpInPlace(pickupBox,
+                VillageDroppedItemTracker.DropKind.TREE,
+                this.guard.getUuid(),
+                entity -> LumberjackGuardChopTreesGoal.isGatherableTreeDrop(entity.getStack()),
+                itemEntity -> {
+                    bufferStack(itemEntity.getStack().copy());
+                    itemEntity.discard();
+                });
     }
 
     private void bufferStack(ItemStack incoming) {
@@ -1,6 +1,7 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
 import dev.sterner.guardvillagers.common.entity.LumberjackGuardEntity;
+import dev.sterner.guardvillagers.common.util.FlatSiteFinder;
 import dev.sterner.guardvillagers.common.util.VillageAnchorState;
 import dev.sterner.guardvillagers.common.util.VillageGuardStandManager;
 import net.minecraft.block.Block;
@@ -28,6 +29,7 @@ import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.IntBinaryOperator;
 
 /**
  * Cluster 5A — Lumberjack Pen Builder.
@@ -274,54 +276,40 @@ public class LumberjackPenBuilderGoal extends Goal {
 
     /**
      * Finds a flat, open 6×6 area within scan range of the anchor (QM chest).
-     * Samples the surface Y per-column (same approach as ShepherdFencePlacerGoal) so
-     * sloped terrain is correctly rejected rather than producing fences embedded in dirt.
+     * Samples the surface Y per-column once for the whole scan area (same approach as
+     * ShepherdFencePlacerGoal) so sloped terrain is rejected by the sliding-window flatness check
+     * before any block state is read.
      */
     private BlockPos findPenOrigin(ServerWorld world, BlockPos anchorPos) {
         if (anchorPos == null) return null;
 
-        BlockPos.Mutable mutable = new BlockPos.Mutable();
         int searchStep = 4;
-        for (int dx = -SCAN_RADIUS + PEN_SIZE; dx <= SCAN_RADIUS - PEN_SIZE; dx += searchStep) {
-            for (int dz = -SCAN_RADIUS + PEN_SIZE; dz <= SCAN_RADIUS - PEN_SIZE; dz += searchStep) {
-                int baseX = anchorPos.getX() + dx;
-                int baseZ = anchorPos.getZ() + dz;
-                // Sample the surface Y at the NW corner of this candidate area
-                mutable.set(baseX, anchorPos.getY(), baseZ);
-                int surfaceY = world.getTopPosition(net.minecraft.world.Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, mutable).getY() - 1;
-                BlockPos origin = new BlockPos(baseX, surfaceY, baseZ);
-                if (isPenSiteValid(world, origin)) {
-                    return origin;
-                }
-            }
-        }
-        return null;
+        FlatSiteFinder finder = FlatSiteFinder.sampleWorld(world,
+                anchorPos.getX() - SCAN_RADIUS + PEN_SIZE, anchorPos.getZ() - SCAN_RADIUS + PEN_SIZE,
+                anchorPos.getX() + SCAN_RADIUS - PEN_SIZE, anchorPos.getZ() + SCAN_RADIUS - PEN_SIZE,
+                PEN_SIZE, anchorPos.getY());
+        return finder.findFirst(searchStep, FLAT_Y_TOLERANCE,
+                (baseX, surfaceY, baseZ) -> isPenSiteValid(world, new BlockPos(baseX, surfaceY, baseZ), finder::surfaceY));
     }
 
     /**
-     * Validates that the 6×6 footprint with NW corner at {@code origin} is suitable for a pen:
+     * Validates that the 6×6 footprint with NW corner at {@code origin} is suitable for a pen.
+     * Flatness (every column within ±FLAT_Y_TOLERANCE of origin.Y) has already been checked by
+     * the {@link FlatSiteFinder}; this checks the blocks on each column's sampled surface:
      * <ul>
-     *   <li>Per-column surface Y is within ±FLAT_Y_TOLERANCE of origin.Y (flatness check).</li>
      *   <li>No DIRT_PATH blocks (natural road/gap — don't build here).</li>
      *   <li>Solid top face at ground level (accepts slabs, stairs, etc.).</li>
      *   <li>Replaceable space at fence level (surfY + 1) for all 36 positions.</li>
      * </ul>
      */
-    private boolean isPenSiteValid(ServerWorld world, BlockPos origin) {
-        int baseY = origin.getY();
+    private boolean isPenSiteValid(ServerWorld world, BlockPos origin, IntBinaryOperator surfaceYAt) {
         BlockPos.Mutable mutable = new BlockPos.Mutable();
 
         for (int dx = 0; dx < PEN_SIZE; dx++) {
             for (int dz = 0; dz < PEN_SIZE; dz++) {
                 int x = origin.getX() + dx;
                 int z = origin.getZ() + dz;
-
-                // Per-column surface Y
-                mutable.set(x, baseY, z);
-                int surfY = world.getTopPosition(net.minecraft.world.Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, mutable).getY() - 1;
-
-                // Flatness: reject if this column's surface deviates too much
-                if (Math.abs(surfY - baseY) > FLAT_Y_TOLERANCE) return false;
+                int surfY = surfaceYAt.applyAsInt(x, z);
 
                 // Use the actual surface Y for block checks
                 mutable.set(x, surfY, z);
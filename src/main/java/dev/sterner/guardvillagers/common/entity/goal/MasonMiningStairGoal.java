@@ -2,12 +2,13 @@ package dev.sterner.guardvillagers.common.entity.goal;
 
 import dev.sterner.guardvillagers.GuardVillagersConfig;
 import dev.sterner.guardvillagers.common.entity.MasonGuardEntity;
+import dev.sterner.guardvillagers.common.util.MasonShaftRegistryState;
+import dev.sterner.guardvillagers.common.util.VillageDroppedItemTracker;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.block.ChestBlock;
 import net.minecraft.block.FallingBlock;
-import net.minecraft.entity.ItemEntity;
 import net.minecraft.entity.ai.goal.Goal;
 import net.minecraft.entity.ai.pathing.Path;
 import net.minecraft.inventory.Inventory;
@@ -30,7 +31,6 @@ import org.slf4j.LoggerFactory;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -58,6 +58,8 @@ public class MasonMiningStairGoal extends Goal {
     private static final int BOOTSTRAP_STAGING_RADIUS_MAX = 10;
     private static final int BOOTSTRAP_STAGING_MAX_ATTEMPTS = 48;
     private static final int WATER_BLACKLIST_MIN_RADIUS = 20;
+    private static final int SHARED_SHAFT_MAX_DISTANCE = 48;
+    private static final long BOOTSTRAP_FAILURE_RETRY_TICKS = 20L * 60L * 2L;
     private final MasonGuardEntity guard;
     private Direction miningDirection;
     private BlockPos origin;
@@ -96,7 +98,6 @@ public class MasonMiningStairGoal extends Goal {
     private int adaptiveForcedRecoveryWindow;
     private int adaptiveSessionCount;
     private int bootstrapRetryCount;
-    private final List<ShaftBlacklistEntry> waterBailoutBlacklist = new ArrayList<>();
     private Stage stage = Stage.IDLE;
 
     public MasonMiningStairGoal(MasonGuardEntity guard) {
@@ -129,7 +130,7 @@ public class MasonMiningStairGoal extends Goal {
         }
 
         long worldTime = world.getTime();
-        expireBlacklistedShafts(worldTime);
+        expireBlacklistedShafts(world, worldTime);
         if (worldTime < guard.getNextMiningStartTick()) {
             maybeLogCooldownProgress(worldTime);
             return false;
@@ -157,9 +158,24 @@ public class MasonMiningStairGoal extends Goal {
             this.origin = persistedOrigin;
             this.stepIndex = persistedStepIndex;
         } else {
-            this.miningDirection = fallbackDirection;
-            this.origin = guard.getBlockPos();
-            this.stepIndex = 0;
+            MasonShaftRegistryState.ShaftView sharedShaft = shafts(world).claimShaft(world.getRegistryKey(), villageKey(world),
+                    guard.getUuid(), chestPos, SHARED_SHAFT_MAX_DISTANCE, getWaterBlacklistRadius(), worldTime);
+            Direction sharedDirection = sharedShaft == null ? null : Direction.byId(sharedShaft.directionId());
+            if (sharedShaft != null && sharedDirection.getAxis().isHorizontal()) {
+                this.miningDirection = sharedDirection;
+                this.origin = sharedShaft.origin();
+                this.stepIndex = sharedShaft.stepIndex();
+                LOGGER.info("Mason guard {} resuming registered shaft: origin={}, stepIndex={}, direction={}, minedBlocks={}",
+                        guard.getUuidAsString(),
+                        this.origin.toShortString(),
+                        this.stepIndex,
+                        this.miningDirection,
+                        sharedShaft.minedBlocks());
+            } else {
+                this.miningDirection = fallbackDirection;
+                this.origin = guard.getBlockPos();
+                this.stepIndex = 0;
+            }
             guard.setMiningProgress(this.origin, this.stepIndex, this.miningDirection.getId());
             guard.setMiningPathAnchors(this.origin, null);
         }
@@ -185,7 +201,11 @@ public class MasonMiningStairGoal extends Goal {
         }
 
         if (stepIndex == 0 && isBootstrapObstructedAtOrigin(world, origin, miningDirection)) {
-            BlockPos stagingOrigin = findBootstrapStagingOrigin(world, origin, miningDirection);
+            MasonShaftRegistryState.StagingResult knownStaging = shafts(world).stagingFor(world.getRegistryKey(), villageKey(world), origin);
+            if (knownStaging != null && knownStaging.stagingOrigin() == null && worldTime < knownStaging.retryAfterTick()) {
+                return false;
+            }
+            BlockPos stagingOrigin = resolveBootstrapStagingOrigin(world, origin, miningDirection, knownStaging, worldTime);
             if (stagingOrigin == null) {
                 bootstrapRetryCount = 0;
                 LOGGER.warn("Mason guard {} mining bootstrap failed after {} staging attempts (origin={}, direction={}); deferring to normal workflow",
@@ -205,11 +225,15 @@ public class MasonMiningStairGoal extends Goal {
         }
 
         int blacklistRadius = getWaterBlacklistRadius();
-        if (isNearBlacklistedShaft(this.origin, blacklistRadius)) {
+        if (isNearBlacklistedShaft(world, this.origin, blacklistRadius)) {
             LOGGER.info("Mason guard {} mining session skipped: reasonCode=blacklisted_shaft origin={} radius={}",
                     guard.getUuidAsString(),
                     this.origin == null ? "none" : this.origin.toShortString(),
                     blacklistRadius);
+            if (this.origin != null) {
+                shafts(world).recordSession(world.getRegistryKey(), villageKey(world), guard.getUuid(), this.origin,
+                        this.miningDirection.getId(), this.stepIndex, 0, true, worldTime);
+            }
             guard.clearMiningProgress();
             this.origin = guard.getBlockPos();
             this.stepIndex = 0;
@@ -732,14 +756,15 @@ public class MasonMiningStairGoal extends Goal {
 
     private void collectNearbyDrops(ServerWorld world, BlockPos pos) {
         Box box = new Box(pos).expand(1.5D);
-        for (ItemEntity itemEntity : world.getEntitiesByClass(ItemEntity.class, box, entity -> entity.isAlive() && !entity.getStack().isEmpty())) {
-            ItemStack remaining = guard.guardInventory.addStack(itemEntity.getStack());
-            if (remaining.isEmpty()) {
-                itemEntity.discard();
-            } else {
-                itemEntity.setStack(remaining);
-            }
-        }
+        VillageDroppedItemTracker.forWorld(world)
+                .pickUpInPlace(box, VillageDroppedItemTracker.DropKind.ANY, guard.getUuid(), entity -> true, itemEntity -> {
+                    ItemStack remaining = guard.guardInventory.addStack(itemEntity.getStack());
+                    if (remaining.isEmpty()) {
+                        itemEntity.discard();
+                    } else {
+                        itemEntity.setStack(remaining);
+                    }
+                });
     }
 
     private boolean canMine(ServerWorld world, BlockPos pos, BlockState state) {
@@ -804,6 +829,25 @@ public class MasonMiningStairGoal extends Goal {
         return false;
     }
 
+    /**
+     * Reuses the registry's staging origin for {@code blockedOrigin} while it is still valid, and
+     * otherwise runs the staging search and records its outcome (a failure is not retried for
+     * {@link #BOOTSTRAP_FAILURE_RETRY_TICKS}).
+     */
+    private BlockPos resolveBootstrapStagingOrigin(ServerWorld world, BlockPos blockedOrigin, Direction direction,
+                                                   MasonShaftRegistryState.StagingResult knownStaging, long worldTime) {
+        if (knownStaging != null && knownStaging.stagingOrigin() != null
+                && isCandidateValidStagingOrigin(world, knownStaging.stagingOrigin(), direction)) {
+            return knownStaging.stagingOrigin();
+        }
+        BlockPos stagingOrigin = findBootstrapStagingOrigin(world, blockedOrigin, direction);
+        if (blockedOrigin != null) {
+            shafts(world).putStaging(world.getRegistryKey(), villageKey(world), blockedOrigin, stagingOrigin,
+                    stagingOrigin == null ? worldTime + BOOTSTRAP_FAILURE_RETRY_TICKS : worldTime, worldTime);
+        }
+        return stagingOrigin;
+    }
+
     private BlockPos findBootstrapStagingOrigin(ServerWorld world, BlockPos blockedOrigin, Direction direction) {
         if (blockedOrigin == null || direction == null || !direction.getAxis().isHorizontal()) {
             return null;
@@ -950,6 +994,7 @@ public class MasonMiningStairGoal extends Goal {
 
         maybeLogRepairSummary();
 
+        recordShaftSession(forceSafeAnchorReset || reason.resetsMiningProgress, worldTime);
         if (forceSafeAnchorReset) {
             resetMiningProgressToSafeAnchor();
         } else if (reason.resetsMiningProgress) {
@@ -1221,51 +1266,55 @@ public class MasonMiningStairGoal extends Goal {
     }
 
     private void recordWaterBailoutOrigin() {
-        if (origin == null) {
+        if (origin == null || !(guard.getWorld() instanceof ServerWorld world)) {
             return;
         }
-        long expiresAt = guard.getWorld().getTime() + Math.max(20L, GuardVillagersConfig.masonWaterBailoutBlacklistDurationTicks);
-        waterBailoutBlacklist.removeIf(entry -> entry.origin().equals(origin));
-        waterBailoutBlacklist.add(new ShaftBlacklistEntry(origin.toImmutable(), expiresAt));
+        long expiresAt = world.getTime() + Math.max(20L, GuardVillagersConfig.masonWaterBailoutBlacklistDurationTicks);
+        shafts(world).addHazard(world.getRegistryKey(), villageKey(world), origin, expiresAt);
     }
 
     private void clearBlacklistOnSuccessfulDistantSession() {
-        if (origin == null || waterBailoutBlacklist.isEmpty()) {
+        if (origin == null || !(guard.getWorld() instanceof ServerWorld world)) {
             return;
         }
-        int blacklistRadius = getWaterBlacklistRadius();
-        int minDistanceSquared = blacklistRadius * blacklistRadius;
-        waterBailoutBlacklist.removeIf(entry -> entry.origin().getSquaredDistance(origin) >= minDistanceSquared);
+        shafts(world).clearHazardsBeyond(world.getRegistryKey(), villageKey(world), origin, getWaterBlacklistRadius());
     }
 
-    private boolean isNearBlacklistedShaft(BlockPos targetOrigin, int radius) {
-        if (targetOrigin == null || waterBailoutBlacklist.isEmpty()) {
+    private boolean isNearBlacklistedShaft(ServerWorld world, BlockPos targetOrigin, int radius) {
+        if (targetOrigin == null) {
             return false;
         }
-        int radiusSquared = radius * radius;
-        for (ShaftBlacklistEntry entry : waterBailoutBlacklist) {
-            if (entry.origin().getSquaredDistance(targetOrigin) < radiusSquared) {
-                return true;
-            }
-        }
-        return false;
+        return shafts(world).isNearHazard(world.getRegistryKey(), villageKey(world), targetOrigin, radius, world.getTime());
     }
 
     private int getWaterBlacklistRadius() {
         return Math.max(WATER_BLACKLIST_MIN_RADIUS, GuardVillagersConfig.masonWaterBailoutBlacklistRadius);
     }
 
-    private void expireBlacklistedShafts(long worldTime) {
-        if (waterBailoutBlacklist.isEmpty()) {
+    private void expireBlacklistedShafts(ServerWorld world, long worldTime) {
+        MasonShaftRegistryState shafts = shafts(world);
+        shafts.expireHazards(world.getRegistryKey(), villageKey(world), worldTime);
+        shafts.pruneIdleVillagesIfDue(world.getRegistryKey(), worldTime);
+    }
+
+    /**
+     * Records the session's progress and mined volume on the village shaft registry; a shaft whose
+     * progress is about to be reset is closed so no mason resumes it.
+     */
+    private void recordShaftSession(boolean closeShaft, long worldTime) {
+        if (origin == null || miningDirection == null || !(guard.getWorld() instanceof ServerWorld world)) {
             return;
         }
-        Iterator<ShaftBlacklistEntry> iterator = waterBailoutBlacklist.iterator();
-        while (iterator.hasNext()) {
-            ShaftBlacklistEntry entry = iterator.next();
-            if (entry.expiresAtTick() <= worldTime) {
-                iterator.remove();
-            }
-        }
+        shafts(world).recordSession(world.getRegistryKey(), villageKey(world), guard.getUuid(), origin,
+                miningDirection.getId(), stepIndex, minedBlockCount, closeShaft, worldTime);
+    }
+
+    private MasonShaftRegistryState shafts(ServerWorld world) {
+        return MasonShaftRegistryState.get(world.getServer());
+    }
+
+    private long villageKey(ServerWorld world) {
+        return MasonShaftRegistryState.villageKey(world, guard.getPairedChestPos(), guard.getBlockPos());
     }
 
     private void clearTemporaryMiningState() {
@@ -1568,7 +1617,4 @@ public class MasonMiningStairGoal extends Goal {
             this.reasonCode = reasonCode;
         }
     }
-
-    private record ShaftBlacklistEntry(BlockPos origin, long expiresAtTick) {
-    }
 }
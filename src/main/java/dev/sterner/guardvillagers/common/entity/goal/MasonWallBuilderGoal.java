@@ -2,9 +2,14 @@ package dev.sterner.guardvillagers.common.entity.goal;
 
 import dev.sterner.guardvillagers.GuardVillagersConfig;
 import dev.sterner.guardvillagers.common.entity.MasonGuardEntity;
+import dev.sterner.guardvillagers.common.util.VillageAiLod;
 import dev.sterner.guardvillagers.common.util.VillageAnchorState;
+import dev.sterner.guardvillagers.common.util.VillageEventJournal;
 import dev.sterner.guardvillagers.common.util.VillageGuardStandManager;
 import dev.sterner.guardvillagers.common.util.VillageWallProjectState;
+import dev.sterner.guardvillagers.common.util.WallPathReachabilityCache;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
@@ -95,8 +100,6 @@ public class MasonWallBuilderGoal extends Goal {
     private static final int NEAREST_STANDABLE_SEARCH_RADIUS = 4;
     private static final int PATH_PROBE_BUDGET_PER_TICK = 12;
     private static final int PATH_PROBE_BUDGET_PER_SORTIE = 48;
-    private static final long PREFLIGHT_CACHE_BUCKET_TICKS = 20L;
-    private static final long PREFLIGHT_CACHE_TTL_TICKS = 80L;
     // Gameplay cadence: placements happen in short local sorties of 3-5 segments
     // before the guard picks a new nearby anchor.
     static final int MIN_SEGMENTS_PER_SORTIE = 3;
@@ -164,6 +167,7 @@ public class MasonWallBuilderGoal extends Goal {
     private static final int MAX_RETRY_ATTEMPTS_PER_REGION_BEFORE_ROTATION = 3;
     private static final int LAYER_ONE_FACE_ARC_BUCKETS = 4;
     private static final List<String> LAYER_ONE_CLOCKWISE_FACES = List.of("north", "east", "south", "west");
+    private static final SegmentState[] SEGMENT_STATES = SegmentState.values();
     private static final int EARLY_HARD_UNREACHABLE_FAIL_THRESHOLD = 4;
     private static final int EARLY_HARD_UNREACHABLE_DISTINCT_TARGET_THRESHOLD = 2;
     private static final int STRUCTURE_SAMPLE_VERTICAL_RADIUS = 3;
@@ -248,18 +252,13 @@ public class MasonWallBuilderGoal extends Goal {
     private CycleEndReason cycleEndReason = CycleEndReason.WALL_COMPLETE;
     private BlockPos activeAnchorPos = null;
     private final Map<String, Long> retryLogRateLimitTickBySignature = new HashMap<>();
-    private final Map<String, FailureBandWindow> failureBandWindows = new HashMap<>();
-    private final Map<String, FailureBandWindow> noProgressAbortBandWindows = new HashMap<>();
-    private final Map<String, Long> quarantinedBandUntilTick = new HashMap<>();
-    private final Map<String, Integer> reinsertionPlacementGateByBand = new HashMap<>();
-    private final Map<BlockPos, Integer> segmentCandidateIndexByPos = new HashMap<>();
-    private final Map<String, FailureBandWindow> unbreakableEscalationBandWindows = new HashMap<>();
-    private final Map<Integer, Set<String>> cycleExcludedBandsByLayer = new HashMap<>();
     private final Deque<DeferredSegmentRetry> deferredSegmentRetryQueue = new ArrayDeque<>();
     private boolean vegetationDeferredThenRequeuedLogged = false;
     private final Set<BlockPos> claimedSortieSegments = new HashSet<>();
-    private final Map<BlockPos, SegmentState> segmentStates = new HashMap<>();
-    private final Map<PreflightCacheKey, PreflightCacheEntry> sortiePreflightCache = new HashMap<>();
+    /** Per-segment state, cooldowns, counters and interned band failure bookkeeping. */
+    private final MasonWallSegmentTable segmentTable = new MasonWallSegmentTable();
+    /** Probe cache used only while no wall project anchor is active; project cycles share {@link WallPathReachabilityCache}. */
+    private final WallPathReachabilityCache unanchoredReachabilityCache = new WallPathReachabilityCache();
     private final Set<BlockPos> deferredPreflightSegmentsThisSortie = new HashSet<>();
     private boolean sortieActive = false;
     private int sortieActiveLayer = -1;
@@ -297,7 +296,6 @@ public class MasonWallBuilderGoal extends Goal {
     private int placementsSinceCycleStart = 0;
     private final Map<BlockPos, String> skippedSegmentReasons = new HashMap<>();
     private final Map<BlockPos, SegmentFailMetadata> skippedSegmentFailMetadata = new HashMap<>();
-    private final Map<BlockPos, Long> segmentCooldownUntilTick = new HashMap<>();
     private final Map<BlockPos, Map<Integer, Long>> segmentNavTargetBackoffUntilTick = new HashMap<>();
     private long nextSkippedSegmentReconciliationTick = 0L;
     private long nextPeriodicInfoTick = 0L;
@@ -322,10 +320,6 @@ public class MasonWallBuilderGoal extends Goal {
     private BlockPos watchdogLastRecoverySegment = null;
     private int watchdogSameRecoverySegmentCount = 0;
     private int watchdogPlacementCountAtLastRecovery = 0;
-    private final Map<BlockPos, Integer> segmentRepeatRecoveryCounts = new HashMap<>();
-    private final Map<BlockPos, Integer> sortieAbortSegmentRepeatCounts = new HashMap<>();
-    private final Map<String, Integer> sortieAbortBandRepeatCounts = new HashMap<>();
-    private final Map<BlockPos, String> sortieAbortSegmentBandKeys = new HashMap<>();
     private final Map<BlockPos, String> terminalSegmentReasons = new HashMap<>();
     private final Deque<ProgressSnapshot> progressSnapshots = new ArrayDeque<>();
     private final Deque<ProgressSnapshot> retryDensitySnapshots = new ArrayDeque<>();
@@ -336,7 +330,7 @@ public class MasonWallBuilderGoal extends Goal {
     private long stagnationPivotSuppressUntilTick = 0L;
     private int stagnationPivotPlacementStreak = 0;
     private int stagnationPivotPlacementsAtActivation = 0;
-    private String stagnationPivotExcludedBandSignature = null;
+    private int stagnationPivotExcludedBand = MasonWallSegmentTable.NONE;
     private int lastPivotActivationRetryDelta = 0;
     private int lastPivotActivationHardDelta = 0;
     private long stagnationPivotActivatedAtTick = 0L;
@@ -422,6 +416,11 @@ public class MasonWallBuilderGoal extends Goal {
         if (guard.isMiningSessionActive()) return false;
         if (guard.getPairedChestPos() == null) return false;
         if (world.getTime() < nextScanTick) return false;
+        VillageAiLod.Tier lodTier = VillageAiLod.tierAt(world, guard.getPairedChestPos());
+        if (!lodTier.runsProfessionWork()) {
+            nextScanTick = world.getTime() + lodTier.scaleCooldown(SCAN_INTERVAL_TICKS);
+            return false;
+        }
 
         if (stage == Stage.WAIT_FOR_WALL_STOCK && activeCycleIdentity != null && isWaitForStockCycleStillValid(world)) {
             return false;
@@ -447,7 +446,7 @@ public class MasonWallBuilderGoal extends Goal {
             LOGGER.debug("MasonWallBuilderGoal: resolved anchor; origin={} anchor={}", origin, anchorOpt.get());
         }
 
-        nextScanTick = world.getTime() + SCAN_INTERVAL_TICKS;
+        nextScanTick = world.getTime() + lodTier.scaleCooldown(SCAN_INTERVAL_TICKS);
 
         return tryInitiateBuildCycle(world, anchorOpt.get());
     }
@@ -500,7 +499,6 @@ public class MasonWallBuilderGoal extends Goal {
         skippedSegments.clear();
         skippedSegmentReasons.clear();
         skippedSegmentFailMetadata.clear();
-        segmentCooldownUntilTick.clear();
         segmentNavTargetBackoffUntilTick.clear();
         hardUnreachableRetryQueue.clear();
         sortiePlacements = 0;
@@ -522,22 +520,12 @@ public class MasonWallBuilderGoal extends Goal {
         waitForStockCycleStillValid = true;
         nextWaitForStockReplanAttemptTick = 0L;
         retryLogRateLimitTickBySignature.clear();
-        failureBandWindows.clear();
-        noProgressAbortBandWindows.clear();
-        quarantinedBandUntilTick.clear();
-        reinsertionPlacementGateByBand.clear();
-        segmentCandidateIndexByPos.clear();
-        unbreakableEscalationBandWindows.clear();
-        cycleExcludedBandsByLayer.clear();
+        segmentTable.clear();
         deferredSegmentRetryQueue.clear();
         vegetationDeferredThenRequeuedLogged = false;
         claimedSortieSegments.clear();
-        segmentStates.clear();
-        sortiePreflightCache.clear();
         deferredPreflightSegmentsThisSortie.clear();
-        for (int i = 0; i < pendingSegments.size(); i++) {
-            segmentCandidateIndexByPos.put(pendingSegments.get(i).toImmutable(), i);
-        }
+        segmentTable.reindexCandidates(pendingSegments);
         sortieActive = false;
         sortieActiveLayer = -1;
         sortieTransientRetriesAttempted = 0;
@@ -597,10 +585,6 @@ public class MasonWallBuilderGoal extends Goal {
         watchdogLastRecoverySegment = null;
         watchdogSameRecoverySegmentCount = 0;
         watchdogPlacementCountAtLastRecovery = 0;
-        segmentRepeatRecoveryCounts.clear();
-        sortieAbortSegmentRepeatCounts.clear();
-        sortieAbortBandRepeatCounts.clear();
-        sortieAbortSegmentBandKeys.clear();
         terminalSegmentReasons.clear();
         clearStagnationPivotState();
         stagnationSuppressionByRegion.clear();
@@ -659,19 +643,11 @@ public class MasonWallBuilderGoal extends Goal {
         resetWaitForStockProceedLogState();
         clearWallStagingState();
         retryLogRateLimitTickBySignature.clear();
-        failureBandWindows.clear();
-        noProgressAbortBandWindows.clear();
-        quarantinedBandUntilTick.clear();
-        reinsertionPlacementGateByBand.clear();
-        segmentCandidateIndexByPos.clear();
-        unbreakableEscalationBandWindows.clear();
-        cycleExcludedBandsByLayer.clear();
+        segmentTable.clear();
         deferredSegmentRetryQueue.clear();
         vegetationDeferredThenRequeuedLogged = false;
         releaseAllSegmentClaims(worldOrNull());
         claimedSortieSegments.clear();
-        segmentStates.clear();
-        sortiePreflightCache.clear();
         deferredPreflightSegmentsThisSortie.clear();
         sortieActive = false;
         sortieActiveLayer = -1;
@@ -700,7 +676,6 @@ public class MasonWallBuilderGoal extends Goal {
         lastPlacementTick = -1L;
         placementsSinceCycleStart = 0;
         skippedSegmentFailMetadata.clear();
-        segmentCooldownUntilTick.clear();
         segmentNavTargetBackoffUntilTick.clear();
         nextSkippedSegmentReconciliationTick = 0L;
         nextPeriodicInfoTick = 0L;
@@ -723,10 +698,6 @@ public class MasonWallBuilderGoal extends Goal {
         watchdogLastRecoverySegment = null;
         watchdogSameRecoverySegmentCount = 0;
         watchdogPlacementCountAtLastRecovery = 0;
-        segmentRepeatRecoveryCounts.clear();
-        sortieAbortSegmentRepeatCounts.clear();
-        sortieAbortBandRepeatCounts.clear();
-        sortieAbortSegmentBandKeys.clear();
         terminalSegmentReasons.clear();
         clearStagnationPivotState();
         stagnationSuppressionByRegion.clear();
@@ -763,7 +734,7 @@ public class MasonWallBuilderGoal extends Goal {
         }
 
         refreshPathProbeBudgetForTick(world);
-        pruneExpiredSortiePreflightCache(world);
+        resolveReachabilityCache(world).prune(world.getTime());
         maybeEmitPeriodicInfo(world);
         maybeTriggerRetryDensityFallback(world);
         maybeActivateStagnationPivot(world);
@@ -822,7 +793,11 @@ public class MasonWallBuilderGoal extends Goal {
             return false;
         }
 
-        // 2. Compute (or reuse cached) wall rectangle.
+        // 2. Resume the persisted plan compiled for this footprint, or compute (or reuse cached) wall rectangle.
+        VillageWallProjectState wallProjectState = VillageWallProjectState.get(world.getServer());
+        int planVersion = computeWallPlanVersion(perimeterSignatureHash);
+        Optional<VillageWallProjectState.CompiledWallPlan> storedPlanOpt =
+                wallProjectState.getCompiledPlan(world.getRegistryKey(), anchorPos, planVersion);
         WallRect rect;
         boolean cacheValid = cachedWallRect != null
                 && anchorPos.equals(cachedWallRectAnchor)
@@ -830,14 +805,15 @@ public class MasonWallBuilderGoal extends Goal {
         if (cacheValid) {
             rect = cachedWallRect;
         } else {
-            rect = computeWallRect(anchorPos, currentSignature);
+            rect = storedPlanOpt.map(plan -> new WallRect(
+                            plan.bounds().minX(), plan.bounds().minZ(), plan.bounds().maxX(), plan.bounds().maxZ(), plan.wallY()))
+                    .orElseGet(() -> computeWallRect(anchorPos, currentSignature));
             cachedWallRect = rect;
             cachedWallRectAnchor = anchorPos.toImmutable();
             cachedPoiFootprintSignature = currentSignature;
         }
         int boundsHash = computeWallBoundsHash(rect);
         candidateCycleIdentity = new CycleIdentity(anchorPos.toImmutable(), perimeterSignatureHash, boundsHash, world.getTime());
-        VillageWallProjectState wallProjectState = VillageWallProjectState.get(world.getServer());
         VillageWallProjectState.PerimeterBounds perimeterBounds = new VillageWallProjectState.PerimeterBounds(
                 rect.minX(), rect.maxX(), rect.minZ(), rect.maxZ()
         );
@@ -850,10 +826,20 @@ public class MasonWallBuilderGoal extends Goal {
             clearProjectBaselineGround();
             return false;
         }
-        ensureProjectBaselineGround(world, rect, anchorPos, perimeterSignatureHash);
 
-        // 3. Compute full wall segment plan, then derive an active bootstrap subset for startup.
-        List<BlockPos> allSegments = computeWallSegments(world, rect, projectBaselineGroundYByColumn);
+        // 3. Resume (or compute) the full wall segment plan, then derive an active bootstrap subset for startup.
+        List<BlockPos> allSegments;
+        if (storedPlanOpt.isPresent()) {
+            VillageWallProjectState.CompiledWallPlan storedPlan = storedPlanOpt.get();
+            restoreProjectBaselineGround(storedPlan.baselineGroundYByColumn(), anchorPos, perimeterSignatureHash);
+            allSegments = storedPlan.segments();
+            logDetailed("MasonWallBuilder {}: wall_plan_resumed anchor={} version={} segments={} gates={}",
+                    guard.getUuidAsString(), anchorPos.toShortString(), planVersion,
+                    allSegments.size(), storedPlan.gatePositions().size());
+        } else {
+            ensureProjectBaselineGround(world, rect, anchorPos, perimeterSignatureHash);
+            allSegments = computeWallSegments(world, rect, projectBaselineGroundYByColumn);
+        }
         if (allSegments.isEmpty()) {
             return false;
         }
@@ -865,6 +851,7 @@ public class MasonWallBuilderGoal extends Goal {
         if (unbuilt.isEmpty()) {
             LOGGER.debug("MasonWallBuilder {}: wall already complete", guard.getUuidAsString());
             wallProjectState.markAllLayersComplete(world.getRegistryKey(), anchorPos);
+            WallPathReachabilityCache.removeProject(world, anchorPos);
             return false;
         }
         WallRect bootstrapRect = computeBootstrapActiveRect(rect, currentSignature, 0);
@@ -882,9 +869,22 @@ public class MasonWallBuilderGoal extends Goal {
         }
 
         // Determine gate reservations before computing required stone so gate exclusions
-        // are reflected in the build threshold.
-        List<BlockPos> gatePositions = pickGatePositions(rect, unbuilt);
+        // are reflected in the build threshold. A resumed plan keeps the gates it was compiled with.
+        List<BlockPos> gatePositions = storedPlanOpt.isPresent()
+                ? new ArrayList<>(storedPlanOpt.get().gatePositions())
+                : pickGatePositions(rect, unbuilt);
         Set<BlockPos> gateSet = new HashSet<>(gatePositions);
+        if (storedPlanOpt.isEmpty()) {
+            wallProjectState.storeCompiledPlan(world.getRegistryKey(), anchorPos, new VillageWallProjectState.CompiledWallPlan(
+                    planVersion,
+                    perimeterBounds,
+                    rect.y(),
+                    allSegments,
+                    projectBaselineGroundYByColumn,
+                    gatePositions));
+        }
+        boolean[] layerComplete = computeLayerProgress(unbuilt, gateSet, projectBaselineGroundYByColumn);
+        wallProjectState.updateLayerProgress(world.getRegistryKey(), anchorPos, layerComplete[0], layerComplete[1], layerComplete[2]);
 
         int requiredWallSegments = unbuilt.stream()
                 .filter(pos -> !isGateColumnPosition(pos, gateSet))
@@ -1456,29 +1456,29 @@ public class MasonWallBuilderGoal extends Goal {
         pathBudgetDeferredSinceLastPeriodic++;
     }
 
-    private long coarseTickBucket(long tick) {
-        return Math.max(0L, tick / Math.max(1L, PREFLIGHT_CACHE_BUCKET_TICKS));
-    }
-
-    private void pruneExpiredSortiePreflightCache(ServerWorld world) {
-        long now = world.getTime();
-        sortiePreflightCache.entrySet().removeIf(entry -> entry.getValue().expiresAtTick() <= now);
+    /**
+     * Reachability answers are shared by every mason on the active wall project, so a segment
+     * probed by one builder is not re-probed by its peers. The footprint is refreshed from the
+     * planned rectangle so block changes along the wall line invalidate the shared entries.
+     */
+    private WallPathReachabilityCache resolveReachabilityCache(ServerWorld world) {
+        if (activeAnchorPos == null) {
+            return unanchoredReachabilityCache;
+        }
+        WallPathReachabilityCache cache = WallPathReachabilityCache.forProject(world, activeAnchorPos);
+        WallRect rect = cyclePlannedRect != null ? cyclePlannedRect : cycleActiveRect;
+        if (rect != null) {
+            cache.updateFootprint(rect.minX(), rect.minZ(), rect.maxX(), rect.maxZ());
+        }
+        return cache;
     }
 
-    private PreflightCacheEntry findCachedPreflightResult(BlockPos segment, BlockPos navTarget, long now) {
-        long currentBucket = coarseTickBucket(now);
-        int maxBucketsBack = Math.max(1, (int) Math.ceil((double) PREFLIGHT_CACHE_TTL_TICKS / (double) Math.max(1L, PREFLIGHT_CACHE_BUCKET_TICKS)));
-        for (int offset = 0; offset <= maxBucketsBack; offset++) {
-            long bucket = currentBucket - offset;
-            if (bucket < 0L) {
-                break;
-            }
-            PreflightCacheEntry cached = sortiePreflightCache.get(new PreflightCacheKey(segment, navTarget, bucket));
-            if (cached != null && cached.expiresAtTick() > now) {
-                return cached;
-            }
-        }
-        return null;
+    private static PreflightProbeResult toPreflightResult(WallPathReachabilityCache.ProbeAnswer answer) {
+        return switch (answer) {
+            case REACHABLE -> PreflightProbeResult.PASS;
+            case UNREACHABLE -> PreflightProbeResult.FAIL;
+            case UNKNOWN -> PreflightProbeResult.DEFERRED;
+        };
     }
 
     private boolean isSegmentInCooldownOrQuarantine(ServerWorld world, BlockPos segment, long now) {
@@ -1489,9 +1489,11 @@ public class MasonWallBuilderGoal extends Goal {
         long now = world.getTime();
         BlockPos segmentKey = segment.toImmutable();
         BlockPos navKey = navigationTarget.toImmutable();
-        PreflightCacheEntry cached = findCachedPreflightResult(segmentKey, navKey, now);
-        if (cached != null) {
-            return cached.reachesTarget() ? PreflightProbeResult.PASS : PreflightProbeResult.FAIL;
+        BlockPos origin = guard.getBlockPos();
+        WallPathReachabilityCache reachability = resolveReachabilityCache(world);
+        WallPathReachabilityCache.ProbeAnswer cached = reachability.query(world, origin, segmentKey, navKey, now, false);
+        if (cached != WallPathReachabilityCache.ProbeAnswer.UNKNOWN) {
+            return toPreflightResult(cached);
         }
         if (isSegmentInCooldownOrQuarantine(world, segmentKey, now)) {
             return PreflightProbeResult.FAIL;
@@ -1500,13 +1502,15 @@ public class MasonWallBuilderGoal extends Goal {
             noteDeferredPathProbe();
             return PreflightProbeResult.DEFERRED;
         }
+        // One budget unit buys a bounded flood fill from the guard's feet; it answers this and
+        // every later candidate inside the filled region. Fall back to a real probe on a miss.
+        WallPathReachabilityCache.ProbeAnswer filled = reachability.query(world, origin, segmentKey, navKey, now, true);
+        if (filled != WallPathReachabilityCache.ProbeAnswer.UNKNOWN) {
+            return toPreflightResult(filled);
+        }
         Path preflightPath = guard.getNavigation().findPathTo(navigationTarget, 0);
         boolean reaches = preflightPath != null && preflightPath.reachesTarget();
-        long expiresAt = now + PREFLIGHT_CACHE_TTL_TICKS;
-        sortiePreflightCache.put(
-                new PreflightCacheKey(segmentKey, navKey, coarseTickBucket(now)),
-                new PreflightCacheEntry(reaches, expiresAt)
-        );
+        reachability.recordProbe(segmentKey, navKey, reaches, now);
         return reaches ? PreflightProbeResult.PASS : PreflightProbeResult.FAIL;
     }
 
@@ -1679,8 +1683,7 @@ public class MasonWallBuilderGoal extends Goal {
         failedPathAttempts++;
         lastTriedNavTarget = attemptedNavTarget.toImmutable();
         registerNavTargetFailureBackoff(world, segmentTarget, attemptedNavTarget, "path_start_failed");
-        String bandSignature = segmentBandSignature(world, segmentTarget);
-        int bandFailures = registerFailureBandAttempt(world, bandSignature);
+        int bandFailures = registerFailureBandAttempt(world, segmentBandId(world, segmentTarget));
 
         List<BlockPos> candidates = buildNavigationTargetCandidates(world, segmentTarget, true);
         if (failedPathAttempts < candidates.size()) {
@@ -1778,53 +1781,27 @@ public class MasonWallBuilderGoal extends Goal {
         return false;
     }
 
-    private int registerFailureBandAttempt(ServerWorld world, String bandSignature) {
-        long now = world.getTime();
-        FailureBandWindow state = failureBandWindows.get(bandSignature);
-        if (state == null || (now - state.firstFailureTick()) > BAND_FAILURE_WINDOW_TICKS) {
-            failureBandWindows.put(bandSignature, new FailureBandWindow(1, now));
-            return 1;
-        }
-        FailureBandWindow updated = new FailureBandWindow(state.count() + 1, state.firstFailureTick());
-        failureBandWindows.put(bandSignature, updated);
-        return updated.count();
-    }
-
-    private int registerNoProgressBandAbort(ServerWorld world, String bandSignature) {
-        long now = world.getTime();
-        FailureBandWindow state = noProgressAbortBandWindows.get(bandSignature);
-        if (state == null || (now - state.firstFailureTick()) > BAND_NO_PROGRESS_ABORT_WINDOW_TICKS) {
-            noProgressAbortBandWindows.put(bandSignature, new FailureBandWindow(1, now));
-            return 1;
-        }
-        FailureBandWindow updated = new FailureBandWindow(state.count() + 1, state.firstFailureTick());
-        noProgressAbortBandWindows.put(bandSignature, updated);
-        return updated.count();
+    private int registerFailureBandAttempt(ServerWorld world, int band) {
+        return segmentTable.registerWindowHit(MasonWallSegmentTable.BandWindow.PATH_FAILURE,
+                band, world.getTime(), BAND_FAILURE_WINDOW_TICKS);
     }
 
-    private int registerUnbreakableEscalationBandAttempt(ServerWorld world, String bandSignature) {
-        long now = world.getTime();
-        FailureBandWindow state = unbreakableEscalationBandWindows.get(bandSignature);
-        if (state == null || (now - state.firstFailureTick()) > UNBREAKABLE_ESCALATION_BAND_WINDOW_TICKS) {
-            unbreakableEscalationBandWindows.put(bandSignature, new FailureBandWindow(1, now));
-            return 1;
-        }
-        FailureBandWindow updated = new FailureBandWindow(state.count() + 1, state.firstFailureTick());
-        unbreakableEscalationBandWindows.put(bandSignature, updated);
-        return updated.count();
+    private int registerNoProgressBandAbort(ServerWorld world, int band) {
+        return segmentTable.registerWindowHit(MasonWallSegmentTable.BandWindow.NO_PROGRESS_ABORT,
+                band, world.getTime(), BAND_NO_PROGRESS_ABORT_WINDOW_TICKS);
     }
 
-    private String localExclusionBandSignature(BlockPos segmentTarget, int layer) {
-        return segmentTarget.getX() + "|" + segmentTarget.getZ() + "|" + layer;
+    private int registerUnbreakableEscalationBandAttempt(ServerWorld world, int band) {
+        return segmentTable.registerWindowHit(MasonWallSegmentTable.BandWindow.UNBREAKABLE_ESCALATION,
+                band, world.getTime(), UNBREAKABLE_ESCALATION_BAND_WINDOW_TICKS);
     }
 
-    private boolean isCycleExcludedBand(int layer, String bandSignature) {
-        Set<String> excludedBands = cycleExcludedBandsByLayer.get(layer);
-        return excludedBands != null && excludedBands.contains(bandSignature);
+    private int localExclusionBandId(BlockPos segmentTarget, int layer) {
+        return segmentTable.bandId(segmentTarget.getX(), segmentTarget.getZ(), layer);
     }
 
     private boolean isSegmentInCycleExcludedBand(BlockPos segment, int layer) {
-        return isCycleExcludedBand(layer, localExclusionBandSignature(segment, layer));
+        return segmentTable.isCycleExcluded(localExclusionBandId(segment, layer));
     }
 
     private boolean hasNonCycleExcludedBuildableSegments(ServerWorld world, int activeLayer, boolean preferNonQuarantinedBands) {
@@ -1852,19 +1829,19 @@ public class MasonWallBuilderGoal extends Goal {
         if (layer < 1) {
             return;
         }
-        String bandSignature = localExclusionBandSignature(triggerSegment, layer);
+        int band = localExclusionBandId(triggerSegment, layer);
         if (repeatEscalationsInWindow < UNBREAKABLE_ESCALATION_BAND_REPEAT_THRESHOLD
-                || isCycleExcludedBand(layer, bandSignature)) {
+                || segmentTable.isCycleExcluded(band)) {
             return;
         }
-        cycleExcludedBandsByLayer.computeIfAbsent(layer, ignored -> new HashSet<>()).add(bandSignature);
+        segmentTable.setCycleExcluded(band);
         int removedFromQueue = 0;
         for (java.util.Iterator<BlockPos> it = localSortieQueue.iterator(); it.hasNext(); ) {
             BlockPos queued = it.next();
             if (getSegmentLayer(world, queued) != layer) {
                 continue;
             }
-            if (!bandSignature.equals(localExclusionBandSignature(queued, layer))) {
+            if (band != localExclusionBandId(queued, layer)) {
                 continue;
             }
             it.remove();
@@ -1876,7 +1853,7 @@ public class MasonWallBuilderGoal extends Goal {
             if (getSegmentLayer(world, segment) != layer) {
                 continue;
             }
-            if (!bandSignature.equals(localExclusionBandSignature(segment, layer))) {
+            if (band != localExclusionBandId(segment, layer)) {
                 continue;
             }
             if (isTerminalSegment(segment)) {
@@ -1888,15 +1865,15 @@ public class MasonWallBuilderGoal extends Goal {
         LOGGER.warn("MasonWallBuilder {}: band_cycle_excluded layer={} band={} escalationsInWindow={} affectedSegments={} removedQueuedCandidates={}",
                 guard.getUuidAsString(),
                 layer,
-                bandSignature,
+                segmentTable.describeBand(band),
                 repeatEscalationsInWindow,
                 affectedSegments,
                 removedFromQueue);
     }
 
-    private void maybeQuarantineBandForNoProgress(ServerWorld world, String bandSignature, int bandAbortHits, boolean forceEarlyCycle) {
+    private void maybeQuarantineBandForNoProgress(ServerWorld world, int band, int bandAbortHits, boolean forceEarlyCycle) {
         long now = world.getTime();
-        if (isBandQuarantined(bandSignature, now)) {
+        if (isBandQuarantined(band, now)) {
             return;
         }
         if (!forceEarlyCycle && bandAbortHits < BAND_NO_PROGRESS_ABORT_THRESHOLD) {
@@ -1906,13 +1883,13 @@ public class MasonWallBuilderGoal extends Goal {
                 ? Math.max(BAND_QUARANTINE_COOLDOWN_TICKS, EARLY_CYCLE_ABORT_COOLDOWN_TICKS)
                 : BAND_QUARANTINE_COOLDOWN_TICKS;
         long quarantineUntil = now + cooldownTicks;
-        quarantinedBandUntilTick.put(bandSignature, quarantineUntil);
+        segmentTable.setQuarantineUntilTick(band, quarantineUntil);
         if (forceEarlyCycle) {
             int requiredPlacements = placementsSinceCycleStart + 1;
-            reinsertionPlacementGateByBand.put(bandSignature, requiredPlacements);
+            segmentTable.setPlacementGate(band, requiredPlacements);
             LOGGER.warn("MasonWallBuilder {}: early_cycle_band_quarantine band={} hits={} cooldownTicks={} quarantineUntilTick={} placementGate={}",
                     guard.getUuidAsString(),
-                    bandSignature,
+                    segmentTable.describeBand(band),
                     bandAbortHits,
                     cooldownTicks,
                     quarantineUntil,
@@ -1920,40 +1897,40 @@ public class MasonWallBuilderGoal extends Goal {
         } else {
             LOGGER.warn("MasonWallBuilder {}: band_quarantined band={} hits={} cooldownTicks={} quarantineUntilTick={}",
                     guard.getUuidAsString(),
-                    bandSignature,
+                    segmentTable.describeBand(band),
                     bandAbortHits,
                     cooldownTicks,
                     quarantineUntil);
         }
     }
 
-    private boolean isBandQuarantined(String bandSignature, long now) {
-        Long until = quarantinedBandUntilTick.get(bandSignature);
-        if (until == null) {
+    private boolean isBandQuarantined(int band, long now) {
+        long until = segmentTable.quarantineUntilTick(band);
+        if (until == MasonWallSegmentTable.NO_TICK) {
             return false;
         }
         if (until <= now) {
-            quarantinedBandUntilTick.remove(bandSignature);
-            Integer placementGate = reinsertionPlacementGateByBand.get(bandSignature);
-            if (placementGate == null || placementsSinceCycleStart >= placementGate) {
-                reinsertionPlacementGateByBand.remove(bandSignature);
+            segmentTable.setQuarantineUntilTick(band, MasonWallSegmentTable.NO_TICK);
+            int placementGate = segmentTable.placementGate(band);
+            if (placementGate == MasonWallSegmentTable.NO_PLACEMENT_GATE || placementsSinceCycleStart >= placementGate) {
+                segmentTable.setPlacementGate(band, MasonWallSegmentTable.NO_PLACEMENT_GATE);
                 return false;
             }
         }
-        Integer placementGate = reinsertionPlacementGateByBand.get(bandSignature);
-        if (placementGate != null && placementsSinceCycleStart < placementGate) {
+        int placementGate = segmentTable.placementGate(band);
+        if (placementGate != MasonWallSegmentTable.NO_PLACEMENT_GATE && placementsSinceCycleStart < placementGate) {
             return true;
         }
-        reinsertionPlacementGateByBand.remove(bandSignature);
+        segmentTable.setPlacementGate(band, MasonWallSegmentTable.NO_PLACEMENT_GATE);
         return until > now;
     }
 
     private boolean isSegmentBandQuarantined(ServerWorld world, BlockPos segment, long now) {
-        return isBandQuarantined(segmentBandSignature(world, segment), now);
+        return isBandQuarantined(segmentBandId(world, segment), now);
     }
 
-    private String segmentBandSignature(ServerWorld world, BlockPos segmentTarget) {
-        return segmentTarget.getX() + "|" + segmentTarget.getZ() + "|" + getSegmentLayer(world, segmentTarget);
+    private int segmentBandId(ServerWorld world, BlockPos segmentTarget) {
+        return segmentTable.bandId(segmentTarget.getX(), segmentTarget.getZ(), getSegmentLayer(world, segmentTarget));
     }
 
     private boolean isVegetationDenseAroundSegment(ServerWorld world, BlockPos segmentTarget) {
@@ -2056,7 +2033,7 @@ public class MasonWallBuilderGoal extends Goal {
                 continue;
             }
             transitionSegmentState(world, deferred.segment(), SegmentState.AVAILABLE, "deferred_requeue");
-            segmentCooldownUntilTick.remove(deferred.segment());
+            segmentTable.clearCooldown(deferred.segment());
             queueHardUnreachableRetry(deferred.segment());
             if (!vegetationDeferredThenRequeuedLogged) {
                 LOGGER.debug("MasonWallBuilder {}: vegetation_deferred_then_requeued segment={}",
@@ -2077,7 +2054,7 @@ public class MasonWallBuilderGoal extends Goal {
         }
         for (DeferredSegmentRetry deferred : deferredRetries) {
             transitionSegmentState(world, deferred.segment(), SegmentState.AVAILABLE, "deferred_requeue");
-            segmentCooldownUntilTick.remove(deferred.segment());
+            segmentTable.clearCooldown(deferred.segment());
             queueHardUnreachableRetry(deferred.segment());
             if (!vegetationDeferredThenRequeuedLogged) {
                 LOGGER.debug("MasonWallBuilder {}: vegetation_deferred_then_requeued segment={}",
@@ -2137,7 +2114,7 @@ public class MasonWallBuilderGoal extends Goal {
         if ("unbreakable_obstacle_repeat".equals(reasonCode)) {
             int layer = getSegmentLayer(world, immutableTarget);
             if (layer > 0) {
-                String localBand = localExclusionBandSignature(immutableTarget, layer);
+                int localBand = localExclusionBandId(immutableTarget, layer);
                 int escalationCount = registerUnbreakableEscalationBandAttempt(world, localBand);
                 maybeExcludeBandForUnbreakableEscalation(world, immutableTarget, escalationCount);
             }
@@ -2236,7 +2213,14 @@ public class MasonWallBuilderGoal extends Goal {
         // Place the block
         BlockState previousState = world.getBlockState(target);
         placementAttempts++;
-        boolean writeSuccess = world.setBlockState(target, placementMaterial.blockState());
+        WallPathReachabilityCache reachability = resolveReachabilityCache(world);
+        reachability.beginPlannedPlacement(target);
+        boolean writeSuccess;
+        try {
+            writeSuccess = world.setBlockState(target, placementMaterial.blockState());
+        } finally {
+            reachability.endPlannedPlacement();
+        }
         if (writeSuccess) {
             placementWriteSuccess++;
         }
@@ -2340,12 +2324,12 @@ public class MasonWallBuilderGoal extends Goal {
         List<BlockPos> cooldownTargets = new ArrayList<>(localSortieQueue);
         releaseLocalSortieClaims(world, "sortie_abort_no_net_progress");
         localSortieQueue.clear();
-        Map<String, Integer> bandRepeatCounts = new HashMap<>();
-        Set<String> earlyCycleBands = new HashSet<>();
+        Int2IntOpenHashMap bandRepeatCounts = new Int2IntOpenHashMap();
+        IntOpenHashSet earlyCycleBands = new IntOpenHashSet();
         boolean bootstrapQuarantineSoftened = isBootstrapQuarantineSoftenedForLayerOne(world);
         boolean bootstrapSoftenedLogged = false;
         for (BlockPos segment : cooldownTargets) {
-            String bandKey = segmentBandSignature(world, segment);
+            int bandKey = segmentBandId(world, segment);
             int bandAbortHits = registerNoProgressBandAbort(world, bandKey);
             boolean earlyCycleBand = isEarlyCycleAbortBand(segment);
             if (earlyCycleBand) {
@@ -2366,10 +2350,12 @@ public class MasonWallBuilderGoal extends Goal {
             } else {
                 maybeQuarantineBandForNoProgress(world, bandKey, bandAbortHits, earlyCycleBand);
             }
-            bandRepeatCounts.computeIfAbsent(bandKey, ignored -> incrementSortieAbortBandRepeatCount(bandKey));
+            if (!bandRepeatCounts.containsKey(bandKey)) {
+                bandRepeatCounts.put(bandKey, incrementSortieAbortBandRepeatCount(bandKey));
+            }
         }
         for (BlockPos segment : cooldownTargets) {
-            String bandKey = segmentBandSignature(world, segment);
+            int bandKey = segmentBandId(world, segment);
             boolean quarantined = isBandQuarantined(bandKey, now);
             int segmentRepeatCount = incrementSortieAbortSegmentRepeatCount(segment, bandKey);
             int bandRepeatCount = bandRepeatCounts.getOrDefault(bandKey, 1);
@@ -2442,7 +2428,8 @@ public class MasonWallBuilderGoal extends Goal {
 
     private BlockPos findBootstrapFallbackAnchorOnSameFace(ServerWorld world, BlockPos source) {
         LayerOneRegion sourceRegion = resolveLayerOneRegion(source);
-        int startIndex = segmentCandidateIndexByPos.getOrDefault(source.toImmutable(), Math.max(0, currentSegmentIndex));
+        int sourceIndex = segmentTable.candidateIndex(source);
+        int startIndex = sourceIndex != MasonWallSegmentTable.NONE ? sourceIndex : Math.max(0, currentSegmentIndex);
         for (int offset = 1; offset < pendingSegments.size(); offset++) {
             int idx = (startIndex + offset) % pendingSegments.size();
             BlockPos candidate = pendingSegments.get(idx);
@@ -2489,8 +2476,8 @@ public class MasonWallBuilderGoal extends Goal {
     }
 
     private void setBootstrapFallbackAnchorIndex(BlockPos anchor, String strategy) {
-        Integer anchorIndex = segmentCandidateIndexByPos.get(anchor.toImmutable());
-        if (anchorIndex == null) {
+        int anchorIndex = segmentTable.candidateIndex(anchor);
+        if (anchorIndex == MasonWallSegmentTable.NONE) {
             return;
         }
         currentSegmentIndex = Math.max(0, Math.min(anchorIndex, pendingSegments.size()));
@@ -2508,8 +2495,8 @@ public class MasonWallBuilderGoal extends Goal {
         if (placementsSinceCycleStart > 0) {
             return false;
         }
-        Integer candidateIndex = segmentCandidateIndexByPos.get(segment.toImmutable());
-        if (candidateIndex == null) {
+        int candidateIndex = segmentTable.candidateIndex(segment);
+        if (candidateIndex == MasonWallSegmentTable.NONE) {
             return false;
         }
         return candidateIndex < EARLY_CYCLE_CANDIDATE_INDEX_BAND_SIZE;
@@ -2691,24 +2678,18 @@ public class MasonWallBuilderGoal extends Goal {
         BlockPos immutablePos = pos.toImmutable();
         transitionSegmentState(worldOrNull(), immutablePos, SegmentState.AVAILABLE, "clear_failure_state");
         skippedSegmentFailMetadata.remove(immutablePos);
-        segmentCooldownUntilTick.remove(immutablePos);
+        segmentTable.clearCooldown(immutablePos);
         segmentNavTargetBackoffUntilTick.remove(immutablePos);
-        segmentRepeatRecoveryCounts.remove(immutablePos);
+        segmentTable.clearRepeatRecoveryCount(immutablePos);
         terminalSegmentReasons.remove(immutablePos);
     }
 
-    private int incrementSortieAbortBandRepeatCount(String bandKey) {
-        int next = sortieAbortBandRepeatCounts.getOrDefault(bandKey, 0) + 1;
-        sortieAbortBandRepeatCounts.put(bandKey, next);
-        return next;
+    private int incrementSortieAbortBandRepeatCount(int band) {
+        return segmentTable.incrementBandSortieAbortRepeatCount(band);
     }
 
-    private int incrementSortieAbortSegmentRepeatCount(BlockPos segment, String bandKey) {
-        BlockPos immutableSegment = segment.toImmutable();
-        int next = sortieAbortSegmentRepeatCounts.getOrDefault(immutableSegment, 0) + 1;
-        sortieAbortSegmentRepeatCounts.put(immutableSegment, next);
-        sortieAbortSegmentBandKeys.put(immutableSegment, bandKey);
-        return next;
+    private int incrementSortieAbortSegmentRepeatCount(BlockPos segment, int band) {
+        return segmentTable.incrementSortieAbortRepeatCount(segment, band);
     }
 
     private long computeSortieAbortAdaptiveCooldownTicks(int repeatCount) {
@@ -2716,17 +2697,7 @@ public class MasonWallBuilderGoal extends Goal {
     }
 
     private void resetSortieAbortBackoffAfterBandPlacement(ServerWorld world, BlockPos placedSegment) {
-        String placedBandKey = segmentBandSignature(world, placedSegment);
-        sortieAbortBandRepeatCounts.remove(placedBandKey);
-        sortieAbortSegmentRepeatCounts.remove(placedSegment.toImmutable());
-        sortieAbortSegmentBandKeys.remove(placedSegment.toImmutable());
-        sortieAbortSegmentBandKeys.entrySet().removeIf(entry -> {
-            if (!placedBandKey.equals(entry.getValue())) {
-                return false;
-            }
-            sortieAbortSegmentRepeatCounts.remove(entry.getKey());
-            return true;
-        });
+        segmentTable.clearSortieAbortHistory(placedSegment, segmentBandId(world, placedSegment));
     }
 
     private SegmentFailMetadata registerSegmentFailureMetadata(ServerWorld world, BlockPos segment, BlockPos attemptedNavTarget, String reason) {
@@ -2779,12 +2750,12 @@ public class MasonWallBuilderGoal extends Goal {
     }
 
     private boolean isSegmentInCooldown(BlockPos segment, long now) {
-        Long until = segmentCooldownUntilTick.get(segment.toImmutable());
-        if (until == null) {
+        long until = segmentTable.cooldownUntilTick(segment);
+        if (until == MasonWallSegmentTable.NO_TICK) {
             return false;
         }
         if (until <= now) {
-            segmentCooldownUntilTick.remove(segment.toImmutable());
+            segmentTable.clearCooldown(segment.toImmutable());
             return false;
         }
         return true;
@@ -2793,7 +2764,7 @@ public class MasonWallBuilderGoal extends Goal {
     private void requeueSegmentWithCooldown(ServerWorld world, BlockPos segment, String reason, long cooldownTicks, String reasonTag, int repeatRecoveryCount) {
         long requeueTick = world.getTime() + cooldownTicks;
         BlockPos immutableSegment = segment.toImmutable();
-        segmentCooldownUntilTick.put(immutableSegment, requeueTick);
+        segmentTable.setCooldownUntilTick(immutableSegment, requeueTick);
         releaseSegmentClaim(world, immutableSegment, reasonTag);
         markSkippedSegment(world, immutableSegment, reason);
         transitionSegmentState(world, immutableSegment, SegmentState.DEFERRED, reasonTag);
@@ -2809,10 +2780,7 @@ public class MasonWallBuilderGoal extends Goal {
     }
 
     private int incrementRepeatRecoveryCount(BlockPos segment) {
-        BlockPos immutableSegment = segment.toImmutable();
-        int next = segmentRepeatRecoveryCounts.getOrDefault(immutableSegment, 0) + 1;
-        segmentRepeatRecoveryCounts.put(immutableSegment, next);
-        return next;
+        return segmentTable.incrementRepeatRecoveryCount(segment);
     }
 
     private long computeWatchdogRepeatRecoveryCooldownTicks(int repeatRecoveryCount) {
@@ -2828,7 +2796,7 @@ public class MasonWallBuilderGoal extends Goal {
     private void markSegmentCycleExcluded(ServerWorld world, BlockPos segment, String reason, int repeatRecoveryCount) {
         BlockPos immutableSegment = segment.toImmutable();
         terminalSegmentReasons.put(immutableSegment, reason);
-        segmentCooldownUntilTick.remove(immutableSegment);
+        segmentTable.clearCooldown(immutableSegment);
         deferredSegmentRetryQueue.removeIf(deferred -> deferred.segment().equals(immutableSegment));
         hardUnreachableRetryQueue.remove(immutableSegment);
         localSortieQueue.remove(immutableSegment);
@@ -2870,7 +2838,8 @@ public class MasonWallBuilderGoal extends Goal {
 
     private void transitionSegmentState(ServerWorld world, BlockPos pos, SegmentState nextState, String reason) {
         BlockPos immutablePos = pos.toImmutable();
-        SegmentState previous = segmentStates.put(immutablePos, nextState);
+        int previousOrdinal = segmentTable.setStateOrdinal(immutablePos, nextState.ordinal());
+        SegmentState previous = previousOrdinal == MasonWallSegmentTable.NONE ? null : SEGMENT_STATES[previousOrdinal];
         if (didEnterDeferredOrSkippedState(previous, nextState)) {
             deferredOrSkippedSinceCycleStart++;
         }
@@ -2940,13 +2909,13 @@ public class MasonWallBuilderGoal extends Goal {
     private void recoverSegmentStatesForLayerAfterWatchdog(ServerWorld world, int activeLayer) {
         for (BlockPos segment : pendingSegments) {
             if (getSegmentLayer(world, segment) != activeLayer) continue;
-            SegmentState state = segmentStates.getOrDefault(segment, SegmentState.AVAILABLE);
+            SegmentState state = segmentState(segment);
             if (state != SegmentState.SKIPPED_TEMP && state != SegmentState.HARD_UNREACHABLE) continue;
             if (isTerminalSegment(segment)) continue;
             if (isGatePosition(segment) || isPlacedWallBlock(world.getBlockState(segment))) {
                 transitionSegmentState(world, segment, SegmentState.PLACED, "watchdog_resolved");
                 skippedSegmentFailMetadata.remove(segment);
-                segmentCooldownUntilTick.remove(segment);
+                segmentTable.clearCooldown(segment);
                 segmentNavTargetBackoffUntilTick.remove(segment);
                 continue;
             }
@@ -2965,7 +2934,7 @@ public class MasonWallBuilderGoal extends Goal {
             counts.put(state, 0);
         }
         for (BlockPos segment : pendingSegments) {
-            SegmentState state = segmentStates.getOrDefault(segment, SegmentState.AVAILABLE);
+            SegmentState state = segmentState(segment);
             counts.put(state, counts.getOrDefault(state, 0) + 1);
         }
         int trackedTotal = counts.values().stream().mapToInt(Integer::intValue).sum();
@@ -3510,7 +3479,7 @@ public class MasonWallBuilderGoal extends Goal {
             if (isRetryDensitySuppressedSegment(world, candidate)) continue;
             if (preferNonQuarantinedBands && isSegmentBandQuarantined(world, candidate, now)) continue;
             if (preferNonCycleExcludedBands && isSegmentInCycleExcludedBand(candidate, activeLayer)) continue;
-            if (segmentStates.getOrDefault(candidate, SegmentState.AVAILABLE) != SegmentState.AVAILABLE) continue;
+            if (segmentState(candidate) != SegmentState.AVAILABLE) continue;
             if (isBuildableCandidate(world, candidate)) {
                 return candidate;
             }
@@ -3576,9 +3545,9 @@ public class MasonWallBuilderGoal extends Goal {
             return candidates;
         }
         List<BlockPos> ordered = new ArrayList<>(candidates.size());
-        Set<String> usedBands = new HashSet<>();
+        IntOpenHashSet usedBands = new IntOpenHashSet();
         for (BlockPos candidate : candidates) {
-            String band = segmentBandSignature(world, candidate);
+            int band = segmentBandId(world, candidate);
             if (usedBands.add(band)) {
                 ordered.add(candidate);
             }
@@ -3763,7 +3732,7 @@ public class MasonWallBuilderGoal extends Goal {
             if (isPivotExcludedSegment(world, i, candidate)) continue;
             if (preferNonQuarantinedBands && isSegmentBandQuarantined(world, candidate, now)) continue;
             if (preferNonCycleExcludedBands && isSegmentInCycleExcludedBand(candidate, activeLayer)) continue;
-            if (segmentStates.getOrDefault(candidate, SegmentState.AVAILABLE) != SegmentState.AVAILABLE) continue;
+            if (segmentState(candidate) != SegmentState.AVAILABLE) continue;
             if (!isBuildableCandidate(world, candidate)) continue;
             candidates.add(candidate);
         }
@@ -4143,7 +4112,14 @@ public class MasonWallBuilderGoal extends Goal {
 
                 BlockState previousState = world.getBlockState(segment);
                 placementAttempts++;
-                boolean writeSuccess = world.setBlockState(segment, material.blockState());
+                WallPathReachabilityCache reachability = resolveReachabilityCache(world);
+                reachability.beginPlannedPlacement(segment);
+                boolean writeSuccess;
+                try {
+                    writeSuccess = world.setBlockState(segment, material.blockState());
+                } finally {
+                    reachability.endPlannedPlacement();
+                }
                 if (writeSuccess) {
                     placementWriteSuccess++;
                 }
@@ -4233,10 +4209,15 @@ public class MasonWallBuilderGoal extends Goal {
     }
 
     private boolean isTerminalSegment(BlockPos pos) {
-        SegmentState state = segmentStates.getOrDefault(pos.toImmutable(), SegmentState.AVAILABLE);
+        SegmentState state = segmentState(pos);
         return state == SegmentState.CYCLE_EXCLUDED || state == SegmentState.IRRECOVERABLE;
     }
 
+    private SegmentState segmentState(BlockPos pos) {
+        int ordinal = segmentTable.stateOrdinal(pos);
+        return ordinal == MasonWallSegmentTable.NONE ? SegmentState.AVAILABLE : SEGMENT_STATES[ordinal];
+    }
+
     private Map<String, Integer> summarizeTerminalSegmentReasons() {
         if (terminalSegmentReasons.isEmpty()) {
             return Map.of();
@@ -4308,6 +4289,7 @@ public class MasonWallBuilderGoal extends Goal {
             VillageWallProjectState wallProjectState = VillageWallProjectState.get(world.getServer());
             wallProjectState.markAllLayersComplete(world.getRegistryKey(), activeAnchorPos);
             wallProjectState.clearAssignment(world.getRegistryKey(), activeAnchorPos);
+            WallPathReachabilityCache.removeProject(world, activeAnchorPos);
             LOGGER.info("MasonWallBuilder {}: scheduler_event=completed anchor={} reason={} placements={} tick={}",
                     guard.getUuidAsString(),
                     activeAnchorPos.toShortString(),
@@ -4328,19 +4310,12 @@ public class MasonWallBuilderGoal extends Goal {
         cachedWallRectAnchor = null;
         cachedPoiFootprintSignature = null;
         clearProjectBaselineGround();
-        failureBandWindows.clear();
-        noProgressAbortBandWindows.clear();
-        quarantinedBandUntilTick.clear();
+        segmentTable.resetBandFailures();
         deferredSegmentRetryQueue.clear();
         skippedSegmentFailMetadata.clear();
-        segmentCooldownUntilTick.clear();
+        segmentTable.resetSegmentProgress();
         segmentNavTargetBackoffUntilTick.clear();
-        segmentRepeatRecoveryCounts.clear();
-        sortieAbortSegmentRepeatCounts.clear();
-        sortieAbortBandRepeatCounts.clear();
-        sortieAbortSegmentBandKeys.clear();
         terminalSegmentReasons.clear();
-        segmentStates.clear();
         clearStagnationPivotState();
         sortiePlacementsAtStart = 0;
         sortieStartTick = -1L;
@@ -4496,6 +4471,19 @@ public class MasonWallBuilderGoal extends Goal {
         );
     }
 
+    /**
+     * Version of the persisted compiled wall plan: the footprint signature hash plus the config
+     * values {@link #computeWallRect} reads, so a config change also recompiles the plan.
+     */
+    private int computeWallPlanVersion(int perimeterSignatureHash) {
+        return Objects.hash(
+                perimeterSignatureHash,
+                GuardVillagersConfig.masonWallExpandBlocks,
+                GuardVillagersConfig.masonWallMaxWidth,
+                GuardVillagersConfig.masonWallMaxDepth
+        );
+    }
+
     private int computeWallBoundsHash(WallRect rect) {
         return Objects.hash(rect.minX(), rect.minZ(), rect.maxX(), rect.maxZ(), rect.y());
     }
@@ -4532,7 +4520,17 @@ public class MasonWallBuilderGoal extends Goal {
             return;
         }
         infoLogRateLimitTickByType.put(messageType, now);
-        LOGGER.info(message, args);
+        if (VillageEventJournal.isEnabled(VillageEventJournal.Category.MASON_WALL)) {
+            VillageEventJournal.record(world, VillageEventJournal.EventType.MASON_RATE_LIMITED_INFO,
+                    VillageEventJournal.subjectOf(guard.getUuid()),
+                    VillageEventJournal.posOf(guard.getBlockPos()),
+                    VillageEventJournal.forWorld(world).intern(messageType));
+        }
+        if (verboseMasonWallLogging()) {
+            LOGGER.info(message, args);
+        } else {
+            LOGGER.debug(message, args);
+        }
     }
 
     private void logInfoOnStateChangeOrRateLimited(ServerWorld world,
@@ -4629,8 +4627,26 @@ public class MasonWallBuilderGoal extends Goal {
         double averageCandidatesPerSortie = sortieCandidateCountSamples <= 0
                 ? 0.0D
                 : (double) sortieCandidateCountSum / (double) sortieCandidateCountSamples;
-        String topFailureReasons = formatTopFailureCategories(2);
         maybeEmitZeroPlacementRetryWarning(world);
+        if (VillageEventJournal.isEnabled(VillageEventJournal.Category.MASON_WALL)) {
+            VillageEventJournal.record(world, VillageEventJournal.EventType.MASON_PERIODIC_SUMMARY,
+                    VillageEventJournal.subjectOf(guard.getUuid()),
+                    VillageEventJournal.posOf(activeAnchorPos),
+                    placedSegments,
+                    placementAttempts,
+                    pathRetriesSinceCycleStart,
+                    hardUnreachableSinceCycleStart,
+                    deferredOrSkippedSinceCycleStart,
+                    pathBudgetUsedSinceLastPeriodic);
+        }
+        if (!verboseMasonWallLogging() && !LOGGER.isDebugEnabled()) {
+            maybeEmitLayerOneFaceCoverageInfo(world);
+            lastPeriodicSummaryPlacementCount = placedSegments;
+            pathBudgetUsedSinceLastPeriodic = 0;
+            pathBudgetDeferredSinceLastPeriodic = 0;
+            return;
+        }
+        String topFailureReasons = formatTopFailureCategories(2);
         if (stage == Stage.PLACE_BLOCK && placementDeltaSinceLastSummary <= 0) {
             String stalledTarget = placeBlockFailureTarget == null ? "none" : placeBlockFailureTarget.toShortString();
             String stalledReason = placeBlockLastNonPlacementReason == null ? "none" : placeBlockLastNonPlacementReason;
@@ -4721,12 +4737,18 @@ public class MasonWallBuilderGoal extends Goal {
         if (activeAnchorPos != null) {
             VillageWallProjectState.get(world.getServer())
                     .markBuilderProgress(world.getRegistryKey(), activeAnchorPos, guard.getUuid(), world.getTime());
-            LOGGER.info("MasonWallBuilder {}: scheduler_event=progress anchor={} segment={} placements={} tick={}",
-                    guard.getUuidAsString(),
-                    activeAnchorPos.toShortString(),
-                    placedSegment.toShortString(),
-                    placementsSinceCycleStart,
-                    world.getTime());
+            VillageEventJournal.record(world, VillageEventJournal.EventType.MASON_PLACEMENT_PROGRESS,
+                    VillageEventJournal.subjectOf(guard.getUuid()),
+                    VillageEventJournal.posOf(placedSegment),
+                    placementsSinceCycleStart);
+            if (verboseMasonWallLogging()) {
+                LOGGER.info("MasonWallBuilder {}: scheduler_event=progress anchor={} segment={} placements={} tick={}",
+                        guard.getUuidAsString(),
+                        activeAnchorPos.toShortString(),
+                        placedSegment.toShortString(),
+                        placementsSinceCycleStart,
+                        world.getTime());
+            }
         }
         maybeExpandBootstrapRect(world, "confirmed_placement");
         clearSameCycleRestartSuppression("placement_progress");
@@ -4956,7 +4978,7 @@ public class MasonWallBuilderGoal extends Goal {
         stagnationPivotSuppressUntilTick = suppressionUntilTick;
         stagnationPivotPlacementStreak = 0;
         stagnationPivotPlacementsAtActivation = placementsSinceCycleStart;
-        stagnationPivotExcludedBandSignature = resolvePivotExcludedBandSignature(world);
+        stagnationPivotExcludedBand = resolvePivotExcludedBand(world);
         stagnationPivotActive = true;
         stagnationPivotActivatedAtTick = world.getTime();
         nextPivotLifecycleLogTick = world.getTime();
@@ -4973,7 +4995,7 @@ public class MasonWallBuilderGoal extends Goal {
                 retryDelta,
                 hardDelta,
                 stagnationPivotActiveSuppressedRegionKey == null ? "none" : stagnationPivotActiveSuppressedRegionKey.asKey(),
-                stagnationPivotExcludedBandSignature == null ? "none" : stagnationPivotExcludedBandSignature,
+                segmentTable.describeBand(stagnationPivotExcludedBand),
                 stagnationPivotSuppressUntilTick);
     }
 
@@ -4992,7 +5014,7 @@ public class MasonWallBuilderGoal extends Goal {
                 activeDuration,
                 cooldownRemaining,
                 clearConditionMet,
-                stagnationPivotExcludedBandSignature == null ? "none" : stagnationPivotExcludedBandSignature);
+                segmentTable.describeBand(stagnationPivotExcludedBand));
         long now = world == null ? 0L : world.getTime();
         stagnationPivotCooldownUntilTick = now + STAGNATION_PIVOT_REACTIVATION_COOLDOWN_TICKS;
         clearStagnationPivotState();
@@ -5009,7 +5031,7 @@ public class MasonWallBuilderGoal extends Goal {
         stagnationPivotSuppressUntilTick = 0L;
         stagnationPivotPlacementStreak = 0;
         stagnationPivotPlacementsAtActivation = 0;
-        stagnationPivotExcludedBandSignature = null;
+        stagnationPivotExcludedBand = MasonWallSegmentTable.NONE;
         lastPivotActivationRetryDelta = 0;
         lastPivotActivationHardDelta = 0;
         stagnationPivotActivatedAtTick = 0L;
@@ -5081,10 +5103,10 @@ public class MasonWallBuilderGoal extends Goal {
     }
 
     private boolean isPivotHardExcludedBand(ServerWorld world, BlockPos segment) {
-        if (!stagnationPivotActive || stagnationPivotExcludedBandSignature == null || segment == null) {
+        if (!stagnationPivotActive || stagnationPivotExcludedBand == MasonWallSegmentTable.NONE || segment == null) {
             return false;
         }
-        return stagnationPivotExcludedBandSignature.equals(segmentBandSignature(world, segment));
+        return stagnationPivotExcludedBand == segmentBandId(world, segment);
     }
 
     private boolean isPivotExcludedSegment(ServerWorld world, int index, BlockPos segment) {
@@ -5096,19 +5118,19 @@ public class MasonWallBuilderGoal extends Goal {
                 || isPivotHardExcludedBand(world, segment);
     }
 
-    private String resolvePivotExcludedBandSignature(ServerWorld world) {
+    private int resolvePivotExcludedBand(ServerWorld world) {
         BlockPos localHead = localSortieQueue.peekFirst();
         if (localHead != null) {
-            return segmentBandSignature(world, localHead);
+            return segmentBandId(world, localHead);
         }
         if (activeMoveTarget != null) {
-            return segmentBandSignature(world, activeMoveTarget);
+            return segmentBandId(world, activeMoveTarget);
         }
         int candidateIndex = Math.max(0, Math.min(currentSegmentIndex, Math.max(0, pendingSegments.size() - 1)));
         if (!pendingSegments.isEmpty() && candidateIndex < pendingSegments.size()) {
-            return segmentBandSignature(world, pendingSegments.get(candidateIndex));
+            return segmentBandId(world, pendingSegments.get(candidateIndex));
         }
-        return null;
+        return MasonWallSegmentTable.NONE;
     }
 
     private void maybeEscalatePivotStall(ServerWorld world, long activeDuration) {
@@ -5119,12 +5141,12 @@ public class MasonWallBuilderGoal extends Goal {
         if (placementsGained > 0) {
             return;
         }
-        if (stagnationPivotExcludedBandSignature != null) {
+        if (stagnationPivotExcludedBand != MasonWallSegmentTable.NONE) {
             long cooldownUntil = world.getTime() + STAGNATION_PIVOT_SECTION_COOLDOWN_TICKS;
-            quarantinedBandUntilTick.put(stagnationPivotExcludedBandSignature, cooldownUntil);
+            segmentTable.setQuarantineUntilTick(stagnationPivotExcludedBand, cooldownUntil);
             LOGGER.warn("MasonWallBuilder {}: stagnation_pivot_section_cooldown band={} cooldownTicks={} cooldownUntilTick={}",
                     guard.getUuidAsString(),
-                    stagnationPivotExcludedBandSignature,
+                    segmentTable.describeBand(stagnationPivotExcludedBand),
                     STAGNATION_PIVOT_SECTION_COOLDOWN_TICKS,
                     cooldownUntil);
         }
@@ -6165,10 +6187,7 @@ public class MasonWallBuilderGoal extends Goal {
 
         pendingSegments = new ArrayList<>(expandedSegments);
         guard.setWallSegments(pendingSegments);
-        segmentCandidateIndexByPos.clear();
-        for (int i = 0; i < pendingSegments.size(); i++) {
-            segmentCandidateIndexByPos.put(pendingSegments.get(i).toImmutable(), i);
-        }
+        segmentTable.reindexCandidates(pendingSegments);
         currentSegmentIndex = Math.min(currentSegmentIndex, Math.max(0, pendingSegments.size() - 1));
         cycleActiveRect = nextRect;
         bootstrapExpansionStage = nextStage;
@@ -6579,6 +6598,38 @@ public class MasonWallBuilderGoal extends Goal {
         projectBaselinePerimeterSignatureHash = perimeterSignatureHash;
     }
 
+    private void restoreProjectBaselineGround(Map<Long, Integer> baselineGroundByColumn, BlockPos anchorPos, int perimeterSignatureHash) {
+        projectBaselineGroundYByColumn.clear();
+        projectBaselineGroundYByColumn.putAll(baselineGroundByColumn);
+        projectBaselineAnchor = anchorPos.toImmutable();
+        projectBaselinePerimeterSignatureHash = perimeterSignatureHash;
+    }
+
+    /**
+     * Per-layer completion (index 0 = layer 1) derived from the unbuilt non-gate segments: a layer
+     * is complete once none of its segments, measured against the frozen column baseline, remain.
+     */
+    static boolean[] computeLayerProgress(List<BlockPos> unbuiltSegments, Set<BlockPos> gates, Map<Long, Integer> baselineGroundByColumn) {
+        boolean[] complete = {true, true, true};
+        for (BlockPos pos : unbuiltSegments) {
+            boolean gateColumn = false;
+            for (BlockPos gate : gates) {
+                if (gate.getX() == pos.getX() && gate.getZ() == pos.getZ()) {
+                    gateColumn = true;
+                    break;
+                }
+            }
+            if (gateColumn) continue;
+            Integer groundY = baselineGroundByColumn.get(perimeterColumnKey(pos.getX(), pos.getZ()));
+            if (groundY == null) continue;
+            int layer = pos.getY() - groundY;
+            if (layer >= 1 && layer <= 3) {
+                complete[layer - 1] = false;
+            }
+        }
+        return complete;
+    }
+
     private void clearProjectBaselineGround() {
         projectBaselineGroundYByColumn.clear();
         projectBaselineAnchor = null;
@@ -7395,7 +7446,6 @@ public class MasonWallBuilderGoal extends Goal {
 
     private record ProgressSnapshot(long tick, int placements, int pathRetries, int hardUnreachable) {}
 
-    private record FailureBandWindow(int count, long firstFailureTick) {}
 
     private record SuppressionRegionKey(String face, int bandIndex, int layer) {
         private String asKey() {
@@ -7476,10 +7526,6 @@ public class MasonWallBuilderGoal extends Goal {
         }
     }
 
-    private record PreflightCacheKey(BlockPos segment, BlockPos navTarget, long coarseTickBucket) {}
-
-    private record PreflightCacheEntry(boolean reachesTarget, long expiresAtTick) {}
-
     record EarlyCycleAbortPolicyDecision(long cooldownTicks, boolean shouldQuarantineBand) {}
 
     private record DeferredSegmentRetry(BlockPos segment, long requeueTick) {}
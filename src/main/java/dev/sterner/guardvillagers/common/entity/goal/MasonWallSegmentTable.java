@@ -0,0 +1,323 @@
+package dev.sterner.guardvillagers.common.entity.goal;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Struct-of-arrays bookkeeping for {@link MasonWallBuilderGoal}'s wall segments and failure bands.
+ *
+ * <p>Every segment position is given a row ordinal the first time something is written for it;
+ * state, cooldown, counters and the candidate index then live in primitive columns indexed by
+ * that ordinal. Bands (a segment column at one wall layer, {@code x|z|layer}) are interned to
+ * dense integer ids the same way, so band failure windows, quarantines and exclusions are array
+ * slots rather than string-keyed map entries. Reads of unknown positions or bands return the
+ * column default and never allocate a row.
+ *
+ * <p>{@link #clear()} keeps the column arrays, so a mason rebuilding the same wall every cycle
+ * reuses its storage.
+ */
+final class MasonWallSegmentTable {
+    static final int NONE = -1;
+    static final long NO_TICK = Long.MIN_VALUE;
+    static final int NO_PLACEMENT_GATE = Integer.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Sliding failure windows tracked per band. */
+    enum BandWindow {
+        PATH_FAILURE,
+        NO_PROGRESS_ABORT,
+        UNBREAKABLE_ESCALATION
+    }
+
+    private final Long2IntOpenHashMap rowByPos = new Long2IntOpenHashMap();
+    private int rowCount;
+    /** SegmentState ordinal, or {@link #NONE} when no state was ever recorded. */
+    private byte[] state = new byte[INITIAL_CAPACITY];
+    private long[] cooldownUntilTick = new long[INITIAL_CAPACITY];
+    private int[] repeatRecoveryCount = new int[INITIAL_CAPACITY];
+    private int[] sortieAbortRepeatCount = new int[INITIAL_CAPACITY];
+    private int[] sortieAbortBand = new int[INITIAL_CAPACITY];
+    private int[] candidateIndex = new int[INITIAL_CAPACITY];
+
+    private final Long2IntOpenHashMap bandByKey = new Long2IntOpenHashMap();
+    private int bandCount;
+    private long[] bandKey = new long[INITIAL_CAPACITY];
+    private final int[][] windowCount = new int[BandWindow.values().length][INITIAL_CAPACITY];
+    private final long[][] windowFirstTick = new long[BandWindow.values().length][INITIAL_CAPACITY];
+    private long[] quarantineUntilTick = new long[INITIAL_CAPACITY];
+    private int[] placementGate = new int[INITIAL_CAPACITY];
+    private boolean[] cycleExcluded = new boolean[INITIAL_CAPACITY];
+    private int[] bandSortieAbortRepeatCount = new int[INITIAL_CAPACITY];
+
+    MasonWallSegmentTable() {
+        rowByPos.defaultReturnValue(NONE);
+        bandByKey.defaultReturnValue(NONE);
+    }
+
+    /** Drops every segment row and band. */
+    void clear() {
+        rowByPos.clear();
+        rowCount = 0;
+        bandByKey.clear();
+        bandCount = 0;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    int bandCount() {
+        return bandCount;
+    }
+
+    // -------------------------------------------------------------------------
+    // Segment rows
+    // -------------------------------------------------------------------------
+
+    int stateOrdinal(BlockPos pos) {
+        int row = rowByPos.get(pos.asLong());
+        return row == NONE ? NONE : state[row];
+    }
+
+    /** Stores {@code ordinal} and returns the previous one ({@link #NONE} if unset). */
+    int setStateOrdinal(BlockPos pos, int ordinal) {
+        int row = row(pos);
+        int previous = state[row];
+        state[row] = (byte) ordinal;
+        return previous;
+    }
+
+    long cooldownUntilTick(BlockPos pos) {
+        int row = rowByPos.get(pos.asLong());
+        return row == NONE ? NO_TICK : cooldownUntilTick[row];
+    }
+
+    void setCooldownUntilTick(BlockPos pos, long tick) {
+        cooldownUntilTick[row(pos)] = tick;
+    }
+
+    void clearCooldown(BlockPos pos) {
+        int row = rowByPos.get(pos.asLong());
+        if (row != NONE) {
+            cooldownUntilTick[row] = NO_TICK;
+        }
+    }
+
+    int incrementRepeatRecoveryCount(BlockPos pos) {
+        return ++repeatRecoveryCount[row(pos)];
+    }
+
+    void clearRepeatRecoveryCount(BlockPos pos) {
+        int row = rowByPos.get(pos.asLong());
+        if (row != NONE) {
+            repeatRecoveryCount[row] = 0;
+        }
+    }
+
+    /** Bumps the segment's sortie-abort count and remembers which band it was aborted under. */
+    int incrementSortieAbortRepeatCount(BlockPos pos, int band) {
+        int row = row(pos);
+        sortieAbortBand[row] = band;
+        return ++sortieAbortRepeatCount[row];
+    }
+
+    /**
+     * Forgets sortie-abort history for {@code band}: its band counter, the placed segment, and
+     * every segment last aborted under that band.
+     */
+    void clearSortieAbortHistory(BlockPos placedSegment, int band) {
+        if (band != NONE && band < bandCount) {
+            bandSortieAbortRepeatCount[band] = 0;
+        }
+        int placedRow = rowByPos.get(placedSegment.asLong());
+        if (placedRow != NONE) {
+            sortieAbortRepeatCount[placedRow] = 0;
+            sortieAbortBand[placedRow] = NONE;
+        }
+        if (band == NONE) {
+            return;
+        }
+        for (int row = 0; row < rowCount; row++) {
+            if (sortieAbortBand[row] == band) {
+                sortieAbortRepeatCount[row] = 0;
+                sortieAbortBand[row] = NONE;
+            }
+        }
+    }
+
+    int candidateIndex(BlockPos pos) {
+        int row = rowByPos.get(pos.asLong());
+        return row == NONE ? NONE : candidateIndex[row];
+    }
+
+    /** Replaces the candidate-index column with positions in {@code segments}. */
+    void reindexCandidates(List<BlockPos> segments) {
+        Arrays.fill(candidateIndex, 0, rowCount, NONE);
+        for (int i = 0; i < segments.size(); i++) {
+            candidateIndex[row(segments.get(i))] = i;
+        }
+    }
+
+    /**
+     * Resets the per-segment progress columns (state, cooldown and repeat counters) while keeping
+     * rows and the candidate index.
+     */
+    void resetSegmentProgress() {
+        Arrays.fill(state, 0, rowCount, (byte) NONE);
+        Arrays.fill(cooldownUntilTick, 0, rowCount, NO_TICK);
+        Arrays.fill(repeatRecoveryCount, 0, rowCount, 0);
+        Arrays.fill(sortieAbortRepeatCount, 0, rowCount, 0);
+        Arrays.fill(sortieAbortBand, 0, rowCount, NONE);
+    }
+
+    private int row(BlockPos pos) {
+        long key = pos.asLong();
+        int row = rowByPos.get(key);
+        if (row != NONE) {
+            return row;
+        }
+        row = rowCount++;
+        if (row == state.length) {
+            growRows(row * 2);
+        }
+        state[row] = (byte) NONE;
+        cooldownUntilTick[row] = NO_TICK;
+        repeatRecoveryCount[row] = 0;
+        sortieAbortRepeatCount[row] = 0;
+        sortieAbortBand[row] = NONE;
+        candidateIndex[row] = NONE;
+        rowByPos.put(key, row);
+        return row;
+    }
+
+    private void growRows(int capacity) {
+        state = Arrays.copyOf(state, capacity);
+        cooldownUntilTick = Arrays.copyOf(cooldownUntilTick, capacity);
+        repeatRecoveryCount = Arrays.copyOf(repeatRecoveryCount, capacity);
+        sortieAbortRepeatCount = Arrays.copyOf(sortieAbortRepeatCount, capacity);
+        sortieAbortBand = Arrays.copyOf(sortieAbortBand, capacity);
+        candidateIndex = Arrays.copyOf(candidateIndex, capacity);
+    }
+
+    // -------------------------------------------------------------------------
+    // Bands
+    // -------------------------------------------------------------------------
+
+    /** Interned id for the band at column (x, z) on {@code layer}. */
+    int bandId(int x, int z, int layer) {
+        long key = packBand(x, z, layer);
+        int band = bandByKey.get(key);
+        if (band != NONE) {
+            return band;
+        }
+        band = bandCount++;
+        if (band == bandKey.length) {
+            growBands(band * 2);
+        }
+        bandKey[band] = key;
+        for (int window = 0; window < windowCount.length; window++) {
+            windowCount[window][band] = 0;
+            windowFirstTick[window][band] = NO_TICK;
+        }
+        quarantineUntilTick[band] = NO_TICK;
+        placementGate[band] = NO_PLACEMENT_GATE;
+        cycleExcluded[band] = false;
+        bandSortieAbortRepeatCount[band] = 0;
+        bandByKey.put(key, band);
+        return band;
+    }
+
+    /** {@code x|z|layer}, the band's log form. */
+    String describeBand(int band) {
+        if (band == NONE || band >= bandCount) {
+            return "none";
+        }
+        long key = bandKey[band];
+        return unpackBandX(key) + "|" + unpackBandZ(key) + "|" + unpackBandLayer(key);
+    }
+
+    /**
+     * Records a hit in {@code band}'s {@code window}, restarting the window when it is empty or
+     * older than {@code windowTicks}. Returns the hit count inside the current window.
+     */
+    int registerWindowHit(BandWindow window, int band, long now, long windowTicks) {
+        int[] counts = windowCount[window.ordinal()];
+        long[] firstTicks = windowFirstTick[window.ordinal()];
+        if (counts[band] == 0 || (now - firstTicks[band]) > windowTicks) {
+            counts[band] = 1;
+            firstTicks[band] = now;
+            return 1;
+        }
+        return ++counts[band];
+    }
+
+    long quarantineUntilTick(int band) {
+        return quarantineUntilTick[band];
+    }
+
+    void setQuarantineUntilTick(int band, long tick) {
+        quarantineUntilTick[band] = tick;
+    }
+
+    int placementGate(int band) {
+        return placementGate[band];
+    }
+
+    void setPlacementGate(int band, int requiredPlacements) {
+        placementGate[band] = requiredPlacements;
+    }
+
+    boolean isCycleExcluded(int band) {
+        return cycleExcluded[band];
+    }
+
+    void setCycleExcluded(int band) {
+        cycleExcluded[band] = true;
+    }
+
+    int incrementBandSortieAbortRepeatCount(int band) {
+        return ++bandSortieAbortRepeatCount[band];
+    }
+
+    /** Clears path-failure and no-progress windows, quarantines and band sortie-abort counters. */
+    void resetBandFailures() {
+        for (BandWindow window : new BandWindow[]{BandWindow.PATH_FAILURE, BandWindow.NO_PROGRESS_ABORT}) {
+            Arrays.fill(windowCount[window.ordinal()], 0, bandCount, 0);
+        }
+        Arrays.fill(quarantineUntilTick, 0, bandCount, NO_TICK);
+        Arrays.fill(bandSortieAbortRepeatCount, 0, bandCount, 0);
+    }
+
+    private void growBands(int capacity) {
+        bandKey = Arrays.copyOf(bandKey, capacity);
+        for (int window = 0; window < windowCount.length; window++) {
+            windowCount[window] = Arrays.copyOf(windowCount[window], capacity);
+            windowFirstTick[window] = Arrays.copyOf(windowFirstTick[window], capacity);
+        }
+        quarantineUntilTick = Arrays.copyOf(quarantineUntilTick, capacity);
+        placementGate = Arrays.copyOf(placementGate, capacity);
+        cycleExcluded = Arrays.copyOf(cycleExcluded, capacity);
+        bandSortieAbortRepeatCount = Arrays.copyOf(bandSortieAbortRepeatCount, capacity);
+    }
+
+    /** 26 bits each for x and z (world border range) and 12 bits for the signed layer. */
+    private static long packBand(int x, int z, int layer) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (layer & 0xFFF);
+    }
+
+    private static int unpackBandX(long key) {
+        return (int) (key >> 38) << 6 >> 6;
+    }
+
+    private static int unpackBandZ(long key) {
+        return (int) ((key >> 12) & 0x3FFFFFF) << 6 >> 6;
+    }
+
+    private static int unpackBandLayer(long key) {
+        return (int) (key & 0xFFF) << 20 >> 20;
+    }
+}
@@ -1,5 +1,6 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
+import dev.sterner.guardvillagers.common.util.PlacementSpotIndex;
 import dev.sterner.guardvillagers.common.util.ProfessionJobBlockHelper;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
@@ -131,27 +132,10 @@ public class PlaceOwnJobBlockNearJobSiteGoal extends Goal {
     }
 
     private BlockPos findPlacementPos(ServerWorld world, Block jobBlock) {
-        for (BlockPos pos : BlockPos.iterateOutwards(jobPos, SEARCH_RADIUS, MAX_VERTICAL_SEARCH, SEARCH_RADIUS)) {
-            if (!jobPos.isWithinDistance(pos, SEARCH_RADIUS)) {
-                continue;
-            }
-
-            BlockState candidateState = world.getBlockState(pos);
-            if (!candidateState.isReplaceable()) {
-                continue;
-            }
-
-            BlockState belowState = world.getBlockState(pos.down());
-            if (belowState.isAir()) {
-                continue;
-            }
-
-            BlockState stateToPlace = jobBlock.getDefaultState();
-            if (canPlaceAt(world, pos, stateToPlace)) {
-                return pos.toImmutable();
-            }
-        }
-        return null;
+        BlockState stateToPlace = jobBlock.getDefaultState();
+        return PlacementSpotIndex.forWorld(world).findNearest(world, jobPos, SEARCH_RADIUS, null, MAX_VERTICAL_SEARCH,
+                PlacementSpotIndex.CLEAR_ABOVE | PlacementSpotIndex.DRY,
+                spot -> canPlaceAt(world, spot.pos(), stateToPlace));
     }
 
     private boolean hasNearbyDuplicate(ServerWorld world, Block jobBlock) {
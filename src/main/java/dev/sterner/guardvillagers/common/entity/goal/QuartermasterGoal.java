@@ -3,10 +3,14 @@ package dev.sterner.guardvillagers.common.entity.goal;
 import dev.sterner.guardvillagers.GuardVillagersConfig;
 import dev.sterner.guardvillagers.common.entity.MasonGuardEntity;
 import dev.sterner.guardvillagers.common.entity.LumberjackGuardEntity;
+import dev.sterner.guardvillagers.common.util.DormantVillageEconomy;
 import dev.sterner.guardvillagers.common.util.JobBlockPairingHelper;
 import dev.sterner.guardvillagers.common.util.QuartermasterDemandPlanner;
 import dev.sterner.guardvillagers.common.util.QuartermasterPrerequisiteHelper;
+import dev.sterner.guardvillagers.common.util.RecipeDemandIndex;
+import dev.sterner.guardvillagers.common.util.VillageAiLod;
 import dev.sterner.guardvillagers.common.util.VillageAnchorState;
+import dev.sterner.guardvillagers.common.util.VillageEventJournal;
 import dev.sterner.guardvillagers.common.util.VillageGuardStandManager;
 import dev.sterner.guardvillagers.common.villager.behavior.WeaponsmithBehavior;
 import net.minecraft.block.BlockState;
@@ -33,6 +37,7 @@ import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.GlobalPos;
 import net.minecraft.village.VillagerProfession;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -69,7 +74,7 @@ import java.util.function.Predicate;
  * <p>The Quartermaster's paired chest is used as the transit buffer.  The bell chest is
  * resolved via {@link BellChestMappingState}.
  */
-public class QuartermasterGoal extends Goal {
+public class QuartermasterGoal extends Goal implements DormantVillageEconomy.Participant {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(QuartermasterGoal.class);
 
@@ -405,10 +410,37 @@ public class QuartermasterGoal extends Goal {
         }
         if (world.getTime() < nextCheckTick) return false;
 
-        nextCheckTick = world.getTime() + CHECK_INTERVAL_TICKS;
+        VillageAiLod.Tier lodTier = VillageAiLod.tierAt(world, chestPos);
+        nextCheckTick = world.getTime() + lodTier.scaleCooldown(CHECK_INTERVAL_TICKS);
+        if (!lodTier.runsProfessionWork()) {
+            DormantVillageEconomy.enterDormancy(world, chestPos, this);
+            return false;
+        }
+        DormantVillageEconomy.wakeIfDormant(world, chestPos);
         return tryPlanTransfer(world);
     }
 
+    @Override
+    public boolean isDormantParticipantActive() {
+        return villager.isAlive() && !villager.isRemoved();
+    }
+
+    @Override
+    public DormantVillageEconomy.Snapshot snapshotForDormancy(ServerWorld world) {
+        return DormantVillageEconomy.Snapshot.hauler(chestPos);
+    }
+
+    /**
+     * Hauls are not simulated: the chests they would read changed during the catch-up batch, so
+     * the QM just drops its stale demand queue and replans on this check.
+     */
+    @Override
+    public int applyDormantCatchUp(ServerWorld world, DormantVillageEconomy.Snapshot snapshot, int budget,
+                                   @Nullable RecipeDemandIndex.RouteIndex routes) {
+        requestImmediatePrerequisiteRevalidation();
+        return 0;
+    }
+
     @Override
     public boolean shouldContinue() {
         return stage != Stage.IDLE && stage != Stage.DONE && villager.isAlive() && !villager.isRemoved();
@@ -1221,7 +1253,7 @@ public class QuartermasterGoal extends Goal {
 
     /**
      * Returns the chest position of any weaponsmith that is low on planks and close enough
-     * to our job site to warrant a delivery trip. Uses WeaponsmithBehavior.getPairedChestPositions()
+     * to our job site to warrant a delivery trip. Uses WeaponsmithBehavior.getPairedChestPositions(world)
      * so we don't need to scan entities — the chest positions are tracked by the behavior.
      */
     /**
@@ -1305,27 +1337,52 @@ public class QuartermasterGoal extends Goal {
             }
             if (!isNaturalVillageChest(world, bellChestPos, candidate)) {
                 filteredNotNatural++;
-                String naturalRejectReason = getNaturalVillageChestRejectReason(world, bellChestPos, candidate);
-                LOGGER.info("QM {} bootstrap candidate={} reject_reason={}",
-                        villager.getUuidAsString(),
-                        candidate.toShortString(),
-                        naturalRejectReason);
+                boolean journalEnabled = VillageEventJournal.isEnabled(VillageEventJournal.Category.QUARTERMASTER);
+                if (journalEnabled || LOGGER.isDebugEnabled()) {
+                    String naturalRejectReason = getNaturalVillageChestRejectReason(world, bellChestPos, candidate);
+                    if (journalEnabled) {
+                        VillageEventJournal.record(world, VillageEventJournal.EventType.QM_BOOTSTRAP_CANDIDATE_REJECTED,
+                                VillageEventJournal.subjectOf(villager.getUuid()),
+                                candidate.asLong(),
+                                VillageEventJournal.forWorld(world).intern(naturalRejectReason));
+                    }
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("QM {} bootstrap candidate={} reject_reason={}",
+                                villager.getUuidAsString(),
+                                candidate.toShortString(),
+                                naturalRejectReason);
+                    }
+                }
                 continue;
             }
             int candidateItemCount = countAllItems(world, candidate);
             if (candidateItemCount <= 0) {
                 filteredEmpty++;
-                LOGGER.info("QM {} bootstrap candidate={} reject_reason=empty_chest",
-                        villager.getUuidAsString(),
-                        candidate.toShortString());
+                if (VillageEventJournal.isEnabled(VillageEventJournal.Category.QUARTERMASTER)) {
+                    VillageEventJournal.record(world, VillageEventJournal.EventType.QM_BOOTSTRAP_CANDIDATE_REJECTED,
+                            VillageEventJournal.subjectOf(villager.getUuid()),
+                            candidate.asLong(),
+                            VillageEventJournal.forWorld(world).intern("empty_chest"));
+                }
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("QM {} bootstrap candidate={} reject_reason=empty_chest",
+                            villager.getUuidAsString(),
+                            candidate.toShortString());
+                }
                 continue;
             }
             if (deduplicated.add(candidate)) {
                 tierA.add(candidate);
-                LOGGER.info("QM {} bootstrap discovered_natural_chest={} items={}",
-                        villager.getUuidAsString(),
-                        candidate.toShortString(),
+                VillageEventJournal.record(world, VillageEventJournal.EventType.QM_BOOTSTRAP_CHEST_DISCOVERED,
+                        VillageEventJournal.subjectOf(villager.getUuid()),
+                        candidate.asLong(),
                         candidateItemCount);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("QM {} bootstrap discovered_natural_chest={} items={}",
+                            villager.getUuidAsString(),
+                            candidate.toShortString(),
+                            candidateItemCount);
+                }
             }
         }
         tierA.sort(Comparator.comparingDouble(candidate -> candidate.getSquaredDistance(bellChestPos)));
@@ -1355,14 +1412,25 @@ public class QuartermasterGoal extends Goal {
             BootstrapDiscoveryResult discovery = discoverBootstrapSourceChestsWithStats(world, bellChestPos);
             bootstrapSourceQueue.addAll(discovery.tierA());
             bootstrapSourceQueue.addAll(discovery.tierB());
-            LOGGER.info("QM {} bootstrap discovery run #{}: discovered={} filtered_paired={} filtered_empty={} (zone_radius={} local_poi_radius={})",
-                    villager.getUuidAsString(),
-                    bootstrapDiscoveryRuns,
-                    discovery.discoveredCount(),
-                    discovery.filteredPaired(),
-                    discovery.filteredEmpty(),
-                    getNaturalVillagePoiScanRadius(),
-                    getNaturalVillageChestLocalPoiRadius());
+            if (VillageEventJournal.isEnabled(VillageEventJournal.Category.QUARTERMASTER)) {
+                VillageEventJournal.record(world, VillageEventJournal.EventType.QM_BOOTSTRAP_DISCOVERY_RUN,
+                        VillageEventJournal.subjectOf(villager.getUuid()),
+                        bellChestPos.asLong(),
+                        bootstrapDiscoveryRuns,
+                        discovery.discoveredCount(),
+                        discovery.filteredPaired(),
+                        discovery.filteredEmpty());
+            }
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("QM {} bootstrap discovery run #{}: discovered={} filtered_paired={} filtered_empty={} (zone_radius={} local_poi_radius={})",
+                        villager.getUuidAsString(),
+                        bootstrapDiscoveryRuns,
+                        discovery.discoveredCount(),
+                        discovery.filteredPaired(),
+                        discovery.filteredEmpty(),
+                        getNaturalVillagePoiScanRadius(),
+                        getNaturalVillageChestLocalPoiRadius());
+            }
             bootstrapConsolidationState = BootstrapConsolidationState.CONSOLIDATING;
             if (bootstrapSourceQueue.isEmpty()) {
                 bootstrapEmptyDiscoveryRetries++;
@@ -1410,12 +1478,19 @@ public class QuartermasterGoal extends Goal {
             bootstrapSourceQueue.pollFirst();
             int itemsInSource = countAllItems(world, source);
             planFullChestHaul(source, bellChestPos);
-            LOGGER.info("QM {}: bootstrap TARGETING chest={} items_to_load={} dest={} remaining_in_queue={}",
-                    villager.getUuidAsString(),
-                    source.toShortString(),
+            VillageEventJournal.record(world, VillageEventJournal.EventType.QM_BOOTSTRAP_TARGETING,
+                    VillageEventJournal.subjectOf(villager.getUuid()),
+                    source.asLong(),
                     itemsInSource,
-                    bellChestPos.toShortString(),
                     bootstrapSourceQueue.size());
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("QM {}: bootstrap TARGETING chest={} items_to_load={} dest={} remaining_in_queue={}",
+                        villager.getUuidAsString(),
+                        source.toShortString(),
+                        itemsInSource,
+                        bellChestPos.toShortString(),
+                        bootstrapSourceQueue.size());
+            }
             return true;
         }
 
@@ -1580,7 +1655,7 @@ public class QuartermasterGoal extends Goal {
     private record LumberjackFurnaceStoneNeed(LumberjackGuardEntity lumberjack, BlockPos chestPos) {}
 
     private Optional<BlockPos> findWeaponsmithChestNeedingPlanks(ServerWorld world) {
-        for (BlockPos chestPos : WeaponsmithBehavior.getPairedChestPositions()) {
+        for (BlockPos chestPos : WeaponsmithBehavior.getPairedChestPositions(world)) {
             if (chestPos.isWithinDistance(jobPos, getScanRange())
                     && countTagItems(world, chestPos, ItemTags.PLANKS) < WEAPONSMITH_PLANK_THRESHOLD) {
                 return Optional.of(chestPos);
@@ -1,5 +1,6 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
+import dev.sterner.guardvillagers.common.util.FlatSiteFinder;
 import dev.sterner.guardvillagers.common.util.VillagePenRegistry;
 import dev.sterner.guardvillagers.common.villager.behavior.ShepherdPenLifecycle;
 import net.minecraft.block.Block;
@@ -364,27 +365,27 @@ public class ShepherdFencePlacerGoal extends Goal {
 
     /**
      * Scans for a valid 7×7 pen site within SITE_SEARCH_RADIUS blocks of the job block.
-     * Uses BlockPos.Mutable to avoid GC pressure.
+     * The surface grid is sampled once; only footprints that pass the sliding-window flatness
+     * check reach the block-level validation.
      */
     private PenPlan findPenSite(ServerWorld world) {
-        for (int dx = -SITE_SEARCH_RADIUS; dx <= SITE_SEARCH_RADIUS - PEN_SIZE; dx++) {
-            for (int dz = -SITE_SEARCH_RADIUS; dz <= SITE_SEARCH_RADIUS - PEN_SIZE; dz++) {
-                int baseX = jobPos.getX() + dx;
-                int baseZ = jobPos.getZ() + dz;
-
-                int[] surfaceYMap = sampleSurfaceYMap(world, baseX, baseZ);
-                if (!isPerimeterFlat(surfaceYMap, FLAT_Y_DELTA)) continue;
-
-                Integer flatY = getSharedFlatY(surfaceYMap, FLAT_Y_DELTA);
-                if (flatY == null) continue;
+        FlatSiteFinder finder = FlatSiteFinder.sampleWorld(world,
+                jobPos.getX() - SITE_SEARCH_RADIUS, jobPos.getZ() - SITE_SEARCH_RADIUS,
+                jobPos.getX() + SITE_SEARCH_RADIUS - PEN_SIZE, jobPos.getZ() + SITE_SEARCH_RADIUS - PEN_SIZE,
+                PEN_SIZE, jobPos.getY());
+        BlockPos origin = finder.findFirst(1, FLAT_Y_DELTA, (baseX, flatY, baseZ) ->
+                isSiteValid(world, new BlockPos(baseX, flatY, baseZ), surfaceYMapFrom(finder, baseX, baseZ), flatY));
+        return origin == null ? null : buildPenPlan(world, origin);
+    }
 
-                BlockPos origin = new BlockPos(baseX, flatY, baseZ);
-                if (isSiteValid(world, origin, surfaceYMap, flatY)) {
-                    return buildPenPlan(world, origin);
-                }
+    private static int[] surfaceYMapFrom(FlatSiteFinder finder, int baseX, int baseZ) {
+        int[] surfaceYMap = new int[PEN_SIZE * PEN_SIZE];
+        for (int dx = 0; dx < PEN_SIZE; dx++) {
+            for (int dz = 0; dz < PEN_SIZE; dz++) {
+                surfaceYMap[indexFor(dx, dz)] = finder.surfaceY(baseX + dx, baseZ + dz);
             }
         }
-        return null;
+        return surfaceYMap;
     }
 
     /**
@@ -1,13 +1,14 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
 import dev.sterner.guardvillagers.common.util.JobBlockPairingHelper;
+import dev.sterner.guardvillagers.common.util.VillageDroppedItemTracker;
+import dev.sterner.guardvillagers.common.util.VillageLivestockRoster;
 import dev.sterner.guardvillagers.common.util.VillagePenRegistry;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
 import net.minecraft.block.FenceBlock;
 import net.minecraft.block.FenceGateBlock;
 import net.minecraft.entity.ai.goal.Goal;
-import net.minecraft.entity.ItemEntity;
 import net.minecraft.entity.passive.AnimalEntity;
 import net.minecraft.entity.passive.SheepEntity;
 import net.minecraft.entity.passive.VillagerEntity;
@@ -1175,7 +1176,7 @@ public class ShepherdSpecialGoal extends Goal {
 
     private void forceNearbySheepFocusOnShepherd(ServerWorld world) {
         Box sheepBox = new Box(villager.getBlockPos()).expand(HERD_SELECTION_RANGE, 6.0D, HERD_SELECTION_RANGE);
-        List<SheepEntity> nearbySheep = world.getEntitiesByClass(SheepEntity.class, sheepBox, SheepEntity::isAlive);
+        List<SheepEntity> nearbySheep = VillageLivestockRoster.forWorld(world).getAnimals(SheepEntity.class, sheepBox, SheepEntity::isAlive);
         for (SheepEntity sheep : nearbySheep) {
             sheep.getLookControl().lookAt(villager, 30.0F, 30.0F);
             sheep.getNavigation().startMovingTo(villager, 1.05D);
@@ -1184,13 +1185,12 @@ public class ShepherdSpecialGoal extends Goal {
 
     private int countSheepNearby(ServerWorld world) {
         Box box = new Box(villager.getBlockPos()).expand(SHEEP_SCAN_RANGE);
-        List<SheepEntity> sheep = world.getEntitiesByClass(SheepEntity.class, box, SheepEntity::isAlive);
-        return sheep.size();
+        return VillageLivestockRoster.forWorld(world).getAnimals(SheepEntity.class, box, SheepEntity::isAlive).size();
     }
 
     private boolean hasShearableSheepNearby(ServerWorld world) {
         Box box = new Box(villager.getBlockPos()).expand(SHEEP_SCAN_RANGE);
-        return !world.getEntitiesByClass(SheepEntity.class, box, entity -> entity.isAlive() && entity.isShearable()).isEmpty();
+        return !VillageLivestockRoster.forWorld(world).getAnimals(SheepEntity.class, box, SheepEntity::isShearable).isEmpty();
     }
 
     private void depositSpecialItems(ServerWorld world) {
@@ -1357,15 +1357,14 @@ public class ShepherdSpecialGoal extends Goal {
 
     private List<SheepEntity> findSheepTargets(ServerWorld world, BlockPos penCenter) {
         if (penCenter == null) {
-            return List.of();
+            return new ArrayList<>();
+        }
+        VillageLivestockRoster.PenRoster roster = VillageLivestockRoster.forWorld(world).getPenRoster(penCenter, 16.0D, 6.0D);
+        if (roster.countShearableSheep() == 0) {
+            return new ArrayList<>();
         }
-        Box box = new Box(penCenter).expand(16.0D, 6.0D, 16.0D);
-        List<SheepEntity> sheep = world.getEntitiesByClass(
-                SheepEntity.class,
-                box,
-                entity -> entity.isAlive() && entity.isShearable() && isInsideSpecificPen(world, entity.getBlockPos(), penCenter));
-        sheep.sort(Comparator.comparingDouble(entity -> entity.squaredDistanceTo(villager)));
-        return new ArrayList<>(sheep);
+        return roster.nearest(SheepEntity.class, villager, Integer.MAX_VALUE,
+                entity -> entity.isShearable() && isInsideSpecificPen(world, entity.getBlockPos(), penCenter));
     }
 
     private SheepEntity getSheepTarget() {
@@ -1433,15 +1432,15 @@ public class ShepherdSpecialGoal extends Goal {
 
     private void collectNearbyWool(ServerWorld world, BlockPos center) {
         Box box = new Box(center).expand(3.0D);
-        List<ItemEntity> items = world.getEntitiesByClass(ItemEntity.class, box, entity -> entity.isAlive() && entity.getStack().isIn(ItemTags.WOOL));
-        for (ItemEntity itemEntity : items) {
-            ItemStack remaining = insertStack(villager.getInventory(), itemEntity.getStack());
-            if (remaining.isEmpty()) {
-                itemEntity.discard();
-            } else {
-                itemEntity.setStack(remaining);
-            }
-        }
+        VillageDroppedItemTracker.forWorld(world)
+                .pickUpInPlace(box, VillageDroppedItemTracker.DropKind.WOOL, villager.getUuid(), entity -> entity.getStack().isIn(ItemTags.WOOL), itemEntity -> {
+                    ItemStack remaining = insertStack(villager.getInventory(), itemEntity.getStack());
+                    if (remaining.isEmpty()) {
+                        itemEntity.discard();
+                    } else {
+                        itemEntity.setStack(remaining);
+                    }
+                });
         villager.getInventory().markDirty();
     }
 
@@ -1576,10 +1575,7 @@ public class ShepherdSpecialGoal extends Goal {
 
     private List<SheepEntity> findBackupSheepTargets(ServerWorld world) {
         Box box = new Box(villager.getBlockPos()).expand(SHEEP_SCAN_RANGE);
-        List<SheepEntity> candidates = new ArrayList<>(world.getEntitiesByClass(
-                SheepEntity.class,
-                box,
-                entity -> entity.isAlive() && entity.isShearable()));
+        List<SheepEntity> candidates = VillageLivestockRoster.forWorld(world).getAnimals(SheepEntity.class, box, SheepEntity::isShearable);
 
         if (candidates.isEmpty()) {
             return List.of();
@@ -2397,7 +2393,7 @@ public class ShepherdSpecialGoal extends Goal {
         }
 
         Box searchBox = new Box(villager.getBlockPos()).expand(HERD_SELECTION_RANGE, 6.0D, HERD_SELECTION_RANGE);
-        List<AnimalEntity> nearbyAnimals = world.getEntitiesByClass(AnimalEntity.class, searchBox, this::isGatherTargetAnimal);
+        List<AnimalEntity> nearbyAnimals = VillageLivestockRoster.forWorld(world).getAnimals(AnimalEntity.class, searchBox, this::isGatherTargetAnimal);
         nearbyAnimals.sort(Comparator.comparingDouble(villager::squaredDistanceTo));
 
         activeHerd.clear();
@@ -1,5 +1,6 @@
 package dev.sterner.guardvillagers.common.entity.goal;
 
+import dev.sterner.guardvillagers.common.util.SmithingMatchIndex;
 import dev.sterner.guardvillagers.common.villager.CraftingCheckLogger;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import net.minecraft.block.BlockState;
@@ -10,7 +11,6 @@ import net.minecraft.inventory.Inventory;
 import net.minecraft.item.ArmorItem;
 import net.minecraft.item.ItemStack;
 import net.minecraft.recipe.RecipeEntry;
-import net.minecraft.recipe.RecipeType;
 import net.minecraft.recipe.SmithingRecipe;
 import net.minecraft.recipe.input.SmithingRecipeInput;
 import net.minecraft.server.world.ServerWorld;
@@ -20,9 +20,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Comparator;
 import java.util.Optional;
 
 /**
@@ -152,9 +152,12 @@ public class ToolsmithSmithingGoal extends Goal {
             return 0;
         }
 
+        SmithingMatchIndex index = SmithingMatchIndex.forWorld(world);
+        SmithingMatchIndex.SlotBuckets buckets = SmithingMatchIndex.bucket(inventory);
+        BitSet candidates = index.candidateRecipes(buckets);
         int matches = 0;
-        for (RecipeEntry<SmithingRecipe> entry : getSmithingRecipes(world)) {
-            if (findMatchForRecipe(world, inventory, entry) != null) {
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            if (findMatchForRecipe(world, inventory, index, buckets, ordinal) != null) {
                 matches++;
             }
         }
@@ -198,8 +201,11 @@ public class ToolsmithSmithingGoal extends Goal {
     }
 
     private SmithingPlan findFirstValidPlan(ServerWorld world, Inventory inventory) {
-        for (RecipeEntry<SmithingRecipe> entry : getSmithingRecipes(world)) {
-            SmithingPlan match = findMatchForRecipe(world, inventory, entry);
+        SmithingMatchIndex index = SmithingMatchIndex.forWorld(world);
+        SmithingMatchIndex.SlotBuckets buckets = SmithingMatchIndex.bucket(inventory);
+        BitSet candidates = index.candidateRecipes(buckets);
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            SmithingPlan match = findMatchForRecipe(world, inventory, index, buckets, ordinal);
             if (match != null) {
                 return match;
             }
@@ -207,27 +213,30 @@ public class ToolsmithSmithingGoal extends Goal {
         return null;
     }
 
-
-    private List<RecipeEntry<SmithingRecipe>> getSmithingRecipes(ServerWorld world) {
-        List<RecipeEntry<SmithingRecipe>> entries = new ArrayList<>(world.getRecipeManager().listAllOfType(RecipeType.SMITHING));
-        entries.sort(Comparator.comparing(entry -> entry.id().toString()));
-        return entries;
-    }
-
-    private SmithingPlan findMatchForRecipe(ServerWorld world, Inventory inventory, RecipeEntry<SmithingRecipe> entry) {
+    /**
+     * Tries only the slots the {@link SmithingMatchIndex} accepts for each input role, in the same
+     * base → template → addition slot order as a full scan, and confirms with {@code recipe.matches}.
+     */
+    private SmithingPlan findMatchForRecipe(ServerWorld world,
+                                            Inventory inventory,
+                                            SmithingMatchIndex index,
+                                            SmithingMatchIndex.SlotBuckets buckets,
+                                            int ordinal) {
+        RecipeEntry<SmithingRecipe> entry = index.recipe(ordinal);
         SmithingRecipe recipe = entry.value();
-        List<Integer> nonEmptySlots = collectNonEmptySlots(inventory);
+        int[] templateSlots = index.matchingSlots(buckets, ordinal, SmithingMatchIndex.Role.TEMPLATE);
+        int[] materialSlots = index.matchingSlots(buckets, ordinal, SmithingMatchIndex.Role.ADDITION);
 
-        for (int armorSlot : nonEmptySlots) {
+        for (int armorSlot : index.matchingSlots(buckets, ordinal, SmithingMatchIndex.Role.BASE)) {
             ItemStack armor = inventory.getStack(armorSlot);
             if (!(armor.getItem() instanceof ArmorItem)) {
                 continue;
             }
-            for (int templateSlot : nonEmptySlots) {
+            for (int templateSlot : templateSlots) {
                 if (templateSlot == armorSlot) {
                     continue;
                 }
-                for (int materialSlot : nonEmptySlots) {
+                for (int materialSlot : materialSlots) {
                     if (materialSlot == armorSlot || materialSlot == templateSlot) {
                         continue;
                     }
@@ -255,16 +264,6 @@ public class ToolsmithSmithingGoal extends Goal {
         return null;
     }
 
-    private List<Integer> collectNonEmptySlots(Inventory inventory) {
-        List<Integer> slots = new ArrayList<>();
-        for (int slot = 0; slot < inventory.size(); slot++) {
-            if (!inventory.getStack(slot).isEmpty()) {
-                slots.add(slot);
-            }
-        }
-        return slots;
-    }
-
     private boolean consumeAndReplace(Inventory inventory, SmithingPlan plan) {
         if (inventory.getStack(plan.templateSlot).isEmpty()
                 || inventory.getStack(plan.baseArmorSlot).isEmpty()
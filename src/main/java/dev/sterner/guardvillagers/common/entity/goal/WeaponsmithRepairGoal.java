@@ -25,7 +25,9 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class WeaponsmithRepairGoal extends Goal {
@@ -203,23 +205,31 @@ public class WeaponsmithRepairGoal extends Goal {
         return findRepairPlan(inventory);
     }
 
+    /**
+     * Single pass over the chest: remembers the first damaged slot per item and pairs it with the
+     * next one of that item. Of all pairs, the one whose first slot is lowest wins, the same pair a
+     * slot-by-slot pairwise scan would pick.
+     */
     private Optional<RepairPlan> findRepairPlan(Inventory inventory) {
-        for (int slotA = 0; slotA < inventory.size(); slotA++) {
-            ItemStack a = inventory.getStack(slotA);
-            if (!isRepairInput(a)) {
+        Map<Item, Integer> firstSlotByItem = new HashMap<>();
+        int bestFirst = -1;
+        int bestSecond = -1;
+        for (int slot = 0; slot < inventory.size(); slot++) {
+            ItemStack stack = inventory.getStack(slot);
+            if (!isRepairInput(stack)) {
                 continue;
             }
-            for (int slotB = slotA + 1; slotB < inventory.size(); slotB++) {
-                ItemStack b = inventory.getStack(slotB);
-                if (!isRepairInput(b)) {
-                    continue;
-                }
-                if (a.getItem() == b.getItem()) {
-                    return Optional.of(new RepairPlan(slotA, slotB, a.copyWithCount(1), b.copyWithCount(1)));
-                }
+            Integer first = firstSlotByItem.putIfAbsent(stack.getItem(), slot);
+            if (first != null && (bestFirst < 0 || first < bestFirst)) {
+                bestFirst = first;
+                bestSecond = slot;
             }
         }
-        return Optional.empty();
+        if (bestFirst < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new RepairPlan(bestFirst, bestSecond,
+                inventory.getStack(bestFirst).copyWithCount(1), inventory.getStack(bestSecond).copyWithCount(1)));
     }
 
     private boolean isRepairInput(ItemStack stack) {
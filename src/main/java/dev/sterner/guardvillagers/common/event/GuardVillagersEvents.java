@@ -1,8 +1,10 @@
 package dev.sterner.guardvillagers.common.event;
 
 import net.fabricmc.fabric.api.event.Event;
+import net.minecraft.block.BlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
 
 import static net.fabricmc.fabric.api.event.EventFactory.createArrayBacked;
 
@@ -14,8 +16,23 @@ public class GuardVillagersEvents {
         }
     });
 
+    /**
+     * Fired on the server thread after a block state in {@code serverWorld} has been replaced.
+     * Listeners must stay cheap: this runs for every block change in every loaded chunk.
+     */
+    public static final Event<OnBlockChanged> BLOCK_CHANGED = createArrayBacked(OnBlockChanged.class, listeners -> (serverWorld, pos, oldState, newState) -> {
+        for (OnBlockChanged listener : listeners) {
+            listener.onBlockChanged(serverWorld, pos, oldState, newState);
+        }
+    });
+
     @FunctionalInterface
     public interface OnSpawned {
         void onSpawned(ServerWorld serverWorld, Entity entity);
     }
+
+    @FunctionalInterface
+    public interface OnBlockChanged {
+        void onBlockChanged(ServerWorld serverWorld, BlockPos pos, BlockState oldState, BlockState newState);
+    }
 }
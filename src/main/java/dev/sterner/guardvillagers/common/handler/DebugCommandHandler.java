@@ -0,0 +1,93 @@
+package dev.sterner.guardvillagers.common.handler;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import dev.sterner.guardvillagers.GuardVillagers;
+import dev.sterner.guardvillagers.common.util.LumberjackUpgradeState;
+import dev.sterner.guardvillagers.common.util.MasonShaftRegistryState;
+import dev.sterner.guardvillagers.common.villager.ChestWatcherIndex;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@code /guardvillagers debug ...}: read-only views of the mod's persistent and in-memory state.
+ */
+public final class DebugCommandHandler {
+    private static final int MAX_SHAFT_LINES = 20;
+
+    private DebugCommandHandler() {
+    }
+
+    public static void register() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> registerCommands(dispatcher));
+    }
+
+    private static void registerCommands(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(CommandManager.literal(GuardVillagers.MODID)
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(CommandManager.literal("debug")
+                        .then(CommandManager.literal("upgrades").executes(DebugCommandHandler::upgrades))
+                        .then(CommandManager.literal("shafts").executes(DebugCommandHandler::shafts))
+                        .then(CommandManager.literal("components").executes(DebugCommandHandler::components))));
+    }
+
+    private static int upgrades(CommandContext<ServerCommandSource> context) {
+        ServerWorld world = context.getSource().getWorld();
+        LumberjackUpgradeState.Stats upgrades = LumberjackUpgradeState.get(world.getServer()).stats(world.getRegistryKey());
+        context.getSource().sendFeedback(() -> Text.literal(String.format(Locale.ROOT,
+                "Lumberjack upgrades: chestPaired=%d tablePaired=%d villages=%d retries=%d transitions=%d/%d evicted=%d",
+                upgrades.chestPaired(), upgrades.tablePaired(), upgrades.stagesByVillage().size(), upgrades.retryBackoffs(),
+                upgrades.chestPairedTransitions(), upgrades.tablePairedTransitions(), upgrades.evicted())), false);
+        return upgrades.chestPaired() + upgrades.tablePaired();
+    }
+
+    private static int shafts(CommandContext<ServerCommandSource> context) {
+        ServerWorld world = context.getSource().getWorld();
+        MasonShaftRegistryState registry = MasonShaftRegistryState.get(world.getServer());
+        MasonShaftRegistryState.Stats shafts = registry.stats(world.getRegistryKey());
+        context.getSource().sendFeedback(() -> Text.literal(String.format(Locale.ROOT,
+                "Mason shafts in %s: open=%d closed=%d villages=%d hazards=%d minedBlocks=%d",
+                world.getRegistryKey().getValue(),
+                shafts.openShafts(), shafts.closedShafts(), shafts.villages(), shafts.hazards(), shafts.minedBlocks())), false);
+        List<MasonShaftRegistryState.ShaftReport> reports = registry.shaftReports(world.getRegistryKey());
+        for (int i = 0; i < Math.min(MAX_SHAFT_LINES, reports.size()); i++) {
+            MasonShaftRegistryState.ShaftReport report = reports.get(i);
+            MasonShaftRegistryState.ShaftView shaft = report.shaft();
+            context.getSource().sendFeedback(() -> Text.literal(String.format(Locale.ROOT,
+                    "- village %s shaft %s: step=%d minedBlocks=%d owner=%s%s",
+                    BlockPos.fromLong(report.villageKey()).toShortString(),
+                    shaft.origin().toShortString(),
+                    shaft.stepIndex(),
+                    shaft.minedBlocks(),
+                    shaft.owner() == null ? "none" : shaft.owner(),
+                    shaft.closed() ? " (closed)" : "")), false);
+        }
+        return reports.size();
+    }
+
+    private static int components(CommandContext<ServerCommandSource> context) {
+        Map<String, Integer> counts = VillagerComponents.liveCounts();
+        int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+        context.getSource().sendFeedback(() -> Text.literal("Live villager components: " + total + " across " + counts.size() + " keys"), false);
+        counts.forEach((key, count) -> {
+            if (count > 0) {
+                context.getSource().sendFeedback(() -> Text.literal("- " + key + ": " + count), false);
+            }
+        });
+        ChestWatcherIndex.watchedPositionCounts().forEach((index, positions) -> {
+            if (positions > 0) {
+                context.getSource().sendFeedback(() -> Text.literal("- chest watchers " + index + ": " + positions + " positions"), false);
+            }
+        });
+        return total;
+    }
+}
@@ -0,0 +1,115 @@
+package dev.sterner.guardvillagers.common.handler;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.BoolArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import dev.sterner.guardvillagers.GuardVillagers;
+import dev.sterner.guardvillagers.common.util.SweepWorldAccess;
+import dev.sterner.guardvillagers.common.util.VillageEventJournal;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.WorldSavePath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * {@code /guardvillagers journal ...}: inspect, tune and dump the per-world {@link VillageEventJournal}.
+ */
+public final class JournalCommandHandler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalCommandHandler.class);
+
+    private JournalCommandHandler() {
+    }
+
+    public static void register() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> registerCommands(dispatcher));
+    }
+
+    private static void registerCommands(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(CommandManager.literal(GuardVillagers.MODID)
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(CommandManager.literal("journal")
+                        .then(CommandManager.literal("status").executes(JournalCommandHandler::status))
+                        .then(CommandManager.literal("dump")
+                                .executes(context -> dump(context, VillageEventJournal.DumpFormat.NDJSON))
+                                .then(CommandManager.literal("ndjson").executes(context -> dump(context, VillageEventJournal.DumpFormat.NDJSON)))
+                                .then(CommandManager.literal("binary").executes(context -> dump(context, VillageEventJournal.DumpFormat.BINARY))))
+                        .then(CommandManager.literal("category")
+                                .then(CommandManager.argument("name", StringArgumentType.word())
+                                        .suggests((context, builder) -> {
+                                            for (VillageEventJournal.Category category : VillageEventJournal.Category.values()) {
+                                                builder.suggest(category.name().toLowerCase(Locale.ROOT));
+                                            }
+                                            return builder.buildFuture();
+                                        })
+                                        .then(CommandManager.argument("enabled", BoolArgumentType.bool())
+                                                .executes(JournalCommandHandler::setCategory))))
+                        .then(CommandManager.literal("sample")
+                                .then(CommandManager.argument("every", IntegerArgumentType.integer(1, 1024))
+                                        .executes(JournalCommandHandler::setSample)))));
+    }
+
+    private static int status(CommandContext<ServerCommandSource> context) {
+        ServerWorld world = context.getSource().getWorld();
+        VillageEventJournal journal = VillageEventJournal.forWorld(world);
+        context.getSource().sendFeedback(() -> Text.literal(String.format(Locale.ROOT,
+                "Journal %s: written=%d sampledOut=%d capacity=%d sampleEvery=%d categories=%s",
+                world.getRegistryKey().getValue(),
+                journal.getWrittenCount(),
+                journal.getSampledOutCount(),
+                journal.getCapacity(),
+                VillageEventJournal.getSampleEvery(),
+                VillageEventJournal.describeEnabledCategories())), false);
+        SweepWorldAccess.Stats sweeps = SweepWorldAccess.getStats(world);
+        context.getSource().sendFeedback(() -> Text.literal(String.format(Locale.ROOT,
+                "Background sweeps: deferredReads=%d replayed=%d pending=%d ready=%d",
+                sweeps.deferredReads(), sweeps.replayed(), sweeps.pending(), sweeps.ready())), false);
+        return 1;
+    }
+
+    private static int dump(CommandContext<ServerCommandSource> context, VillageEventJournal.DumpFormat format) {
+        ServerCommandSource source = context.getSource();
+        MinecraftServer server = source.getServer();
+        Path directory = server.getSavePath(WorldSavePath.ROOT).resolve(GuardVillagers.MODID);
+        VillageEventJournal.dumpAsync(source.getWorld(), format, directory)
+                .whenCompleteAsync((path, error) -> {
+                    if (error != null) {
+                        LOGGER.warn("Village event journal dump failed", error);
+                        source.sendError(Text.literal("Journal dump failed: " + error.getMessage()));
+                    } else {
+                        source.sendFeedback(() -> Text.literal("Journal written to " + path), true);
+                    }
+                }, server);
+        source.sendFeedback(() -> Text.literal("Writing journal (" + format.name().toLowerCase(Locale.ROOT) + ")..."), false);
+        return 1;
+    }
+
+    private static int setCategory(CommandContext<ServerCommandSource> context) {
+        String name = StringArgumentType.getString(context, "name");
+        VillageEventJournal.Category category = VillageEventJournal.Category.byName(name);
+        if (category == null) {
+            context.getSource().sendError(Text.literal("Unknown journal category: " + name));
+            return 0;
+        }
+        boolean enabled = BoolArgumentType.getBool(context, "enabled");
+        VillageEventJournal.setCategoryEnabled(category, enabled);
+        context.getSource().sendFeedback(() -> Text.literal("Journal categories: " + VillageEventJournal.describeEnabledCategories()), true);
+        return 1;
+    }
+
+    private static int setSample(CommandContext<ServerCommandSource> context) {
+        int every = IntegerArgumentType.getInteger(context, "every");
+        VillageEventJournal.setSampleEvery(every);
+        context.getSource().sendFeedback(() -> Text.literal("Journal sampling: 1 in " + every), true);
+        return 1;
+    }
+}
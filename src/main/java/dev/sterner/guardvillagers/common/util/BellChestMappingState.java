@@ -222,6 +222,17 @@ public class BellChestMappingState extends PersistentState {
         return primary == null || primary.pos().equals(bellPos);
     }
 
+    /** Returns every registered primary bell in {@code world}. */
+    public Set<BlockPos> getPrimaryBellPositions(ServerWorld world) {
+        Set<BlockPos> positions = new HashSet<>();
+        for (Map.Entry<GlobalPos, GlobalPos> entry : bellToPrimary.entrySet()) {
+            if (entry.getKey().equals(entry.getValue()) && entry.getKey().dimension().equals(world.getRegistryKey())) {
+                positions.add(entry.getKey().pos().toImmutable());
+            }
+        }
+        return positions;
+    }
+
     private BlockPos findNearbyPrimaryBell(ServerWorld world, BlockPos bellPos, int radius) {
         RegistryKey<net.minecraft.world.World> dim = world.getRegistryKey();
         long radiusSq = (long) radius * radius;
@@ -1,50 +1,50 @@
 package dev.sterner.guardvillagers.common.util;
 
+import dev.sterner.guardvillagers.GuardVillagersConfig;
+import dev.sterner.guardvillagers.common.util.ConvertedWorkerJobSiteReservationState.Ledger;
+import dev.sterner.guardvillagers.common.util.ConvertedWorkerJobSiteReservationState.Reservation;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minecraft.block.BlockState;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.village.VillagerProfession;
-import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
-
+import java.util.function.LongPredicate;
+
+/**
+ * Job sites reserved for converted-worker guards, so vanilla villagers do not claim them.
+ *
+ * <p>Reservations live in {@link ConvertedWorkerJobSiteReservationState} and survive restarts.
+ * They are validated against the expected workstation block when their chunk loads and when the
+ * block at a reserved position changes, not on lookup; lookups are a single hash probe. A periodic
+ * sweep also drops the reservations of guards that died or have not been seen loaded for
+ * {@link GuardVillagersConfig#convertedWorkerReservationTtlTicks}, so a guard removed while its
+ * chunk was unloaded does not hold its job site forever.
+ */
 public final class ConvertedWorkerJobSiteReservationManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConvertedWorkerJobSiteReservationManager.class);
-    private static final Map<WorldKey, Map<BlockPos, Reservation>> RESERVATIONS_BY_POS = new HashMap<>();
-    private static final Map<WorldKey, Map<UUID, Set<BlockPos>>> RESERVED_POS_BY_GUARD = new HashMap<>();
+    static final long SWEEP_INTERVAL_TICKS = 1200L;
 
     private ConvertedWorkerJobSiteReservationManager() {
     }
 
     public static void reserve(ServerWorld world, BlockPos pos, UUID guardUuid, VillagerProfession expectedProfession, String source) {
-        BlockPos immutablePos = pos.toImmutable();
-        WorldKey worldKey = WorldKey.from(world);
-        Reservation reservation = new Reservation(guardUuid, expectedProfession);
-
-        Map<BlockPos, Reservation> byPos = RESERVATIONS_BY_POS.computeIfAbsent(worldKey, ignored -> new HashMap<>());
-        Reservation previous = byPos.put(immutablePos, reservation);
-
+        Ledger ledger = ledger(world);
+        Reservation previous = ledger.put(pos.asLong(), new Reservation(guardUuid, expectedProfession));
+        ledger.markSeen(guardUuid, world.getTime());
         if (previous != null) {
-            removeGuardLink(worldKey, previous.guardUuid(), immutablePos);
             LOGGER.debug("Replacing reserved job site {} in {} from guard {} to guard {} (source={})",
-                    immutablePos.toShortString(), world.getRegistryKey().getValue(), previous.guardUuid(), guardUuid, source);
+                    pos.toShortString(), world.getRegistryKey().getValue(), previous.guardUuid(), guardUuid, source);
         } else {
             LOGGER.debug("Reserving job site {} in {} for guard {} (source={})",
-                    immutablePos.toShortString(), world.getRegistryKey().getValue(), guardUuid, source);
+                    pos.toShortString(), world.getRegistryKey().getValue(), guardUuid, source);
         }
-
-        RESERVED_POS_BY_GUARD
-                .computeIfAbsent(worldKey, ignored -> new HashMap<>())
-                .computeIfAbsent(guardUuid, ignored -> new HashSet<>())
-                .add(immutablePos);
     }
 
     public static EnsureResult ensureReservation(ServerWorld world,
@@ -52,162 +52,125 @@ public final class ConvertedWorkerJobSiteReservationManager {
                                                  UUID guardUuid,
                                                  VillagerProfession expectedProfession,
                                                  String source) {
-        BlockPos immutablePos = pos.toImmutable();
-        WorldKey worldKey = WorldKey.from(world);
-        Map<BlockPos, Reservation> byPos = RESERVATIONS_BY_POS.computeIfAbsent(worldKey, ignored -> new HashMap<>());
-        Reservation existing = byPos.get(immutablePos);
+        Ledger ledger = ledger(world);
+        Reservation existing = ledger.get(pos.asLong());
 
         if (existing != null) {
-            if (!isReservationValid(world, immutablePos, existing)) {
-                clearReservation(world, worldKey, immutablePos, existing, "expected workstation block mismatch");
-                reserve(world, immutablePos, guardUuid, expectedProfession, source);
+            if (!isReservationValid(world.getBlockState(pos), existing)) {
+                clearReservation(world, ledger, pos.asLong(), "expected workstation block mismatch");
+                reserve(world, pos, guardUuid, expectedProfession, source);
                 return EnsureResult.ADDED_AFTER_INVALID_REMOVAL;
             }
             if (existing.guardUuid().equals(guardUuid) && existing.expectedProfession() == expectedProfession) {
+                ledger.markSeen(guardUuid, world.getTime());
                 return EnsureResult.UNCHANGED;
             }
-            reserve(world, immutablePos, guardUuid, expectedProfession, source);
+            reserve(world, pos, guardUuid, expectedProfession, source);
             return EnsureResult.REPLACED_EXISTING;
         }
 
-        reserve(world, immutablePos, guardUuid, expectedProfession, source);
+        reserve(world, pos, guardUuid, expectedProfession, source);
         return EnsureResult.ADDED;
     }
 
     public static boolean isReserved(ServerWorld world, BlockPos pos) {
-        WorldKey worldKey = WorldKey.from(world);
-        Map<BlockPos, Reservation> byPos = RESERVATIONS_BY_POS.get(worldKey);
-        if (byPos == null) {
-            return false;
-        }
-
-        BlockPos immutablePos = pos.toImmutable();
-        Reservation reservation = byPos.get(immutablePos);
-        if (reservation == null) {
-            return false;
-        }
-
-        if (!isReservationValid(world, immutablePos, reservation)) {
-            clearReservation(world, worldKey, immutablePos, reservation, "expected workstation block mismatch");
-            return false;
-        }
-
-        return true;
+        return ledger(world).contains(pos.asLong());
     }
 
     public static boolean isReservedForAnyConvertedWorker(ServerWorld world, BlockPos pos) {
         return isReserved(world, pos);
     }
 
-    public static void unreserveByGuard(ServerWorld world, UUID guardUuid, String reason) {
-        WorldKey worldKey = WorldKey.from(world);
-        Map<UUID, Set<BlockPos>> byGuard = RESERVED_POS_BY_GUARD.get(worldKey);
-        if (byGuard == null) {
-            return;
-        }
-
-        Set<BlockPos> reserved = byGuard.remove(guardUuid);
-        if (reserved == null || reserved.isEmpty()) {
-            return;
-        }
-
-        Map<BlockPos, Reservation> byPos = RESERVATIONS_BY_POS.get(worldKey);
-        if (byPos == null) {
-            return;
-        }
-
-        for (BlockPos pos : reserved) {
-            Reservation reservation = byPos.get(pos);
-            if (reservation != null && reservation.guardUuid().equals(guardUuid)) {
-                byPos.remove(pos);
-                LOGGER.debug("Unreserving job site {} in {} for guard {} (reason={})",
-                        pos.toShortString(), world.getRegistryKey().getValue(), guardUuid, reason);
-            }
-        }
+    /**
+     * Packed-position membership test for the world's reservations, for filters that check many
+     * candidates in one pass. Reflects later reservations and releases.
+     */
+    public static LongPredicate reservedPositions(ServerWorld world) {
+        return ledger(world)::contains;
+    }
 
-        if (byPos.isEmpty()) {
-            RESERVATIONS_BY_POS.remove(worldKey);
-        }
-        if (byGuard.isEmpty()) {
-            RESERVED_POS_BY_GUARD.remove(worldKey);
+    public static void unreserveByGuard(ServerWorld world, UUID guardUuid, String reason) {
+        Ledger ledger = ledger(world);
+        LongArrayList reserved = ledger.positionsOf(guardUuid);
+        for (int i = 0; i < reserved.size(); i++) {
+            long pos = reserved.getLong(i);
+            ledger.remove(pos);
+            LOGGER.debug("Unreserving job site {} in {} for guard {} (reason={})",
+                    BlockPos.fromLong(pos).toShortString(), world.getRegistryKey().getValue(), guardUuid, reason);
         }
     }
 
     public static Optional<UUID> getReservedGuard(ServerWorld world, BlockPos pos) {
-        if (!isReserved(world, pos)) {
-            return Optional.empty();
-        }
-
-        Reservation reservation = RESERVATIONS_BY_POS.getOrDefault(WorldKey.from(world), Map.of()).get(pos.toImmutable());
-        return reservation == null ? Optional.empty() : Optional.of(reservation.guardUuid());
+        return Optional.ofNullable(ledger(world).get(pos.asLong())).map(Reservation::guardUuid);
     }
 
     public static Optional<VillagerProfession> getReservedProfession(ServerWorld world, BlockPos pos) {
-        if (!isReserved(world, pos)) {
-            return Optional.empty();
-        }
-
-        Reservation reservation = RESERVATIONS_BY_POS.getOrDefault(WorldKey.from(world), Map.of()).get(pos.toImmutable());
-        return reservation == null ? Optional.empty() : Optional.of(reservation.expectedProfession());
+        return Optional.ofNullable(ledger(world).get(pos.asLong())).map(Reservation::expectedProfession);
     }
 
     public static boolean removeReservation(ServerWorld world, BlockPos pos, String reason) {
-        WorldKey worldKey = WorldKey.from(world);
-        Map<BlockPos, Reservation> byPos = RESERVATIONS_BY_POS.get(worldKey);
-        if (byPos == null) {
-            return false;
-        }
-
-        BlockPos immutablePos = pos.toImmutable();
-        Reservation reservation = byPos.get(immutablePos);
-        if (reservation == null) {
+        Ledger ledger = ledger(world);
+        if (!ledger.contains(pos.asLong())) {
             return false;
         }
-
-        clearReservation(world, worldKey, immutablePos, reservation, reason);
+        clearReservation(world, ledger, pos.asLong(), reason);
         return true;
     }
 
-    private static boolean isReservationValid(ServerWorld world, BlockPos pos, Reservation reservation) {
-        BlockState state = world.getBlockState(pos);
-        return ProfessionDefinitions.isExpectedJobBlock(reservation.expectedProfession(), state);
+    /** Drops the reservation at {@code pos} if its workstation block was replaced. */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos, BlockState newState) {
+        Ledger ledger = ledger(world);
+        Reservation reservation = ledger.get(pos.asLong());
+        if (reservation != null && !isReservationValid(newState, reservation)) {
+            clearReservation(world, ledger, pos.asLong(), "workstation block changed");
+        }
     }
 
-    private static void clearReservation(ServerWorld world, WorldKey worldKey, BlockPos pos, Reservation reservation, String reason) {
-        Map<BlockPos, Reservation> byPos = RESERVATIONS_BY_POS.get(worldKey);
-        if (byPos != null) {
-            byPos.remove(pos);
-            if (byPos.isEmpty()) {
-                RESERVATIONS_BY_POS.remove(worldKey);
+    /** Re-validates the reservations inside a chunk that has just loaded. */
+    public static void onChunkLoad(ServerWorld world, Chunk chunk) {
+        Ledger ledger = ledger(world);
+        if (ledger.size() == 0) {
+            return;
+        }
+        LongArrayList positions = ledger.positionsInChunk(chunk.getPos().x, chunk.getPos().z);
+        BlockPos.Mutable cursor = new BlockPos.Mutable();
+        for (int i = 0; i < positions.size(); i++) {
+            long pos = positions.getLong(i);
+            Reservation reservation = ledger.get(pos);
+            if (reservation != null && !isReservationValid(chunk.getBlockState(cursor.set(pos)), reservation)) {
+                clearReservation(world, ledger, pos, "expected workstation block missing on chunk load");
             }
         }
-
-        removeGuardLink(worldKey, reservation.guardUuid(), pos);
-        LOGGER.debug("Unreserving job site {} in {} for guard {} (reason={})",
-                pos.toShortString(), world.getRegistryKey().getValue(), reservation.guardUuid(), reason);
     }
 
-    private static void removeGuardLink(WorldKey worldKey, UUID guardUuid, BlockPos pos) {
-        Map<UUID, Set<BlockPos>> byGuard = RESERVED_POS_BY_GUARD.get(worldKey);
-        if (byGuard == null) {
+    /** Evicts reservations of dead or long-unseen guards, at most once per {@value #SWEEP_INTERVAL_TICKS} ticks. */
+    public static void evictStaleIfDue(ServerWorld world) {
+        Ledger ledger = ledger(world);
+        long now = world.getTime();
+        if (ledger.size() == 0 || !ledger.claimSweep(now, SWEEP_INTERVAL_TICKS)) {
             return;
         }
-
-        Set<BlockPos> positions = byGuard.get(guardUuid);
-        if (positions == null) {
-            return;
+        LongArrayList evicted = ledger.evictStale(now, GuardVillagersConfig.convertedWorkerReservationTtlTicks, world::getEntity);
+        for (int i = 0; i < evicted.size(); i++) {
+            LOGGER.debug("Unreserving job site {} in {} (reason=guard not seen within ttl)",
+                    BlockPos.fromLong(evicted.getLong(i)).toShortString(), world.getRegistryKey().getValue());
         }
+    }
 
-        positions.remove(pos);
-        if (positions.isEmpty()) {
-            byGuard.remove(guardUuid);
-        }
-        if (byGuard.isEmpty()) {
-            RESERVED_POS_BY_GUARD.remove(worldKey);
-        }
+    private static Ledger ledger(ServerWorld world) {
+        return ConvertedWorkerJobSiteReservationState.get(world.getServer()).ledger(world.getRegistryKey());
     }
 
-    private record Reservation(UUID guardUuid, VillagerProfession expectedProfession) {
+    private static boolean isReservationValid(BlockState state, Reservation reservation) {
+        return ProfessionDefinitions.isExpectedJobBlock(reservation.expectedProfession(), state);
+    }
+
+    private static void clearReservation(ServerWorld world, Ledger ledger, long pos, String reason) {
+        Reservation removed = ledger.remove(pos);
+        if (removed != null) {
+            LOGGER.debug("Unreserving job site {} in {} for guard {} (reason={})",
+                    BlockPos.fromLong(pos).toShortString(), world.getRegistryKey().getValue(), removed.guardUuid(), reason);
+        }
     }
 
     public enum EnsureResult {
@@ -216,10 +179,4 @@ public final class ConvertedWorkerJobSiteReservationManager {
         ADDED_AFTER_INVALID_REMOVAL,
         REPLACED_EXISTING
     }
-
-    private record WorldKey(net.minecraft.registry.RegistryKey<World> worldKey) {
-        private static WorldKey from(ServerWorld world) {
-            return new WorldKey(world.getRegistryKey());
-        }
-    }
 }
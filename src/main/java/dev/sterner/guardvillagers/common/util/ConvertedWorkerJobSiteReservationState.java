@@ -0,0 +1,246 @@
+package dev.sterner.guardvillagers.common.util;
+
+import dev.sterner.guardvillagers.GuardVillagers;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.village.VillagerProfession;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Saved ledger behind {@link ConvertedWorkerJobSiteReservationManager}: which job sites are
+ * reserved for which converted-worker guard, per dimension.
+ *
+ * <p>Reservations are keyed by packed block position so the POI filter can test a candidate with a
+ * single hash probe. Each dimension also indexes its reservations by guard (for bulk release) and by
+ * chunk (so a chunk load only re-validates the reservations inside it). The tick each guard was
+ * last seen loaded is kept alongside, so reservations of guards that never come back can expire.
+ */
+public class ConvertedWorkerJobSiteReservationState extends PersistentState {
+    private static final String STATE_ID = GuardVillagers.MODID + "_converted_worker_job_sites";
+    private static final String RESERVATIONS_KEY = "Reservations";
+    private static final String DIMENSION_KEY = "Dimension";
+    private static final String POS_KEY = "Pos";
+    private static final String GUARD_KEY = "Guard";
+    private static final String PROFESSION_KEY = "Profession";
+    private static final String LAST_SEEN_TICK_KEY = "LastSeenTick";
+
+    private final Map<RegistryKey<World>, Ledger> ledgers = new HashMap<>();
+
+    public static ConvertedWorkerJobSiteReservationState get(MinecraftServer server) {
+        return server.getOverworld().getPersistentStateManager().getOrCreate(getType(), STATE_ID);
+    }
+
+    private static Type<ConvertedWorkerJobSiteReservationState> getType() {
+        return new Type<>(ConvertedWorkerJobSiteReservationState::new, ConvertedWorkerJobSiteReservationState::fromNbt, null);
+    }
+
+    public record Reservation(UUID guardUuid, VillagerProfession expectedProfession) {
+    }
+
+    static ConvertedWorkerJobSiteReservationState fromNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
+        ConvertedWorkerJobSiteReservationState state = new ConvertedWorkerJobSiteReservationState();
+        for (NbtElement element : nbt.getList(RESERVATIONS_KEY, NbtElement.COMPOUND_TYPE)) {
+            if (!(element instanceof NbtCompound row)
+                    || !row.contains(DIMENSION_KEY, NbtElement.STRING_TYPE)
+                    || !row.contains(POS_KEY, NbtElement.LONG_TYPE)
+                    || !row.containsUuid(GUARD_KEY)
+                    || !row.contains(PROFESSION_KEY, NbtElement.STRING_TYPE)) {
+                continue;
+            }
+            Identifier dimensionId = Identifier.tryParse(row.getString(DIMENSION_KEY));
+            Identifier professionId = Identifier.tryParse(row.getString(PROFESSION_KEY));
+            if (dimensionId == null || professionId == null || !Registries.VILLAGER_PROFESSION.containsId(professionId)) {
+                continue;
+            }
+            Ledger ledger = state.ledger(RegistryKey.of(RegistryKeys.WORLD, dimensionId));
+            UUID guardUuid = row.getUuid(GUARD_KEY);
+            ledger.put(row.getLong(POS_KEY), new Reservation(guardUuid, Registries.VILLAGER_PROFESSION.get(professionId)));
+            if (row.contains(LAST_SEEN_TICK_KEY, NbtElement.LONG_TYPE)) {
+                ledger.markSeen(guardUuid, row.getLong(LAST_SEEN_TICK_KEY));
+            }
+        }
+        return state;
+    }
+
+    @Override
+    public NbtCompound writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
+        NbtList rows = new NbtList();
+        for (Map.Entry<RegistryKey<World>, Ledger> entry : ledgers.entrySet()) {
+            String dimension = entry.getKey().getValue().toString();
+            for (Long2ObjectMap.Entry<Reservation> reservation : entry.getValue().byPos.long2ObjectEntrySet()) {
+                NbtCompound row = new NbtCompound();
+                row.putString(DIMENSION_KEY, dimension);
+                row.putLong(POS_KEY, reservation.getLongKey());
+                row.putUuid(GUARD_KEY, reservation.getValue().guardUuid());
+                row.putString(PROFESSION_KEY, Registries.VILLAGER_PROFESSION.getId(reservation.getValue().expectedProfession()).toString());
+                long lastSeen = entry.getValue().lastSeenByGuard.getLong(reservation.getValue().guardUuid());
+                if (lastSeen != Long.MIN_VALUE) {
+                    row.putLong(LAST_SEEN_TICK_KEY, lastSeen);
+                }
+                rows.add(row);
+            }
+        }
+        nbt.put(RESERVATIONS_KEY, rows);
+        return nbt;
+    }
+
+    /** The dimension's ledger, created empty on first use. Mutations mark this state dirty. */
+    public Ledger ledger(RegistryKey<World> dimension) {
+        return ledgers.computeIfAbsent(dimension, key -> new Ledger(this));
+    }
+
+    public static final class Ledger {
+        private final PersistentState owner;
+        private final Long2ObjectOpenHashMap<Reservation> byPos = new Long2ObjectOpenHashMap<>();
+        private final Map<UUID, LongOpenHashSet> byGuard = new HashMap<>();
+        private final Long2ObjectOpenHashMap<LongOpenHashSet> byChunk = new Long2ObjectOpenHashMap<>();
+        private final Object2LongOpenHashMap<UUID> lastSeenByGuard = new Object2LongOpenHashMap<>();
+        private long lastSweepTick = Long.MIN_VALUE;
+
+        private Ledger(PersistentState owner) {
+            this.owner = owner;
+            lastSeenByGuard.defaultReturnValue(Long.MIN_VALUE);
+        }
+
+        public boolean contains(long pos) {
+            return byPos.containsKey(pos);
+        }
+
+        public @Nullable Reservation get(long pos) {
+            return byPos.get(pos);
+        }
+
+        public int size() {
+            return byPos.size();
+        }
+
+        /** Stores {@code reservation} at {@code pos}, returning the reservation it replaced. */
+        public @Nullable Reservation put(long pos, Reservation reservation) {
+            Reservation previous = byPos.put(pos, reservation);
+            if (previous != null) {
+                unlinkGuard(previous.guardUuid(), pos);
+            } else {
+                byChunk.computeIfAbsent(chunkKey(pos), key -> new LongOpenHashSet()).add(pos);
+            }
+            byGuard.computeIfAbsent(reservation.guardUuid(), key -> new LongOpenHashSet()).add(pos);
+            owner.markDirty();
+            return previous;
+        }
+
+        public @Nullable Reservation remove(long pos) {
+            Reservation removed = byPos.remove(pos);
+            if (removed == null) {
+                return null;
+            }
+            unlinkGuard(removed.guardUuid(), pos);
+            LongOpenHashSet chunk = byChunk.get(chunkKey(pos));
+            if (chunk != null && chunk.remove(pos) && chunk.isEmpty()) {
+                byChunk.remove(chunkKey(pos));
+            }
+            owner.markDirty();
+            return removed;
+        }
+
+        /** Records that {@code guardUuid} was loaded at {@code tick}; ignored for guards holding no reservation. */
+        public void markSeen(UUID guardUuid, long tick) {
+            if (byGuard.containsKey(guardUuid) && lastSeenByGuard.put(guardUuid, tick) != tick) {
+                owner.markDirty();
+            }
+        }
+
+        /**
+         * Removes every reservation of a guard that is loaded but dead, or has not been seen loaded
+         * for more than {@code ttlTicks}. Loaded, living guards are marked seen; a guard with no
+         * recorded sighting (a save from before sightings were kept) starts its TTL now. Returns the
+         * removed positions.
+         */
+        public LongArrayList evictStale(long now, long ttlTicks, Function<UUID, Entity> entityLookup) {
+            LongArrayList evicted = new LongArrayList();
+            List<UUID> stale = new ArrayList<>();
+            for (UUID guardUuid : byGuard.keySet()) {
+                Entity guard = entityLookup.apply(guardUuid);
+                long lastSeen = lastSeenByGuard.getLong(guardUuid);
+                if (guard != null) {
+                    if (!guard.isAlive()) {
+                        stale.add(guardUuid);
+                    } else {
+                        lastSeenByGuard.put(guardUuid, now);
+                    }
+                } else if (lastSeen == Long.MIN_VALUE || now < lastSeen) {
+                    // No sighting yet, or the clock went backwards: restart the TTL.
+                    lastSeenByGuard.put(guardUuid, now);
+                } else if (now - lastSeen > ttlTicks) {
+                    stale.add(guardUuid);
+                }
+            }
+            for (UUID guardUuid : stale) {
+                LongArrayList positions = positionsOf(guardUuid);
+                for (int i = 0; i < positions.size(); i++) {
+                    remove(positions.getLong(i));
+                }
+                evicted.addAll(positions);
+            }
+            if (!byGuard.isEmpty()) {
+                owner.markDirty();
+            }
+            return evicted;
+        }
+
+        /** Whether a sweep is due at {@code now}; claims the sweep when it is. */
+        boolean claimSweep(long now, long intervalTicks) {
+            if (lastSweepTick != Long.MIN_VALUE && now >= lastSweepTick && now - lastSweepTick < intervalTicks) {
+                return false;
+            }
+            lastSweepTick = now;
+            return true;
+        }
+
+        /** Positions reserved for {@code guardUuid}, as a snapshot. */
+        public LongArrayList positionsOf(UUID guardUuid) {
+            LongOpenHashSet positions = byGuard.get(guardUuid);
+            return positions == null ? new LongArrayList() : new LongArrayList(positions);
+        }
+
+        /** Reserved positions inside the chunk, as a snapshot. */
+        public LongArrayList positionsInChunk(int chunkX, int chunkZ) {
+            LongOpenHashSet positions = byChunk.get(ChunkPos.toLong(chunkX, chunkZ));
+            return positions == null ? new LongArrayList() : new LongArrayList(positions);
+        }
+
+        private void unlinkGuard(UUID guardUuid, long pos) {
+            LongOpenHashSet positions = byGuard.get(guardUuid);
+            if (positions != null && positions.remove(pos) && positions.isEmpty()) {
+                byGuard.remove(guardUuid);
+                lastSeenByGuard.removeLong(guardUuid);
+            }
+        }
+
+        private static long chunkKey(long pos) {
+            return ChunkPos.toLong(BlockPos.unpackLongX(pos) >> 4, BlockPos.unpackLongZ(pos) >> 4);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.inventory.SimpleInventory;
+
+/**
+ * Items a distributing villager is carrying between its paired chest and sortie recipients. Kept
+ * apart from the villager's own inventory so vanilla AI (eating, planting, sharing food) never
+ * touches them, and saved with the villager so a reload does not lose them.
+ */
+public interface DistributionSortieCargoHolder {
+    String SORTIE_CARGO_KEY = "GuardVillagersSortieCargo";
+    /** Matches the upper clamp of {@code distributionSortieMaxLegs}. */
+    int SORTIE_CARGO_SLOTS = 16;
+
+    SimpleInventory guardvillagers$getSortieCargo();
+}
@@ -0,0 +1,267 @@
+package dev.sterner.guardvillagers.common.util;
+
+import dev.sterner.guardvillagers.GuardVillagersConfig;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.village.VillagerProfession;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Abstract production model for villages in the {@link VillageAiLod.Tier#FAR} tier.
+ *
+ * <p>While a village is dormant its profession goals do not start. The first time each goal sees
+ * the FAR tier it registers as a {@link Participant} and hands over a {@link Snapshot} of its
+ * paired chest and daily rate; the village also keeps the {@link RecipeDemandIndex} routes that
+ * were current when the first transfer participant went dormant. When any goal of that village
+ * next sees a non-FAR tier, the whole village wakes: producers catch up on the crafts their daily
+ * limits allowed for the days that passed, then transfer participants push the items their
+ * cadence would have moved (bounded by the snapshotted route stock caps), then haulers are asked
+ * to replan. Only after that batch do the real goals resume.
+ *
+ * <p>Villages are keyed by {@link VillageAiLod#villageKeyAt}, i.e. their nearest QM chest.
+ * The model is in memory only; a world unload drops it and the goals simply resume.
+ */
+public final class DormantVillageEconomy {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DormantVillageEconomy.class);
+    private static final Map<RegistryKey<World>, DormantVillageEconomy> ECONOMIES = new HashMap<>();
+    static final long TICKS_PER_DAY = 24000L;
+    /** Leading part of each day in which the daytime-only distribution goals run. */
+    static final long DAYTIME_TICKS_PER_DAY = 12000L;
+
+    private final Long2ObjectOpenHashMap<DormantVillage> villages = new Long2ObjectOpenHashMap<>();
+
+    private DormantVillageEconomy() {
+    }
+
+    /** Catch-up order: production first, then the transfers that move it, then haul replans. */
+    public enum Role {
+        PRODUCER,
+        TRANSFER,
+        HAULER
+    }
+
+    /**
+     * Dormancy snapshot of one participant.
+     *
+     * @param dailyLimit       crafts per day (producers)
+     * @param usedOnDormantDay crafts already made on the day the village went dormant (producers)
+     * @param intervalTicks    ticks between single-item legs (transfers)
+     */
+    public record Snapshot(Role role, BlockPos chestPos, int dailyLimit, int usedOnDormantDay, int intervalTicks) {
+        public static Snapshot producer(BlockPos chestPos, int dailyLimit, int usedOnDormantDay) {
+            return new Snapshot(Role.PRODUCER, chestPos, dailyLimit, usedOnDormantDay, 0);
+        }
+
+        public static Snapshot transfer(BlockPos chestPos, int intervalTicks) {
+            return new Snapshot(Role.TRANSFER, chestPos, 0, 0, intervalTicks);
+        }
+
+        public static Snapshot hauler(BlockPos chestPos) {
+            return new Snapshot(Role.HAULER, chestPos, 0, 0, 0);
+        }
+    }
+
+    /** A profession goal that can apply its dormant-period work in one batch. */
+    public interface Participant {
+        /** False once the owning villager is gone or has changed profession. */
+        boolean isDormantParticipantActive();
+
+        Snapshot snapshotForDormancy(ServerWorld world);
+
+        /**
+         * Applies up to {@code budget} units of work (crafts or moved items) directly against the
+         * snapshotted chests and returns the units applied. Haulers receive a budget of zero.
+         */
+        int applyDormantCatchUp(ServerWorld world, Snapshot snapshot, int budget, @Nullable RecipeDemandIndex.RouteIndex routes);
+    }
+
+    public static DormantVillageEconomy forWorld(ServerWorld world) {
+        return ECONOMIES.computeIfAbsent(world.getRegistryKey(), key -> new DormantVillageEconomy());
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        ECONOMIES.remove(world.getRegistryKey());
+    }
+
+    /** Records that {@code participant}'s village (around {@code pos}) is dormant. */
+    public static void enterDormancy(ServerWorld world, BlockPos pos, Participant participant) {
+        if (!GuardVillagersConfig.villageDormancyEnabled || pos == null) {
+            return;
+        }
+        forWorld(world).register(world, VillageAiLod.villageKeyAt(world, pos), participant);
+    }
+
+    /**
+     * Wakes the village around {@code pos} if it is dormant, applying its catch-up batch. A no-op
+     * costing one map read when no village in the world is dormant.
+     */
+    public static void wakeIfDormant(ServerWorld world, BlockPos pos) {
+        DormantVillageEconomy economy = ECONOMIES.get(world.getRegistryKey());
+        if (economy == null || economy.villages.isEmpty() || pos == null) {
+            return;
+        }
+        economy.wake(world, VillageAiLod.villageKeyAt(world, pos));
+    }
+
+    public int dormantVillageCount() {
+        return villages.size();
+    }
+
+    void register(ServerWorld world, long villageKey, Participant participant) {
+        DormantVillage village = villages.get(villageKey);
+        if (village == null) {
+            village = new DormantVillage(world.getTime());
+            villages.put(villageKey, village);
+        }
+        village.participants.removeIf(entry -> !entry.participant().isDormantParticipantActive());
+        for (Registered entry : village.participants) {
+            if (entry.participant() == participant) {
+                return;
+            }
+        }
+        Snapshot snapshot = participant.snapshotForDormancy(world);
+        if (snapshot.role() == Role.TRANSFER && village.routes == null) {
+            village.routes = RecipeDemandIndex.forWorld(world);
+        }
+        village.participants.add(new Registered(participant, snapshot));
+    }
+
+    void wake(ServerWorld world, long villageKey) {
+        DormantVillage village = villages.remove(villageKey);
+        if (village == null) {
+            return;
+        }
+        long now = world.getTime();
+        village.participants.sort(Comparator.comparingInt(entry -> entry.snapshot().role().ordinal()));
+        int crafts = 0;
+        int moved = 0;
+        int participants = 0;
+        for (Registered entry : village.participants) {
+            if (!entry.participant().isDormantParticipantActive()) {
+                continue;
+            }
+            Snapshot snapshot = entry.snapshot();
+            int budget = catchUpBudget(snapshot, village.dormantSinceTick, now);
+            if (budget <= 0 && snapshot.role() != Role.HAULER) {
+                continue;
+            }
+            participants++;
+            int applied = entry.participant().applyDormantCatchUp(world, snapshot, budget, village.routes);
+            if (snapshot.role() == Role.PRODUCER) {
+                crafts += applied;
+            } else if (snapshot.role() == Role.TRANSFER) {
+                moved += applied;
+            }
+        }
+        long elapsed = Math.max(0L, now - village.dormantSinceTick);
+        LOGGER.debug("[dormant-economy] village {} woke after {} ticks: participants={} crafts={} itemsMoved={}",
+                BlockPos.fromLong(villageKey).toShortString(), elapsed, participants, crafts, moved);
+        if (VillageEventJournal.isEnabled(VillageEventJournal.Category.DORMANCY)) {
+            VillageEventJournal.record(world, VillageEventJournal.EventType.VILLAGE_DORMANT_CATCH_UP, 0L, villageKey,
+                    (int) Math.min(Integer.MAX_VALUE, elapsed), participants, crafts, moved);
+        }
+    }
+
+    /**
+     * Work owed to {@code snapshot} for a dormancy from {@code sinceTick} to {@code now}.
+     *
+     * <p>Producers are owed whole days only: the rest of the dormant day plus a full daily limit
+     * for each day in between. The current day is left to the real goal, whose daily counter still
+     * holds. Transfers are owed one item per interval of daytime within the span, since their goals
+     * only run while it is day; night ticks earn nothing. Both are capped by config.
+     */
+    static int catchUpBudget(Snapshot snapshot, long sinceTick, long now) {
+        int maxDays = Math.max(0, GuardVillagersConfig.villageDormancyMaxCatchUpDays);
+        return switch (snapshot.role()) {
+            case PRODUCER -> {
+                long dormantDay = sinceTick / TICKS_PER_DAY;
+                long wakeDay = now / TICKS_PER_DAY;
+                if (wakeDay <= dormantDay || snapshot.dailyLimit() <= 0) {
+                    yield 0;
+                }
+                long owed = Math.max(0, snapshot.dailyLimit() - snapshot.usedOnDormantDay())
+                        + (wakeDay - dormantDay - 1) * snapshot.dailyLimit();
+                yield (int) Math.min(owed, (long) snapshot.dailyLimit() * maxDays);
+            }
+            case TRANSFER -> {
+                if (snapshot.intervalTicks() <= 0 || now <= sinceTick) {
+                    yield 0;
+                }
+                long owed = daytimeTicksBetween(sinceTick, now) / snapshot.intervalTicks();
+                yield (int) Math.min(owed, GuardVillagersConfig.villageDormancyMaxCatchUpTransfers);
+            }
+            case HAULER -> 0;
+        };
+    }
+
+    static long daytimeTicksBetween(long sinceTick, long now) {
+        return daytimeTicksBefore(now) - daytimeTicksBefore(sinceTick);
+    }
+
+    private static long daytimeTicksBefore(long tick) {
+        long days = Math.floorDiv(tick, TICKS_PER_DAY);
+        return days * DAYTIME_TICKS_PER_DAY + Math.min(Math.floorMod(tick, TICKS_PER_DAY), DAYTIME_TICKS_PER_DAY);
+    }
+
+    /**
+     * How many more of {@code stack} the snapshotted demand routes let {@code profession}'s chest
+     * hold, or {@link Integer#MAX_VALUE} when no route caps that material for the profession.
+     */
+    public static int routeStockRoom(@Nullable RecipeDemandIndex.RouteIndex routes,
+                                     ItemStack stack,
+                                     VillagerProfession profession,
+                                     Inventory target) {
+        if (routes == null || stack.isEmpty()) {
+            return Integer.MAX_VALUE;
+        }
+        int room = Integer.MAX_VALUE;
+        for (RecipeDemandIndex.DemandMaterial material : RecipeDemandIndex.DemandMaterial.values()) {
+            if (!material.matches(stack)) {
+                continue;
+            }
+            for (DistributionRouteEngine.ProfessionRoute route : routes.routesFor(material)) {
+                if (route.profession() == profession) {
+                    room = Math.min(room, Math.max(0, route.targetStockCap() - countMatching(target, material)));
+                }
+            }
+        }
+        return room;
+    }
+
+    private static int countMatching(Inventory inventory, RecipeDemandIndex.DemandMaterial material) {
+        int count = 0;
+        for (int slot = 0; slot < inventory.size(); slot++) {
+            ItemStack stack = inventory.getStack(slot);
+            if (!stack.isEmpty() && material.matches(stack)) {
+                count += stack.getCount();
+            }
+        }
+        return count;
+    }
+
+    private record Registered(Participant participant, Snapshot snapshot) {
+    }
+
+    private static final class DormantVillage {
+        private final long dormantSinceTick;
+        private final List<Registered> participants = new ArrayList<>();
+        private @Nullable RecipeDemandIndex.RouteIndex routes;
+
+        private DormantVillage(long dormantSinceTick) {
+            this.dormantSinceTick = dormantSinceTick;
+        }
+    }
+}
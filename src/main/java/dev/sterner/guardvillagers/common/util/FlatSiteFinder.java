@@ -0,0 +1,185 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.Heightmap;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Flat-site search for square structures (pens and similar footprints) over a surface grid
+ * sampled once per search.
+ *
+ * <p>Every column in the search area is read exactly once. Then the minimum and maximum surface
+ * Y of each {@code window × window} footprint are computed with a two-pass sliding-window
+ * min/max (monotonic deques along x, then along z), in time linear in the grid size. A footprint
+ * is flat when every column lies within {@code delta} of its north-west corner column, which is
+ * the reference the pen goals have always measured against. Only footprints that pass are handed
+ * to the caller's block-level checks.
+ *
+ * <p>Grid storage is x-major ({@code (x - minX) * sizeZ + (z - minZ)}), matching the x-outer,
+ * z-inner scan order of the goals that use it.
+ */
+public final class FlatSiteFinder {
+    private final int minX;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeZ;
+    private final int window;
+    private final int originsX;
+    private final int originsZ;
+    private final int[] surfaceY;
+    private final int[] windowMin;
+    private final int[] windowMax;
+
+    private FlatSiteFinder(int minX, int minZ, int originsX, int originsZ, int window, int sizeX, int sizeZ, int[] surfaceY) {
+        this.minX = minX;
+        this.minZ = minZ;
+        this.originsX = originsX;
+        this.originsZ = originsZ;
+        this.window = window;
+        this.sizeX = sizeX;
+        this.sizeZ = sizeZ;
+        this.surfaceY = surfaceY;
+        this.windowMin = new int[originsX * originsZ];
+        this.windowMax = new int[originsX * originsZ];
+        computeWindowExtremes();
+    }
+
+    /** Receives each flat footprint in scan order; return {@code true} to accept it. */
+    @FunctionalInterface
+    public interface SiteCheck {
+        boolean accept(int originX, int cornerY, int originZ);
+    }
+
+    /**
+     * Samples footprints whose north-west corner lies in
+     * [{@code minOriginX}, {@code maxOriginX}] × [{@code minOriginZ}, {@code maxOriginZ}].
+     *
+     * @param surfaceYAt surface Y of column (x, z); called once per column
+     */
+    public static FlatSiteFinder sample(int minOriginX, int minOriginZ, int maxOriginX, int maxOriginZ,
+                                        int window, IntBinaryOperator surfaceYAt) {
+        int originsX = Math.max(0, maxOriginX - minOriginX + 1);
+        int originsZ = Math.max(0, maxOriginZ - minOriginZ + 1);
+        if (originsX == 0 || originsZ == 0) {
+            originsX = 0;
+            originsZ = 0;
+        }
+        int sizeX = originsX == 0 ? 0 : originsX + window - 1;
+        int sizeZ = originsZ == 0 ? 0 : originsZ + window - 1;
+        int[] heights = new int[sizeX * sizeZ];
+        for (int dx = 0; dx < sizeX; dx++) {
+            for (int dz = 0; dz < sizeZ; dz++) {
+                heights[dx * sizeZ + dz] = surfaceYAt.applyAsInt(minOriginX + dx, minOriginZ + dz);
+            }
+        }
+        return new FlatSiteFinder(minOriginX, minOriginZ, originsX, originsZ, window, sizeX, sizeZ, heights);
+    }
+
+    /**
+     * {@link #sample} over the world's {@code MOTION_BLOCKING_NO_LEAVES} heightmap, reporting the
+     * top solid block (heightmap Y − 1) the way the pen goals read it.
+     */
+    public static FlatSiteFinder sampleWorld(ServerWorld world, int minOriginX, int minOriginZ,
+                                             int maxOriginX, int maxOriginZ, int window, int probeY) {
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        return sample(minOriginX, minOriginZ, maxOriginX, maxOriginZ, window, (x, z) -> {
+            mutable.set(x, probeY, z);
+            return world.getTopPosition(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, mutable).getY() - 1;
+        });
+    }
+
+    /** Sampled surface Y of column (x, z); the column must lie inside the sampled grid. */
+    public int surfaceY(int x, int z) {
+        return surfaceY[(x - minX) * sizeZ + (z - minZ)];
+    }
+
+    /** Max − min surface Y of the footprint with north-west corner (originX, originZ). */
+    public int spread(int originX, int originZ) {
+        int index = windowIndex(originX, originZ);
+        return windowMax[index] - windowMin[index];
+    }
+
+    /** True when every column of the footprint is within {@code delta} of its corner column. */
+    public boolean isFlat(int originX, int originZ, int delta) {
+        int index = windowIndex(originX, originZ);
+        int cornerY = surfaceY(originX, originZ);
+        return windowMin[index] >= cornerY - delta && windowMax[index] <= cornerY + delta;
+    }
+
+    /**
+     * Walks footprint origins x-outer, z-inner, every {@code step} blocks from the minimum origin,
+     * and returns the first flat footprint {@code check} accepts as (originX, cornerY, originZ).
+     */
+    public @Nullable BlockPos findFirst(int step, int delta, SiteCheck check) {
+        int stride = Math.max(1, step);
+        for (int ox = 0; ox < originsX; ox += stride) {
+            for (int oz = 0; oz < originsZ; oz += stride) {
+                int originX = minX + ox;
+                int originZ = minZ + oz;
+                if (!isFlat(originX, originZ, delta)) {
+                    continue;
+                }
+                int cornerY = surfaceY(originX, originZ);
+                if (check.accept(originX, cornerY, originZ)) {
+                    return new BlockPos(originX, cornerY, originZ);
+                }
+            }
+        }
+        return null;
+    }
+
+    private int windowIndex(int originX, int originZ) {
+        return (originX - minX) * originsZ + (originZ - minZ);
+    }
+
+    private void computeWindowExtremes() {
+        if (originsX == 0 || originsZ == 0) {
+            return;
+        }
+        // Pass 1: extremes over `window` consecutive x for every (originX, z).
+        int[] rowMin = new int[originsX * sizeZ];
+        int[] rowMax = new int[originsX * sizeZ];
+        int[] deque = new int[Math.max(sizeX, sizeZ)];
+        for (int z = 0; z < sizeZ; z++) {
+            slide(surfaceY, z, sizeZ, sizeX, rowMin, z, sizeZ, deque, true);
+            slide(surfaceY, z, sizeZ, sizeX, rowMax, z, sizeZ, deque, false);
+        }
+        // Pass 2: extremes of those over `window` consecutive z for every (originX, originZ).
+        for (int ox = 0; ox < originsX; ox++) {
+            slide(rowMin, ox * sizeZ, 1, sizeZ, windowMin, ox * originsZ, 1, deque, true);
+            slide(rowMax, ox * sizeZ, 1, sizeZ, windowMax, ox * originsZ, 1, deque, false);
+        }
+    }
+
+    /**
+     * Monotonic-deque sliding min (or max) over {@code length} values of {@code src} starting at
+     * {@code srcStart} with stride {@code srcStride}, writing {@code length - window + 1} results
+     * to {@code dst} from {@code dstStart} with stride {@code dstStride}.
+     */
+    private void slide(int[] src, int srcStart, int srcStride, int length,
+                       int[] dst, int dstStart, int dstStride, int[] deque, boolean min) {
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < length; i++) {
+            int value = src[srcStart + i * srcStride];
+            while (tail > head) {
+                int last = src[srcStart + deque[tail - 1] * srcStride];
+                if (min ? last >= value : last <= value) {
+                    tail--;
+                } else {
+                    break;
+                }
+            }
+            deque[tail++] = i;
+            if (deque[head] <= i - window) {
+                head++;
+            }
+            if (i >= window - 1) {
+                dst[dstStart + (i - window + 1) * dstStride] = src[srcStart + deque[head] * srcStride];
+            }
+        }
+    }
+}
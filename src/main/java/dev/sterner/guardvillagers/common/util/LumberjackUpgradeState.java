@@ -1,7 +1,9 @@
 package dev.sterner.guardvillagers.common.util;
 
 import dev.sterner.guardvillagers.GuardVillagers;
-import dev.sterner.guardvillagers.common.entity.goal.LumberjackChestTriggerController;
+import dev.sterner.guardvillagers.GuardVillagersConfig;
+import dev.sterner.guardvillagers.common.entity.goal.LumberjackChestTriggerController.UpgradeStage;
+import net.minecraft.entity.Entity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtHelper;
@@ -13,25 +15,55 @@ import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.GlobalPos;
 import net.minecraft.world.PersistentState;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
+/**
+ * World-scoped storage for the lumberjack V1→V2 upgrade pipeline.
+ *
+ * <p>Holds, per dimension, each villager's upgrade stage (with its job site, village key and the
+ * tick its chest was paired) and each lumberjack guard's midpoint-retry backoff. This is the only
+ * copy of that state: it survives restarts, so upgrade progress resumes without re-deriving stages
+ * from block scans.
+ *
+ * <p>Entries whose villager or guard is loaded but dead are evicted by the periodic sweep; entries
+ * whose entity has not been seen loaded for {@link GuardVillagersConfig#lumberjackUpgradeStateTtlTicks}
+ * are evicted too. Live per-stage counts, per-village breakdowns and transition/eviction counters
+ * are available through {@link #stats}.
+ */
 public class LumberjackUpgradeState extends PersistentState {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LumberjackUpgradeState.class);
     private static final String STATE_ID = GuardVillagers.MODID + "_lumberjack_upgrade_state";
+    static final long SWEEP_INTERVAL_TICKS = 1200L;
 
     private static final String ENTRIES_KEY = "Entries";
+    private static final String RETRIES_KEY = "Retries";
     private static final String DIMENSION_KEY = "Dimension";
     private static final String JOB_POS_KEY = "JobPos";
     private static final String VILLAGER_ID_KEY = "VillagerId";
+    private static final String GUARD_ID_KEY = "GuardId";
     private static final String STAGE_KEY = "Stage";
     private static final String CHEST_PAIRED_TICK_KEY = "ChestPairedTick";
+    private static final String VILLAGE_KEY = "Village";
+    private static final String LAST_SEEN_TICK_KEY = "LastSeenTick";
+    private static final String ATTEMPT_KEY = "Attempt";
+    private static final String DELAY_TICKS_KEY = "DelayTicks";
+    private static final String NEXT_ALLOWED_TICK_KEY = "NextAllowedTick";
 
-    private final Map<EntryKey, EntryValue> entries = new HashMap<>();
+    private final Map<RegistryKey<World>, WorldEntries> worlds = new HashMap<>();
+    private final EnumMap<UpgradeStage, Long> transitionsByStage = new EnumMap<>(UpgradeStage.class);
+    private long evictedEntries;
 
     public static LumberjackUpgradeState get(MinecraftServer server) {
         return server.getOverworld().getPersistentStateManager().getOrCreate(getType(), STATE_ID);
@@ -41,92 +73,363 @@ public class LumberjackUpgradeState extends PersistentState {
         return new Type<>(LumberjackUpgradeState::new, LumberjackUpgradeState::fromNbt, null);
     }
 
-    private static LumberjackUpgradeState fromNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
+    /** A villager's tracked stage; {@code chestPairedTick} is only meaningful for CHEST_PAIRED. */
+    public record EntryValue(UpgradeStage stage, long chestPairedTick) {
+    }
+
+    /** Midpoint-upgrade retry backoff of one lumberjack guard. */
+    public record RetryBackoff(int attempt, long delayTicks, long nextAllowedScheduleTick) {
+    }
+
+    public record Stats(int chestPaired,
+                        int tablePaired,
+                        Map<Long, EnumMap<UpgradeStage, Integer>> stagesByVillage,
+                        int retryBackoffs,
+                        long chestPairedTransitions,
+                        long tablePairedTransitions,
+                        long evicted) {
+    }
+
+    static LumberjackUpgradeState fromNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
         LumberjackUpgradeState state = new LumberjackUpgradeState();
-        NbtList list = nbt.getList(ENTRIES_KEY, NbtElement.COMPOUND_TYPE);
-        for (NbtElement element : list) {
-            if (!(element instanceof NbtCompound row)) {
-                continue;
-            }
-            if (!row.contains(DIMENSION_KEY, NbtElement.STRING_TYPE)
+        for (NbtElement element : nbt.getList(ENTRIES_KEY, NbtElement.COMPOUND_TYPE)) {
+            if (!(element instanceof NbtCompound row)
                     || !row.contains(JOB_POS_KEY, NbtElement.COMPOUND_TYPE)
-                    || !row.contains(VILLAGER_ID_KEY, NbtElement.STRING_TYPE)
                     || !row.contains(STAGE_KEY, NbtElement.STRING_TYPE)
                     || !row.contains(CHEST_PAIRED_TICK_KEY, NbtElement.LONG_TYPE)) {
                 continue;
             }
-
-            Identifier dimensionId = Identifier.tryParse(row.getString(DIMENSION_KEY));
-            if (dimensionId == null) {
+            RegistryKey<World> dimension = readDimension(row);
+            UUID villagerId = readUuid(row, VILLAGER_ID_KEY);
+            Optional<BlockPos> jobPos = NbtHelper.toBlockPos(row, JOB_POS_KEY);
+            UpgradeStage stage;
+            try {
+                stage = UpgradeStage.valueOf(row.getString(STAGE_KEY));
+            } catch (IllegalArgumentException ex) {
                 continue;
             }
-
-            Optional<BlockPos> jobPos = NbtHelper.toBlockPos(row, JOB_POS_KEY);
-            if (jobPos.isEmpty()) {
+            if (dimension == null || villagerId == null || jobPos.isEmpty() || stage == UpgradeStage.UNPAIRED) {
                 continue;
             }
-
-            UUID villagerId;
-            try {
-                villagerId = UUID.fromString(row.getString(VILLAGER_ID_KEY));
-            } catch (IllegalArgumentException ex) {
+            long chestPairedTick = row.getLong(CHEST_PAIRED_TICK_KEY);
+            // Rows written before village keys and last-seen ticks were stored fall back to the
+            // job site as their village and to the pairing tick as their last sighting.
+            long villageKey = row.contains(VILLAGE_KEY, NbtElement.LONG_TYPE) ? row.getLong(VILLAGE_KEY) : jobPos.get().asLong();
+            long lastSeenTick = row.contains(LAST_SEEN_TICK_KEY, NbtElement.LONG_TYPE) ? row.getLong(LAST_SEEN_TICK_KEY) : chestPairedTick;
+            state.worldEntries(dimension).put(villagerId,
+                    new Entry(jobPos.get().toImmutable(), villageKey, stage, chestPairedTick, lastSeenTick));
+        }
+        for (NbtElement element : nbt.getList(RETRIES_KEY, NbtElement.COMPOUND_TYPE)) {
+            if (!(element instanceof NbtCompound row)) {
                 continue;
             }
-
-            LumberjackChestTriggerController.UpgradeStage stage;
-            try {
-                stage = LumberjackChestTriggerController.UpgradeStage.valueOf(row.getString(STAGE_KEY));
-            } catch (IllegalArgumentException ex) {
+            RegistryKey<World> dimension = readDimension(row);
+            UUID guardId = readUuid(row, GUARD_ID_KEY);
+            if (dimension == null || guardId == null) {
                 continue;
             }
-
-            RegistryKey<net.minecraft.world.World> worldKey = RegistryKey.of(RegistryKeys.WORLD, dimensionId);
-            EntryKey key = new EntryKey(villagerId, GlobalPos.create(worldKey, jobPos.get().toImmutable()));
-            state.entries.put(key, new EntryValue(stage, row.getLong(CHEST_PAIRED_TICK_KEY)));
+            state.worldEntries(dimension).retryByGuard.put(guardId, new RetryRecord(
+                    new RetryBackoff(row.getInt(ATTEMPT_KEY), row.getLong(DELAY_TICKS_KEY), row.getLong(NEXT_ALLOWED_TICK_KEY)),
+                    row.getLong(LAST_SEEN_TICK_KEY)));
         }
         return state;
     }
 
     @Override
     public NbtCompound writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
-        NbtList list = new NbtList();
-        for (Map.Entry<EntryKey, EntryValue> entry : entries.entrySet()) {
-            NbtCompound row = new NbtCompound();
-            row.putString(DIMENSION_KEY, entry.getKey().jobSite().dimension().getValue().toString());
-            row.put(JOB_POS_KEY, NbtHelper.fromBlockPos(entry.getKey().jobSite().pos()));
-            row.putString(VILLAGER_ID_KEY, entry.getKey().villagerId().toString());
-            row.putString(STAGE_KEY, entry.getValue().stage().name());
-            row.putLong(CHEST_PAIRED_TICK_KEY, entry.getValue().chestPairedTick());
-            list.add(row);
-        }
-        nbt.put(ENTRIES_KEY, list);
+        NbtList entries = new NbtList();
+        NbtList retries = new NbtList();
+        for (Map.Entry<RegistryKey<World>, WorldEntries> world : worlds.entrySet()) {
+            String dimension = world.getKey().getValue().toString();
+            for (Map.Entry<UUID, Entry> entry : world.getValue().byVillager.entrySet()) {
+                Entry value = entry.getValue();
+                NbtCompound row = new NbtCompound();
+                row.putString(DIMENSION_KEY, dimension);
+                row.put(JOB_POS_KEY, NbtHelper.fromBlockPos(value.jobPos));
+                row.putString(VILLAGER_ID_KEY, entry.getKey().toString());
+                row.putString(STAGE_KEY, value.stage.name());
+                row.putLong(CHEST_PAIRED_TICK_KEY, value.chestPairedTick);
+                row.putLong(VILLAGE_KEY, value.villageKey);
+                row.putLong(LAST_SEEN_TICK_KEY, value.lastSeenTick);
+                entries.add(row);
+            }
+            for (Map.Entry<UUID, RetryRecord> retry : world.getValue().retryByGuard.entrySet()) {
+                RetryBackoff backoff = retry.getValue().backoff;
+                NbtCompound row = new NbtCompound();
+                row.putString(DIMENSION_KEY, dimension);
+                row.putString(GUARD_ID_KEY, retry.getKey().toString());
+                row.putInt(ATTEMPT_KEY, backoff.attempt());
+                row.putLong(DELAY_TICKS_KEY, backoff.delayTicks());
+                row.putLong(NEXT_ALLOWED_TICK_KEY, backoff.nextAllowedScheduleTick());
+                row.putLong(LAST_SEEN_TICK_KEY, retry.getValue().lastSeenTick);
+                retries.add(row);
+            }
+        }
+        nbt.put(ENTRIES_KEY, entries);
+        nbt.put(RETRIES_KEY, retries);
         return nbt;
     }
 
-    public Optional<EntryValue> getEntry(ServerWorld world, UUID villagerId, BlockPos jobPos) {
-        return Optional.ofNullable(entries.get(new EntryKey(villagerId,
-                GlobalPos.create(world.getRegistryKey(), jobPos.toImmutable()))));
+    // -------------------------------------------------------------------------
+    // Upgrade stages
+    // -------------------------------------------------------------------------
+
+    /**
+     * The villager's own entry if it has one, otherwise the entry of whichever villager last
+     * upgraded at {@code jobPos}. Marks the villager's entry as seen at {@code now}.
+     */
+    public Optional<EntryValue> getEntry(RegistryKey<World> dimension, UUID villagerId, @Nullable BlockPos jobPos, long now) {
+        WorldEntries entries = worlds.get(dimension);
+        if (entries == null) {
+            return Optional.empty();
+        }
+        Entry entry = entries.byVillager.get(villagerId);
+        if (entry != null) {
+            entry.lastSeenTick = now;
+        } else if (jobPos != null) {
+            UUID previous = entries.villagerByJobSite.get(jobPos);
+            entry = previous == null ? null : entries.byVillager.get(previous);
+        }
+        return entry == null ? Optional.empty() : Optional.of(new EntryValue(entry.stage, entry.chestPairedTick));
+    }
+
+    public boolean isTracked(RegistryKey<World> dimension, UUID villagerId) {
+        WorldEntries entries = worlds.get(dimension);
+        return entries != null && entries.byVillager.containsKey(villagerId);
+    }
+
+    public boolean hasEntries(RegistryKey<World> dimension) {
+        WorldEntries entries = worlds.get(dimension);
+        return entries != null && !entries.byVillager.isEmpty();
     }
 
-    public void putEntry(ServerWorld world,
+    public void putEntry(RegistryKey<World> dimension,
                          UUID villagerId,
                          BlockPos jobPos,
-                         LumberjackChestTriggerController.UpgradeStage stage,
-                         long chestPairedTick) {
-        entries.put(new EntryKey(villagerId, GlobalPos.create(world.getRegistryKey(), jobPos.toImmutable())),
-                new EntryValue(stage, chestPairedTick));
+                         long villageKey,
+                         UpgradeStage stage,
+                         long chestPairedTick,
+                         long now) {
+        WorldEntries entries = worldEntries(dimension);
+        Entry previous = entries.byVillager.get(villagerId);
+        if (previous != null && previous.stage == stage && previous.jobPos.equals(jobPos)
+                && previous.chestPairedTick == chestPairedTick) {
+            previous.lastSeenTick = now;
+            return;
+        }
+        entries.put(villagerId, new Entry(jobPos.toImmutable(), villageKey, stage, chestPairedTick, now));
+        transitionsByStage.merge(stage, 1L, Long::sum);
+        markDirty();
+    }
+
+    /**
+     * Drops the villager's entry. With a {@code jobPos}, also forgets whichever entry that job
+     * site resolves to.
+     */
+    public void removeEntry(RegistryKey<World> dimension, UUID villagerId, @Nullable BlockPos jobPos) {
+        WorldEntries entries = worlds.get(dimension);
+        if (entries == null) {
+            return;
+        }
+        boolean changed = entries.remove(villagerId);
+        if (jobPos != null) {
+            UUID atJobSite = entries.villagerByJobSite.get(jobPos);
+            if (atJobSite != null) {
+                changed |= entries.remove(atJobSite);
+            }
+        }
+        if (changed) {
+            markDirty();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Midpoint retry backoff
+    // -------------------------------------------------------------------------
+
+    public @Nullable RetryBackoff getRetryBackoff(RegistryKey<World> dimension, UUID guardId) {
+        WorldEntries entries = worlds.get(dimension);
+        RetryRecord record = entries == null ? null : entries.retryByGuard.get(guardId);
+        return record == null ? null : record.backoff;
+    }
+
+    public void putRetryBackoff(RegistryKey<World> dimension, UUID guardId, RetryBackoff backoff, long now) {
+        worldEntries(dimension).retryByGuard.put(guardId, new RetryRecord(backoff, now));
         markDirty();
     }
 
-    public void removeEntry(ServerWorld world, UUID villagerId, BlockPos jobPos) {
-        if (entries.remove(new EntryKey(villagerId, GlobalPos.create(world.getRegistryKey(), jobPos.toImmutable()))) != null) {
+    public void removeRetryBackoff(RegistryKey<World> dimension, UUID guardId) {
+        WorldEntries entries = worlds.get(dimension);
+        if (entries != null && entries.retryByGuard.remove(guardId) != null) {
             markDirty();
         }
     }
 
-    public record EntryValue(LumberjackChestTriggerController.UpgradeStage stage, long chestPairedTick) {
+    // -------------------------------------------------------------------------
+    // Eviction + monitoring
+    // -------------------------------------------------------------------------
+
+    /** Runs {@link #evictStale} for {@code world} at most once per {@value #SWEEP_INTERVAL_TICKS} ticks. */
+    public void evictStaleIfDue(ServerWorld world) {
+        WorldEntries entries = worlds.get(world.getRegistryKey());
+        long now = world.getTime();
+        if (entries == null
+                || entries.lastSweepTick != Long.MIN_VALUE
+                && now >= entries.lastSweepTick && now - entries.lastSweepTick < SWEEP_INTERVAL_TICKS) {
+            return;
+        }
+        entries.lastSweepTick = now;
+        int evicted = evictStale(world.getRegistryKey(), now, GuardVillagersConfig.lumberjackUpgradeStateTtlTicks, world::getEntity);
+        if (evicted > 0) {
+            LOGGER.debug("[lumberjack-upgrade-state] {}: evicted {} stale entries ({})",
+                    world.getRegistryKey().getValue(), evicted, stats(world.getRegistryKey()));
+        }
     }
 
-    private record EntryKey(UUID villagerId, GlobalPos jobSite) {
+    /**
+     * Evicts villager entries and guard backoffs whose entity is loaded but dead, or has not been
+     * loaded for more than {@code ttlTicks}. Loaded, living entities are marked seen.
+     */
+    int evictStale(RegistryKey<World> dimension, long now, long ttlTicks, Function<UUID, Entity> entityLookup) {
+        WorldEntries entries = worlds.get(dimension);
+        if (entries == null) {
+            return 0;
+        }
+        int evicted = 0;
+        Iterator<Map.Entry<UUID, Entry>> villagers = entries.byVillager.entrySet().iterator();
+        while (villagers.hasNext()) {
+            Map.Entry<UUID, Entry> villager = villagers.next();
+            Entry entry = villager.getValue();
+            long seen = observe(entityLookup.apply(villager.getKey()), entry.lastSeenTick, now);
+            if (seen == Long.MIN_VALUE || now - seen > ttlTicks) {
+                villagers.remove();
+                entries.villagerByJobSite.remove(entry.jobPos, villager.getKey());
+                evicted++;
+            } else {
+                entry.lastSeenTick = seen;
+            }
+        }
+        Iterator<Map.Entry<UUID, RetryRecord>> guards = entries.retryByGuard.entrySet().iterator();
+        while (guards.hasNext()) {
+            Map.Entry<UUID, RetryRecord> guard = guards.next();
+            long seen = observe(entityLookup.apply(guard.getKey()), guard.getValue().lastSeenTick, now);
+            if (seen == Long.MIN_VALUE || now - seen > ttlTicks) {
+                guards.remove();
+                evicted++;
+            } else {
+                guard.getValue().lastSeenTick = seen;
+            }
+        }
+        if (evicted > 0) {
+            evictedEntries += evicted;
+            markDirty();
+        }
+        return evicted;
+    }
+
+    public Stats stats(RegistryKey<World> dimension) {
+        int chestPaired = 0;
+        int tablePaired = 0;
+        int retries = 0;
+        Map<Long, EnumMap<UpgradeStage, Integer>> byVillage = new HashMap<>();
+        WorldEntries entries = worlds.get(dimension);
+        if (entries != null) {
+            for (Entry entry : entries.byVillager.values()) {
+                if (entry.stage == UpgradeStage.CHEST_PAIRED) {
+                    chestPaired++;
+                } else if (entry.stage == UpgradeStage.TABLE_PAIRED) {
+                    tablePaired++;
+                }
+                byVillage.computeIfAbsent(entry.villageKey, key -> new EnumMap<>(UpgradeStage.class))
+                        .merge(entry.stage, 1, Integer::sum);
+            }
+            retries = entries.retryByGuard.size();
+        }
+        return new Stats(chestPaired, tablePaired, byVillage, retries,
+                transitionsByStage.getOrDefault(UpgradeStage.CHEST_PAIRED, 0L),
+                transitionsByStage.getOrDefault(UpgradeStage.TABLE_PAIRED, 0L),
+                evictedEntries);
+    }
+
+    /** Last-seen tick after observing {@code entity}, or {@link Long#MIN_VALUE} if it is loaded but dead. */
+    private static long observe(@Nullable Entity entity, long lastSeenTick, long now) {
+        if (entity == null) {
+            // Unloaded (or long gone). A clock that went backwards restarts the TTL.
+            return now < lastSeenTick ? now : lastSeenTick;
+        }
+        return entity.isAlive() ? now : Long.MIN_VALUE;
+    }
+
+    private WorldEntries worldEntries(RegistryKey<World> dimension) {
+        return worlds.computeIfAbsent(dimension, key -> new WorldEntries());
+    }
+
+    private static @Nullable RegistryKey<World> readDimension(NbtCompound row) {
+        if (!row.contains(DIMENSION_KEY, NbtElement.STRING_TYPE)) {
+            return null;
+        }
+        Identifier dimensionId = Identifier.tryParse(row.getString(DIMENSION_KEY));
+        return dimensionId == null ? null : RegistryKey.of(RegistryKeys.WORLD, dimensionId);
+    }
+
+    private static @Nullable UUID readUuid(NbtCompound row, String key) {
+        if (!row.contains(key, NbtElement.STRING_TYPE)) {
+            return null;
+        }
+        try {
+            return UUID.fromString(row.getString(key));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static final class Entry {
+        private final BlockPos jobPos;
+        private final long villageKey;
+        private final UpgradeStage stage;
+        private final long chestPairedTick;
+        private long lastSeenTick;
+
+        private Entry(BlockPos jobPos, long villageKey, UpgradeStage stage, long chestPairedTick, long lastSeenTick) {
+            this.jobPos = jobPos;
+            this.villageKey = villageKey;
+            this.stage = stage;
+            this.chestPairedTick = chestPairedTick;
+            this.lastSeenTick = lastSeenTick;
+        }
+    }
+
+    private static final class RetryRecord {
+        private final RetryBackoff backoff;
+        private long lastSeenTick;
+
+        private RetryRecord(RetryBackoff backoff, long lastSeenTick) {
+            this.backoff = backoff;
+            this.lastSeenTick = lastSeenTick;
+        }
+    }
+
+    private static final class WorldEntries {
+        private final Map<UUID, Entry> byVillager = new HashMap<>();
+        private final Map<BlockPos, UUID> villagerByJobSite = new HashMap<>();
+        private final Map<UUID, RetryRecord> retryByGuard = new HashMap<>();
+        private long lastSweepTick = Long.MIN_VALUE;
+
+        private void put(UUID villagerId, Entry entry) {
+            Entry previous = byVillager.put(villagerId, entry);
+            if (previous != null && !previous.jobPos.equals(entry.jobPos)) {
+                villagerByJobSite.remove(previous.jobPos, villagerId);
+            }
+            villagerByJobSite.put(entry.jobPos, villagerId);
+        }
+
+        private boolean remove(UUID villagerId) {
+            Entry removed = byVillager.remove(villagerId);
+            if (removed == null) {
+                return false;
+            }
+            villagerByJobSite.remove(removed.jobPos, villagerId);
+            return true;
+        }
     }
 }
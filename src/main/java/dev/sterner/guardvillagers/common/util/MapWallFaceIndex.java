@@ -0,0 +1,224 @@
+package dev.sterner.guardvillagers.common.util;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Exposed vertical wall faces around cartographer job sites, for map-wall planning.
+ *
+ * <p>A face is a solid block ({@code isSolidBlock}) whose neighbour in one horizontal direction is
+ * air. Each job site gets a region covering its scan box (plus the one-block margin a 2×2 frame
+ * grid can reach past it); the region is filled in one pass the first time it is queried and kept
+ * current afterwards from block-change events, so retried planning never rescans the volume.
+ *
+ * <p>Candidates are enumerated nearest-first from the job site. Candidates the caller turns down
+ * (e.g. because item frames already hang there) are remembered for {@link #REJECTION_TTL_TICKS}
+ * and skipped on later plans.
+ */
+public final class MapWallFaceIndex {
+    private static final Map<RegistryKey<World>, MapWallFaceIndex> INDEX_BY_WORLD = new HashMap<>();
+    static final int BELOW = 2;
+    static final int ABOVE = 2;
+    static final long REJECTION_TTL_TICKS = 6000L;
+    static final long REGION_IDLE_TICKS = 72000L;
+
+    private final Long2ObjectOpenHashMap<Region> regionsByCenter = new Long2ObjectOpenHashMap<>();
+
+    private MapWallFaceIndex() {
+    }
+
+    /** Bottom-left wall block of a 2×2 grid and the direction its frames face. */
+    public record Candidate(BlockPos bottomLeftWall, Direction facing) {
+    }
+
+    public static MapWallFaceIndex forWorld(ServerWorld world) {
+        return INDEX_BY_WORLD.computeIfAbsent(world.getRegistryKey(), key -> new MapWallFaceIndex());
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        INDEX_BY_WORLD.remove(world.getRegistryKey());
+    }
+
+    public static void onBlockChanged(ServerWorld world, BlockPos pos, BlockState newState) {
+        MapWallFaceIndex index = INDEX_BY_WORLD.get(world.getRegistryKey());
+        if (index == null || index.regionsByCenter.isEmpty()) {
+            return;
+        }
+        for (Region region : index.regionsByCenter.values()) {
+            region.onBlockChanged(world, pos, newState);
+        }
+    }
+
+    /**
+     * Returns the nearest 2×2 grid of exposed faces sharing one direction, anchored within
+     * {@code radius} blocks horizontally and {@value #BELOW}/{@value #ABOVE} blocks vertically of
+     * {@code center}, that {@code accept} agrees to. Candidates it declines are remembered.
+     */
+    public @Nullable Candidate findNearest2x2(ServerWorld world, BlockPos center, int radius, Predicate<Candidate> accept) {
+        long now = world.getTime();
+        regionsByCenter.values().removeIf(region -> now - region.lastUsedTick > REGION_IDLE_TICKS);
+        Region region = regionsByCenter.get(center.asLong());
+        if (region == null || region.radius != radius) {
+            region = new Region(center.toImmutable(), radius);
+            region.build(world);
+            regionsByCenter.put(center.asLong(), region);
+        }
+        region.lastUsedTick = now;
+
+        for (Candidate candidate : region.frameReadyCandidates()) {
+            Long2LongOpenHashMap rejections = region.rejectedAtByDirection[candidate.facing().getHorizontal()];
+            long anchorKey = candidate.bottomLeftWall().asLong();
+            if (rejections.containsKey(anchorKey) && now - rejections.get(anchorKey) < REJECTION_TTL_TICKS) {
+                continue;
+            }
+            if (accept.test(candidate)) {
+                rejections.remove(anchorKey);
+                return candidate;
+            }
+            rejections.put(anchorKey, now);
+        }
+        return null;
+    }
+
+    int regionCount() {
+        return regionsByCenter.size();
+    }
+
+    private static boolean isExposedFace(ServerWorld world, BlockPos wall, BlockState wallState, Direction facing) {
+        return wallState.isSolidBlock(world, wall) && world.getBlockState(wall.offset(facing)).isAir();
+    }
+
+    private static final class Region {
+        private final BlockPos center;
+        private final int radius;
+        private final int minX;
+        private final int maxX;
+        private final int minY;
+        private final int maxY;
+        private final int minZ;
+        private final int maxZ;
+        /** Exposed faces keyed by wall position, one set per {@link Direction#getHorizontal()}. */
+        private final LongOpenHashSet[] facesByDirection = new LongOpenHashSet[4];
+        /** Tick each declined anchor was last declined, one map per direction. */
+        private final Long2LongOpenHashMap[] rejectedAtByDirection = new Long2LongOpenHashMap[4];
+        private long lastUsedTick;
+
+        private Region(BlockPos center, int radius) {
+            this.center = center;
+            this.radius = radius;
+            // Grids extend one block sideways and one block up from their anchor.
+            this.minX = center.getX() - radius - 1;
+            this.maxX = center.getX() + radius + 1;
+            this.minZ = center.getZ() - radius - 1;
+            this.maxZ = center.getZ() + radius + 1;
+            this.minY = center.getY() - BELOW;
+            this.maxY = center.getY() + ABOVE + 1;
+            for (int i = 0; i < facesByDirection.length; i++) {
+                facesByDirection[i] = new LongOpenHashSet();
+                rejectedAtByDirection[i] = new Long2LongOpenHashMap();
+            }
+        }
+
+        private void build(ServerWorld world) {
+            BlockPos.Mutable cursor = new BlockPos.Mutable();
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        cursor.set(x, y, z);
+                        BlockState state = world.getBlockState(cursor);
+                        if (!state.isSolidBlock(world, cursor)) {
+                            continue;
+                        }
+                        for (Direction facing : Direction.Type.HORIZONTAL) {
+                            if (world.getBlockState(cursor.offset(facing)).isAir()) {
+                                facesByDirection[facing.getHorizontal()].add(cursor.asLong());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean contains(BlockPos pos) {
+            return pos.getX() >= minX && pos.getX() <= maxX
+                    && pos.getY() >= minY && pos.getY() <= maxY
+                    && pos.getZ() >= minZ && pos.getZ() <= maxZ;
+        }
+
+        private void onBlockChanged(ServerWorld world, BlockPos pos, BlockState newState) {
+            if (pos.getY() < minY || pos.getY() > maxY
+                    || pos.getX() < minX - 1 || pos.getX() > maxX + 1
+                    || pos.getZ() < minZ - 1 || pos.getZ() > maxZ + 1) {
+                return;
+            }
+            // The changed block as a wall, in every direction...
+            if (contains(pos)) {
+                for (Direction facing : Direction.Type.HORIZONTAL) {
+                    update(pos, facing, isExposedFace(world, pos, newState, facing));
+                }
+            }
+            // ...and as the space in front of each horizontal neighbour.
+            for (Direction facing : Direction.Type.HORIZONTAL) {
+                BlockPos wall = pos.offset(facing.getOpposite());
+                if (contains(wall)) {
+                    update(wall, facing, newState.isAir() && world.getBlockState(wall).isSolidBlock(world, wall));
+                }
+            }
+        }
+
+        private void update(BlockPos wall, Direction facing, boolean exposed) {
+            LongOpenHashSet faces = facesByDirection[facing.getHorizontal()];
+            if (exposed) {
+                faces.add(wall.asLong());
+            } else {
+                faces.remove(wall.asLong());
+            }
+        }
+
+        /** Anchors whose whole 2×2 grid is exposed the same way, nearest to the centre first. */
+        private List<Candidate> frameReadyCandidates() {
+            List<Candidate> candidates = new ArrayList<>();
+            for (Direction facing : Direction.Type.HORIZONTAL) {
+                LongOpenHashSet faces = facesByDirection[facing.getHorizontal()];
+                Direction right = facing.rotateYClockwise();
+                LongIterator iterator = faces.iterator();
+                while (iterator.hasNext()) {
+                    long packed = iterator.nextLong();
+                    BlockPos anchor = BlockPos.fromLong(packed);
+                    if (Math.abs(anchor.getX() - center.getX()) > radius
+                            || Math.abs(anchor.getZ() - center.getZ()) > radius
+                            || anchor.getY() - center.getY() < -BELOW
+                            || anchor.getY() - center.getY() > ABOVE) {
+                        continue;
+                    }
+                    BlockPos side = anchor.offset(right);
+                    if (faces.contains(side.asLong())
+                            && faces.contains(anchor.up().asLong())
+                            && faces.contains(side.up().asLong())) {
+                        candidates.add(new Candidate(anchor, facing));
+                    }
+                }
+            }
+            candidates.sort(Comparator.<Candidate>comparingDouble(candidate -> candidate.bottomLeftWall().getSquaredDistance(center))
+                    .thenComparingLong(candidate -> candidate.bottomLeftWall().asLong())
+                    .thenComparingInt(candidate -> candidate.facing().getHorizontal()));
+            return candidates;
+        }
+    }
+}
@@ -0,0 +1,548 @@
+package dev.sterner.guardvillagers.common.util;
+
+import dev.sterner.guardvillagers.GuardVillagers;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Saved per-village registry of mason mining shafts.
+ *
+ * <p>Each village (keyed by a packed anchor position: its quartermaster chest, or a mason's paired
+ * chest where there is no quartermaster) records its shafts with
+ * their direction, step progress, owning mason and total mined volume; the water-bailout hazard
+ * zones masons have learned; and the outcome of bootstrap staging searches for blocked shaft
+ * origins. Everything survives goal recreation and restarts, so masons resume or share open
+ * shafts, keep avoiding known hazards, and do not repeat staging probes whose result is known.
+ *
+ * <p>A shaft is claimable by any mason of the village once its owner released it or stopped
+ * working it for {@link #OWNER_TIMEOUT_TICKS}. Shafts whose progress was reset are closed: they
+ * stay in the volume report until {@link #CLOSED_RETENTION_TICKS} after their last session.
+ * A village nobody has mined in for {@link #IDLE_VILLAGE_RETENTION_TICKS}, and with no live
+ * hazard, is dropped as a whole by {@link #pruneIdleVillagesIfDue}.
+ */
+public class MasonShaftRegistryState extends PersistentState {
+    private static final String STATE_ID = GuardVillagers.MODID + "_mason_shafts";
+    static final long OWNER_TIMEOUT_TICKS = 24000L;
+    static final long CLOSED_RETENTION_TICKS = 24000L * 7L;
+    static final long IDLE_VILLAGE_RETENTION_TICKS = 24000L * 7L;
+    static final long PRUNE_INTERVAL_TICKS = 1200L;
+    private static final int VILLAGE_ANCHOR_RADIUS = 128;
+
+    private static final String SHAFTS_KEY = "Shafts";
+    private static final String HAZARDS_KEY = "Hazards";
+    private static final String STAGING_KEY = "Staging";
+    private static final String VILLAGES_KEY = "Villages";
+    private static final String DIMENSION_KEY = "Dimension";
+    private static final String VILLAGE_KEY = "Village";
+    private static final String ORIGIN_KEY = "Origin";
+    private static final String DIRECTION_KEY = "Direction";
+    private static final String STEP_KEY = "Step";
+    private static final String OWNER_KEY = "Owner";
+    private static final String LAST_WORKED_TICK_KEY = "LastWorkedTick";
+    private static final String MINED_KEY = "Mined";
+    private static final String CLOSED_KEY = "Closed";
+    private static final String EXPIRES_AT_KEY = "ExpiresAt";
+    private static final String BLOCKED_ORIGIN_KEY = "Blocked";
+    private static final String STAGING_ORIGIN_KEY = "StagingOrigin";
+    private static final String RETRY_AFTER_TICK_KEY = "RetryAfterTick";
+    private static final String RECORDED_TICK_KEY = "RecordedTick";
+    private static final String LAST_ACTIVE_TICK_KEY = "LastActiveTick";
+
+    private final Map<RegistryKey<World>, Long2ObjectOpenHashMap<VillageShafts>> worlds = new HashMap<>();
+    private final Map<RegistryKey<World>, Long> lastPruneTickByWorld = new HashMap<>();
+
+    public static MasonShaftRegistryState get(MinecraftServer server) {
+        return server.getOverworld().getPersistentStateManager().getOrCreate(getType(), STATE_ID);
+    }
+
+    /**
+     * Registry key of the village a mason mines for: the village's quartermaster chest when one is
+     * registered nearby, so every mason of the village shares one entry, otherwise the mason's
+     * paired chest (or its position when unpaired). Both are fixed block positions, unlike the
+     * chunk-derived LOD key, so entries are found again after reloads. Every registry caller,
+     * including the release on a mason's removal, must derive its key here.
+     */
+    public static long villageKey(ServerWorld world, @Nullable BlockPos pairedChestPos, BlockPos fallbackPos) {
+        BlockPos anchor = pairedChestPos != null ? pairedChestPos : fallbackPos;
+        return VillageAnchorState.get(world.getServer())
+                .getNearestQmChest(world, anchor, VILLAGE_ANCHOR_RADIUS)
+                .orElse(anchor)
+                .asLong();
+    }
+
+    private static Type<MasonShaftRegistryState> getType() {
+        return new Type<>(MasonShaftRegistryState::new, MasonShaftRegistryState::fromNbt, null);
+    }
+
+    /** Snapshot of one shaft. {@code owner} is null once released. */
+    public record ShaftView(BlockPos origin, int directionId, int stepIndex, @Nullable UUID owner,
+                            long lastWorkedTick, long minedBlocks, boolean closed) {
+    }
+
+    /** A shaft in the volume report, with the village it belongs to. */
+    public record ShaftReport(long villageKey, ShaftView shaft) {
+    }
+
+    /**
+     * Cached bootstrap staging search for a blocked origin: the staging origin found, or null when
+     * the search failed and should not be repeated before {@code retryAfterTick}.
+     */
+    public record StagingResult(@Nullable BlockPos stagingOrigin, long retryAfterTick) {
+    }
+
+    public record Stats(int villages, int openShafts, int closedShafts, int hazards, long minedBlocks) {
+    }
+
+    static MasonShaftRegistryState fromNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
+        MasonShaftRegistryState state = new MasonShaftRegistryState();
+        for (NbtElement element : nbt.getList(SHAFTS_KEY, NbtElement.COMPOUND_TYPE)) {
+            if (!(element instanceof NbtCompound row) || !row.contains(ORIGIN_KEY, NbtElement.LONG_TYPE)) {
+                continue;
+            }
+            VillageShafts village = state.villageFromRow(row);
+            if (village == null) {
+                continue;
+            }
+            Shaft shaft = new Shaft(row.getLong(ORIGIN_KEY));
+            shaft.directionId = row.getInt(DIRECTION_KEY);
+            shaft.stepIndex = Math.max(0, row.getInt(STEP_KEY));
+            shaft.owner = row.containsUuid(OWNER_KEY) ? row.getUuid(OWNER_KEY) : null;
+            shaft.lastWorkedTick = row.getLong(LAST_WORKED_TICK_KEY);
+            shaft.minedBlocks = Math.max(0L, row.getLong(MINED_KEY));
+            shaft.closed = row.getBoolean(CLOSED_KEY);
+            village.shafts.put(shaft.origin, shaft);
+        }
+        for (NbtElement element : nbt.getList(HAZARDS_KEY, NbtElement.COMPOUND_TYPE)) {
+            if (!(element instanceof NbtCompound row) || !row.contains(ORIGIN_KEY, NbtElement.LONG_TYPE)) {
+                continue;
+            }
+            VillageShafts village = state.villageFromRow(row);
+            if (village != null) {
+                village.hazards.put(row.getLong(ORIGIN_KEY), row.getLong(EXPIRES_AT_KEY));
+            }
+        }
+        for (NbtElement element : nbt.getList(STAGING_KEY, NbtElement.COMPOUND_TYPE)) {
+            if (!(element instanceof NbtCompound row) || !row.contains(BLOCKED_ORIGIN_KEY, NbtElement.LONG_TYPE)) {
+                continue;
+            }
+            VillageShafts village = state.villageFromRow(row);
+            if (village != null) {
+                BlockPos staging = row.contains(STAGING_ORIGIN_KEY, NbtElement.LONG_TYPE)
+                        ? BlockPos.fromLong(row.getLong(STAGING_ORIGIN_KEY))
+                        : null;
+                village.staging.put(row.getLong(BLOCKED_ORIGIN_KEY), new StagingEntry(
+                        new StagingResult(staging, row.getLong(RETRY_AFTER_TICK_KEY)), row.getLong(RECORDED_TICK_KEY)));
+            }
+        }
+        for (NbtElement element : nbt.getList(VILLAGES_KEY, NbtElement.COMPOUND_TYPE)) {
+            if (!(element instanceof NbtCompound row) || !row.contains(LAST_ACTIVE_TICK_KEY, NbtElement.LONG_TYPE)) {
+                continue;
+            }
+            VillageShafts village = state.villageFromRow(row);
+            if (village != null) {
+                village.lastActiveTick = row.getLong(LAST_ACTIVE_TICK_KEY);
+            }
+        }
+        return state;
+    }
+
+    @Override
+    public NbtCompound writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup lookup) {
+        NbtList shafts = new NbtList();
+        NbtList hazards = new NbtList();
+        NbtList staging = new NbtList();
+        NbtList villages = new NbtList();
+        for (Map.Entry<RegistryKey<World>, Long2ObjectOpenHashMap<VillageShafts>> world : worlds.entrySet()) {
+            String dimension = world.getKey().getValue().toString();
+            for (Long2ObjectMap.Entry<VillageShafts> village : world.getValue().long2ObjectEntrySet()) {
+                if (village.getValue().lastActiveTick != Long.MIN_VALUE) {
+                    NbtCompound row = villageRow(dimension, village.getLongKey());
+                    row.putLong(LAST_ACTIVE_TICK_KEY, village.getValue().lastActiveTick);
+                    villages.add(row);
+                }
+                for (Shaft shaft : village.getValue().shafts.values()) {
+                    NbtCompound row = villageRow(dimension, village.getLongKey());
+                    row.putLong(ORIGIN_KEY, shaft.origin);
+                    row.putInt(DIRECTION_KEY, shaft.directionId);
+                    row.putInt(STEP_KEY, shaft.stepIndex);
+                    if (shaft.owner != null) {
+                        row.putUuid(OWNER_KEY, shaft.owner);
+                    }
+                    row.putLong(LAST_WORKED_TICK_KEY, shaft.lastWorkedTick);
+                    row.putLong(MINED_KEY, shaft.minedBlocks);
+                    row.putBoolean(CLOSED_KEY, shaft.closed);
+                    shafts.add(row);
+                }
+                for (Long2LongMap.Entry hazard : village.getValue().hazards.long2LongEntrySet()) {
+                    NbtCompound row = villageRow(dimension, village.getLongKey());
+                    row.putLong(ORIGIN_KEY, hazard.getLongKey());
+                    row.putLong(EXPIRES_AT_KEY, hazard.getLongValue());
+                    hazards.add(row);
+                }
+                for (Long2ObjectMap.Entry<StagingEntry> entry : village.getValue().staging.long2ObjectEntrySet()) {
+                    NbtCompound row = villageRow(dimension, village.getLongKey());
+                    row.putLong(BLOCKED_ORIGIN_KEY, entry.getLongKey());
+                    StagingResult result = entry.getValue().result;
+                    if (result.stagingOrigin() != null) {
+                        row.putLong(STAGING_ORIGIN_KEY, result.stagingOrigin().asLong());
+                    }
+                    row.putLong(RETRY_AFTER_TICK_KEY, result.retryAfterTick());
+                    row.putLong(RECORDED_TICK_KEY, entry.getValue().recordedTick);
+                    staging.add(row);
+                }
+            }
+        }
+        nbt.put(SHAFTS_KEY, shafts);
+        nbt.put(HAZARDS_KEY, hazards);
+        nbt.put(STAGING_KEY, staging);
+        nbt.put(VILLAGES_KEY, villages);
+        return nbt;
+    }
+
+    // -------------------------------------------------------------------------
+    // Shafts
+    // -------------------------------------------------------------------------
+
+    /**
+     * Claims the open shaft nearest {@code near} (horizontally, within {@code maxDistance}) that is
+     * owned by {@code guardId}, released, or idle past {@link #OWNER_TIMEOUT_TICKS}, and not inside
+     * a live hazard zone of {@code hazardRadius}. Returns null when there is none.
+     */
+    @Nullable
+    public ShaftView claimShaft(RegistryKey<World> dimension, long villageKey, UUID guardId, BlockPos near,
+                                int maxDistance, int hazardRadius, long now) {
+        VillageShafts village = village(dimension, villageKey, false);
+        if (village == null || village.shafts.isEmpty()) {
+            return null;
+        }
+        long maxDistanceSq = (long) maxDistance * maxDistance;
+        Shaft best = null;
+        long bestDistanceSq = Long.MAX_VALUE;
+        for (Shaft shaft : village.shafts.values()) {
+            if (shaft.closed || !isClaimableBy(shaft, guardId, now)) {
+                continue;
+            }
+            long distanceSq = horizontalDistanceSq(shaft.origin, near);
+            if (distanceSq > maxDistanceSq || distanceSq >= bestDistanceSq) {
+                continue;
+            }
+            if (village.isNearHazard(BlockPos.fromLong(shaft.origin), hazardRadius, now)) {
+                continue;
+            }
+            best = shaft;
+            bestDistanceSq = distanceSq;
+        }
+        if (best == null) {
+            return null;
+        }
+        best.owner = guardId;
+        best.lastWorkedTick = now;
+        village.lastActiveTick = now;
+        markDirty();
+        return best.view();
+    }
+
+    /**
+     * Records a finished mining session on the shaft at {@code origin}, creating it if needed.
+     * {@code minedBlocks} is the session's mined volume; {@code close} marks the shaft as no
+     * longer resumable (its progress was reset) and releases it.
+     */
+    public void recordSession(RegistryKey<World> dimension, long villageKey, UUID guardId, BlockPos origin,
+                              int directionId, int stepIndex, int minedBlocks, boolean close, long now) {
+        VillageShafts village = village(dimension, villageKey, true);
+        Shaft shaft = village.shafts.computeIfAbsent(origin.asLong(), Shaft::new);
+        shaft.directionId = directionId;
+        shaft.stepIndex = Math.max(0, stepIndex);
+        shaft.minedBlocks += Math.max(0, minedBlocks);
+        shaft.lastWorkedTick = now;
+        shaft.closed = close;
+        shaft.owner = close ? null : guardId;
+        village.lastActiveTick = now;
+        village.pruneClosedShafts(now);
+        markDirty();
+    }
+
+    /** Releases every open shaft {@code guardId} owns in the village so other masons may claim it. */
+    public void releaseShafts(RegistryKey<World> dimension, long villageKey, UUID guardId) {
+        VillageShafts village = village(dimension, villageKey, false);
+        if (village == null) {
+            return;
+        }
+        for (Shaft shaft : village.shafts.values()) {
+            if (guardId.equals(shaft.owner)) {
+                shaft.owner = null;
+                markDirty();
+            }
+        }
+    }
+
+    /** Every shaft in the dimension, most mined first. */
+    public List<ShaftReport> shaftReports(RegistryKey<World> dimension) {
+        List<ShaftReport> reports = new ArrayList<>();
+        Long2ObjectOpenHashMap<VillageShafts> villages = worlds.get(dimension);
+        if (villages == null) {
+            return reports;
+        }
+        for (Long2ObjectMap.Entry<VillageShafts> village : villages.long2ObjectEntrySet()) {
+            for (Shaft shaft : village.getValue().shafts.values()) {
+                reports.add(new ShaftReport(village.getLongKey(), shaft.view()));
+            }
+        }
+        reports.sort(Comparator.comparingLong((ShaftReport report) -> report.shaft().minedBlocks()).reversed());
+        return reports;
+    }
+
+    public Stats stats(RegistryKey<World> dimension) {
+        Long2ObjectOpenHashMap<VillageShafts> villages = worlds.get(dimension);
+        if (villages == null) {
+            return new Stats(0, 0, 0, 0, 0L);
+        }
+        int open = 0;
+        int closed = 0;
+        int hazards = 0;
+        long mined = 0L;
+        for (VillageShafts village : villages.values()) {
+            for (Shaft shaft : village.shafts.values()) {
+                if (shaft.closed) {
+                    closed++;
+                } else {
+                    open++;
+                }
+                mined += shaft.minedBlocks;
+            }
+            hazards += village.hazards.size();
+        }
+        return new Stats(villages.size(), open, closed, hazards, mined);
+    }
+
+    // -------------------------------------------------------------------------
+    // Hazard zones
+    // -------------------------------------------------------------------------
+
+    /** Marks the shaft origin as a water hazard until {@code expiresAtTick}. */
+    public void addHazard(RegistryKey<World> dimension, long villageKey, BlockPos origin, long expiresAtTick) {
+        village(dimension, villageKey, true).hazards.put(origin.asLong(), expiresAtTick);
+        markDirty();
+    }
+
+    /** Whether a live hazard lies strictly within {@code radius} blocks of {@code pos}. */
+    public boolean isNearHazard(RegistryKey<World> dimension, long villageKey, BlockPos pos, int radius, long now) {
+        VillageShafts village = village(dimension, villageKey, false);
+        return village != null && village.isNearHazard(pos, radius, now);
+    }
+
+    /** Forgets hazards at least {@code radius} blocks from {@code origin}, after a clean session there. */
+    public void clearHazardsBeyond(RegistryKey<World> dimension, long villageKey, BlockPos origin, int radius) {
+        VillageShafts village = village(dimension, villageKey, false);
+        if (village == null || village.hazards.isEmpty()) {
+            return;
+        }
+        long radiusSq = (long) radius * radius;
+        if (village.hazards.long2LongEntrySet().removeIf(entry -> distanceSq(entry.getLongKey(), origin) >= radiusSq)) {
+            markDirty();
+        }
+    }
+
+    public void expireHazards(RegistryKey<World> dimension, long villageKey, long now) {
+        VillageShafts village = village(dimension, villageKey, false);
+        if (village != null && village.expireHazards(now)) {
+            markDirty();
+        }
+    }
+
+    /**
+     * Drops villages idle for more than {@link #IDLE_VILLAGE_RETENTION_TICKS} that hold no live
+     * hazard, at most once per {@link #PRUNE_INTERVAL_TICKS} per dimension. A village loaded from a
+     * save without an activity tick starts its idle clock now. Returns the number dropped.
+     */
+    public int pruneIdleVillagesIfDue(RegistryKey<World> dimension, long now) {
+        Long lastPrune = lastPruneTickByWorld.get(dimension);
+        if (lastPrune != null && now >= lastPrune && now - lastPrune < PRUNE_INTERVAL_TICKS) {
+            return 0;
+        }
+        lastPruneTickByWorld.put(dimension, now);
+        Long2ObjectOpenHashMap<VillageShafts> villages = worlds.get(dimension);
+        if (villages == null) {
+            return 0;
+        }
+        int pruned = 0;
+        Iterator<VillageShafts> iterator = villages.values().iterator();
+        while (iterator.hasNext()) {
+            VillageShafts village = iterator.next();
+            if (village.lastActiveTick == Long.MIN_VALUE || now < village.lastActiveTick) {
+                village.lastActiveTick = now;
+                markDirty();
+                continue;
+            }
+            if (village.expireHazards(now)) {
+                markDirty();
+            }
+            if (now - village.lastActiveTick > IDLE_VILLAGE_RETENTION_TICKS && village.hazards.isEmpty()) {
+                iterator.remove();
+                pruned++;
+            }
+        }
+        if (pruned > 0) {
+            markDirty();
+        }
+        if (villages.isEmpty()) {
+            worlds.remove(dimension);
+        }
+        return pruned;
+    }
+
+    // -------------------------------------------------------------------------
+    // Bootstrap staging
+    // -------------------------------------------------------------------------
+
+    @Nullable
+    public StagingResult stagingFor(RegistryKey<World> dimension, long villageKey, BlockPos blockedOrigin) {
+        VillageShafts village = village(dimension, villageKey, false);
+        if (village == null) {
+            return null;
+        }
+        StagingEntry entry = village.staging.get(blockedOrigin.asLong());
+        return entry == null ? null : entry.result;
+    }
+
+    public void putStaging(RegistryKey<World> dimension, long villageKey, BlockPos blockedOrigin,
+                           @Nullable BlockPos stagingOrigin, long retryAfterTick, long now) {
+        VillageShafts village = village(dimension, villageKey, true);
+        village.staging.put(blockedOrigin.asLong(), new StagingEntry(
+                new StagingResult(stagingOrigin == null ? null : stagingOrigin.toImmutable(), retryAfterTick), now));
+        village.lastActiveTick = now;
+        village.staging.long2ObjectEntrySet().removeIf(entry -> now - entry.getValue().recordedTick > CLOSED_RETENTION_TICKS);
+        markDirty();
+    }
+
+    public void removeStaging(RegistryKey<World> dimension, long villageKey, BlockPos blockedOrigin) {
+        VillageShafts village = village(dimension, villageKey, false);
+        if (village != null && village.staging.remove(blockedOrigin.asLong()) != null) {
+            markDirty();
+        }
+    }
+
+    @Nullable
+    private VillageShafts village(RegistryKey<World> dimension, long villageKey, boolean create) {
+        if (!create) {
+            Long2ObjectOpenHashMap<VillageShafts> villages = worlds.get(dimension);
+            return villages == null ? null : villages.get(villageKey);
+        }
+        return worlds.computeIfAbsent(dimension, key -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(villageKey, key -> new VillageShafts());
+    }
+
+    @Nullable
+    private VillageShafts villageFromRow(NbtCompound row) {
+        if (!row.contains(DIMENSION_KEY, NbtElement.STRING_TYPE) || !row.contains(VILLAGE_KEY, NbtElement.LONG_TYPE)) {
+            return null;
+        }
+        Identifier dimensionId = Identifier.tryParse(row.getString(DIMENSION_KEY));
+        if (dimensionId == null) {
+            return null;
+        }
+        return village(RegistryKey.of(RegistryKeys.WORLD, dimensionId), row.getLong(VILLAGE_KEY), true);
+    }
+
+    private static NbtCompound villageRow(String dimension, long villageKey) {
+        NbtCompound row = new NbtCompound();
+        row.putString(DIMENSION_KEY, dimension);
+        row.putLong(VILLAGE_KEY, villageKey);
+        return row;
+    }
+
+    private static boolean isClaimableBy(Shaft shaft, UUID guardId, long now) {
+        return shaft.owner == null || shaft.owner.equals(guardId) || now - shaft.lastWorkedTick >= OWNER_TIMEOUT_TICKS;
+    }
+
+    private static long horizontalDistanceSq(long origin, BlockPos pos) {
+        long dx = BlockPos.unpackLongX(origin) - pos.getX();
+        long dz = BlockPos.unpackLongZ(origin) - pos.getZ();
+        return dx * dx + dz * dz;
+    }
+
+    private static long distanceSq(long origin, BlockPos pos) {
+        long dy = BlockPos.unpackLongY(origin) - pos.getY();
+        return horizontalDistanceSq(origin, pos) + dy * dy;
+    }
+
+    private static final class VillageShafts {
+        private final Long2ObjectOpenHashMap<Shaft> shafts = new Long2ObjectOpenHashMap<>();
+        /** Hazard origin → expiry tick. */
+        private final Long2LongOpenHashMap hazards = new Long2LongOpenHashMap();
+        private final Long2ObjectOpenHashMap<StagingEntry> staging = new Long2ObjectOpenHashMap<>();
+        private long lastActiveTick = Long.MIN_VALUE;
+
+        private boolean isNearHazard(BlockPos pos, int radius, long now) {
+            if (hazards.isEmpty()) {
+                return false;
+            }
+            long radiusSq = (long) radius * radius;
+            for (Long2LongMap.Entry hazard : hazards.long2LongEntrySet()) {
+                if (hazard.getLongValue() > now && distanceSq(hazard.getLongKey(), pos) < radiusSq) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean expireHazards(long now) {
+            return !hazards.isEmpty() && hazards.long2LongEntrySet().removeIf(entry -> entry.getLongValue() <= now);
+        }
+
+        private void pruneClosedShafts(long now) {
+            Iterator<Shaft> iterator = shafts.values().iterator();
+            while (iterator.hasNext()) {
+                Shaft shaft = iterator.next();
+                if (shaft.closed && now - shaft.lastWorkedTick > CLOSED_RETENTION_TICKS) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static final class Shaft {
+        private final long origin;
+        private int directionId = -1;
+        private int stepIndex;
+        @Nullable
+        private UUID owner;
+        private long lastWorkedTick;
+        private long minedBlocks;
+        private boolean closed;
+
+        private Shaft(long origin) {
+            this.origin = origin;
+        }
+
+        private ShaftView view() {
+            return new ShaftView(BlockPos.fromLong(origin), directionId, stepIndex, owner, lastWorkedTick, minedBlocks, closed);
+        }
+    }
+
+    private record StagingEntry(StagingResult result, long recordedTick) {
+    }
+}
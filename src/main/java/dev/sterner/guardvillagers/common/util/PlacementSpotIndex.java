@@ -0,0 +1,284 @@
+package dev.sterner.guardvillagers.common.util;
+
+import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
+import it.unimi.dsi.fastutil.longs.Long2ByteMap;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.village.VillagerProfession;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Free spots where a utility block (chest, crafting table, furnace, job block) could be placed.
+ *
+ * <p>A spot is a replaceable block with a non-air floor. Each spot carries flags for the checks
+ * placement callers combine: {@link #SOLID_FLOOR} (floor passes {@code isSolidBlock}),
+ * {@link #CLEAR_ABOVE} (air above), {@link #DRY} (no fluid in the spot or above it) and
+ * {@link #NEAR_JOB_BLOCK} (a neighbour is a profession job block other than a crafting table, or
+ * lies in an unloaded chunk and might be one).
+ *
+ * <p>Spots are indexed per chunk section. A section is filled the first time a query touches it
+ * (sections of unloaded chunks are skipped, not loaded), kept current from block-change events and
+ * dropped after {@link #SECTION_IDLE_TICKS} without queries. Queries enumerate spots in
+ * {@link BlockPos#iterate} order, so callers that keep the first best candidate pick the same spot
+ * a cube scan would.
+ */
+public final class PlacementSpotIndex {
+    private static final Map<RegistryKey<World>, PlacementSpotIndex> INDEX_BY_WORLD = new HashMap<>();
+    static final long SECTION_IDLE_TICKS = 72000L;
+    private static final long PRUNE_INTERVAL_TICKS = 1200L;
+    private static final Set<VillagerProfession> JOB_BLOCK_PROFESSIONS = Set.of(
+            VillagerProfession.ARMORER,
+            VillagerProfession.BUTCHER,
+            VillagerProfession.CARTOGRAPHER,
+            VillagerProfession.CLERIC,
+            VillagerProfession.FARMER,
+            VillagerProfession.FISHERMAN,
+            VillagerProfession.FLETCHER,
+            VillagerProfession.LIBRARIAN,
+            VillagerProfession.LEATHERWORKER,
+            VillagerProfession.MASON,
+            VillagerProfession.SHEPHERD,
+            VillagerProfession.TOOLSMITH,
+            VillagerProfession.WEAPONSMITH
+    );
+
+    public static final int SOLID_FLOOR = 1;
+    public static final int CLEAR_ABOVE = 1 << 1;
+    public static final int DRY = 1 << 2;
+    public static final int NEAR_JOB_BLOCK = 1 << 3;
+    private static final int NOT_A_SPOT = -1;
+    private static final Comparator<Spot> ITERATION_ORDER = Comparator
+            .comparingInt((Spot spot) -> spot.pos().getZ())
+            .thenComparingInt(spot -> spot.pos().getY())
+            .thenComparingInt(spot -> spot.pos().getX());
+
+    private final Long2ObjectOpenHashMap<Section> sections = new Long2ObjectOpenHashMap<>();
+    private final Predicate<BlockState> jobBlock;
+    private long lastPruneTick = Long.MIN_VALUE;
+
+    PlacementSpotIndex(Predicate<BlockState> jobBlock) {
+        this.jobBlock = jobBlock;
+    }
+
+    public record Spot(BlockPos pos, int flags) {
+        public boolean has(int flag) {
+            return (flags & flag) == flag;
+        }
+    }
+
+    public static PlacementSpotIndex forWorld(ServerWorld world) {
+        return INDEX_BY_WORLD.computeIfAbsent(world.getRegistryKey(), key -> new PlacementSpotIndex(PlacementSpotIndex::isJobBlock));
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        INDEX_BY_WORLD.remove(world.getRegistryKey());
+    }
+
+    /** Re-evaluates the changed position and its six neighbours in any indexed section. */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos) {
+        PlacementSpotIndex index = INDEX_BY_WORLD.get(world.getRegistryKey());
+        if (index != null) {
+            index.refreshAround(world, pos);
+        }
+    }
+
+    /** Whether {@code state} is a profession job block; crafting tables (the lumberjacks' own) are not. */
+    public static boolean isJobBlock(BlockState state) {
+        for (VillagerProfession profession : JOB_BLOCK_PROFESSIONS) {
+            if (ProfessionDefinitions.isExpectedJobBlock(profession, state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Spots inside {@code box} (inclusive) carrying every flag in {@code requiredFlags}, in
+     * {@link BlockPos#iterate} order.
+     */
+    public List<Spot> spotsIn(ServerWorld world, BlockBox box, int requiredFlags) {
+        long now = world.getTime();
+        pruneIdle(now);
+        List<Spot> spots = new ArrayList<>();
+        int minSectionY = Math.max(ChunkSectionPos.getSectionCoord(box.getMinY()), world.getBottomSectionCoord());
+        int maxSectionY = Math.min(ChunkSectionPos.getSectionCoord(box.getMaxY()), world.getTopSectionCoord() - 1);
+        for (int chunkX = ChunkSectionPos.getSectionCoord(box.getMinX()); chunkX <= ChunkSectionPos.getSectionCoord(box.getMaxX()); chunkX++) {
+            for (int chunkZ = ChunkSectionPos.getSectionCoord(box.getMinZ()); chunkZ <= ChunkSectionPos.getSectionCoord(box.getMaxZ()); chunkZ++) {
+                if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                    continue;
+                }
+                for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                    Section section = section(world, chunkX, sectionY, chunkZ);
+                    section.lastUsedTick = now;
+                    for (Long2ByteMap.Entry entry : section.flagsByPos.long2ByteEntrySet()) {
+                        int flags = entry.getByteValue();
+                        if ((flags & requiredFlags) != requiredFlags) {
+                            continue;
+                        }
+                        BlockPos pos = BlockPos.fromLong(entry.getLongKey());
+                        if (box.contains(pos)) {
+                            spots.add(new Spot(pos, flags));
+                        }
+                    }
+                }
+            }
+        }
+        spots.sort(ITERATION_ORDER);
+        return spots;
+    }
+
+    /**
+     * The spot nearest {@code target} that lies within {@code range} of {@code target} (and of
+     * {@code secondaryAnchor}, when given), at most {@code verticalReach} blocks above or below it,
+     * carries {@code requiredFlags} and passes {@code accept}. Ties go to the first spot in
+     * {@link BlockPos#iterate} order.
+     */
+    @Nullable
+    public BlockPos findNearest(ServerWorld world, BlockPos target, double range, @Nullable BlockPos secondaryAnchor,
+                                int verticalReach, int requiredFlags, @Nullable Predicate<Spot> accept) {
+        int blockRange = (int) Math.ceil(range);
+        BlockBox box = new BlockBox(
+                target.getX() - blockRange, target.getY() - verticalReach, target.getZ() - blockRange,
+                target.getX() + blockRange, target.getY() + verticalReach, target.getZ() + blockRange);
+        List<Spot> candidates = new ArrayList<>();
+        for (Spot spot : spotsIn(world, box, requiredFlags)) {
+            if (!target.isWithinDistance(spot.pos(), range)) {
+                continue;
+            }
+            if (secondaryAnchor != null && !secondaryAnchor.isWithinDistance(spot.pos(), range)) {
+                continue;
+            }
+            candidates.add(spot);
+        }
+        // Stable sort keeps iteration order among equally distant spots.
+        candidates.sort(Comparator.comparingDouble(spot -> target.getSquaredDistance(spot.pos())));
+        for (Spot spot : candidates) {
+            if (accept == null || accept.test(spot)) {
+                return spot.pos();
+            }
+        }
+        return null;
+    }
+
+    int sectionCount() {
+        return sections.size();
+    }
+
+    private Section section(ServerWorld world, int chunkX, int sectionY, int chunkZ) {
+        long key = ChunkSectionPos.asLong(chunkX, sectionY, chunkZ);
+        Section section = sections.get(key);
+        if (section == null) {
+            section = new Section();
+            fill(world, section, chunkX, sectionY, chunkZ);
+            sections.put(key, section);
+        }
+        return section;
+    }
+
+    private void fill(ServerWorld world, Section section, int chunkX, int sectionY, int chunkZ) {
+        ChunkSection chunkSection = world.getChunk(chunkX, chunkZ).getSection(world.sectionCoordToIndex(sectionY));
+        int minX = ChunkSectionPos.getBlockCoord(chunkX);
+        int minY = ChunkSectionPos.getBlockCoord(sectionY);
+        int minZ = ChunkSectionPos.getBlockCoord(chunkZ);
+        // In an all-air section only the bottom layer can stand on a floor (from the section below).
+        int maxY = chunkSection.isEmpty() ? minY : minY + 15;
+        BlockPos.Mutable cursor = new BlockPos.Mutable();
+        for (int y = minY; y <= maxY; y++) {
+            for (int z = minZ; z < minZ + 16; z++) {
+                for (int x = minX; x < minX + 16; x++) {
+                    int flags = computeFlags(world, cursor.set(x, y, z));
+                    if (flags != NOT_A_SPOT) {
+                        section.flagsByPos.put(cursor.asLong(), (byte) flags);
+                    }
+                }
+            }
+        }
+    }
+
+    void refreshAround(ServerWorld world, BlockPos pos) {
+        if (sections.isEmpty()) {
+            return;
+        }
+        refresh(world, pos);
+        BlockPos.Mutable neighbour = new BlockPos.Mutable();
+        for (Direction direction : Direction.values()) {
+            refresh(world, neighbour.set(pos, direction));
+        }
+    }
+
+    private void refresh(ServerWorld world, BlockPos pos) {
+        Section section = sections.get(ChunkSectionPos.toLong(pos));
+        if (section == null) {
+            return;
+        }
+        int flags = computeFlags(world, pos);
+        if (flags == NOT_A_SPOT) {
+            section.flagsByPos.remove(pos.asLong());
+        } else {
+            section.flagsByPos.put(pos.asLong(), (byte) flags);
+        }
+    }
+
+    private int computeFlags(ServerWorld world, BlockPos pos) {
+        BlockState state = world.getBlockState(pos);
+        if (!state.isReplaceable()) {
+            return NOT_A_SPOT;
+        }
+        BlockPos below = pos.down();
+        BlockState floor = world.getBlockState(below);
+        if (floor.isAir()) {
+            return NOT_A_SPOT;
+        }
+        int flags = 0;
+        if (floor.isSolidBlock(world, below)) {
+            flags |= SOLID_FLOOR;
+        }
+        BlockState above = world.getBlockState(pos.up());
+        if (above.isAir()) {
+            flags |= CLEAR_ABOVE;
+        }
+        if (state.getFluidState().isEmpty() && above.getFluidState().isEmpty()) {
+            flags |= DRY;
+        }
+        BlockPos.Mutable neighbour = new BlockPos.Mutable();
+        for (Direction direction : Direction.values()) {
+            neighbour.set(pos, direction);
+            if (!world.isChunkLoaded(ChunkSectionPos.getSectionCoord(neighbour.getX()), ChunkSectionPos.getSectionCoord(neighbour.getZ()))
+                    || jobBlock.test(world.getBlockState(neighbour))) {
+                flags |= NEAR_JOB_BLOCK;
+                break;
+            }
+        }
+        return flags;
+    }
+
+    private void pruneIdle(long now) {
+        if (lastPruneTick != Long.MIN_VALUE && now - lastPruneTick < PRUNE_INTERVAL_TICKS) {
+            return;
+        }
+        lastPruneTick = now;
+        sections.values().removeIf(section -> now - section.lastUsedTick > SECTION_IDLE_TICKS);
+    }
+
+    private static final class Section {
+        private final Long2ByteOpenHashMap flagsByPos = new Long2ByteOpenHashMap();
+        private long lastUsedTick;
+    }
+}
@@ -0,0 +1,161 @@
+package dev.sterner.guardvillagers.common.util;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.recipe.SmithingRecipe;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Smithing recipes of a world, indexed by the items each one accepts as template, base and
+ * addition.
+ *
+ * <p>Recipes are ordered by id (the order the smithing goals have always tried them in) and each
+ * item maps to a bit set of recipe ordinals per input role, computed once by probing every
+ * registered item's default stack. A planner buckets its chest slots by item once, intersects the
+ * role sets of the items present to get candidate recipes, and only runs the real
+ * {@code recipe.matches} check on slots the index says can fill each role.
+ *
+ * <p>Built lazily per world; dropped on datapack reload and world unload.
+ */
+public final class SmithingMatchIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SmithingMatchIndex.class);
+    private static final Map<RegistryKey<World>, SmithingMatchIndex> INDEX_BY_WORLD = new HashMap<>();
+
+    private final List<RecipeEntry<SmithingRecipe>> recipes;
+    private final Map<Item, BitSet> recipesByTemplate = new HashMap<>();
+    private final Map<Item, BitSet> recipesByBase = new HashMap<>();
+    private final Map<Item, BitSet> recipesByAddition = new HashMap<>();
+
+    private SmithingMatchIndex(List<RecipeEntry<SmithingRecipe>> recipes) {
+        this.recipes = recipes;
+    }
+
+    public enum Role {
+        TEMPLATE,
+        BASE,
+        ADDITION
+    }
+
+    /** Non-empty chest slots grouped by item, each group in ascending slot order. */
+    public record SlotBuckets(Map<Item, IntArrayList> slotsByItem) {
+    }
+
+    public static SmithingMatchIndex forWorld(ServerWorld world) {
+        SmithingMatchIndex existing = INDEX_BY_WORLD.get(world.getRegistryKey());
+        if (existing != null) {
+            return existing;
+        }
+        SmithingMatchIndex built = build(world.getRecipeManager().listAllOfType(RecipeType.SMITHING), Registries.ITEM);
+        INDEX_BY_WORLD.put(world.getRegistryKey(), built);
+        LOGGER.debug("[smithing-index] {}: indexed {} smithing recipes over {} template, {} base and {} addition items",
+                world.getRegistryKey().getValue(), built.recipes.size(),
+                built.recipesByTemplate.size(), built.recipesByBase.size(), built.recipesByAddition.size());
+        return built;
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        INDEX_BY_WORLD.remove(world.getRegistryKey());
+    }
+
+    static SmithingMatchIndex build(Collection<RecipeEntry<SmithingRecipe>> entries, Iterable<Item> items) {
+        List<RecipeEntry<SmithingRecipe>> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(entry -> entry.id().toString()));
+        SmithingMatchIndex index = new SmithingMatchIndex(List.copyOf(sorted));
+        for (Item item : items) {
+            ItemStack probe = item.getDefaultStack();
+            if (probe.isEmpty()) {
+                continue;
+            }
+            for (int ordinal = 0; ordinal < sorted.size(); ordinal++) {
+                SmithingRecipe recipe = sorted.get(ordinal).value();
+                if (recipe.testTemplate(probe)) {
+                    index.recipesByTemplate.computeIfAbsent(item, key -> new BitSet()).set(ordinal);
+                }
+                if (recipe.testBase(probe)) {
+                    index.recipesByBase.computeIfAbsent(item, key -> new BitSet()).set(ordinal);
+                }
+                if (recipe.testAddition(probe)) {
+                    index.recipesByAddition.computeIfAbsent(item, key -> new BitSet()).set(ordinal);
+                }
+            }
+        }
+        return index;
+    }
+
+    public int recipeCount() {
+        return recipes.size();
+    }
+
+    public RecipeEntry<SmithingRecipe> recipe(int ordinal) {
+        return recipes.get(ordinal);
+    }
+
+    public static SlotBuckets bucket(Inventory inventory) {
+        Map<Item, IntArrayList> slotsByItem = new HashMap<>();
+        for (int slot = 0; slot < inventory.size(); slot++) {
+            ItemStack stack = inventory.getStack(slot);
+            if (!stack.isEmpty()) {
+                slotsByItem.computeIfAbsent(stack.getItem(), key -> new IntArrayList()).add(slot);
+            }
+        }
+        return new SlotBuckets(slotsByItem);
+    }
+
+    /** Ordinals of recipes for which the bucketed inventory holds a template, base and addition. */
+    public BitSet candidateRecipes(SlotBuckets buckets) {
+        BitSet templates = new BitSet();
+        BitSet bases = new BitSet();
+        BitSet additions = new BitSet();
+        for (Item item : buckets.slotsByItem().keySet()) {
+            orInto(templates, recipesByTemplate.get(item));
+            orInto(bases, recipesByBase.get(item));
+            orInto(additions, recipesByAddition.get(item));
+        }
+        templates.and(bases);
+        templates.and(additions);
+        return templates;
+    }
+
+    /** Slots, ascending, whose item the index accepts in {@code role} for recipe {@code ordinal}. */
+    public int[] matchingSlots(SlotBuckets buckets, int ordinal, Role role) {
+        Map<Item, BitSet> byItem = switch (role) {
+            case TEMPLATE -> recipesByTemplate;
+            case BASE -> recipesByBase;
+            case ADDITION -> recipesByAddition;
+        };
+        IntArrayList slots = new IntArrayList();
+        for (Map.Entry<Item, IntArrayList> bucket : buckets.slotsByItem().entrySet()) {
+            BitSet recipesForItem = byItem.get(bucket.getKey());
+            if (recipesForItem != null && recipesForItem.get(ordinal)) {
+                slots.addAll(bucket.getValue());
+            }
+        }
+        int[] sorted = slots.toIntArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static void orInto(BitSet target, BitSet source) {
+        if (source != null) {
+            target.or(source);
+        }
+    }
+}
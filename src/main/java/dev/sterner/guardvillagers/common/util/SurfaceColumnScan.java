@@ -0,0 +1,211 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * One-shot capture of the surface around a centre point, for goals that search the village
+ * outskirts for ground or plants.
+ *
+ * <p>Each column is read once from a heightmap, {@code MOTION_BLOCKING_NO_LEAVES} by default, so
+ * the ground block (grass, farmland, a log) is at {@link #surfaceY} even under a tree canopy, and
+ * non-colliding plants (saplings, crops) sit directly above it. Callers that care about open sky
+ * rather than ground can capture against {@code MOTION_BLOCKING} instead, which stops at leaves.
+ * Columns in unloaded chunks are reported as {@link #UNLOADED} and never force a chunk load.
+ *
+ * <p>When an occupancy predicate is given, the surface block and the block above each column
+ * are tested once and folded into a 2D prefix-sum grid, so "is anything occupied within
+ * {@code r} columns" is an O(1) lookup instead of a cube re-scan per candidate.
+ *
+ * <p>{@link #forEachAnnulusColumn} walks the columns between two radii band by band from the
+ * inside out, visiting every column exactly once.
+ */
+public final class SurfaceColumnScan {
+    public static final int UNLOADED = Integer.MIN_VALUE;
+
+    private static final Map<Long, int[]> ANNULUS_OFFSETS_BY_SHAPE = new HashMap<>();
+
+    private final int originX;
+    private final int originZ;
+    private final int reach;
+    private final int side;
+    private final int[] surfaceY;
+    private final int[] occupiedPrefix;
+
+    private SurfaceColumnScan(int originX, int originZ, int reach, int[] surfaceY, int[] occupiedPrefix) {
+        this.originX = originX;
+        this.originZ = originZ;
+        this.reach = reach;
+        this.side = reach * 2 + 1;
+        this.surfaceY = surfaceY;
+        this.occupiedPrefix = occupiedPrefix;
+    }
+
+    /** Captures surface heights for every column within {@code reach} (Chebyshev) of {@code center}. */
+    public static SurfaceColumnScan capture(ServerWorld world, BlockPos center, int reach) {
+        return capture(world, center, reach, Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, null);
+    }
+
+    /**
+     * Captures surface heights and, if {@code occupied} is non-null, marks every column whose
+     * surface block or the block above it matches, reading surfaces from {@code heightmap}.
+     */
+    public static SurfaceColumnScan capture(ServerWorld world, BlockPos center, int reach,
+                                            Heightmap.Type heightmap, Predicate<BlockState> occupied) {
+        int side = reach * 2 + 1;
+        int originX = center.getX() - reach;
+        int originZ = center.getZ() - reach;
+        int[] heights = new int[side * side];
+        int[] prefix = occupied != null ? new int[(side + 1) * (side + 1)] : null;
+        BlockPos.Mutable cursor = new BlockPos.Mutable();
+        int loadedChunkX = Integer.MIN_VALUE;
+        int loadedChunkZ = Integer.MIN_VALUE;
+        boolean chunkLoaded = false;
+        for (int dz = 0; dz < side; dz++) {
+            int z = originZ + dz;
+            int rowSum = 0;
+            for (int dx = 0; dx < side; dx++) {
+                int x = originX + dx;
+                int chunkX = ChunkSectionPos.getSectionCoord(x);
+                int chunkZ = ChunkSectionPos.getSectionCoord(z);
+                if (chunkX != loadedChunkX || chunkZ != loadedChunkZ) {
+                    loadedChunkX = chunkX;
+                    loadedChunkZ = chunkZ;
+                    chunkLoaded = world.isChunkLoaded(chunkX, chunkZ);
+                }
+                int index = dz * side + dx;
+                if (!chunkLoaded) {
+                    heights[index] = UNLOADED;
+                } else {
+                    int top = world.getTopY(heightmap, x, z) - 1;
+                    heights[index] = top;
+                    if (occupied != null
+                            && (occupied.test(world.getBlockState(cursor.set(x, top, z)))
+                            || occupied.test(world.getBlockState(cursor.set(x, top + 1, z))))) {
+                        rowSum++;
+                    }
+                }
+                if (prefix != null) {
+                    prefix[(dz + 1) * (side + 1) + dx + 1] = prefix[dz * (side + 1) + dx + 1] + rowSum;
+                }
+            }
+        }
+        return new SurfaceColumnScan(originX, originZ, reach, heights, prefix);
+    }
+
+    /** Y of the captured heightmap's top block in column (x, z), or {@link #UNLOADED}/outside the capture. */
+    public int surfaceY(int x, int z) {
+        int dx = x - originX;
+        int dz = z - originZ;
+        if (dx < 0 || dz < 0 || dx >= side || dz >= side) {
+            return UNLOADED;
+        }
+        return surfaceY[dz * side + dx];
+    }
+
+    /**
+     * True when any captured column within {@code radius} (Chebyshev) of (x, z) matched the
+     * occupancy predicate. Requires the scan to have been captured with a predicate.
+     */
+    public boolean isOccupiedWithin(int x, int z, int radius) {
+        int minX = Math.max(0, x - radius - originX);
+        int minZ = Math.max(0, z - radius - originZ);
+        int maxX = Math.min(side - 1, x + radius - originX);
+        int maxZ = Math.min(side - 1, z + radius - originZ);
+        if (minX > maxX || minZ > maxZ) {
+            return false;
+        }
+        int stride = side + 1;
+        int sum = occupiedPrefix[(maxZ + 1) * stride + maxX + 1]
+                - occupiedPrefix[minZ * stride + maxX + 1]
+                - occupiedPrefix[(maxZ + 1) * stride + minX]
+                + occupiedPrefix[minZ * stride + minX];
+        return sum > 0;
+    }
+
+    /**
+     * Visits each loaded column whose horizontal distance from the capture centre lies in
+     * [{@code minRadius}, {@code maxRadius}], band by band ({@code bandWidth} blocks each) from
+     * the inside out. Stops early when the visitor returns {@code false}.
+     */
+    public void forEachAnnulusColumn(int minRadius, int maxRadius, int bandWidth, ColumnVisitor visitor) {
+        int clampedMax = Math.min(maxRadius, reach);
+        int[] offsets = annulusOffsets(minRadius, clampedMax, Math.max(1, bandWidth));
+        int centerX = originX + reach;
+        int centerZ = originZ + reach;
+        for (int i = 0; i < offsets.length; i += 2) {
+            int x = centerX + offsets[i];
+            int z = centerZ + offsets[i + 1];
+            int y = surfaceY(x, z);
+            if (y == UNLOADED) {
+                continue;
+            }
+            if (!visitor.visit(x, y, z)) {
+                return;
+            }
+        }
+    }
+
+    /** Visits every loaded captured column in row order. Stops early when the visitor returns {@code false}. */
+    public void forEachColumn(ColumnVisitor visitor) {
+        for (int dz = 0; dz < side; dz++) {
+            for (int dx = 0; dx < side; dx++) {
+                int y = surfaceY[dz * side + dx];
+                if (y == UNLOADED) {
+                    continue;
+                }
+                if (!visitor.visit(originX + dx, y, originZ + dz)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Packed (dx, dz) pairs for the annulus, ordered by band then row; cached per shape. */
+    static int[] annulusOffsets(int minRadius, int maxRadius, int bandWidth) {
+        long shape = ((long) minRadius << 40) | ((long) maxRadius << 20) | bandWidth;
+        return ANNULUS_OFFSETS_BY_SHAPE.computeIfAbsent(shape, key -> {
+            List<int[]> columns = new ArrayList<>();
+            long minSq = (long) minRadius * minRadius;
+            long maxSq = (long) maxRadius * maxRadius;
+            for (int dz = -maxRadius; dz <= maxRadius; dz++) {
+                for (int dx = -maxRadius; dx <= maxRadius; dx++) {
+                    long distSq = (long) dx * dx + (long) dz * dz;
+                    if (distSq < minSq || distSq > maxSq) {
+                        continue;
+                    }
+                    int band = (int) ((Math.sqrt(distSq) - minRadius) / bandWidth);
+                    columns.add(new int[]{band, dz, dx});
+                }
+            }
+            columns.sort(Comparator.<int[]>comparingInt(column -> column[0])
+                    .thenComparingInt(column -> column[1])
+                    .thenComparingInt(column -> column[2]));
+            int[] packed = new int[columns.size() * 2];
+            for (int i = 0; i < columns.size(); i++) {
+                packed[i * 2] = columns.get(i)[2];
+                packed[i * 2 + 1] = columns.get(i)[1];
+            }
+            return packed;
+        });
+    }
+
+    @FunctionalInterface
+    public interface ColumnVisitor {
+        /**
+         * @param surfaceY y of the column's top block in the captured heightmap
+         * @return {@code false} to stop the walk
+         */
+        boolean visit(int x, int surfaceY, int z);
+    }
+}
@@ -0,0 +1,182 @@
+package dev.sterner.guardvillagers.common.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * World access for background sweeps (bell-chest reconciliation, anchor pruning, pen rescans)
+ * that never loads a chunk.
+ *
+ * <p>Reads of unloaded positions answer "unknown" ({@link Optional#empty()} / {@code false} from
+ * the area checks) instead of calling {@link ServerWorld#getBlockState}, which would pull the
+ * chunk in synchronously on the server thread. The sweep registers a follow-up with
+ * {@link #deferUntilLoaded}; it is keyed by sweep name and position so repeated sweeps do not
+ * stack duplicates, parked on the missing chunk, moved to a ready queue when that chunk fires
+ * {@code CHUNK_LOAD}, and replayed from {@link #tick(ServerWorld)} (never from inside the chunk
+ * load callback itself).
+ */
+public final class SweepWorldAccess {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SweepWorldAccess.class);
+    private static final Map<RegistryKey<World>, WorldQueue> QUEUES = new HashMap<>();
+    /** Replays per world per tick, so a burst of chunk loads cannot turn into a burst of sweeps. */
+    private static final int MAX_REPLAYS_PER_TICK = 16;
+
+    private SweepWorldAccess() {
+    }
+
+    public static boolean isLoaded(ServerWorld world, BlockPos pos) {
+        return world.isChunkLoaded(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ()));
+    }
+
+    /** Returns the block state at {@code pos}, or empty when its chunk is not loaded. */
+    public static Optional<BlockState> getBlockStateIfLoaded(ServerWorld world, BlockPos pos) {
+        return isLoaded(world, pos) ? Optional.of(world.getBlockState(pos)) : Optional.empty();
+    }
+
+    /** True when every chunk within {@code radius} blocks (horizontally) of {@code center} is loaded. */
+    public static boolean isAreaLoaded(ServerWorld world, BlockPos center, int radius) {
+        return firstUnloadedChunk(world, center, radius) == null;
+    }
+
+    /**
+     * Defers {@code task} until {@code pos}'s chunk loads. Returns {@code false} (and does nothing)
+     * when the chunk is already loaded. The task should re-check loading itself, since other
+     * chunks it reads may still be missing when it runs.
+     */
+    public static boolean deferUntilLoaded(ServerWorld world, BlockPos pos, String sweep, Consumer<ServerWorld> task) {
+        if (isLoaded(world, pos)) {
+            return false;
+        }
+        ChunkPos chunk = new ChunkPos(pos);
+        queueFor(world).park(chunk.toLong(), new DeferredKey(sweep, pos.asLong()), task);
+        return true;
+    }
+
+    /**
+     * Area variant of {@link #deferUntilLoaded}: parks {@code task} on the first unloaded chunk
+     * within {@code radius} of {@code center}. Returns {@code false} when the whole area is loaded.
+     */
+    public static boolean deferUntilAreaLoaded(ServerWorld world, BlockPos center, int radius, String sweep, Consumer<ServerWorld> task) {
+        ChunkPos missing = firstUnloadedChunk(world, center, radius);
+        if (missing == null) {
+            return false;
+        }
+        queueFor(world).park(missing.toLong(), new DeferredKey(sweep, center.asLong()), task);
+        return true;
+    }
+
+    public static void onChunkLoad(ServerWorld world, Chunk chunk) {
+        WorldQueue queue = QUEUES.get(world.getRegistryKey());
+        if (queue != null) {
+            queue.release(chunk.getPos().toLong());
+        }
+    }
+
+    public static void tick(ServerWorld world) {
+        WorldQueue queue = QUEUES.get(world.getRegistryKey());
+        if (queue == null || queue.ready.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < MAX_REPLAYS_PER_TICK && !queue.ready.isEmpty(); i++) {
+            queue.replayed++;
+            queue.ready.poll().accept(world);
+        }
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        QUEUES.remove(world.getRegistryKey());
+    }
+
+    public static Stats getStats(ServerWorld world) {
+        WorldQueue queue = QUEUES.get(world.getRegistryKey());
+        if (queue == null) {
+            return new Stats(0L, 0L, 0, 0);
+        }
+        return new Stats(queue.deferredReads, queue.replayed, queue.chunkByKey.size(), queue.ready.size());
+    }
+
+    private static ChunkPos firstUnloadedChunk(ServerWorld world, BlockPos center, int radius) {
+        int minChunkX = ChunkSectionPos.getSectionCoord(center.getX() - radius);
+        int maxChunkX = ChunkSectionPos.getSectionCoord(center.getX() + radius);
+        int minChunkZ = ChunkSectionPos.getSectionCoord(center.getZ() - radius);
+        int maxChunkZ = ChunkSectionPos.getSectionCoord(center.getZ() + radius);
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                    return new ChunkPos(chunkX, chunkZ);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static WorldQueue queueFor(ServerWorld world) {
+        return QUEUES.computeIfAbsent(world.getRegistryKey(), key -> new WorldQueue());
+    }
+
+    /**
+     * @param deferredReads total reads answered "unknown" and deferred since the world loaded
+     * @param replayed      deferred tasks run after their chunk loaded
+     * @param pending       tasks still parked on an unloaded chunk
+     * @param ready         tasks whose chunk has loaded, waiting for the next tick
+     */
+    public record Stats(long deferredReads, long replayed, int pending, int ready) {
+    }
+
+    private record DeferredKey(String sweep, long pos) {
+    }
+
+    private static final class WorldQueue {
+        private final Long2ObjectOpenHashMap<Map<DeferredKey, Consumer<ServerWorld>>> pendingByChunk = new Long2ObjectOpenHashMap<>();
+        private final Map<DeferredKey, Long> chunkByKey = new HashMap<>();
+        private final ArrayDeque<Consumer<ServerWorld>> ready = new ArrayDeque<>();
+        private long deferredReads;
+        private long replayed;
+
+        private void park(long chunkKey, DeferredKey key, Consumer<ServerWorld> task) {
+            deferredReads++;
+            Long previousChunk = chunkByKey.put(key, chunkKey);
+            if (previousChunk != null && previousChunk != chunkKey) {
+                Map<DeferredKey, Consumer<ServerWorld>> previous = pendingByChunk.get(previousChunk.longValue());
+                if (previous != null) {
+                    previous.remove(key);
+                    if (previous.isEmpty()) {
+                        pendingByChunk.remove(previousChunk.longValue());
+                    }
+                }
+            }
+            pendingByChunk.computeIfAbsent(chunkKey, k -> new LinkedHashMap<>()).put(key, task);
+        }
+
+        private void release(long chunkKey) {
+            Map<DeferredKey, Consumer<ServerWorld>> tasks = pendingByChunk.remove(chunkKey);
+            if (tasks == null) {
+                return;
+            }
+            for (Map.Entry<DeferredKey, Consumer<ServerWorld>> entry : tasks.entrySet()) {
+                chunkByKey.remove(entry.getKey());
+                ready.add(entry.getValue());
+            }
+            if (LOGGER.isDebugEnabled()) {
+                ChunkPos chunk = new ChunkPos(chunkKey);
+                LOGGER.debug("[sweep-access] chunk {},{} loaded; {} deferred sweep task(s) ready", chunk.x, chunk.z, tasks.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package dev.sterner.guardvillagers.common.util;
+
+import dev.sterner.guardvillagers.GuardVillagersConfig;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Distance-based level of detail for village profession AI.
+ *
+ * <p>Each village is tiered by the horizontal distance from its centre (the nearest registered
+ * QM chest, or the querying position when no QM is nearby) to the nearest non-spectator player
+ * in the same world:
+ * <ul>
+ *   <li>{@link Tier#NEAR} — full cadence.</li>
+ *   <li>{@link Tier#MID} — profession cooldowns are multiplied by
+ *       {@code villageAiLodMidCooldownMultiplier} and chest-to-chest distribution legs carry up to
+ *       {@code villageAiLodMidTransferBatchSize} items.</li>
+ *   <li>{@link Tier#FAR} — profession goals do not start; guard combat and safety goals are not
+ *       tiered and keep running.</li>
+ * </ul>
+ *
+ * <p>Player positions are sampled every {@link #REFRESH_INTERVAL_TICKS} ticks and tiers are
+ * cached per chunk until the next sample, so a lookup is one map read on the hot path. The
+ * resolved village centre is cached alongside the tier and exposed as a village key for
+ * {@link DormantVillageEconomy}.
+ */
+public final class VillageAiLod {
+    private static final Map<RegistryKey<World>, VillageAiLod> LODS = new HashMap<>();
+    static final int REFRESH_INTERVAL_TICKS = 40;
+    private static final int VILLAGE_CENTER_SEARCH_RADIUS = 128;
+    private static final byte NO_TIER = -1;
+    private static final Tier[] TIERS = Tier.values();
+
+    private final Long2ByteOpenHashMap tierByChunk = new Long2ByteOpenHashMap();
+    private final Long2LongOpenHashMap centerByChunk = new Long2LongOpenHashMap();
+    /** Sampled player x/z pairs. */
+    private double[] playerXZ = new double[0];
+    private int playerCount;
+    private long lastRefreshTick = Long.MIN_VALUE;
+
+    private VillageAiLod() {
+        tierByChunk.defaultReturnValue(NO_TIER);
+    }
+
+    public enum Tier {
+        NEAR,
+        MID,
+        FAR;
+
+        /** False for {@link #FAR}: profession goals should not start. */
+        public boolean runsProfessionWork() {
+            return this != FAR;
+        }
+
+        /** Scales a goal cooldown for this tier. */
+        public long scaleCooldown(long ticks) {
+            return this == NEAR ? ticks : ticks * Math.max(1, GuardVillagersConfig.villageAiLodMidCooldownMultiplier);
+        }
+
+        /** Items a chest-to-chest distribution leg may carry in this tier. */
+        public int transferBatchSize() {
+            return this == MID ? Math.max(1, GuardVillagersConfig.villageAiLodMidTransferBatchSize) : 1;
+        }
+    }
+
+    public static VillageAiLod forWorld(ServerWorld world) {
+        return LODS.computeIfAbsent(world.getRegistryKey(), key -> new VillageAiLod());
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        LODS.remove(world.getRegistryKey());
+    }
+
+    /** Tier of the village around {@code pos}; always {@link Tier#NEAR} when LOD is disabled. */
+    public static Tier tierAt(ServerWorld world, BlockPos pos) {
+        if (!GuardVillagersConfig.villageAiLodEnabled || pos == null) {
+            return Tier.NEAR;
+        }
+        return forWorld(world).tier(world, pos);
+    }
+
+    /**
+     * Packed position of the village centre around {@code pos}, shared by every position that
+     * resolves to the same QM chest. Independent of whether LOD is enabled.
+     */
+    public static long villageKeyAt(ServerWorld world, BlockPos pos) {
+        return forWorld(world).villageKey(world, pos);
+    }
+
+    Tier tier(ServerWorld world, BlockPos pos) {
+        refreshIfDue(world);
+        long chunkKey = ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+        byte cached = tierByChunk.get(chunkKey);
+        if (cached != NO_TIER) {
+            return TIERS[cached];
+        }
+        return TIERS[resolveChunk(world, pos, chunkKey)];
+    }
+
+    long villageKey(ServerWorld world, BlockPos pos) {
+        refreshIfDue(world);
+        long chunkKey = ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+        if (!centerByChunk.containsKey(chunkKey)) {
+            resolveChunk(world, pos, chunkKey);
+        }
+        return centerByChunk.get(chunkKey);
+    }
+
+    private void refreshIfDue(ServerWorld world) {
+        long now = world.getTime();
+        if (lastRefreshTick == Long.MIN_VALUE || now - lastRefreshTick >= REFRESH_INTERVAL_TICKS || now < lastRefreshTick) {
+            samplePlayers(world);
+            lastRefreshTick = now;
+        }
+    }
+
+    private byte resolveChunk(ServerWorld world, BlockPos pos, long chunkKey) {
+        BlockPos center = resolveVillageCenter(world, pos);
+        byte tier = (byte) classify(nearestPlayerDistanceSq(center)).ordinal();
+        tierByChunk.put(chunkKey, tier);
+        centerByChunk.put(chunkKey, center.asLong());
+        return tier;
+    }
+
+    static Tier classify(double nearestPlayerDistanceSq) {
+        double near = GuardVillagersConfig.villageAiLodNearRange;
+        double far = Math.max(near, GuardVillagersConfig.villageAiLodFarRange);
+        if (nearestPlayerDistanceSq <= near * near) {
+            return Tier.NEAR;
+        }
+        return nearestPlayerDistanceSq <= far * far ? Tier.MID : Tier.FAR;
+    }
+
+    private void samplePlayers(ServerWorld world) {
+        tierByChunk.clear();
+        centerByChunk.clear();
+        playerCount = 0;
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            if (player.isSpectator()) {
+                continue;
+            }
+            if (playerXZ.length < (playerCount + 1) * 2) {
+                playerXZ = Arrays.copyOf(playerXZ, Math.max(8, playerXZ.length * 2));
+            }
+            playerXZ[playerCount * 2] = player.getX();
+            playerXZ[playerCount * 2 + 1] = player.getZ();
+            playerCount++;
+        }
+    }
+
+    private double nearestPlayerDistanceSq(BlockPos center) {
+        double best = Double.MAX_VALUE;
+        double cx = center.getX() + 0.5D;
+        double cz = center.getZ() + 0.5D;
+        for (int i = 0; i < playerCount; i++) {
+            double dx = playerXZ[i * 2] - cx;
+            double dz = playerXZ[i * 2 + 1] - cz;
+            best = Math.min(best, dx * dx + dz * dz);
+        }
+        return best;
+    }
+
+    private static BlockPos resolveVillageCenter(ServerWorld world, BlockPos pos) {
+        if (world.getServer() == null) {
+            return pos;
+        }
+        return VillageAnchorState.get(world.getServer())
+                .getNearestQmChest(world, pos, VILLAGE_CENTER_SEARCH_RADIUS)
+                .orElse(pos);
+    }
+}
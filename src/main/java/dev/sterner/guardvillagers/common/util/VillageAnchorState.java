@@ -49,6 +49,7 @@ public class VillageAnchorState extends PersistentState {
     private static final String ANCHORS_KEY = "Anchors";
     private static final String DIMENSION_KEY = "Dimension";
     private static final String CHEST_POS_KEY = "ChestPos";
+    private static final String PRUNE_SWEEP = "anchor-prune";
 
     /** All registered QM chest positions, keyed by world. */
     private final java.util.Map<RegistryKey<net.minecraft.world.World>, Set<BlockPos>> anchorsByWorld =
@@ -137,20 +138,41 @@ public class VillageAnchorState extends PersistentState {
      * Removes stale anchors in the provided world.
      *
      * <p>An anchor is stale when its position no longer contains a chest block.
+     * Anchors in unloaded chunks are kept and re-checked once their chunk loads
+     * (via {@link SweepWorldAccess}); this never loads chunks.
      * This method is safe to call frequently and is idempotent.
      */
     public void pruneInvalidAnchors(ServerWorld world) {
         Set<BlockPos> set = anchorsByWorld.get(world.getRegistryKey());
         if (set == null || set.isEmpty()) return;
 
-        boolean changed = set.removeIf(pos -> !isValidAnchorBlock(world, pos));
+        boolean changed = set.removeIf(pos -> isStaleAnchor(world, pos));
         if (changed) {
-            if (set.isEmpty()) {
-                anchorsByWorld.remove(world.getRegistryKey());
-            }
-            markDirty();
-            LOGGER.info("[VillageAnchorState] pruned stale QM anchors (world: {})", world.getRegistryKey().getValue());
+            onAnchorsPruned(world, set);
+        }
+    }
+
+    private void pruneAnchorIfInvalid(ServerWorld world, BlockPos pos) {
+        Set<BlockPos> set = anchorsByWorld.get(world.getRegistryKey());
+        if (set != null && set.contains(pos) && isStaleAnchor(world, pos)) {
+            set.remove(pos);
+            onAnchorsPruned(world, set);
+        }
+    }
+
+    private boolean isStaleAnchor(ServerWorld world, BlockPos pos) {
+        if (SweepWorldAccess.deferUntilLoaded(world, pos, PRUNE_SWEEP, deferredWorld -> pruneAnchorIfInvalid(deferredWorld, pos))) {
+            return false;
+        }
+        return !isValidAnchorBlock(world, pos);
+    }
+
+    private void onAnchorsPruned(ServerWorld world, Set<BlockPos> set) {
+        if (set.isEmpty()) {
+            anchorsByWorld.remove(world.getRegistryKey());
         }
+        markDirty();
+        LOGGER.info("[VillageAnchorState] pruned stale QM anchors (world: {})", world.getRegistryKey().getValue());
     }
 
     // -------------------------------------------------------------------------
@@ -22,6 +22,9 @@ import java.util.Optional;
 public final class VillageBellChestPlacementHelper {
     private static final Logger LOGGER = LoggerFactory.getLogger(VillageBellChestPlacementHelper.class);
     private static final int SEARCH_RADIUS = 2;
+    /** Farthest block {@link #reconcileBellChestForBell} reads from the bell (existing-chest search). */
+    private static final int RECONCILE_AREA_RADIUS = 3;
+    private static final String RECONCILE_SWEEP = "bell-chest-reconcile";
 
     private VillageBellChestPlacementHelper() {
     }
@@ -133,11 +136,36 @@ public final class VillageBellChestPlacementHelper {
         return nearbyChest;
     }
 
+    /**
+     * Reconciles every mapped bell whose surroundings are loaded. Bells in unloaded chunks are
+     * deferred through {@link SweepWorldAccess} and reconciled once their chunk loads, so this
+     * sweep never pulls chunks in.
+     */
     public static void reconcileWorldBellChestMappings(ServerWorld world) {
         BellChestMappingState mappingState = BellChestMappingState.get(world.getServer());
+        int deferred = 0;
         for (BlockPos bellPos : mappingState.getBellPositions(world)) {
-            reconcileBellChestForBell(world, bellPos);
+            if (!reconcileBellChestIfLoaded(world, bellPos.toImmutable())) {
+                deferred++;
+            }
+        }
+        if (deferred > 0) {
+            LOGGER.debug("bell-chest reconciliation deferred {} bell(s) in unloaded chunks", deferred);
+        }
+    }
+
+    private static boolean reconcileBellChestIfLoaded(ServerWorld world, BlockPos bellPos) {
+        if (SweepWorldAccess.deferUntilAreaLoaded(world, bellPos, RECONCILE_AREA_RADIUS, RECONCILE_SWEEP,
+                deferredWorld -> reconcileBellChestIfLoaded(deferredWorld, bellPos))) {
+            return false;
+        }
+        Optional<BlockPos> mappedChest = BellChestMappingState.get(world.getServer()).getChestPos(world, bellPos);
+        if (mappedChest.isPresent() && SweepWorldAccess.deferUntilLoaded(world, mappedChest.get(), RECONCILE_SWEEP,
+                deferredWorld -> reconcileBellChestIfLoaded(deferredWorld, bellPos))) {
+            return false;
         }
+        reconcileBellChestForBell(world, bellPos);
+        return true;
     }
 
     public static Optional<BlockPos> getMappedChestPos(ServerWorld world, BlockPos bellPos) {
@@ -0,0 +1,222 @@
+package dev.sterner.guardvillagers.common.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.village.VillagerProfession;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-world spatial index of primary bells plus the reverse roster of villagers whose home bell is
+ * each of them, grouped by profession.
+ *
+ * <p>Bells are bucketed into square cells one {@link VillageGuardStandManager#BELL_EFFECT_RANGE}
+ * wide, so finding the bells in range of a position only inspects the 3x3 cells around it. The
+ * roster is maintained by {@link VillageMembershipTracker} as villagers are tagged, change
+ * profession or unload, and a bell leaves the index together with its roster when it is broken;
+ * it only ever holds loaded villagers.
+ */
+public final class VillageBellMembershipIndex {
+    private static final Map<RegistryKey<World>, VillageBellMembershipIndex> INDEXES = new HashMap<>();
+    private static final int RANGE = VillageGuardStandManager.BELL_EFFECT_RANGE;
+
+    private final LongOpenHashSet bells = new LongOpenHashSet();
+    private final Long2ObjectOpenHashMap<LongArrayList> bellsByCell = new Long2ObjectOpenHashMap<>();
+    private final Map<UUID, Member> memberById = new HashMap<>();
+    private final Long2ObjectOpenHashMap<Map<VillagerProfession, Set<UUID>>> rosterByBell = new Long2ObjectOpenHashMap<>();
+    private boolean seeded;
+
+    VillageBellMembershipIndex() {
+    }
+
+    public static VillageBellMembershipIndex forWorld(ServerWorld world) {
+        return INDEXES.computeIfAbsent(world.getRegistryKey(), key -> new VillageBellMembershipIndex());
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        INDEXES.remove(world.getRegistryKey());
+    }
+
+    boolean isSeeded() {
+        return seeded;
+    }
+
+    void markSeeded() {
+        seeded = true;
+    }
+
+    /** Adds a primary bell; returns {@code false} when it was already indexed. */
+    public boolean addBell(BlockPos bellPos) {
+        long packed = bellPos.asLong();
+        if (!bells.add(packed)) {
+            return false;
+        }
+        bellsByCell.computeIfAbsent(cellKey(bellPos.getX(), bellPos.getZ()), key -> new LongArrayList()).add(packed);
+        return true;
+    }
+
+    /**
+     * Drops a bell and its roster. Returns the villagers that were filed under it so the caller can
+     * re-home them; empty when the bell was not indexed.
+     */
+    public List<UUID> removeBell(BlockPos bellPos) {
+        long packed = bellPos.asLong();
+        List<UUID> orphans = new ArrayList<>();
+        if (!bells.remove(packed)) {
+            return orphans;
+        }
+        long cell = cellKey(bellPos.getX(), bellPos.getZ());
+        LongArrayList cellBells = bellsByCell.get(cell);
+        if (cellBells != null) {
+            cellBells.rem(packed);
+            if (cellBells.isEmpty()) {
+                bellsByCell.remove(cell);
+            }
+        }
+        Map<VillagerProfession, Set<UUID>> roster = rosterByBell.remove(packed);
+        if (roster != null) {
+            for (Set<UUID> byProfession : roster.values()) {
+                for (UUID villagerId : byProfession) {
+                    memberById.remove(villagerId);
+                    orphans.add(villagerId);
+                }
+            }
+        }
+        return orphans;
+    }
+
+    public boolean containsBell(BlockPos bellPos) {
+        return bells.contains(bellPos.asLong());
+    }
+
+    public int bellCount() {
+        return bells.size();
+    }
+
+    /** Nearest indexed bell whose effect range covers {@code pos}, or null when none does. */
+    @Nullable
+    public BlockPos nearestBellInRange(BlockPos pos) {
+        if (bells.isEmpty()) {
+            return null;
+        }
+        int cellX = Math.floorDiv(pos.getX(), RANGE);
+        int cellZ = Math.floorDiv(pos.getZ(), RANGE);
+        long nearest = 0L;
+        long nearestDistanceSq = Long.MAX_VALUE;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                LongArrayList cell = bellsByCell.get(ChunkPos.toLong(cellX + dx, cellZ + dz));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    long bell = cell.getLong(i);
+                    if (!inRange(bell, pos)) {
+                        continue;
+                    }
+                    long distanceSq = distanceSq(bell, pos);
+                    if (distanceSq < nearestDistanceSq) {
+                        nearestDistanceSq = distanceSq;
+                        nearest = bell;
+                    }
+                }
+            }
+        }
+        return nearestDistanceSq == Long.MAX_VALUE ? null : BlockPos.fromLong(nearest);
+    }
+
+    /** Whether {@code pos} lies inside the bell's effect box (the same box a bell ring tags). */
+    public static boolean isInRange(BlockPos bellPos, BlockPos pos) {
+        return inRange(bellPos.asLong(), pos);
+    }
+
+    /** Files {@code villagerId} under {@code bellPos} and {@code profession}, replacing any previous entry. */
+    public void putMember(UUID villagerId, BlockPos bellPos, VillagerProfession profession) {
+        long bell = bellPos.asLong();
+        Member previous = memberById.get(villagerId);
+        if (previous != null && previous.bell == bell && previous.profession == profession) {
+            return;
+        }
+        removeMember(villagerId);
+        memberById.put(villagerId, new Member(bell, profession));
+        rosterByBell.computeIfAbsent(bell, key -> new LinkedHashMap<>())
+                .computeIfAbsent(profession, key -> new LinkedHashSet<>())
+                .add(villagerId);
+    }
+
+    public void removeMember(UUID villagerId) {
+        Member member = memberById.remove(villagerId);
+        if (member == null) {
+            return;
+        }
+        Map<VillagerProfession, Set<UUID>> roster = rosterByBell.get(member.bell);
+        if (roster == null) {
+            return;
+        }
+        Set<UUID> members = roster.get(member.profession);
+        if (members != null && members.remove(villagerId) && members.isEmpty()) {
+            roster.remove(member.profession);
+            if (roster.isEmpty()) {
+                rosterByBell.remove(member.bell);
+            }
+        }
+    }
+
+    /** Members of the bell's village as a snapshot; {@code profession} null means every profession. */
+    public List<UUID> members(BlockPos bellPos, @Nullable VillagerProfession profession) {
+        Map<VillagerProfession, Set<UUID>> roster = rosterByBell.get(bellPos.asLong());
+        List<UUID> members = new ArrayList<>();
+        if (roster == null) {
+            return members;
+        }
+        if (profession != null) {
+            Set<UUID> byProfession = roster.get(profession);
+            if (byProfession != null) {
+                members.addAll(byProfession);
+            }
+            return members;
+        }
+        for (Set<UUID> byProfession : roster.values()) {
+            members.addAll(byProfession);
+        }
+        return members;
+    }
+
+    public int memberCount() {
+        return memberById.size();
+    }
+
+    private static boolean inRange(long bell, BlockPos pos) {
+        return Math.abs(BlockPos.unpackLongX(bell) - pos.getX()) <= RANGE
+                && Math.abs(BlockPos.unpackLongY(bell) - pos.getY()) <= RANGE
+                && Math.abs(BlockPos.unpackLongZ(bell) - pos.getZ()) <= RANGE;
+    }
+
+    private static long distanceSq(long bell, BlockPos pos) {
+        long dx = BlockPos.unpackLongX(bell) - pos.getX();
+        long dy = BlockPos.unpackLongY(bell) - pos.getY();
+        long dz = BlockPos.unpackLongZ(bell) - pos.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static long cellKey(int x, int z) {
+        return ChunkPos.toLong(Math.floorDiv(x, RANGE), Math.floorDiv(z, RANGE));
+    }
+
+    private record Member(long bell, VillagerProfession profession) {
+    }
+}
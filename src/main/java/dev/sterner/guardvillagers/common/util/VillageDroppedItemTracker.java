@@ -0,0 +1,295 @@
+package dev.sterner.guardvillagers.common.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.tag.ItemTags;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Per-world index of loaded item entities for the villager and guard pickup goals.
+ *
+ * <p>Items are bucketed by chunk section and by {@link DropKind}, so a pickup goal only reads
+ * the sections its box overlaps and only the drops of the kind it collects. The buckets are fed
+ * from entity load/unload: spawning a drop loads it, while pickup, merging into another stack and
+ * despawning all discard it. Falling or pushed items are re-bucketed every
+ * {@link #REBUCKET_INTERVAL_TICKS} ticks; positions are checked live on every query.
+ *
+ * <p>Goals that walk to a drop {@link #claim} it first. Claimed drops are hidden from every other
+ * claimant until the claim is released, the item goes away, or {@link #CLAIM_TTL_TICKS} pass.
+ * Goals that sweep up whatever is in reach go through {@link #pickUpInPlace}, which holds the
+ * claim only for the pickup itself.
+ */
+public final class VillageDroppedItemTracker {
+    private static final Map<RegistryKey<World>, VillageDroppedItemTracker> TRACKERS = new HashMap<>();
+    static final int REBUCKET_INTERVAL_TICKS = 10;
+    static final long CLAIM_TTL_TICKS = 200L;
+
+    private final Long2ObjectOpenHashMap<SectionBucket> bucketsBySection = new Long2ObjectOpenHashMap<>();
+    private final Object2LongOpenHashMap<ItemEntity> sectionByItem = new Object2LongOpenHashMap<>();
+    private final Map<ItemEntity, Claim> claims = new HashMap<>();
+    private long now;
+
+    private VillageDroppedItemTracker() {
+    }
+
+    /** Coarse drop classes a bucket is split into. {@link #ANY} holds every tracked item. */
+    public enum DropKind {
+        ANY,
+        /** Logs, planks, saplings, sticks, charcoal and apples. */
+        TREE,
+        WOOL;
+
+        static DropKind classify(ItemStack stack) {
+            if (stack.isIn(ItemTags.WOOL)) {
+                return WOOL;
+            }
+            if (stack.isIn(ItemTags.LOGS)
+                    || stack.isIn(ItemTags.PLANKS)
+                    || stack.isIn(ItemTags.SAPLINGS)
+                    || stack.isOf(Items.STICK)
+                    || stack.isOf(Items.CHARCOAL)
+                    || stack.isOf(Items.APPLE)) {
+                return TREE;
+            }
+            return ANY;
+        }
+    }
+
+    public static VillageDroppedItemTracker forWorld(ServerWorld world) {
+        return TRACKERS.computeIfAbsent(world.getRegistryKey(), key -> new VillageDroppedItemTracker());
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        TRACKERS.remove(world.getRegistryKey());
+    }
+
+    public static void onEntityLoad(ServerWorld world, Entity entity) {
+        if (entity instanceof ItemEntity item) {
+            forWorld(world).track(item);
+        }
+    }
+
+    public static void onEntityUnload(ServerWorld world, Entity entity) {
+        if (entity instanceof ItemEntity item) {
+            VillageDroppedItemTracker tracker = TRACKERS.get(world.getRegistryKey());
+            if (tracker != null) {
+                tracker.untrack(item);
+            }
+        }
+    }
+
+    public static void tick(ServerWorld world) {
+        VillageDroppedItemTracker tracker = TRACKERS.get(world.getRegistryKey());
+        if (tracker == null) {
+            return;
+        }
+        tracker.now = world.getTime();
+        if (tracker.now % REBUCKET_INTERVAL_TICKS == 0L) {
+            tracker.rebucket();
+        }
+    }
+
+    /**
+     * Returns live, non-empty drops of {@code kind} inside {@code box} that pass {@code filter},
+     * skipping drops claimed by anyone other than {@code claimant} (which may be null).
+     */
+    public List<ItemEntity> findDrops(Box box, DropKind kind, UUID claimant, Predicate<ItemEntity> filter) {
+        List<ItemEntity> result = new ArrayList<>();
+        int minX = ChunkSectionPos.getSectionCoord(box.minX);
+        int maxX = ChunkSectionPos.getSectionCoord(box.maxX);
+        int minY = ChunkSectionPos.getSectionCoord(box.minY);
+        int maxY = ChunkSectionPos.getSectionCoord(box.maxY);
+        int minZ = ChunkSectionPos.getSectionCoord(box.minZ);
+        int maxZ = ChunkSectionPos.getSectionCoord(box.maxZ);
+        long sectionsInBox = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        if (sectionsInBox > bucketsBySection.size()) {
+            // Large boxes (the forester's job-site sweep) hold more sections than we track.
+            for (Long2ObjectMap.Entry<SectionBucket> entry : bucketsBySection.long2ObjectEntrySet()) {
+                long section = entry.getLongKey();
+                int x = ChunkSectionPos.unpackX(section);
+                int y = ChunkSectionPos.unpackY(section);
+                int z = ChunkSectionPos.unpackZ(section);
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                    collect(entry.getValue().get(kind), box, claimant, filter, result);
+                }
+            }
+            return result;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int y = minY; y <= maxY; y++) {
+                    SectionBucket bucket = bucketsBySection.get(ChunkSectionPos.asLong(x, y, z));
+                    if (bucket != null) {
+                        collect(bucket.get(kind), box, claimant, filter, result);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reserves {@code item} for {@code claimant}. Returns false when another claimant holds a
+     * live claim; re-claiming your own drop refreshes it.
+     */
+    public boolean claim(ItemEntity item, UUID claimant) {
+        if (!sectionByItem.containsKey(item) || isClaimedByOther(item, claimant)) {
+            return false;
+        }
+        claims.put(item, new Claim(claimant, now + CLAIM_TTL_TICKS));
+        return true;
+    }
+
+    /**
+     * Claims each matching drop in {@code box} and hands it to {@code pickup}, for goals that take
+     * drops in reach on the spot. A drop the pickup only partly absorbed is released again so
+     * another collector can take the rest; a fully absorbed one is discarded and unloads.
+     */
+    public void pickUpInPlace(Box box, DropKind kind, UUID claimant, Predicate<ItemEntity> filter, Consumer<ItemEntity> pickup) {
+        for (ItemEntity item : findDrops(box, kind, claimant, filter)) {
+            if (!claim(item, claimant)) {
+                continue;
+            }
+            try {
+                pickup.accept(item);
+            } finally {
+                release(item, claimant);
+            }
+        }
+    }
+
+    public void release(ItemEntity item, UUID claimant) {
+        Claim claim = claims.get(item);
+        if (claim != null && claim.claimant().equals(claimant)) {
+            claims.remove(item);
+        }
+    }
+
+    public boolean isClaimedByOther(ItemEntity item, UUID claimant) {
+        Claim claim = claims.get(item);
+        if (claim == null) {
+            return false;
+        }
+        if (claim.expiresAt() <= now) {
+            claims.remove(item);
+            return false;
+        }
+        return !claim.claimant().equals(claimant);
+    }
+
+    int trackedCount() {
+        return sectionByItem.size();
+    }
+
+    private void track(ItemEntity item) {
+        if (sectionByItem.containsKey(item)) {
+            return;
+        }
+        long section = sectionOf(item);
+        sectionByItem.put(item, section);
+        bucketsBySection.computeIfAbsent(section, key -> new SectionBucket()).add(item);
+    }
+
+    private void untrack(ItemEntity item) {
+        if (!sectionByItem.containsKey(item)) {
+            return;
+        }
+        removeFromBucket(sectionByItem.removeLong(item), item);
+        claims.remove(item);
+    }
+
+    private void rebucket() {
+        for (Object2LongMap.Entry<ItemEntity> entry : sectionByItem.object2LongEntrySet()) {
+            ItemEntity item = entry.getKey();
+            long current = sectionOf(item);
+            long previous = entry.getLongValue();
+            if (current == previous) {
+                continue;
+            }
+            removeFromBucket(previous, item);
+            bucketsBySection.computeIfAbsent(current, key -> new SectionBucket()).add(item);
+            entry.setValue(current);
+        }
+        claims.values().removeIf(claim -> claim.expiresAt() <= now);
+    }
+
+    private void removeFromBucket(long section, ItemEntity item) {
+        SectionBucket bucket = bucketsBySection.get(section);
+        if (bucket != null && bucket.remove(item)) {
+            bucketsBySection.remove(section);
+        }
+    }
+
+    private void collect(List<ItemEntity> source, Box box, UUID claimant, Predicate<ItemEntity> filter, List<ItemEntity> out) {
+        for (ItemEntity item : source) {
+            if (!item.isAlive() || item.getStack().isEmpty() || !box.contains(item.getPos())) {
+                continue;
+            }
+            if (isClaimedByOther(item, claimant) || !filter.test(item)) {
+                continue;
+            }
+            out.add(item);
+        }
+    }
+
+    private static long sectionOf(Entity entity) {
+        return ChunkSectionPos.asLong(
+                ChunkSectionPos.getSectionCoord(entity.getBlockX()),
+                ChunkSectionPos.getSectionCoord(entity.getBlockY()),
+                ChunkSectionPos.getSectionCoord(entity.getBlockZ()));
+    }
+
+    private record Claim(UUID claimant, long expiresAt) {
+    }
+
+    /** Items in one chunk section, with per-kind sublists. The kind is fixed when the item is added. */
+    private static final class SectionBucket {
+        private final List<ItemEntity> all = new ArrayList<>();
+        private final List<ItemEntity> tree = new ArrayList<>();
+        private final List<ItemEntity> wool = new ArrayList<>();
+
+        List<ItemEntity> get(DropKind kind) {
+            return switch (kind) {
+                case ANY -> all;
+                case TREE -> tree;
+                case WOOL -> wool;
+            };
+        }
+
+        void add(ItemEntity item) {
+            all.add(item);
+            DropKind kind = DropKind.classify(item.getStack());
+            if (kind != DropKind.ANY) {
+                get(kind).add(item);
+            }
+        }
+
+        /** Removes {@code item}; returns true when the bucket is now empty. */
+        boolean remove(ItemEntity item) {
+            if (all.remove(item)) {
+                if (!tree.remove(item)) {
+                    wool.remove(item);
+                }
+            }
+            return all.isEmpty();
+        }
+    }
+}
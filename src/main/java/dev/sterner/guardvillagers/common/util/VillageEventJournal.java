@@ -0,0 +1,443 @@
+package dev.sterner.guardvillagers.common.util;
+
+import dev.sterner.guardvillagers.GuardVillagersConfig;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Util;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Low-overhead structured diagnostics for hot villager/guard paths.
+ *
+ * <p>Each server world owns a preallocated ring buffer of primitive-field events (tick, type,
+ * subject, position and six int fields). Recording never formats strings: free-form values are
+ * interned into a bounded per-journal dictionary and stored as ids. Categories can be switched
+ * off individually and high-volume event types are sampled, so diagnostics cost close to nothing
+ * unless someone dumps them with {@code /guardvillagers journal dump}.
+ */
+public final class VillageEventJournal {
+    public static final int FIELD_COUNT = 6;
+    static final int MAX_DICTIONARY_SIZE = 4096;
+    private static final int BINARY_MAGIC = 0x47564A31; // "GVJ1"
+    private static final Map<RegistryKey<World>, VillageEventJournal> JOURNALS = new HashMap<>();
+
+    private static int enabledCategoryMask = -1;
+    private static int sampleEvery = -1;
+
+    public enum Category {
+        MASON_WALL,
+        LUMBERJACK,
+        QUARTERMASTER,
+        CRAFTING,
+        DORMANCY;
+
+        final int bit = 1 << ordinal();
+
+        public static Category byName(String name) {
+            for (Category category : values()) {
+                if (category.name().equalsIgnoreCase(name)) {
+                    return category;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Event schema. Field names prefixed with {@code $} hold dictionary ids and are resolved back
+     * to strings when dumped. Sampled types are recorded once every
+     * {@link GuardVillagersConfig#eventJournalSampleEvery} occurrences per category.
+     */
+    public enum EventType {
+        CRAFT_CHECK(Category.CRAFTING, false, "$profession", "$trigger", "intervalTicks", "$result"),
+        MASON_PERIODIC_SUMMARY(Category.MASON_WALL, false, "placements", "placementAttempts", "retries", "hardUnreachable", "deferredOrSkipped", "pathBudgetUsed"),
+        MASON_PLACEMENT_PROGRESS(Category.MASON_WALL, true, "placementsSinceCycleStart"),
+        MASON_RATE_LIMITED_INFO(Category.MASON_WALL, true, "$messageType"),
+        LUMBERJACK_GOVERNOR_SESSION(Category.LUMBERJACK, false, "session", "loadPermille", "backpressurePermille", "budgetScalePermille", "emaElapsedMs", "emaVisited"),
+        LUMBERJACK_BACKPRESSURE_DEFER(Category.LUMBERJACK, true, "deferTicks", "consecutiveDefers"),
+        LUMBERJACK_FORCED_PROBE(Category.LUMBERJACK, false, "consecutiveDefers"),
+        QM_BOOTSTRAP_CANDIDATE_REJECTED(Category.QUARTERMASTER, true, "$reason"),
+        QM_BOOTSTRAP_CHEST_DISCOVERED(Category.QUARTERMASTER, true, "items"),
+        QM_BOOTSTRAP_DISCOVERY_RUN(Category.QUARTERMASTER, false, "run", "discovered", "filteredPaired", "filteredEmpty"),
+        QM_BOOTSTRAP_TARGETING(Category.QUARTERMASTER, false, "items", "remainingInQueue"),
+        VILLAGE_DORMANT_CATCH_UP(Category.DORMANCY, false, "elapsedTicks", "participants", "crafts", "itemsMoved");
+
+        final Category category;
+        final boolean sampled;
+        final String[] fieldNames;
+
+        EventType(Category category, boolean sampled, String... fieldNames) {
+            if (fieldNames.length > FIELD_COUNT) {
+                throw new IllegalArgumentException("Journal events carry at most " + FIELD_COUNT + " fields");
+            }
+            this.category = category;
+            this.sampled = sampled;
+            this.fieldNames = fieldNames;
+        }
+    }
+
+    public enum DumpFormat {
+        NDJSON("ndjson"),
+        BINARY("gvj");
+
+        final String extension;
+
+        DumpFormat(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    private final long[] ticks;
+    private final byte[] types;
+    private final long[] subjects;
+    private final long[] positions;
+    private final int[][] fields;
+    private final int capacity;
+    private long written = 0L;
+    private long sampledOut = 0L;
+    private final int[] sampleCounters = new int[Category.values().length];
+    private final Map<String, Integer> dictionaryIds = new HashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+
+    VillageEventJournal(int capacity) {
+        this.capacity = Math.max(16, capacity);
+        this.ticks = new long[this.capacity];
+        this.types = new byte[this.capacity];
+        this.subjects = new long[this.capacity];
+        this.positions = new long[this.capacity];
+        this.fields = new int[FIELD_COUNT][this.capacity];
+    }
+
+    public static VillageEventJournal forWorld(ServerWorld world) {
+        return JOURNALS.computeIfAbsent(world.getRegistryKey(),
+                key -> new VillageEventJournal(GuardVillagersConfig.eventJournalCapacity));
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        JOURNALS.remove(world.getRegistryKey());
+    }
+
+    /** Cheap gate for call sites that need to compute a value (e.g. intern a string) before recording. */
+    public static boolean isEnabled(Category category) {
+        return GuardVillagersConfig.eventJournalEnabled && (categoryMask() & category.bit) != 0;
+    }
+
+    public static void setCategoryEnabled(Category category, boolean enabled) {
+        int mask = categoryMask();
+        enabledCategoryMask = enabled ? (mask | category.bit) : (mask & ~category.bit);
+    }
+
+    public static void setSampleEvery(int every) {
+        sampleEvery = Math.max(1, every);
+    }
+
+    public static int getSampleEvery() {
+        return sampleEvery > 0 ? sampleEvery : Math.max(1, GuardVillagersConfig.eventJournalSampleEvery);
+    }
+
+    public static long subjectOf(UUID uuid) {
+        return uuid == null ? 0L : uuid.getMostSignificantBits();
+    }
+
+    public static long posOf(BlockPos pos) {
+        return pos == null ? Long.MIN_VALUE : pos.asLong();
+    }
+
+    // Fixed-arity overloads keep the common 0-3 field events allocation-free; wider events go through
+    // the varargs form and their call sites check isEnabled first so a disabled category builds no array.
+    public static void record(ServerWorld world, EventType type, long subject, long pos) {
+        record(world, type, subject, pos, 0, 0, 0);
+    }
+
+    public static void record(ServerWorld world, EventType type, long subject, long pos, int value) {
+        record(world, type, subject, pos, value, 0, 0);
+    }
+
+    public static void record(ServerWorld world, EventType type, long subject, long pos, int first, int second) {
+        record(world, type, subject, pos, first, second, 0);
+    }
+
+    public static void record(ServerWorld world, EventType type, long subject, long pos, int first, int second, int third) {
+        if (!isEnabled(type.category)) {
+            return;
+        }
+        forWorld(world).append(world.getTime(), type, subject, pos, first, second, third);
+    }
+
+    public static void record(ServerWorld world, EventType type, long subject, long pos, int... values) {
+        if (!isEnabled(type.category)) {
+            return;
+        }
+        forWorld(world).append(world.getTime(), type, subject, pos, values);
+    }
+
+    /**
+     * Returns a dictionary id for {@code value}, or {@code -1} once the dictionary is full so an
+     * unbounded value space cannot grow the journal.
+     */
+    public int intern(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer existing = dictionaryIds.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (dictionary.size() >= MAX_DICTIONARY_SIZE) {
+            return -1;
+        }
+        int id = dictionary.size();
+        dictionary.add(value);
+        dictionaryIds.put(value, id);
+        return id;
+    }
+
+    void append(long tick, EventType type, long subject, long pos, int first, int second, int third) {
+        int slot = claimSlot(tick, type, subject, pos);
+        if (slot < 0) {
+            return;
+        }
+        fields[0][slot] = first;
+        fields[1][slot] = second;
+        fields[2][slot] = third;
+        for (int i = 3; i < FIELD_COUNT; i++) {
+            fields[i][slot] = 0;
+        }
+    }
+
+    void append(long tick, EventType type, long subject, long pos, int... values) {
+        int slot = claimSlot(tick, type, subject, pos);
+        if (slot < 0) {
+            return;
+        }
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            fields[i][slot] = i < values.length ? values[i] : 0;
+        }
+    }
+
+    /** Applies sampling and writes the fixed columns; returns the slot for the fields, or -1 if sampled out. */
+    private int claimSlot(long tick, EventType type, long subject, long pos) {
+        if (type.sampled) {
+            int every = getSampleEvery();
+            int counter = sampleCounters[type.category.ordinal()]++;
+            if (every > 1 && counter % every != 0) {
+                sampledOut++;
+                return -1;
+            }
+        }
+        int slot = (int) (written % capacity);
+        ticks[slot] = tick;
+        types[slot] = (byte) type.ordinal();
+        subjects[slot] = subject;
+        positions[slot] = pos;
+        written++;
+        return slot;
+    }
+
+    public long getWrittenCount() {
+        return written;
+    }
+
+    public long getSampledOutCount() {
+        return sampledOut;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public static String describeEnabledCategories() {
+        List<String> enabled = new ArrayList<>();
+        for (Category category : Category.values()) {
+            if (isEnabled(category)) {
+                enabled.add(category.name().toLowerCase(Locale.ROOT));
+            }
+        }
+        return enabled.isEmpty() ? "none" : String.join(",", enabled);
+    }
+
+    /** Copies the live window of the ring buffer, oldest first. Must run on the server thread. */
+    Snapshot snapshot() {
+        int count = (int) Math.min(written, capacity);
+        long start = written - count;
+        Snapshot snapshot = new Snapshot(count, List.copyOf(dictionary));
+        for (int i = 0; i < count; i++) {
+            int slot = (int) ((start + i) % capacity);
+            snapshot.ticks[i] = ticks[slot];
+            snapshot.types[i] = types[slot];
+            snapshot.subjects[i] = subjects[slot];
+            snapshot.positions[i] = positions[slot];
+            for (int f = 0; f < FIELD_COUNT; f++) {
+                snapshot.fields[f][i] = fields[f][slot];
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Snapshots the world's journal on the calling (server) thread and writes it to
+     * {@code directory} on the IO worker pool.
+     */
+    public static CompletableFuture<Path> dumpAsync(ServerWorld world, DumpFormat format, Path directory) {
+        Snapshot snapshot = forWorld(world).snapshot();
+        String dimension = world.getRegistryKey().getValue().toString().replace(':', '_').replace('/', '_');
+        Path target = directory.resolve("journal-" + dimension + "-" + world.getTime() + "." + format.extension);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Files.createDirectories(directory);
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+                    if (format == DumpFormat.BINARY) {
+                        snapshot.writeBinary(out);
+                    } else {
+                        snapshot.writeNdjson(out);
+                    }
+                }
+                return target;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to write village event journal to " + target, e);
+            }
+        }, Util.getIoWorkerExecutor());
+    }
+
+    private static int categoryMask() {
+        if (enabledCategoryMask < 0) {
+            int mask = 0;
+            for (Category category : Category.values()) {
+                if (!GuardVillagersConfig.eventJournalDisabledCategories.contains(category.name().toLowerCase(Locale.ROOT))) {
+                    mask |= category.bit;
+                }
+            }
+            enabledCategoryMask = mask;
+        }
+        return enabledCategoryMask;
+    }
+
+    static final class Snapshot {
+        final int count;
+        final List<String> dictionary;
+        final long[] ticks;
+        final byte[] types;
+        final long[] subjects;
+        final long[] positions;
+        final int[][] fields;
+
+        private Snapshot(int count, List<String> dictionary) {
+            this.count = count;
+            this.dictionary = dictionary;
+            this.ticks = new long[count];
+            this.types = new byte[count];
+            this.subjects = new long[count];
+            this.positions = new long[count];
+            this.fields = new int[FIELD_COUNT][count];
+        }
+
+        void writeNdjson(OutputStream out) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            EventType[] eventTypes = EventType.values();
+            StringBuilder line = new StringBuilder(160);
+            for (int i = 0; i < count; i++) {
+                EventType type = eventTypes[types[i]];
+                line.setLength(0);
+                line.append("{\"tick\":").append(ticks[i])
+                        .append(",\"type\":\"").append(type.name().toLowerCase(Locale.ROOT))
+                        .append("\",\"category\":\"").append(type.category.name().toLowerCase(Locale.ROOT)).append('"');
+                if (subjects[i] != 0L) {
+                    line.append(",\"subject\":\"").append(String.format("%016x", subjects[i])).append('"');
+                }
+                if (positions[i] != Long.MIN_VALUE) {
+                    line.append(",\"pos\":[").append(BlockPos.unpackLongX(positions[i]))
+                            .append(',').append(BlockPos.unpackLongY(positions[i]))
+                            .append(',').append(BlockPos.unpackLongZ(positions[i])).append(']');
+                }
+                for (int f = 0; f < type.fieldNames.length; f++) {
+                    String name = type.fieldNames[f];
+                    int value = fields[f][i];
+                    if (name.startsWith("$")) {
+                        line.append(",\"").append(name, 1, name.length()).append("\":");
+                        if (value >= 0 && value < dictionary.size()) {
+                            appendJsonString(line, dictionary.get(value));
+                        } else {
+                            line.append("null");
+                        }
+                    } else {
+                        line.append(",\"").append(name).append("\":").append(value);
+                    }
+                }
+                line.append("}\n");
+                writer.write(line.toString());
+            }
+            writer.flush();
+        }
+
+        void writeBinary(OutputStream out) throws IOException {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(BINARY_MAGIC);
+            EventType[] eventTypes = EventType.values();
+            data.writeShort(eventTypes.length);
+            for (EventType type : eventTypes) {
+                data.writeUTF(type.name());
+                data.writeByte(type.fieldNames.length);
+                for (String fieldName : type.fieldNames) {
+                    data.writeUTF(fieldName);
+                }
+            }
+            data.writeInt(dictionary.size());
+            for (String value : dictionary) {
+                data.writeUTF(value);
+            }
+            data.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                data.writeLong(ticks[i]);
+                data.writeByte(types[i]);
+                data.writeLong(subjects[i]);
+                data.writeLong(positions[i]);
+                int fieldCount = eventTypes[types[i]].fieldNames.length;
+                for (int f = 0; f < fieldCount; f++) {
+                    data.writeInt(fields[f][i]);
+                }
+            }
+            data.flush();
+        }
+
+        private static void appendJsonString(StringBuilder builder, String value) {
+            builder.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> builder.append("\\\"");
+                    case '\\' -> builder.append("\\\\");
+                    case '\n' -> builder.append("\\n");
+                    case '\r' -> builder.append("\\r");
+                    case '\t' -> builder.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            builder.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            builder.append(c);
+                        }
+                    }
+                }
+            }
+            builder.append('"');
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package dev.sterner.guardvillagers.common.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Per-village queue of villagers that may still need a paired chest or crafting table from a
+ * lumberjack guard.
+ *
+ * <p>Villagers enter the queue when they acquire or lose a job site or change profession (signalled
+ * from their tick), and are re-queued when a chest, trapped chest or crafting table changes within
+ * pairing range of their job site. A queued villager is classified once by the caller; villagers
+ * that need nothing leave the pending set until the next such event. Guards read only pending
+ * villagers, so expansion work costs O(pending villagers) instead of a 300-block entity query and a
+ * block-cube scan per villager.
+ *
+ * <p>Pending villagers are bucketed by {@link VillageAiLod#villageKeyAt village key}; whole villages
+ * whose centre is out of reach of the guard's scan box are skipped.
+ */
+public final class VillageExpansionWorkQueue {
+    private static final Map<RegistryKey<World>, VillageExpansionWorkQueue> QUEUES = new HashMap<>();
+    /** Village centres resolve within this many blocks of a member's job site (see {@link VillageAiLod}). */
+    private static final int VILLAGE_CENTER_REACH = 128;
+    private static final int PAIRING_REACH = (int) Math.ceil(JobBlockPairingHelper.JOB_BLOCK_PAIRING_RANGE);
+
+    private final Map<UUID, Tracked> trackedByVillager = new HashMap<>();
+    private final Long2ObjectOpenHashMap<Set<UUID>> villagersByJobChunk = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<Set<UUID>> pendingByVillage = new Long2ObjectOpenHashMap<>();
+
+    private VillageExpansionWorkQueue() {
+    }
+
+    public enum Need {
+        NONE,
+        CHEST,
+        CRAFTING_TABLE
+    }
+
+    public static VillageExpansionWorkQueue forWorld(ServerWorld world) {
+        return QUEUES.computeIfAbsent(world.getRegistryKey(), key -> new VillageExpansionWorkQueue());
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        QUEUES.remove(world.getRegistryKey());
+    }
+
+    /** The villager's job site or profession changed; {@code jobPos} is null when it has no job site. */
+    public static void onVillagerChanged(ServerWorld world, UUID villagerId, @Nullable BlockPos jobPos) {
+        VillageExpansionWorkQueue queue = forWorld(world);
+        queue.untrack(villagerId);
+        if (jobPos == null) {
+            return;
+        }
+        Tracked tracked = new Tracked(jobPos.toImmutable(), VillageAiLod.villageKeyAt(world, jobPos));
+        queue.trackedByVillager.put(villagerId, tracked);
+        queue.villagersByJobChunk.computeIfAbsent(chunkKey(tracked.jobPos), key -> new LinkedHashSet<>()).add(villagerId);
+        queue.markPending(villagerId, tracked);
+    }
+
+    public static void onVillagerUnloaded(ServerWorld world, UUID villagerId) {
+        VillageExpansionWorkQueue queue = QUEUES.get(world.getRegistryKey());
+        if (queue != null) {
+            queue.untrack(villagerId);
+        }
+    }
+
+    public static void onBlockChanged(ServerWorld world, BlockPos pos, BlockState oldState, BlockState newState) {
+        if (!isUpgradeBlock(oldState) && !isUpgradeBlock(newState)) {
+            return;
+        }
+        VillageExpansionWorkQueue queue = QUEUES.get(world.getRegistryKey());
+        if (queue == null || queue.trackedByVillager.isEmpty()) {
+            return;
+        }
+        int minChunkX = (pos.getX() - PAIRING_REACH) >> 4;
+        int maxChunkX = (pos.getX() + PAIRING_REACH) >> 4;
+        int minChunkZ = (pos.getZ() - PAIRING_REACH) >> 4;
+        int maxChunkZ = (pos.getZ() + PAIRING_REACH) >> 4;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                Set<UUID> villagers = queue.villagersByJobChunk.get(ChunkPos.toLong(chunkX, chunkZ));
+                if (villagers == null) {
+                    continue;
+                }
+                for (UUID villagerId : villagers) {
+                    Tracked tracked = queue.trackedByVillager.get(villagerId);
+                    if (tracked != null && withinPairingReach(tracked.jobPos, pos)) {
+                        queue.markPending(villagerId, tracked);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Pending villagers standing inside {@code area}, in village-then-queue order. Villagers not
+     * yet classified since their last event are classified first; those that need nothing leave the
+     * pending set. Villagers that are no longer loaded or alive are dropped.
+     */
+    public List<VillagerEntity> pendingVillagers(ServerWorld world, Box area, Function<VillagerEntity, Need> classifier) {
+        List<VillagerEntity> pending = new ArrayList<>();
+        if (pendingByVillage.isEmpty()) {
+            return pending;
+        }
+        Box villageReach = area.expand(VILLAGE_CENTER_REACH);
+        LongArrayList villages = new LongArrayList(pendingByVillage.keySet());
+        for (int i = 0; i < villages.size(); i++) {
+            long villageKey = villages.getLong(i);
+            BlockPos center = BlockPos.fromLong(villageKey);
+            if (!villageReach.contains(center.getX() + 0.5D, center.getY() + 0.5D, center.getZ() + 0.5D)) {
+                continue;
+            }
+            Set<UUID> villagers = pendingByVillage.get(villageKey);
+            if (villagers == null) {
+                continue;
+            }
+            for (UUID villagerId : new ArrayList<>(villagers)) {
+                Tracked tracked = trackedByVillager.get(villagerId);
+                Entity entity = world.getEntity(villagerId);
+                if (tracked == null || !(entity instanceof VillagerEntity villager) || !villager.isAlive()) {
+                    untrack(villagerId);
+                    continue;
+                }
+                if (tracked.need == null) {
+                    tracked.need = classifier.apply(villager);
+                    if (tracked.need == Need.NONE) {
+                        removePending(villagerId, tracked);
+                        continue;
+                    }
+                }
+                if (area.contains(villager.getPos())) {
+                    pending.add(villager);
+                }
+            }
+        }
+        return pending;
+    }
+
+    public int pendingCount() {
+        int count = 0;
+        for (Set<UUID> villagers : pendingByVillage.values()) {
+            count += villagers.size();
+        }
+        return count;
+    }
+
+    public int trackedCount() {
+        return trackedByVillager.size();
+    }
+
+    private void markPending(UUID villagerId, Tracked tracked) {
+        tracked.need = null;
+        pendingByVillage.computeIfAbsent(tracked.villageKey, key -> new LinkedHashSet<>()).add(villagerId);
+    }
+
+    private void removePending(UUID villagerId, Tracked tracked) {
+        removeFrom(pendingByVillage, tracked.villageKey, villagerId);
+    }
+
+    private void untrack(UUID villagerId) {
+        Tracked tracked = trackedByVillager.remove(villagerId);
+        if (tracked == null) {
+            return;
+        }
+        removePending(villagerId, tracked);
+        removeFrom(villagersByJobChunk, chunkKey(tracked.jobPos), villagerId);
+    }
+
+    private static void removeFrom(Long2ObjectMap<Set<UUID>> buckets, long key, UUID villagerId) {
+        Set<UUID> bucket = buckets.get(key);
+        if (bucket != null && bucket.remove(villagerId) && bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    // Any paired-storage block counts, not just chests: a villager classified as satisfied by a nearby
+    // barrel must be re-queued when that barrel is broken.
+    private static boolean isUpgradeBlock(BlockState state) {
+        return JobBlockPairingHelper.isPairingBlock(state) || state.isOf(Blocks.CRAFTING_TABLE);
+    }
+
+    private static boolean withinPairingReach(BlockPos jobPos, BlockPos changed) {
+        return Math.abs(jobPos.getX() - changed.getX()) <= PAIRING_REACH
+                && Math.abs(jobPos.getY() - changed.getY()) <= PAIRING_REACH
+                && Math.abs(jobPos.getZ() - changed.getZ()) <= PAIRING_REACH;
+    }
+
+    private static long chunkKey(BlockPos pos) {
+        return ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+    }
+
+    private static final class Tracked {
+        private final BlockPos jobPos;
+        private final long villageKey;
+        /** Classified need, or null until the caller classifies the villager after its last event. */
+        @Nullable
+        private Need need;
+
+        private Tracked(BlockPos jobPos, long villageKey) {
+            this.jobPos = jobPos;
+            this.villageKey = villageKey;
+        }
+    }
+}
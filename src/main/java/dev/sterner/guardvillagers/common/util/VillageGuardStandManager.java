@@ -10,6 +10,7 @@ import net.minecraft.entity.SpawnReason;
 import net.minecraft.entity.decoration.ArmorStandEntity;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.registry.RegistryKey;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
@@ -39,10 +40,16 @@ public final class VillageGuardStandManager {
     private static final int ARMOR_STAND_SPAWN_RADIUS = 10;
     private static final int PLAYER_APPROACH_RANGE = 100;
     private static final int PLAYER_CHECK_INTERVAL_TICKS = 40;
+    /**
+     * Grace period between a guard loading and its pairing being validated, so the paired stand's
+     * chunk has a chance to load its entities first.
+     */
+    private static final long LOAD_VALIDATION_DELAY_TICKS = 40L;
     public static final String GUARD_STAND_TAG = "guardvillagers:auto_armor_stand";
 
     private static final Map<GlobalPos, Integer> GUARD_COUNTS = new HashMap<>();
     private static final Set<GlobalPos> INITIALIZED_ANCHORS = new HashSet<>();
+    private static final Map<RegistryKey<World>, StandSyncState> STAND_SYNC_BY_WORLD = new HashMap<>();
 
     private VillageGuardStandManager() {
     }
@@ -172,6 +179,11 @@ public final class VillageGuardStandManager {
                 standsByPosition.putIfAbsent(standPos, stand);
             } else if (hasTag) {
                 stand.removeCommandTag(GUARD_STAND_TAG);
+                StandSyncState state = STAND_SYNC_BY_WORLD.get(world.getRegistryKey());
+                UUID guardId = state == null ? null : state.guardByStand.remove(stand.getUuid());
+                if (guardId != null) {
+                    state.validationDueTickByGuard.put(guardId, world.getTime());
+                }
             }
         }
 
@@ -291,6 +303,145 @@ public final class VillageGuardStandManager {
         }
     }
 
+    /**
+     * Indexes a loaded guard's stand pairing and schedules its pairing validation (and the initial
+     * stand-to-guard equipment pull) once the surrounding chunks have had time to load.
+     */
+    public static void onGuardLoaded(ServerWorld world, GuardEntity guard) {
+        StandSyncState state = getStandSyncState(world);
+        UUID standId = guard.getPairedStandUuid();
+        if (standId != null) {
+            state.guardByStand.put(standId, guard.getUuid());
+        }
+        state.validationDueTickByGuard.put(guard.getUuid(), world.getTime() + LOAD_VALIDATION_DELAY_TICKS);
+    }
+
+    public static void onGuardUnloaded(ServerWorld world, GuardEntity guard) {
+        StandSyncState state = STAND_SYNC_BY_WORLD.get(world.getRegistryKey());
+        if (state == null) {
+            return;
+        }
+        UUID standId = guard.getPairedStandUuid();
+        if (standId != null) {
+            state.guardByStand.remove(standId, guard.getUuid());
+        }
+        state.validationDueTickByGuard.remove(guard.getUuid());
+        state.pendingStandPulls.remove(guard.getUuid());
+    }
+
+    public static void onGuardStandPairingChanged(ServerWorld world, GuardEntity guard, @Nullable UUID previousStandId) {
+        StandSyncState state = getStandSyncState(world);
+        if (previousStandId != null) {
+            state.guardByStand.remove(previousStandId, guard.getUuid());
+        }
+        UUID standId = guard.getPairedStandUuid();
+        if (standId != null) {
+            state.guardByStand.put(standId, guard.getUuid());
+        }
+    }
+
+    /**
+     * A guard stand that was killed or discarded queues its guard's pairing validation for the next
+     * server tick. Stands that merely unload with their chunk are left alone; the guard re-validates
+     * when it next loads.
+     */
+    public static void onStandUnloaded(ServerWorld world, ArmorStandEntity stand) {
+        StandSyncState state = STAND_SYNC_BY_WORLD.get(world.getRegistryKey());
+        if (state == null) {
+            return;
+        }
+        Entity.RemovalReason reason = stand.getRemovalReason();
+        if (reason == null || !reason.shouldDestroy()) {
+            return;
+        }
+        UUID guardId = state.guardByStand.remove(stand.getUuid());
+        if (guardId != null) {
+            state.validationDueTickByGuard.put(guardId, world.getTime());
+        }
+    }
+
+    /**
+     * Called whenever a guard stand's equipment changes (player interaction, dispensers, commands).
+     * The paired guard pulls the stand's loadout on the next server tick when stand customization is on.
+     */
+    public static void onStandEquipmentChanged(ServerWorld world, ArmorStandEntity stand) {
+        StandSyncState state = STAND_SYNC_BY_WORLD.get(world.getRegistryKey());
+        if (state == null) {
+            return;
+        }
+        UUID guardId = state.guardByStand.get(stand.getUuid());
+        if (guardId != null) {
+            state.pendingStandPulls.add(guardId);
+        }
+    }
+
+    /**
+     * Called when a customized guard's own equipment changes or breaks, so the stand's loadout is
+     * re-applied. Deferred to the next server tick so callers that equip the guard and then push the
+     * new loadout onto the stand (e.g. {@code GuardUpgradeFromStandGoal}) are not reverted.
+     */
+    public static void onGuardEquipmentChanged(ServerWorld world, GuardEntity guard) {
+        if (!guard.isStandCustomizationEnabled() || guard.getPairedStandUuid() == null) {
+            return;
+        }
+        getStandSyncState(world).pendingStandPulls.add(guard.getUuid());
+    }
+
+    public static void tickStandSync(ServerWorld world) {
+        StandSyncState state = STAND_SYNC_BY_WORLD.get(world.getRegistryKey());
+        if (state == null) {
+            return;
+        }
+        if (!state.validationDueTickByGuard.isEmpty()) {
+            long now = world.getTime();
+            List<UUID> due = new ArrayList<>();
+            for (Map.Entry<UUID, Long> entry : state.validationDueTickByGuard.entrySet()) {
+                if (entry.getValue() <= now) {
+                    due.add(entry.getKey());
+                }
+            }
+            for (UUID guardId : due) {
+                state.validationDueTickByGuard.remove(guardId);
+                if (world.getEntity(guardId) instanceof GuardEntity guard) {
+                    validateGuardStandPairing(world, guard);
+                    if (guard.isAlive() && guard.getPairedStandUuid() != null) {
+                        state.pendingStandPulls.add(guardId);
+                    }
+                }
+            }
+        }
+        if (!state.pendingStandPulls.isEmpty()) {
+            List<UUID> pulls = new ArrayList<>(state.pendingStandPulls);
+            state.pendingStandPulls.clear();
+            for (UUID guardId : pulls) {
+                if (world.getEntity(guardId) instanceof GuardEntity guard) {
+                    pullGuardEquipmentFromStand(world, guard);
+                }
+            }
+        }
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        STAND_SYNC_BY_WORLD.remove(world.getRegistryKey());
+    }
+
+    private static void pullGuardEquipmentFromStand(ServerWorld world, GuardEntity guard) {
+        UUID standId = guard.getPairedStandUuid();
+        if (!guard.isAlive() || !guard.isStandCustomizationEnabled() || guard.spawnWithArmor || standId == null) {
+            return;
+        }
+        Entity standEntity = world.getEntity(standId);
+        if (standEntity instanceof ArmorStandEntity armorStand
+                && armorStand.isAlive()
+                && armorStand.getCommandTags().contains(GUARD_STAND_TAG)) {
+            GuardStandEquipmentSync.syncGuardFromStand(guard, armorStand);
+        }
+    }
+
+    private static StandSyncState getStandSyncState(ServerWorld world) {
+        return STAND_SYNC_BY_WORLD.computeIfAbsent(world.getRegistryKey(), key -> new StandSyncState());
+    }
+
     private static void assignGuardToStand(ServerWorld world, GuardEntity guard, ArmorStandEntity stand) {
         guard.setPairedStandUuid(stand.getUuid());
         guard.setStandCustomizationEnabled(true);
@@ -427,4 +578,10 @@ public final class VillageGuardStandManager {
 
     private record CobblePad(List<BlockPos> standPositions) {
     }
+
+    private static final class StandSyncState {
+        private final Map<UUID, UUID> guardByStand = new HashMap<>();
+        private final Map<UUID, Long> validationDueTickByGuard = new HashMap<>();
+        private final Set<UUID> pendingStandPulls = new HashSet<>();
+    }
 }
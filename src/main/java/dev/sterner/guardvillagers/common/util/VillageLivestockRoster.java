@@ -0,0 +1,319 @@
+package dev.sterner.guardvillagers.common.util;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.passive.AnimalEntity;
+import net.minecraft.entity.passive.SheepEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Per-world roster of loaded livestock for shepherd and farmer pen work.
+ *
+ * <p>Animals are bucketed by chunk column. The buckets are fed from entity load/unload (which
+ * also covers deaths, despawns and newborns from breeding) and re-bucketed every
+ * {@link #REBUCKET_INTERVAL_TICKS} ticks for animals that wandered into another chunk. Live
+ * state such as shearability and breeding age is always read from the entity at query time, so
+ * shearing and feeding need no extra events.
+ *
+ * <p>{@link PenRoster} caches the candidates around a pen centre or banner and only rebuilds them
+ * when one of the chunk buckets under its box changes; traffic in other chunks of the world
+ * leaves it alone. Shepherd and farmer decisions then cost O(animals near the pen)
+ * instead of an entity-section walk over the whole search box on every call.
+ */
+public final class VillageLivestockRoster {
+    private static final Map<RegistryKey<World>, VillageLivestockRoster> ROSTERS = new HashMap<>();
+    static final int REBUCKET_INTERVAL_TICKS = 20;
+    /** Pen rosters kept per world before the cache is flushed (anchors come and go with pens). */
+    private static final int MAX_CACHED_PEN_ROSTERS = 256;
+    /** How often versions of chunks that no longer hold any animal are dropped. */
+    static final int VERSION_PRUNE_INTERVAL_TICKS = 1200;
+
+    private final Long2ObjectOpenHashMap<List<AnimalEntity>> animalsByChunk = new Long2ObjectOpenHashMap<>();
+    private final Object2LongOpenHashMap<AnimalEntity> chunkByAnimal = new Object2LongOpenHashMap<>();
+    private final Map<PenKey, PenRoster> penRosters = new HashMap<>();
+    /**
+     * Clock value of the last change to each chunk bucket. Versions of chunks whose bucket has
+     * emptied are kept until the next prune so pen rosters still see the change.
+     */
+    private final Long2LongOpenHashMap chunkVersions = new Long2LongOpenHashMap();
+    /** Monotonic change clock shared by all chunk versions of this world. */
+    private long clock;
+    /** Bumped when versions are pruned, since a pruned chunk can no longer report its change. */
+    private long pruneGeneration;
+
+    private VillageLivestockRoster() {
+    }
+
+    public static VillageLivestockRoster forWorld(ServerWorld world) {
+        return ROSTERS.computeIfAbsent(world.getRegistryKey(), key -> new VillageLivestockRoster());
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        ROSTERS.remove(world.getRegistryKey());
+    }
+
+    public static void onEntityLoad(ServerWorld world, Entity entity) {
+        if (entity instanceof AnimalEntity animal) {
+            forWorld(world).track(animal);
+        }
+    }
+
+    public static void onEntityUnload(ServerWorld world, Entity entity) {
+        if (entity instanceof AnimalEntity animal) {
+            VillageLivestockRoster roster = ROSTERS.get(world.getRegistryKey());
+            if (roster != null) {
+                roster.untrack(animal);
+            }
+        }
+    }
+
+    public static void tick(ServerWorld world) {
+        if (world.getTime() % REBUCKET_INTERVAL_TICKS != 0L) {
+            return;
+        }
+        VillageLivestockRoster roster = ROSTERS.get(world.getRegistryKey());
+        if (roster != null) {
+            roster.rebucket();
+            if (world.getTime() % VERSION_PRUNE_INTERVAL_TICKS == 0L) {
+                roster.pruneVersions();
+            }
+        }
+    }
+
+    /**
+     * Returns live animals of {@code type} inside {@code box} that pass {@code filter}, reading
+     * only the chunk buckets the box overlaps.
+     */
+    public <T extends AnimalEntity> List<T> getAnimals(Class<T> type, Box box, Predicate<? super T> filter) {
+        List<T> result = new ArrayList<>();
+        int minChunkX = ChunkSectionPos.getSectionCoord(box.minX);
+        int maxChunkX = ChunkSectionPos.getSectionCoord(box.maxX);
+        int minChunkZ = ChunkSectionPos.getSectionCoord(box.minZ);
+        int maxChunkZ = ChunkSectionPos.getSectionCoord(box.maxZ);
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                List<AnimalEntity> bucket = animalsByChunk.get(ChunkPos.toLong(chunkX, chunkZ));
+                if (bucket != null) {
+                    collect(bucket, type, box, filter, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Roster for the pen or banner at {@code anchor}: animals within {@code horizontalRange}
+     * blocks horizontally and {@code verticalRange} vertically.
+     */
+    public PenRoster getPenRoster(BlockPos anchor, double horizontalRange, double verticalRange) {
+        PenKey key = new PenKey(anchor.asLong(), horizontalRange, verticalRange);
+        PenRoster roster = penRosters.get(key);
+        if (roster == null) {
+            if (penRosters.size() >= MAX_CACHED_PEN_ROSTERS) {
+                penRosters.clear();
+            }
+            roster = new PenRoster(new Box(anchor).expand(horizontalRange, verticalRange, horizontalRange));
+            penRosters.put(key, roster);
+        }
+        return roster;
+    }
+
+    int trackedCount() {
+        return chunkByAnimal.size();
+    }
+
+    private void track(AnimalEntity animal) {
+        long chunk = chunkOf(animal);
+        if (chunkByAnimal.containsKey(animal)) {
+            return;
+        }
+        chunkByAnimal.put(animal, chunk);
+        animalsByChunk.computeIfAbsent(chunk, key -> new ArrayList<>()).add(animal);
+        markChanged(chunk);
+    }
+
+    private void untrack(AnimalEntity animal) {
+        if (!chunkByAnimal.containsKey(animal)) {
+            return;
+        }
+        long chunk = chunkByAnimal.removeLong(animal);
+        removeFromBucket(chunk, animal);
+        markChanged(chunk);
+    }
+
+    private void rebucket() {
+        for (Object2LongMap.Entry<AnimalEntity> entry : chunkByAnimal.object2LongEntrySet()) {
+            AnimalEntity animal = entry.getKey();
+            long current = chunkOf(animal);
+            long previous = entry.getLongValue();
+            if (current == previous) {
+                continue;
+            }
+            removeFromBucket(previous, animal);
+            animalsByChunk.computeIfAbsent(current, key -> new ArrayList<>()).add(animal);
+            entry.setValue(current);
+            markChanged(previous);
+            markChanged(current);
+        }
+    }
+
+    private void markChanged(long chunk) {
+        chunkVersions.put(chunk, ++clock);
+    }
+
+    /** Drops versions of empty chunks; pen rosters rebuild once since they cannot tell which went. */
+    private void pruneVersions() {
+        boolean pruned = false;
+        for (Iterator<Long2LongMap.Entry> it = chunkVersions.long2LongEntrySet().iterator(); it.hasNext(); ) {
+            if (!animalsByChunk.containsKey(it.next().getLongKey())) {
+                it.remove();
+                pruned = true;
+            }
+        }
+        if (pruned) {
+            pruneGeneration++;
+        }
+    }
+
+    private void removeFromBucket(long chunk, AnimalEntity animal) {
+        List<AnimalEntity> bucket = animalsByChunk.get(chunk);
+        if (bucket != null && bucket.remove(animal) && bucket.isEmpty()) {
+            animalsByChunk.remove(chunk);
+        }
+    }
+
+    private static long chunkOf(Entity entity) {
+        return ChunkPos.toLong(ChunkSectionPos.getSectionCoord(entity.getBlockX()), ChunkSectionPos.getSectionCoord(entity.getBlockZ()));
+    }
+
+    private static <T extends AnimalEntity> void collect(List<AnimalEntity> source, Class<T> type, Box box,
+                                                         Predicate<? super T> filter, List<T> out) {
+        for (AnimalEntity animal : source) {
+            if (!type.isInstance(animal) || !animal.isAlive() || !box.contains(animal.getPos())) {
+                continue;
+            }
+            T typed = type.cast(animal);
+            if (filter.test(typed)) {
+                out.add(typed);
+            }
+        }
+    }
+
+    private record PenKey(long anchor, double horizontalRange, double verticalRange) {
+    }
+
+    /** Cached view of the livestock around one pen centre or banner. */
+    public final class PenRoster {
+        private final Box box;
+        private final int minChunkX;
+        private final int maxChunkX;
+        private final int minChunkZ;
+        private final int maxChunkZ;
+        private List<AnimalEntity> candidates = List.of();
+        /** Clock value when the candidates were collected; -1 until the first build. */
+        private long builtAt = -1L;
+        private long builtPruneGeneration;
+        private int rebuilds;
+
+        private PenRoster(Box box) {
+            this.box = box;
+            this.minChunkX = ChunkSectionPos.getSectionCoord(box.minX);
+            this.maxChunkX = ChunkSectionPos.getSectionCoord(box.maxX);
+            this.minChunkZ = ChunkSectionPos.getSectionCoord(box.minZ);
+            this.maxChunkZ = ChunkSectionPos.getSectionCoord(box.maxZ);
+        }
+
+        public <T extends AnimalEntity> List<T> members(Class<T> type, Predicate<? super T> filter) {
+            List<T> result = new ArrayList<>();
+            collect(candidates(), type, box, filter, result);
+            return result;
+        }
+
+        /** Up to {@code limit} matching members, nearest to {@code from} first. */
+        public <T extends AnimalEntity> List<T> nearest(Class<T> type, Entity from, int limit, Predicate<? super T> filter) {
+            List<T> result = members(type, filter);
+            result.sort(Comparator.comparingDouble(from::squaredDistanceTo));
+            return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        }
+
+        public int countShearableSheep() {
+            int count = 0;
+            for (AnimalEntity animal : candidates()) {
+                if (animal instanceof SheepEntity sheep && sheep.isAlive() && sheep.isShearable() && box.contains(sheep.getPos())) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /** Adults that are not already in love and have no breeding cooldown. */
+        public int countBreedable() {
+            int count = 0;
+            for (AnimalEntity animal : candidates()) {
+                if (animal.isAlive() && animal.getBreedingAge() == 0 && !animal.isInLove() && box.contains(animal.getPos())) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Every tracked animal in the chunk columns the pen box overlaps. Positions inside a
+         * column can change freely without a rebuild; callers filter by the box on read.
+         */
+        private List<AnimalEntity> candidates() {
+            if (isStale()) {
+                List<AnimalEntity> rebuilt = new ArrayList<>();
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                    for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                        List<AnimalEntity> bucket = animalsByChunk.get(ChunkPos.toLong(chunkX, chunkZ));
+                        if (bucket != null) {
+                            rebuilt.addAll(bucket);
+                        }
+                    }
+                }
+                candidates = rebuilt;
+                builtAt = clock;
+                builtPruneGeneration = pruneGeneration;
+                rebuilds++;
+            }
+            return candidates;
+        }
+
+        private boolean isStale() {
+            if (builtAt < 0L || builtPruneGeneration != pruneGeneration) {
+                return true;
+            }
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    if (chunkVersions.get(ChunkPos.toLong(chunkX, chunkZ)) > builtAt) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        int rebuildCount() {
+            return rebuilds;
+        }
+    }
+}
@@ -8,7 +8,6 @@ import dev.sterner.guardvillagers.common.util.JobBlockPairingHelper;
 import dev.sterner.guardvillagers.common.villager.GuardConversionHelper;
 import dev.sterner.guardvillagers.common.villager.LumberjackPopulationBalancingService;
 import dev.sterner.guardvillagers.common.villager.UnemployedLumberjackConversionHook;
-import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.EntityType;
@@ -31,7 +30,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import net.minecraft.registry.tag.BlockTags;
 
 /**
  * Periodically ensures enough lumberjacks exist relative to village population.
@@ -65,16 +63,6 @@ public final class VillageLumberjackSpawnManager {
      */
     private static final Map<BlockPos, Long> NEXT_RETRY_TICK_BY_BELL = new HashMap<>();
 
-    /**
-     * Tree-supply cache: maps bell position → expiry tick.
-     * A cached {@code true} (enough trees) is valid until TREE_SUPPLY_CACHE_TTL_TICKS have elapsed.
-     * We only cache the "sufficient" result — insufficient results are not cached so the system
-     * can recheck quickly after foresters plant more saplings.
-     */
-    private static final Map<BlockPos, Long> TREE_SUPPLY_CACHE_EXPIRY = new HashMap<>();
-    /** 1200 ticks = 60 s. Tree density doesn't change faster than this. */
-    private static final long TREE_SUPPLY_CACHE_TTL_TICKS = 1200L;
-
     /**
      * C2 fix — orphaned-table sweep.
      *
@@ -181,11 +169,8 @@ public final class VillageLumberjackSpawnManager {
                     processBell(world, immutableBellPos, ATTEMPT_MAINTENANCE_SCAN, now);
                 }
                 NEXT_RETRY_TICK_BY_BELL.keySet().removeIf(pos -> !normalizedBells.contains(pos));
-                // Evict tree-supply cache for bells that no longer exist.
-                TREE_SUPPLY_CACHE_EXPIRY.keySet().removeIf(pos -> !normalizedBells.contains(pos));
             } else {
                 NEXT_RETRY_TICK_BY_BELL.clear();
-                TREE_SUPPLY_CACHE_EXPIRY.clear();
             }
         }
 
@@ -631,59 +616,28 @@ public final class VillageLumberjackSpawnManager {
      *   <li>0.5 for each planted sapling (half weight — it hasn't grown yet).</li>
      * </ul>
      *
-     * <p>The scan radius matches {@code lumberjackBaseTreeSearchRadius} from config, which is
-     * the same radius the lumberjack itself uses when looking for trees to chop.
+     * <p>The radius matches {@code lumberjackBaseTreeSearchRadius} from config, which is
+     * the same radius the lumberjack itself uses when looking for trees to chop. Counts come from
+     * {@link VillageTreeSupplyIndex}, which is kept current by block-change and chunk-load events,
+     * so this is a cheap read rather than a block scan.
      */
     private static boolean hasEnoughTreeSupplyForLumberjackCount(ServerWorld world, BlockPos bellPos, int desiredLumberjackCount) {
         if (desiredLumberjackCount <= 0) return true;
 
-        // Return cached "sufficient" result without re-scanning.
-        // We only cache true: an insufficient result can flip quickly after foresters plant.
-        long now = world.getTime();
-        Long cacheExpiry = TREE_SUPPLY_CACHE_EXPIRY.get(bellPos);
-        if (cacheExpiry != null && now < cacheExpiry) {
-            LOGGER.debug("lumberjack-spawn tree-supply bell={} cache-hit (expires in {}t)",
-                    bellPos.toShortString(), cacheExpiry - now);
-            return true;
-        }
-
         int needed = desiredLumberjackCount * TREES_NEEDED_PER_LUMBERJACK;
 
         int scanRadius = Math.max(GuardVillagersConfig.MIN_LUMBERJACK_BASE_TREE_SEARCH_RADIUS,
                 GuardVillagersConfig.lumberjackBaseTreeSearchRadius);
-        // Scan a 2D horizontal footprint around the bell at all relevant Y levels.
+        // Vertical window around the bell, same as the lumberjack's own tree search.
         int yRange = 16;
 
-        double treeUnits = 0.0;
-        for (BlockPos pos : BlockPos.iterate(
-                bellPos.add(-scanRadius, -yRange, -scanRadius),
-                bellPos.add(scanRadius, yRange, scanRadius))) {
-            if (!bellPos.isWithinDistance(pos, scanRadius)) continue;
-            BlockState state = world.getBlockState(pos);
-            if (state.isIn(BlockTags.LOGS)) {
-                // Count only the bottom of each log column to avoid multi-counting tall trunks.
-                BlockState below = world.getBlockState(pos.down());
-                if (!below.isIn(BlockTags.LOGS)) {
-                    treeUnits += 1.0;
-                    if (treeUnits >= needed) {
-                        // Cache the positive result so subsequent retries skip the scan.
-                        TREE_SUPPLY_CACHE_EXPIRY.put(bellPos.toImmutable(), now + TREE_SUPPLY_CACHE_TTL_TICKS);
-                        return true;
-                    }
-                }
-            } else if (state.isIn(BlockTags.SAPLINGS)) {
-                treeUnits += 0.5;
-                if (treeUnits >= needed) {
-                    TREE_SUPPLY_CACHE_EXPIRY.put(bellPos.toImmutable(), now + TREE_SUPPLY_CACHE_TTL_TICKS);
-                    return true;
-                }
-            }
+        double treeUnits = VillageTreeSupplyIndex.forWorld(world).countTreeUnits(world, bellPos, scanRadius, yRange);
+        if (treeUnits >= needed) {
+            return true;
         }
 
         LOGGER.debug("lumberjack-spawn tree-supply bell={} scanRadius={} treeUnits={} needed={} (for {} lumberjack(s))",
                 bellPos.toShortString(), scanRadius, treeUnits, needed, desiredLumberjackCount);
-        // Insufficient — don't cache, let the next retry re-scan.
-        TREE_SUPPLY_CACHE_EXPIRY.remove(bellPos);
         return false;
     }
 
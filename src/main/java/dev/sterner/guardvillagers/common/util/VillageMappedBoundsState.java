@@ -1,6 +1,7 @@
 package dev.sterner.guardvillagers.common.util;
 
 import dev.sterner.guardvillagers.GuardVillagers;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtHelper;
@@ -20,12 +21,17 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Comparator;
 import java.util.ArrayList;
+import java.util.function.LongConsumer;
 
 /**
  * Stores the world-coordinate bounding box that a village cartographer has fully mapped.
  * Keyed by the primary bell GlobalPos. Once a cartographer completes all 4 map tiles,
  * the bounds are written here. The lumberjack reads these bounds to restrict tree harvesting
  * to the mapped village territory.
+ *
+ * <p>Entries are also held in a per-dimension grid index so that "which mapped regions contain
+ * this position" and "nearest mapped anchors" touch only nearby cells rather than every
+ * territory in every dimension.
  */
 public class VillageMappedBoundsState extends PersistentState {
     private static final String STATE_ID = GuardVillagers.MODID + "_village_mapped_bounds";
@@ -54,7 +60,12 @@ public class VillageMappedBoundsState extends PersistentState {
     public record AnchorMappedBounds(BlockPos anchorPos, MappedBounds bounds, long distanceSq) {
     }
 
+    /** Side of a spatial index cell, in blocks. A 4-tile scale-0 map cluster spans ~1-2 cells. */
+    static final int INDEX_CELL_SIZE = 256;
+
     private final Map<GlobalPos, MappedBounds> bellToBounds = new HashMap<>();
+    /** Per-dimension grid over anchors and bounds; derived from {@link #bellToBounds}, not persisted. */
+    private final Map<RegistryKey<net.minecraft.world.World>, DimensionIndex> indexByWorld = new HashMap<>();
 
     public static VillageMappedBoundsState get(MinecraftServer server) {
         return server.getOverworld().getPersistentStateManager().getOrCreate(getType(), STATE_ID);
@@ -94,6 +105,7 @@ public class VillageMappedBoundsState extends PersistentState {
             state.bellToBounds.put(key, new MappedBounds(minX, maxX, minZ, maxZ));
         }
 
+        state.rebuildIndex();
         return state;
     }
 
@@ -120,36 +132,84 @@ public class VillageMappedBoundsState extends PersistentState {
      * represented by {@code worldKey}).
      */
     public void putBounds(RegistryKey<net.minecraft.world.World> worldKey, BlockPos bellPos, MappedBounds bounds) {
-        GlobalPos key = GlobalPos.create(worldKey, bellPos.toImmutable());
-        bellToBounds.put(key, bounds);
+        BlockPos anchorPos = bellPos.toImmutable();
+        GlobalPos key = GlobalPos.create(worldKey, anchorPos);
+        MappedBounds previous = bellToBounds.put(key, bounds);
+        DimensionIndex index = indexByWorld.computeIfAbsent(worldKey, k -> new DimensionIndex());
+        if (previous != null) {
+            index.remove(anchorPos, previous);
+        }
+        index.add(anchorPos, bounds);
         markDirty();
     }
 
     /**
-     * Returns the mapped bounds for the nearest registered bell within {@code searchRadius}
-     * horizontal blocks of {@code pos}, if any. Returns empty if no cartographer has completed
-     * mapping for any nearby bell.
+     * Returns every mapped region in {@code worldKey} whose bounds contain {@code pos}, with the
+     * horizontal distance from {@code pos} to the region's anchor.
      */
-    public Optional<MappedBounds> getBoundsNear(RegistryKey<net.minecraft.world.World> worldKey, BlockPos pos, int searchRadius) {
-        long radiusSq = (long) searchRadius * searchRadius;
-        MappedBounds nearest = null;
-        long nearestDistSq = Long.MAX_VALUE;
-
-        for (Map.Entry<GlobalPos, MappedBounds> entry : bellToBounds.entrySet()) {
-            if (!entry.getKey().dimension().equals(worldKey)) {
-                continue;
+    public List<AnchorMappedBounds> getBoundsContaining(RegistryKey<net.minecraft.world.World> worldKey, BlockPos pos) {
+        DimensionIndex index = indexByWorld.get(worldKey);
+        if (index == null) {
+            return List.of();
+        }
+        List<IndexedBounds> cell = index.boundsByCell.get(cellKey(pos.getX(), pos.getZ()));
+        if (cell == null) {
+            return List.of();
+        }
+        List<AnchorMappedBounds> result = new ArrayList<>(Math.min(cell.size(), 4));
+        for (IndexedBounds entry : cell) {
+            if (entry.bounds().contains(pos)) {
+                result.add(new AnchorMappedBounds(entry.anchorPos(), entry.bounds(), horizontalDistanceSq(entry.anchorPos(), pos)));
             }
-            BlockPos bellPos = entry.getKey().pos();
-            long dx = bellPos.getX() - pos.getX();
-            long dz = bellPos.getZ() - pos.getZ();
-            long distSq = dx * dx + dz * dz;
-            if (distSq <= radiusSq && distSq < nearestDistSq) {
-                nearestDistSq = distSq;
-                nearest = entry.getValue();
+        }
+        return result;
+    }
+
+    /**
+     * Returns up to {@code limit} anchors within {@code searchRadius} horizontal blocks of
+     * {@code pos}, nearest first, with their mapped bounds. Only the grid cells overlapping the
+     * search radius are visited.
+     */
+    public List<AnchorMappedBounds> getNearestAnchors(RegistryKey<net.minecraft.world.World> worldKey,
+                                                      BlockPos pos,
+                                                      int searchRadius,
+                                                      int limit) {
+        DimensionIndex index = indexByWorld.get(worldKey);
+        if (index == null || limit <= 0) {
+            return List.of();
+        }
+        long radiusSq = (long) searchRadius * searchRadius;
+        int minCellX = Math.floorDiv(pos.getX() - searchRadius, INDEX_CELL_SIZE);
+        int maxCellX = Math.floorDiv(pos.getX() + searchRadius, INDEX_CELL_SIZE);
+        int minCellZ = Math.floorDiv(pos.getZ() - searchRadius, INDEX_CELL_SIZE);
+        int maxCellZ = Math.floorDiv(pos.getZ() + searchRadius, INDEX_CELL_SIZE);
+        List<AnchorMappedBounds> entries = new ArrayList<>();
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                List<IndexedBounds> cell = index.anchorsByCell.get(packCell(cellX, cellZ));
+                if (cell == null) {
+                    continue;
+                }
+                for (IndexedBounds entry : cell) {
+                    long distSq = horizontalDistanceSq(entry.anchorPos(), pos);
+                    if (distSq <= radiusSq) {
+                        entries.add(new AnchorMappedBounds(entry.anchorPos(), entry.bounds(), distSq));
+                    }
+                }
             }
         }
+        entries.sort(Comparator.comparingLong(AnchorMappedBounds::distanceSq));
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
 
-        return Optional.ofNullable(nearest);
+    /**
+     * Returns the mapped bounds for the nearest registered bell within {@code searchRadius}
+     * horizontal blocks of {@code pos}, if any. Returns empty if no cartographer has completed
+     * mapping for any nearby bell.
+     */
+    public Optional<MappedBounds> getBoundsNear(RegistryKey<net.minecraft.world.World> worldKey, BlockPos pos, int searchRadius) {
+        List<AnchorMappedBounds> nearest = getNearestAnchors(worldKey, pos, searchRadius, 1);
+        return nearest.isEmpty() ? Optional.empty() : Optional.of(nearest.get(0).bounds());
     }
 
     /**
@@ -159,21 +219,77 @@ public class VillageMappedBoundsState extends PersistentState {
     public List<AnchorMappedBounds> getBoundsEntriesNear(RegistryKey<net.minecraft.world.World> worldKey,
                                                          BlockPos pos,
                                                          int searchRadius) {
-        long radiusSq = (long) searchRadius * searchRadius;
-        List<AnchorMappedBounds> entries = new ArrayList<>();
+        return getNearestAnchors(worldKey, pos, searchRadius, Integer.MAX_VALUE);
+    }
+
+    private void rebuildIndex() {
+        indexByWorld.clear();
         for (Map.Entry<GlobalPos, MappedBounds> entry : bellToBounds.entrySet()) {
-            if (!entry.getKey().dimension().equals(worldKey)) {
-                continue;
+            indexByWorld.computeIfAbsent(entry.getKey().dimension(), k -> new DimensionIndex())
+                    .add(entry.getKey().pos(), entry.getValue());
+        }
+    }
+
+    private static long horizontalDistanceSq(BlockPos a, BlockPos b) {
+        long dx = a.getX() - b.getX();
+        long dz = a.getZ() - b.getZ();
+        return dx * dx + dz * dz;
+    }
+
+    private static long cellKey(int x, int z) {
+        return packCell(Math.floorDiv(x, INDEX_CELL_SIZE), Math.floorDiv(z, INDEX_CELL_SIZE));
+    }
+
+    private static long packCell(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private record IndexedBounds(BlockPos anchorPos, MappedBounds bounds) {
+    }
+
+    /**
+     * Uniform grid for one dimension. Each entry is listed under the cell holding its anchor
+     * (nearest-anchor queries) and under every cell its bounds overlap (containment queries).
+     */
+    private static final class DimensionIndex {
+        private final Long2ObjectOpenHashMap<List<IndexedBounds>> anchorsByCell = new Long2ObjectOpenHashMap<>();
+        private final Long2ObjectOpenHashMap<List<IndexedBounds>> boundsByCell = new Long2ObjectOpenHashMap<>();
+
+        private void add(BlockPos anchorPos, MappedBounds bounds) {
+            IndexedBounds entry = new IndexedBounds(anchorPos, bounds);
+            anchorsByCell.computeIfAbsent(cellKey(anchorPos.getX(), anchorPos.getZ()), k -> new ArrayList<>()).add(entry);
+            if (bounds.minX() > bounds.maxX() || bounds.minZ() > bounds.maxZ()) {
+                return;
+            }
+            forEachBoundsCell(bounds, cell -> boundsByCell.computeIfAbsent(cell, k -> new ArrayList<>()).add(entry));
+        }
+
+        private void remove(BlockPos anchorPos, MappedBounds bounds) {
+            IndexedBounds entry = new IndexedBounds(anchorPos, bounds);
+            removeFrom(anchorsByCell, cellKey(anchorPos.getX(), anchorPos.getZ()), entry);
+            if (bounds.minX() > bounds.maxX() || bounds.minZ() > bounds.maxZ()) {
+                return;
             }
-            BlockPos anchorPos = entry.getKey().pos();
-            long dx = anchorPos.getX() - pos.getX();
-            long dz = anchorPos.getZ() - pos.getZ();
-            long distSq = dx * dx + dz * dz;
-            if (distSq <= radiusSq) {
-                entries.add(new AnchorMappedBounds(anchorPos.toImmutable(), entry.getValue(), distSq));
+            forEachBoundsCell(bounds, cell -> removeFrom(boundsByCell, cell, entry));
+        }
+
+        private static void forEachBoundsCell(MappedBounds bounds, LongConsumer action) {
+            int minCellX = Math.floorDiv(bounds.minX(), INDEX_CELL_SIZE);
+            int maxCellX = Math.floorDiv(bounds.maxX(), INDEX_CELL_SIZE);
+            int minCellZ = Math.floorDiv(bounds.minZ(), INDEX_CELL_SIZE);
+            int maxCellZ = Math.floorDiv(bounds.maxZ(), INDEX_CELL_SIZE);
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    action.accept(packCell(cellX, cellZ));
+                }
+            }
+        }
+
+        private static void removeFrom(Long2ObjectOpenHashMap<List<IndexedBounds>> cells, long cell, IndexedBounds entry) {
+            List<IndexedBounds> entries = cells.get(cell);
+            if (entries != null && entries.remove(entry) && entries.isEmpty()) {
+                cells.remove(cell);
             }
         }
-        entries.sort(Comparator.comparingLong(AnchorMappedBounds::distanceSq));
-        return entries;
     }
 }
@@ -1,15 +1,21 @@
 package dev.sterner.guardvillagers.common.util;
 
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.GlobalPos;
+import net.minecraft.village.VillagerProfession;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Tags every villager within {@link VillageGuardStandManager#BELL_EFFECT_RANGE} blocks of a
@@ -18,6 +24,15 @@ import java.util.List;
  * <p>The tag is written to the villager's NBT via {@link VillageMembershipHolder} (implemented
  * through {@code VillagerEntityMixin}) and persists across chunk reloads.
  *
+ * <p>Besides the bulk tag on every bell ring, membership is refreshed continuously: when a
+ * villager loads, when its job site or profession changes and when it crosses into another chunk.
+ * A villager keeps its home bell while it stays inside that bell's range and otherwise moves to
+ * the nearest primary bell in range (see {@link VillageBellMembershipIndex}); a villager outside
+ * every bell's range keeps its last tag. Breaking a primary bell re-homes its members the same way.
+ *
+ * <p>The same index keeps a per-bell roster of loaded members by profession, so village-scoped
+ * logic can enumerate members with {@link #membersOf} instead of box-scanning around the bell.
+ *
  * <p>This is the foundation for Quartermaster village pairing, mason wall boundary scans, and any
  * future inter-village logic that needs to know which bell "owns" a given villager.
  */
@@ -35,6 +50,9 @@ public final class VillageMembershipTracker {
      * @param primaryBellPos the resolved primary bell position
      */
     public static void tagVillagersNearBell(ServerWorld world, BlockPos primaryBellPos) {
+        VillageBellMembershipIndex index = index(world);
+        index.addBell(primaryBellPos.toImmutable());
+
         GlobalPos bellGlobalPos = GlobalPos.create(world.getRegistryKey(), primaryBellPos.toImmutable());
         Box searchBox = new Box(primaryBellPos).expand(VillageGuardStandManager.BELL_EFFECT_RANGE);
         List<VillagerEntity> villagers = world.getEntitiesByClass(VillagerEntity.class, searchBox, Entity::isAlive);
@@ -47,6 +65,7 @@ public final class VillageMembershipTracker {
                     holder.guardvillagers$setHomeBellPos(bellGlobalPos);
                     tagged++;
                 }
+                index.putMember(villager.getUuid(), bellGlobalPos.pos(), villager.getVillagerData().getProfession());
             }
         }
 
@@ -58,6 +77,91 @@ public final class VillageMembershipTracker {
         }
     }
 
+    /**
+     * Re-evaluates a single villager's home bell against the primary bells in range of its
+     * current position and files it in that bell's roster under its current profession.
+     */
+    public static void refreshMembership(ServerWorld world, VillagerEntity villager) {
+        if (!(villager instanceof VillageMembershipHolder holder)) {
+            return;
+        }
+        VillageBellMembershipIndex index = index(world);
+        BlockPos pos = villager.getBlockPos();
+        GlobalPos current = holder.guardvillagers$getHomeBellPos();
+        GlobalPos home = current;
+        if (current == null
+                || current.dimension() != world.getRegistryKey()
+                || !VillageBellMembershipIndex.isInRange(current.pos(), pos)) {
+            BlockPos nearest = index.nearestBellInRange(pos);
+            if (nearest != null) {
+                home = GlobalPos.create(world.getRegistryKey(), nearest);
+            }
+        }
+
+        if (home != null && !home.equals(current)) {
+            holder.guardvillagers$setHomeBellPos(home);
+            LOGGER.debug("VillageMembership: villager {} joined primary bell {} in {}",
+                    villager.getUuid(), home.pos().toShortString(), world.getRegistryKey().getValue());
+        }
+        if (home != null && home.dimension() == world.getRegistryKey()) {
+            index.putMember(villager.getUuid(), home.pos(), villager.getVillagerData().getProfession());
+        } else {
+            index.removeMember(villager.getUuid());
+        }
+    }
+
+    /**
+     * Drops a primary bell that stopped being a bell and moves its loaded members to the nearest
+     * remaining bell in range, clearing the tag of any that have none.
+     */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos, BlockState oldState, BlockState newState) {
+        if (!oldState.isOf(Blocks.BELL) || newState.isOf(Blocks.BELL)) {
+            return;
+        }
+        VillageBellMembershipIndex index = index(world);
+        if (!index.containsBell(pos)) {
+            return;
+        }
+        List<UUID> orphans = index.removeBell(pos);
+        for (UUID villagerId : orphans) {
+            if (!(world.getEntity(villagerId) instanceof VillagerEntity villager)
+                    || !villager.isAlive()
+                    || !(villager instanceof VillageMembershipHolder holder)) {
+                continue;
+            }
+            BlockPos nearest = index.nearestBellInRange(villager.getBlockPos());
+            if (nearest == null) {
+                holder.guardvillagers$setHomeBellPos(null);
+                continue;
+            }
+            holder.guardvillagers$setHomeBellPos(GlobalPos.create(world.getRegistryKey(), nearest));
+            index.putMember(villagerId, nearest, villager.getVillagerData().getProfession());
+        }
+        LOGGER.debug("VillageMembership: primary bell {} removed in {}, re-homed {} villager(s)",
+                pos.toShortString(), world.getRegistryKey().getValue(), orphans.size());
+    }
+
+    public static void onVillagerUnloaded(ServerWorld world, UUID villagerId) {
+        VillageBellMembershipIndex.forWorld(world).removeMember(villagerId);
+    }
+
+    /**
+     * Loaded, living villagers whose home bell is {@code primaryBellPos}; {@code profession} null
+     * returns every profession.
+     */
+    public static List<VillagerEntity> membersOf(ServerWorld world, BlockPos primaryBellPos, @Nullable VillagerProfession profession) {
+        VillageBellMembershipIndex index = index(world);
+        List<VillagerEntity> members = new ArrayList<>();
+        for (UUID villagerId : index.members(primaryBellPos, profession)) {
+            if (world.getEntity(villagerId) instanceof VillagerEntity villager && villager.isAlive()) {
+                members.add(villager);
+            } else {
+                index.removeMember(villagerId);
+            }
+        }
+        return members;
+    }
+
     /**
      * Returns the home bell {@link GlobalPos} for a villager, or {@code null} if not yet tagged.
      */
@@ -68,6 +172,20 @@ public final class VillageMembershipTracker {
         return null;
     }
 
+    /** The world's index, seeded from the saved primary-bell registry on first use. */
+    private static VillageBellMembershipIndex index(ServerWorld world) {
+        VillageBellMembershipIndex index = VillageBellMembershipIndex.forWorld(world);
+        if (!index.isSeeded()) {
+            index.markSeeded();
+            if (world.getServer() != null) {
+                for (BlockPos bellPos : BellChestMappingState.get(world.getServer()).getPrimaryBellPositions(world)) {
+                    index.addBell(bellPos);
+                }
+            }
+        }
+        return index;
+    }
+
     // -------------------------------------------------------------------------
     // Accessor interface — implemented by VillagerEntityMixin
     // -------------------------------------------------------------------------
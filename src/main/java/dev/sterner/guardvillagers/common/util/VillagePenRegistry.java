@@ -69,6 +69,9 @@ public class VillagePenRegistry extends PersistentState {
      * pens whose center is well beyond 8 blocks from the gate opening.)
      */
     private static final int GATE_INTERIOR_MAX_DISTANCE = 16;
+    /** Horizontal reach of a pen scan: gate search radius plus the interior BFS from a rim gate. */
+    private static final int PEN_SCAN_AREA_RADIUS = PEN_SCAN_RADIUS + GATE_INTERIOR_MAX_DISTANCE;
+    private static final String RESCAN_SWEEP = "pen-rescan";
 
     /**
      * A detected pen: the gate position, the interior center, and the foot (gate-level) position
@@ -209,15 +212,37 @@ public class VillagePenRegistry extends PersistentState {
         }
 
         int totalPens = 0;
+        int deferred = 0;
         for (BlockPos anchorPos : anchors) {
-            GlobalPos key = GlobalPos.create(world.getRegistryKey(), anchorPos.toImmutable());
-            List<PenEntry> pens = scanPensNearBell(world, anchorPos);
-            anchorToPens.put(key, pens);
-            totalPens += pens.size();
+            BlockPos immutableAnchor = anchorPos.toImmutable();
+            if (SweepWorldAccess.deferUntilAreaLoaded(world, immutableAnchor, PEN_SCAN_AREA_RADIUS, RESCAN_SWEEP,
+                    deferredWorld -> rescanAnchorIfLoaded(deferredWorld, immutableAnchor))) {
+                // Keep the previous pens for this anchor until its area is loaded again.
+                deferred++;
+                continue;
+            }
+            totalPens += rescanAnchor(world, immutableAnchor);
         }
 
         markDirty();
-        LOGGER.info("[VillagePenRegistry] rescan complete: {} anchor(s), {} pen(s) detected", anchors.size(), totalPens);
+        LOGGER.info("[VillagePenRegistry] rescan complete: {} anchor(s), {} pen(s) detected, {} deferred until loaded",
+                anchors.size() - deferred, totalPens, deferred);
+    }
+
+    private void rescanAnchorIfLoaded(ServerWorld world, BlockPos anchorPos) {
+        if (SweepWorldAccess.deferUntilAreaLoaded(world, anchorPos, PEN_SCAN_AREA_RADIUS, RESCAN_SWEEP,
+                deferredWorld -> rescanAnchorIfLoaded(deferredWorld, anchorPos))) {
+            return;
+        }
+        rescanAnchor(world, anchorPos);
+        markDirty();
+    }
+
+    private int rescanAnchor(ServerWorld world, BlockPos anchorPos) {
+        GlobalPos key = GlobalPos.create(world.getRegistryKey(), anchorPos);
+        List<PenEntry> pens = scanPensNearBell(world, anchorPos);
+        anchorToPens.put(key, pens);
+        return pens.size();
     }
 
     // -------------------------------------------------------------------------
@@ -449,7 +474,11 @@ public class VillagePenRegistry extends PersistentState {
     private static boolean hasFenceInDirection(ServerWorld world, BlockPos start, Direction dir, int maxDist) {
         for (int i = 1; i <= maxDist; i++) {
             BlockPos pos = start.offset(dir, i);
-            BlockState state = world.getBlockState(pos);
+            // A ray that reaches an unloaded chunk finds no fence rather than loading it.
+            BlockState state = SweepWorldAccess.getBlockStateIfLoaded(world, pos).orElse(null);
+            if (state == null) {
+                return false;
+            }
             if (state.getBlock() instanceof FenceBlock || state.getBlock() instanceof FenceGateBlock) {
                 return true;
             }
@@ -478,7 +507,10 @@ public class VillagePenRegistry extends PersistentState {
     private BlockPos findFenceInDirection(ServerWorld world, BlockPos start, Direction dir) {
         for (int i = 1; i <= PEN_FENCE_RANGE; i++) {
             BlockPos pos = start.offset(dir, i);
-            BlockState state = world.getBlockState(pos);
+            BlockState state = SweepWorldAccess.getBlockStateIfLoaded(world, pos).orElse(null);
+            if (state == null) {
+                return null;
+            }
             if (state.getBlock() instanceof FenceBlock || state.getBlock() instanceof FenceGateBlock) {
                 return pos;
             }
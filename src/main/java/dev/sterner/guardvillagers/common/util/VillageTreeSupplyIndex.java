@@ -0,0 +1,209 @@
+package dev.sterner.guardvillagers.common.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Incrementally maintained counts of tree trunk bases and saplings around village bells.
+ *
+ * <p>A trunk base is a log whose block below is not a log (one per tree column, matching the old
+ * cylinder scan). Positions are bucketed per chunk; a loaded chunk is indexed the first time a bell
+ * query covers it, rebuilt from its section palettes whenever it loads, and kept current afterwards
+ * from block-change events (player/forester place and break, sapling growth). Queries never load
+ * chunks: an unloaded chunk in range counts as empty and is remembered, so it is indexed by
+ * {@link #onChunkLoad} once something else loads it. Supply checks become a
+ * walk over a few small per-chunk sets instead of reading every block in the cylinder.
+ */
+public final class VillageTreeSupplyIndex {
+    private static final Map<RegistryKey<World>, VillageTreeSupplyIndex> INDEX_BY_WORLD = new HashMap<>();
+
+    private final LongOpenHashSet trackedChunks = new LongOpenHashSet();
+    /** Chunks a query covered while they were unloaded; indexed when they load. */
+    private final LongOpenHashSet pendingChunks = new LongOpenHashSet();
+    private final Long2ObjectOpenHashMap<ChunkTreeCounts> countsByChunk = new Long2ObjectOpenHashMap<>();
+
+    private VillageTreeSupplyIndex() {
+    }
+
+    public static VillageTreeSupplyIndex forWorld(ServerWorld world) {
+        return INDEX_BY_WORLD.computeIfAbsent(world.getRegistryKey(), key -> new VillageTreeSupplyIndex());
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        INDEX_BY_WORLD.remove(world.getRegistryKey());
+    }
+
+    public static void onChunkLoad(ServerWorld world, Chunk chunk) {
+        VillageTreeSupplyIndex index = INDEX_BY_WORLD.get(world.getRegistryKey());
+        if (index == null) {
+            return;
+        }
+        long chunkKey = chunk.getPos().toLong();
+        if (index.trackedChunks.contains(chunkKey) || index.pendingChunks.contains(chunkKey)) {
+            index.rebuildChunk(chunk);
+        }
+    }
+
+    public static void onBlockChanged(ServerWorld world, BlockPos pos, BlockState oldState, BlockState newState) {
+        boolean logChanged = oldState.isIn(BlockTags.LOGS) || newState.isIn(BlockTags.LOGS);
+        if (!logChanged && !oldState.isIn(BlockTags.SAPLINGS) && !newState.isIn(BlockTags.SAPLINGS)) {
+            return;
+        }
+        VillageTreeSupplyIndex index = INDEX_BY_WORLD.get(world.getRegistryKey());
+        if (index == null) {
+            return;
+        }
+        index.refresh(world, pos, newState);
+        if (logChanged) {
+            // The block above may have gained or lost its "trunk base" status.
+            BlockPos above = pos.up();
+            index.refresh(world, above, world.getBlockState(above));
+        }
+    }
+
+    /**
+     * Returns trunk bases (weight 1.0) plus saplings (weight 0.5) within {@code radius} of
+     * {@code center} and {@code yRange} blocks above/below it. Loaded chunks the index has not
+     * seen yet are indexed on demand; unloaded ones are skipped until they load.
+     */
+    public double countTreeUnits(ServerWorld world, BlockPos center, int radius, int yRange) {
+        int minChunkX = ChunkSectionPos.getSectionCoord(center.getX() - radius);
+        int maxChunkX = ChunkSectionPos.getSectionCoord(center.getX() + radius);
+        int minChunkZ = ChunkSectionPos.getSectionCoord(center.getZ() - radius);
+        int maxChunkZ = ChunkSectionPos.getSectionCoord(center.getZ() + radius);
+        double squaredRadius = (double) radius * radius;
+        double units = 0.0D;
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                long chunkKey = ChunkPos.toLong(chunkX, chunkZ);
+                if (!trackedChunks.contains(chunkKey)) {
+                    if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                        pendingChunks.add(chunkKey);
+                        continue;
+                    }
+                    rebuildChunk(world.getChunk(chunkX, chunkZ));
+                }
+                ChunkTreeCounts counts = countsByChunk.get(chunkKey);
+                if (counts == null) {
+                    continue;
+                }
+                units += countWithin(counts.trunkBases, center, squaredRadius, yRange);
+                units += 0.5D * countWithin(counts.saplings, center, squaredRadius, yRange);
+            }
+        }
+        return units;
+    }
+
+    void rebuildChunk(Chunk chunk) {
+        long chunkKey = chunk.getPos().toLong();
+        trackedChunks.add(chunkKey);
+        pendingChunks.remove(chunkKey);
+        countsByChunk.remove(chunkKey);
+        ChunkSection[] sections = chunk.getSectionArray();
+        int startX = chunk.getPos().getStartX();
+        int startZ = chunk.getPos().getStartZ();
+        BlockPos.Mutable cursor = new BlockPos.Mutable();
+        for (int sectionIndex = 0; sectionIndex < sections.length; sectionIndex++) {
+            ChunkSection section = sections[sectionIndex];
+            if (section == null || section.isEmpty()
+                    || !section.hasAny(state -> state.isIn(BlockTags.LOGS) || state.isIn(BlockTags.SAPLINGS))) {
+                continue;
+            }
+            int baseY = ChunkSectionPos.getBlockCoord(chunk.sectionIndexToCoord(sectionIndex));
+            for (int localY = 0; localY < 16; localY++) {
+                for (int localZ = 0; localZ < 16; localZ++) {
+                    for (int localX = 0; localX < 16; localX++) {
+                        BlockState state = section.getBlockState(localX, localY, localZ);
+                        if (state.isIn(BlockTags.SAPLINGS)) {
+                            cursor.set(startX + localX, baseY + localY, startZ + localZ);
+                            countsFor(chunkKey).saplings.add(cursor.asLong());
+                        } else if (state.isIn(BlockTags.LOGS)) {
+                            BlockState below = localY > 0
+                                    ? section.getBlockState(localX, localY - 1, localZ)
+                                    : chunk.getBlockState(cursor.set(startX + localX, baseY - 1, startZ + localZ));
+                            if (!below.isIn(BlockTags.LOGS)) {
+                                cursor.set(startX + localX, baseY + localY, startZ + localZ);
+                                countsFor(chunkKey).trunkBases.add(cursor.asLong());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    int trackedChunkCount() {
+        return trackedChunks.size();
+    }
+
+    private void refresh(ServerWorld world, BlockPos pos, BlockState state) {
+        long chunkKey = ChunkPos.toLong(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ()));
+        if (!trackedChunks.contains(chunkKey)) {
+            return;
+        }
+        long posKey = pos.asLong();
+        boolean sapling = state.isIn(BlockTags.SAPLINGS);
+        boolean trunkBase = state.isIn(BlockTags.LOGS) && !world.getBlockState(pos.down()).isIn(BlockTags.LOGS);
+        ChunkTreeCounts counts = countsByChunk.get(chunkKey);
+        if (counts == null) {
+            if (!sapling && !trunkBase) {
+                return;
+            }
+            counts = countsFor(chunkKey);
+        }
+        if (sapling) {
+            counts.saplings.add(posKey);
+        } else {
+            counts.saplings.remove(posKey);
+        }
+        if (trunkBase) {
+            counts.trunkBases.add(posKey);
+        } else {
+            counts.trunkBases.remove(posKey);
+        }
+        if (counts.trunkBases.isEmpty() && counts.saplings.isEmpty()) {
+            countsByChunk.remove(chunkKey);
+        }
+    }
+
+    private ChunkTreeCounts countsFor(long chunkKey) {
+        return countsByChunk.computeIfAbsent(chunkKey, key -> new ChunkTreeCounts());
+    }
+
+    private static int countWithin(LongOpenHashSet positions, BlockPos center, double squaredRadius, int yRange) {
+        int count = 0;
+        LongIterator iterator = positions.iterator();
+        while (iterator.hasNext()) {
+            long packed = iterator.nextLong();
+            int dy = BlockPos.unpackLongY(packed) - center.getY();
+            if (dy < -yRange || dy > yRange) {
+                continue;
+            }
+            double dx = BlockPos.unpackLongX(packed) - center.getX();
+            double dz = BlockPos.unpackLongZ(packed) - center.getZ();
+            if (dx * dx + dy * dy + dz * dz < squaredRadius) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static final class ChunkTreeCounts {
+        private final LongOpenHashSet trunkBases = new LongOpenHashSet();
+        private final LongOpenHashSet saplings = new LongOpenHashSet();
+    }
+}
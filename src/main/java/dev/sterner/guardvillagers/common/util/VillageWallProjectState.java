@@ -14,7 +14,9 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.GlobalPos;
 import net.minecraft.world.PersistentState;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,6 +43,13 @@ public class VillageWallProjectState extends PersistentState {
     private static final String MASON_UUID_KEY = "MasonUuid";
     private static final String SEGMENTS_PLACED_KEY = "SegmentsPlaced";
     private static final String SESSIONS_RUN_KEY = "SessionsRun";
+    private static final String PLAN_KEY = "Plan";
+    private static final String PLAN_VERSION_KEY = "Version";
+    private static final String PLAN_WALL_Y_KEY = "WallY";
+    private static final String PLAN_SEGMENTS_KEY = "Segments";
+    private static final String PLAN_BASELINE_COLUMNS_KEY = "BaselineColumns";
+    private static final String PLAN_BASELINE_GROUND_Y_KEY = "BaselineGroundY";
+    private static final String PLAN_GATES_KEY = "Gates";
 
     private final Map<GlobalPos, WallProject> projects = new HashMap<>();
     private final Map<GlobalPos, Map<BlockPos, SegmentClaim>> segmentClaims = new HashMap<>();
@@ -70,8 +79,9 @@ public class VillageWallProjectState extends PersistentState {
 
             RegistryKey<net.minecraft.world.World> worldKey = RegistryKey.of(RegistryKeys.WORLD, dimId);
             GlobalPos key = GlobalPos.create(worldKey, anchorPos.get().toImmutable());
+            PerimeterBounds bounds = new PerimeterBounds(row.getInt(MIN_X_KEY), row.getInt(MAX_X_KEY), row.getInt(MIN_Z_KEY), row.getInt(MAX_Z_KEY));
             WallProject project = new WallProject(
-                    new PerimeterBounds(row.getInt(MIN_X_KEY), row.getInt(MAX_X_KEY), row.getInt(MIN_Z_KEY), row.getInt(MAX_Z_KEY)),
+                    bounds,
                     new PerimeterSignature(row.getInt(POI_COUNT_KEY), row.getInt(POI_HASH_KEY)),
                     row.getBoolean(LAYER1_COMPLETE_KEY),
                     row.getBoolean(LAYER2_COMPLETE_KEY),
@@ -82,7 +92,8 @@ public class VillageWallProjectState extends PersistentState {
                             : null,
                     row.contains(ASSIGNMENT_START_TICK_KEY, NbtElement.LONG_TYPE) ? row.getLong(ASSIGNMENT_START_TICK_KEY) : -1L,
                     row.contains(LAST_SEGMENT_PLACED_TICK_KEY, NbtElement.LONG_TYPE) ? row.getLong(LAST_SEGMENT_PLACED_TICK_KEY) : -1L,
-                    readParticipation(row)
+                    readParticipation(row),
+                    readPlan(row, bounds)
             );
             state.projects.put(key, project);
         }
@@ -113,6 +124,9 @@ public class VillageWallProjectState extends PersistentState {
             row.putLong(ASSIGNMENT_START_TICK_KEY, project.assignmentStartTick());
             row.putLong(LAST_SEGMENT_PLACED_TICK_KEY, project.lastSegmentPlacedTick());
             row.put(PARTICIPATION_KEY, writeParticipation(project.participation()));
+            if (project.plan() != null) {
+                row.put(PLAN_KEY, writePlan(project.plan()));
+            }
             list.add(row);
         }
         nbt.put(PROJECTS_KEY, list);
@@ -126,12 +140,12 @@ public class VillageWallProjectState extends PersistentState {
         GlobalPos key = GlobalPos.create(worldKey, anchorPos.toImmutable());
         WallProject current = projects.get(key);
         if (current == null) {
-            projects.put(key, new WallProject(bounds, signature, false, false, false, false, null, -1L, -1L, Map.of()));
+            projects.put(key, new WallProject(bounds, signature, false, false, false, false, null, -1L, -1L, Map.of(), null));
             markDirty();
             return true;
         }
         if (!current.bounds().equals(bounds) || !current.signature().equals(signature)) {
-            projects.put(key, new WallProject(bounds, signature, false, false, false, false, null, -1L, -1L, current.participation()));
+            projects.put(key, new WallProject(bounds, signature, false, false, false, false, null, -1L, -1L, current.participation(), null));
             markDirty();
             return true;
         }
@@ -155,7 +169,75 @@ public class VillageWallProjectState extends PersistentState {
                 null,
                 -1L,
                 current.lastSegmentPlacedTick(),
-                current.participation()
+                current.participation(),
+                current.plan()
+        ));
+        markDirty();
+    }
+
+    /**
+     * Records per-layer completion for a project that is still being built. Fully complete
+     * projects go through {@link #markAllLayersComplete} instead.
+     */
+    public void updateLayerProgress(RegistryKey<net.minecraft.world.World> worldKey,
+                                    BlockPos anchorPos,
+                                    boolean layer1Complete,
+                                    boolean layer2Complete,
+                                    boolean layer3Complete) {
+        GlobalPos key = GlobalPos.create(worldKey, anchorPos.toImmutable());
+        WallProject current = projects.get(key);
+        if (current == null) return;
+        if (current.layer1Complete() == layer1Complete
+                && current.layer2Complete() == layer2Complete
+                && current.layer3Complete() == layer3Complete) {
+            return;
+        }
+        projects.put(key, new WallProject(
+                current.bounds(),
+                current.signature(),
+                layer1Complete,
+                layer2Complete,
+                layer3Complete,
+                current.complete(),
+                current.currentBuilderUuid(),
+                current.assignmentStartTick(),
+                current.lastSegmentPlacedTick(),
+                current.participation(),
+                current.plan()
+        ));
+        markDirty();
+    }
+
+    /**
+     * Returns the stored compiled plan when it was compiled for {@code version}. A plan compiled
+     * for any other footprint version is treated as absent, so the caller recompiles.
+     */
+    public Optional<CompiledWallPlan> getCompiledPlan(RegistryKey<net.minecraft.world.World> worldKey, BlockPos anchorPos, int version) {
+        GlobalPos key = GlobalPos.create(worldKey, anchorPos.toImmutable());
+        WallProject project = projects.get(key);
+        if (project == null || project.plan() == null || project.plan().version() != version) {
+            return Optional.empty();
+        }
+        return Optional.of(project.plan());
+    }
+
+    /** Stores {@code plan} on an existing project, replacing any plan from an older footprint. */
+    public void storeCompiledPlan(RegistryKey<net.minecraft.world.World> worldKey, BlockPos anchorPos, CompiledWallPlan plan) {
+        GlobalPos key = GlobalPos.create(worldKey, anchorPos.toImmutable());
+        WallProject current = projects.get(key);
+        if (current == null || plan.equals(current.plan())) return;
+        projects.put(key, new WallProject(
+                current.bounds(),
+                current.signature(),
+                current.layer1Complete(),
+                current.layer2Complete(),
+                current.layer3Complete(),
+                current.complete(),
+                current.currentBuilderUuid(),
+                current.assignmentStartTick(),
+                current.lastSegmentPlacedTick(),
+                current.participation(),
+                plan
         ));
         markDirty();
     }
@@ -331,6 +413,24 @@ public class VillageWallProjectState extends PersistentState {
 
     public record ProjectAssignmentSnapshot(UUID builderUuid, long assignmentStartTick, long lastSegmentPlacedTick) {}
 
+    /**
+     * A wall plan compiled for one footprint: the rectangle (with its wall Y), the layer-ordered
+     * segment list, the frozen ground baseline per perimeter column and the reserved gate
+     * positions. {@code version} identifies the footprint the plan was compiled from.
+     */
+    public record CompiledWallPlan(int version,
+                                   PerimeterBounds bounds,
+                                   int wallY,
+                                   List<BlockPos> segments,
+                                   Map<Long, Integer> baselineGroundYByColumn,
+                                   List<BlockPos> gatePositions) {
+        public CompiledWallPlan {
+            segments = List.copyOf(segments);
+            baselineGroundYByColumn = Map.copyOf(baselineGroundYByColumn);
+            gatePositions = List.copyOf(gatePositions);
+        }
+    }
+
     private record WallProject(PerimeterBounds bounds,
                                PerimeterSignature signature,
                                boolean layer1Complete,
@@ -340,7 +440,8 @@ public class VillageWallProjectState extends PersistentState {
                                UUID currentBuilderUuid,
                                long assignmentStartTick,
                                long lastSegmentPlacedTick,
-                               Map<UUID, ParticipationStats> participation) {
+                               Map<UUID, ParticipationStats> participation,
+                               CompiledWallPlan plan) {
         private WallProject withAssignment(UUID builderUuid,
                                            long startTick,
                                            long progressTick,
@@ -355,7 +456,8 @@ public class VillageWallProjectState extends PersistentState {
                     builderUuid,
                     startTick,
                     progressTick,
-                    Map.copyOf(updatedParticipation)
+                    Map.copyOf(updatedParticipation),
+                    plan
             );
         }
     }
@@ -399,4 +501,63 @@ public class VillageWallProjectState extends PersistentState {
         }
         return list;
     }
+
+    private static CompiledWallPlan readPlan(NbtCompound row, PerimeterBounds bounds) {
+        if (!row.contains(PLAN_KEY, NbtElement.COMPOUND_TYPE)) {
+            return null;
+        }
+        NbtCompound plan = row.getCompound(PLAN_KEY);
+        long[] baselineColumns = plan.getLongArray(PLAN_BASELINE_COLUMNS_KEY);
+        int[] baselineGroundY = plan.getIntArray(PLAN_BASELINE_GROUND_Y_KEY);
+        if (baselineColumns.length != baselineGroundY.length) {
+            return null;
+        }
+        Map<Long, Integer> baseline = new HashMap<>(baselineColumns.length);
+        for (int i = 0; i < baselineColumns.length; i++) {
+            baseline.put(baselineColumns[i], baselineGroundY[i]);
+        }
+        return new CompiledWallPlan(
+                plan.getInt(PLAN_VERSION_KEY),
+                bounds,
+                plan.getInt(PLAN_WALL_Y_KEY),
+                readPositions(plan.getLongArray(PLAN_SEGMENTS_KEY)),
+                baseline,
+                readPositions(plan.getLongArray(PLAN_GATES_KEY))
+        );
+    }
+
+    private static NbtCompound writePlan(CompiledWallPlan plan) {
+        NbtCompound nbt = new NbtCompound();
+        nbt.putInt(PLAN_VERSION_KEY, plan.version());
+        nbt.putInt(PLAN_WALL_Y_KEY, plan.wallY());
+        nbt.putLongArray(PLAN_SEGMENTS_KEY, writePositions(plan.segments()));
+        long[] baselineColumns = new long[plan.baselineGroundYByColumn().size()];
+        int[] baselineGroundY = new int[baselineColumns.length];
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : plan.baselineGroundYByColumn().entrySet()) {
+            baselineColumns[i] = entry.getKey();
+            baselineGroundY[i] = entry.getValue();
+            i++;
+        }
+        nbt.putLongArray(PLAN_BASELINE_COLUMNS_KEY, baselineColumns);
+        nbt.putIntArray(PLAN_BASELINE_GROUND_Y_KEY, baselineGroundY);
+        nbt.putLongArray(PLAN_GATES_KEY, writePositions(plan.gatePositions()));
+        return nbt;
+    }
+
+    private static List<BlockPos> readPositions(long[] packed) {
+        List<BlockPos> positions = new ArrayList<>(packed.length);
+        for (long value : packed) {
+            positions.add(BlockPos.fromLong(value));
+        }
+        return positions;
+    }
+
+    private static long[] writePositions(List<BlockPos> positions) {
+        long[] packed = new long[positions.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = positions.get(i).asLong();
+        }
+        return packed;
+    }
 }
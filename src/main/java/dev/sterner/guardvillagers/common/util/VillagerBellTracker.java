@@ -69,6 +69,7 @@ public final class VillagerBellTracker {
     }
 
     public static void handleBellRung(ServerWorld world, BlockPos bellPos) {
+        VillageMembershipTracker.tagVillagersNearBell(world, bellPos);
         BellVillageReport report = snapshotBellVillageReport(world, bellPos);
         logBellVillagerStats(world, bellPos, report);
         writeBellReportBooks(world, bellPos, report);
@@ -435,7 +436,8 @@ public final class VillagerBellTracker {
 
     public static void directEmployedVillagersAndGuardsToStations(ServerWorld world, BlockPos bellPos) {
         Box searchBox = new Box(bellPos).expand(BELL_TRACKING_RANGE);
-        var villagers = world.getEntitiesByClass(VillagerEntity.class, searchBox, Entity::isAlive);
+        // The ring has just tagged every villager in range, so the bell's roster covers them.
+        var villagers = VillageMembershipTracker.membersOf(world, bellPos, null);
 
         for (VillagerEntity villager : villagers) {
             if (!isEmployedVillager(villager)) {
@@ -0,0 +1,421 @@
+package dev.sterner.guardvillagers.common.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.ai.pathing.NavigationType;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.GlobalPos;
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Path reachability cache shared by every mason working on the same
+ * {@link VillageWallProjectState} project.
+ *
+ * <p>Two layers answer "can a mason standing at A reach nav target B":
+ * <ol>
+ *   <li>Explicit navigation probe results keyed by (segment, nav target, coarse tick bucket),
+ *       recorded by whichever mason paid for the probe.</li>
+ *   <li>Walkable flood-fill regions keyed by the cell they were filled from. The fill is directed
+ *       (a mason can drop further than it can climb), so a region only answers queries from its
+ *       own origin; a whole sortie's worth of segment candidates from one standing spot still costs
+ *       a single fill instead of one navigation probe each.</li>
+ * </ol>
+ *
+ * <p>Entries expire after {@link #TTL_TICKS} and the whole project cache is dropped as soon as a
+ * block changes within {@link #FOOTPRINT_MARGIN} of the wall line, except for the
+ * project's own wall placements: those are bracketed with {@link #beginPlannedPlacement} and only
+ * carve the placed cell out of the cache, so masons building the wall do not wipe each other's
+ * probes with every block they lay. A project's cache is removed when its wall completes, and
+ * caches no mason has used for {@link #IDLE_EVICTION_TICKS} are swept out with their abandoned
+ * anchors.
+ */
+public final class WallPathReachabilityCache {
+    static final long BUCKET_TICKS = 20L;
+    static final long TTL_TICKS = 80L;
+    static final int FOOTPRINT_MARGIN = 6;
+    static final int FLOOD_FILL_MAX_NODES = 8192;
+    static final int FLOOD_FILL_VERTICAL_RANGE = 16;
+    static final long IDLE_EVICTION_TICKS = 6000L;
+    static final long EVICTION_SWEEP_INTERVAL_TICKS = 1200L;
+    private static final int MAX_STEP_UP = 1;
+    private static final int MAX_DROP = 3;
+    private static final Direction[] HORIZONTAL = {Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST};
+    private static final long NO_PLANNED_PLACEMENT = Long.MIN_VALUE;
+
+    private static final Map<GlobalPos, WallPathReachabilityCache> PROJECT_CACHES = new HashMap<>();
+    private static final Map<RegistryKey<World>, Long> LAST_EVICTION_SWEEP_TICKS = new HashMap<>();
+
+    private final Map<ProbeKey, ProbeEntry> probeResults = new HashMap<>();
+    private final Long2ObjectOpenHashMap<ReachableRegion> regions = new Long2ObjectOpenHashMap<>();
+    private boolean hasFootprint = false;
+    private int footprintMinX;
+    private int footprintMinZ;
+    private int footprintMaxX;
+    private int footprintMaxZ;
+    private int interiorMinX;
+    private int interiorMinZ;
+    private int interiorMaxX;
+    private int interiorMaxZ;
+    private int probeHits = 0;
+    private int regionHits = 0;
+    private int floodFills = 0;
+    private int invalidations = 0;
+    private int plannedPlacements = 0;
+    private long plannedPlacement = NO_PLANNED_PLACEMENT;
+    private long lastUsedTick = Long.MIN_VALUE;
+
+    public enum ProbeAnswer {
+        REACHABLE,
+        UNREACHABLE,
+        UNKNOWN
+    }
+
+    public static WallPathReachabilityCache forProject(ServerWorld world, BlockPos anchorPos) {
+        return PROJECT_CACHES.computeIfAbsent(GlobalPos.create(world.getRegistryKey(), anchorPos.toImmutable()),
+                ignored -> new WallPathReachabilityCache());
+    }
+
+    /**
+     * Drops every project cache whose wall footprint contains {@code pos}, or just carves the cell
+     * out when the change is that project's planned placement. Called from the block-change hook,
+     * so the common case (change far from any wall) is a handful of int compares.
+     */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos) {
+        if (PROJECT_CACHES.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<GlobalPos, WallPathReachabilityCache> entry : PROJECT_CACHES.entrySet()) {
+            if (entry.getKey().dimension() != world.getRegistryKey()) {
+                continue;
+            }
+            WallPathReachabilityCache cache = entry.getValue();
+            if (!cache.footprintContains(pos.getX(), pos.getZ())) {
+                continue;
+            }
+            if (cache.plannedPlacement == pos.asLong()) {
+                cache.carvePlacement(pos);
+            } else {
+                cache.invalidate();
+            }
+        }
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        PROJECT_CACHES.keySet().removeIf(key -> key.dimension() == world.getRegistryKey());
+        LAST_EVICTION_SWEEP_TICKS.remove(world.getRegistryKey());
+    }
+
+    public static void removeProject(ServerWorld world, BlockPos anchorPos) {
+        PROJECT_CACHES.remove(GlobalPos.create(world.getRegistryKey(), anchorPos.toImmutable()));
+    }
+
+    /**
+     * Drops project caches in {@code world} that no mason has queried or probed for
+     * {@link #IDLE_EVICTION_TICKS}, at most once per {@link #EVICTION_SWEEP_INTERVAL_TICKS}. A cache
+     * never used yet, or seen with a clock that ran backwards, restarts its idle clock instead.
+     */
+    public static void evictIdleIfDue(ServerWorld world) {
+        if (PROJECT_CACHES.isEmpty()) {
+            return;
+        }
+        long now = world.getTime();
+        RegistryKey<World> dimension = world.getRegistryKey();
+        Long lastSweep = LAST_EVICTION_SWEEP_TICKS.get(dimension);
+        if (lastSweep != null && now >= lastSweep && now - lastSweep < EVICTION_SWEEP_INTERVAL_TICKS) {
+            return;
+        }
+        LAST_EVICTION_SWEEP_TICKS.put(dimension, now);
+        PROJECT_CACHES.entrySet().removeIf(entry -> entry.getKey().dimension() == dimension && entry.getValue().isIdle(now));
+    }
+
+    /**
+     * Sets the wall rectangle this cache covers. The footprint is the band within
+     * {@link #FOOTPRINT_MARGIN} of the rectangle's edges: block changes outside it, including crops,
+     * doors and villager edits deep inside the village, never invalidate the cache, and flood fills
+     * never leave it.
+     */
+    public void updateFootprint(int minX, int minZ, int maxX, int maxZ) {
+        int expandedMinX = minX - FOOTPRINT_MARGIN;
+        int expandedMinZ = minZ - FOOTPRINT_MARGIN;
+        int expandedMaxX = maxX + FOOTPRINT_MARGIN;
+        int expandedMaxZ = maxZ + FOOTPRINT_MARGIN;
+        if (hasFootprint
+                && footprintMinX == expandedMinX
+                && footprintMinZ == expandedMinZ
+                && footprintMaxX == expandedMaxX
+                && footprintMaxZ == expandedMaxZ) {
+            return;
+        }
+        hasFootprint = true;
+        footprintMinX = expandedMinX;
+        footprintMinZ = expandedMinZ;
+        footprintMaxX = expandedMaxX;
+        footprintMaxZ = expandedMaxZ;
+        interiorMinX = minX + FOOTPRINT_MARGIN;
+        interiorMinZ = minZ + FOOTPRINT_MARGIN;
+        interiorMaxX = maxX - FOOTPRINT_MARGIN;
+        interiorMaxZ = maxZ - FOOTPRINT_MARGIN;
+        invalidate();
+    }
+
+    /**
+     * Marks the next block change at {@code pos} as a wall segment placed by this project. Call
+     * {@link #endPlannedPlacement} once the write returns; the mark covers that write only.
+     */
+    public void beginPlannedPlacement(BlockPos pos) {
+        plannedPlacement = pos.asLong();
+    }
+
+    public void endPlannedPlacement() {
+        plannedPlacement = NO_PLANNED_PLACEMENT;
+    }
+
+    /**
+     * Answers a reachability query from cached probes or flood-fill regions. Only builds a new
+     * flood fill when {@code allowFloodFill} is set and no live region was filled from {@code origin};
+     * the fill is what callers should charge against their probe budget.
+     */
+    public ProbeAnswer query(ServerWorld world,
+                             BlockPos origin,
+                             BlockPos segment,
+                             BlockPos navTarget,
+                             long now,
+                             boolean allowFloodFill) {
+        lastUsedTick = now;
+        ProbeEntry cached = findCachedProbe(segment, navTarget, now);
+        if (cached != null) {
+            probeHits++;
+            return cached.reachesTarget() ? ProbeAnswer.REACHABLE : ProbeAnswer.UNREACHABLE;
+        }
+        if (!hasFootprint) {
+            return ProbeAnswer.UNKNOWN;
+        }
+
+        long originKey = normalizeOrigin(world, origin);
+        if (originKey == Long.MIN_VALUE) {
+            return ProbeAnswer.UNKNOWN;
+        }
+        ReachableRegion region = findRegionFrom(originKey, now);
+        if (region == null) {
+            if (!allowFloodFill) {
+                return ProbeAnswer.UNKNOWN;
+            }
+            region = floodFill(world, originKey, now);
+            regions.put(originKey, region);
+            floodFills++;
+        } else {
+            regionHits++;
+        }
+
+        if (region.cells().contains(navTarget.asLong())) {
+            recordProbe(segment, navTarget, true, now);
+            return ProbeAnswer.REACHABLE;
+        }
+        // A miss is only authoritative when the fill was exhaustive and the target is a cell the
+        // fill itself would have accepted; otherwise the walkability model may simply disagree
+        // with vanilla navigation, so leave it to a real probe.
+        if (region.complete() && footprintContains(navTarget.getX(), navTarget.getZ())
+                && Math.abs(navTarget.getY() - region.originY()) <= FLOOD_FILL_VERTICAL_RANGE
+                && isWalkableCell(world, navTarget)) {
+            recordProbe(segment, navTarget, false, now);
+            return ProbeAnswer.UNREACHABLE;
+        }
+        return ProbeAnswer.UNKNOWN;
+    }
+
+    public void recordProbe(BlockPos segment, BlockPos navTarget, boolean reachesTarget, long now) {
+        lastUsedTick = now;
+        probeResults.put(new ProbeKey(segment.toImmutable(), navTarget.toImmutable(), coarseTickBucket(now)),
+                new ProbeEntry(reachesTarget, now + TTL_TICKS));
+    }
+
+    public void prune(long now) {
+        probeResults.entrySet().removeIf(entry -> entry.getValue().expiresAtTick() <= now);
+        regions.values().removeIf(region -> region.expiresAtTick() <= now);
+    }
+
+    public String describeStats() {
+        return "probes=" + probeResults.size()
+                + " regions=" + regions.size()
+                + " probeHits=" + probeHits
+                + " regionHits=" + regionHits
+                + " floodFills=" + floodFills
+                + " invalidations=" + invalidations
+                + " plannedPlacements=" + plannedPlacements;
+    }
+
+    /**
+     * A wall block only takes walkable cells away: the placed cell loses its room and the cell
+     * above now stands on a wall, which the walkability model rejects. Probes aimed at either
+     * cell are dropped, and so is every region that held one of them, since the placement may have
+     * cut that region in two. Regions elsewhere along the wall and the other probes stay valid.
+     */
+    private void carvePlacement(BlockPos pos) {
+        long placed = pos.asLong();
+        long above = pos.up().asLong();
+        probeResults.keySet().removeIf(key -> key.segment().asLong() == placed
+                || key.navTarget().asLong() == placed
+                || key.navTarget().asLong() == above);
+        regions.values().removeIf(region -> region.cells().contains(placed) || region.cells().contains(above));
+        plannedPlacements++;
+    }
+
+    private boolean isIdle(long now) {
+        if (lastUsedTick == Long.MIN_VALUE || now < lastUsedTick) {
+            lastUsedTick = now;
+            return false;
+        }
+        return now - lastUsedTick >= IDLE_EVICTION_TICKS;
+    }
+
+    private void invalidate() {
+        if (probeResults.isEmpty() && regions.isEmpty()) {
+            return;
+        }
+        probeResults.clear();
+        regions.clear();
+        invalidations++;
+    }
+
+    private boolean footprintContains(int x, int z) {
+        return hasFootprint
+                && x >= footprintMinX && x <= footprintMaxX && z >= footprintMinZ && z <= footprintMaxZ
+                && !(x > interiorMinX && x < interiorMaxX && z > interiorMinZ && z < interiorMaxZ);
+    }
+
+    private ProbeEntry findCachedProbe(BlockPos segment, BlockPos navTarget, long now) {
+        long currentBucket = coarseTickBucket(now);
+        int maxBucketsBack = (int) Math.max(1L, (TTL_TICKS + BUCKET_TICKS - 1L) / BUCKET_TICKS);
+        for (int offset = 0; offset <= maxBucketsBack; offset++) {
+            long bucket = currentBucket - offset;
+            if (bucket < 0L) {
+                break;
+            }
+            ProbeEntry cached = probeResults.get(new ProbeKey(segment, navTarget, bucket));
+            if (cached != null && cached.expiresAtTick() > now) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cells of a region are reachable from its fill origin, not from each other: a cell below a
+     * drop the fill took cannot climb back up. Only the region filled from {@code originKey}
+     * itself can answer for that origin.
+     */
+    private ReachableRegion findRegionFrom(long originKey, long now) {
+        ReachableRegion region = regions.get(originKey);
+        if (region != null && region.expiresAtTick() <= now) {
+            regions.remove(originKey);
+            return null;
+        }
+        return region;
+    }
+
+    /**
+     * Snaps an entity feet position to a walkable cell: entities standing on dirt paths or slabs
+     * report the partial block itself as their block position.
+     */
+    private long normalizeOrigin(ServerWorld world, BlockPos origin) {
+        if (isWalkableCell(world, origin)) {
+            return origin.asLong();
+        }
+        if (isWalkableCell(world, origin.up())) {
+            return origin.up().asLong();
+        }
+        if (isWalkableCell(world, origin.down())) {
+            return origin.down().asLong();
+        }
+        return Long.MIN_VALUE;
+    }
+
+    private ReachableRegion floodFill(ServerWorld world, long originKey, long now) {
+        int originY = BlockPos.unpackLongY(originKey);
+        LongOpenHashSet visited = new LongOpenHashSet();
+        LongArrayFIFOQueue frontier = new LongArrayFIFOQueue();
+        visited.add(originKey);
+        frontier.enqueue(originKey);
+        BlockPos.Mutable cursor = new BlockPos.Mutable();
+        boolean complete = true;
+
+        while (!frontier.isEmpty()) {
+            if (visited.size() >= FLOOD_FILL_MAX_NODES) {
+                complete = false;
+                break;
+            }
+            long current = frontier.dequeueLong();
+            int x = BlockPos.unpackLongX(current);
+            int y = BlockPos.unpackLongY(current);
+            int z = BlockPos.unpackLongZ(current);
+            for (Direction direction : HORIZONTAL) {
+                int nx = x + direction.getOffsetX();
+                int nz = z + direction.getOffsetZ();
+                if (!footprintContains(nx, nz)) {
+                    continue;
+                }
+                for (int dy = MAX_STEP_UP; dy >= -MAX_DROP; dy--) {
+                    int ny = y + dy;
+                    if (Math.abs(ny - originY) > FLOOD_FILL_VERTICAL_RANGE) {
+                        continue;
+                    }
+                    long neighborKey = BlockPos.asLong(nx, ny, nz);
+                    if (visited.contains(neighborKey)) {
+                        break;
+                    }
+                    cursor.set(nx, ny, nz);
+                    if (!isWalkableCell(world, cursor)) {
+                        continue;
+                    }
+                    if (dy > 0 && !isPassable(world, cursor.set(x, y + 2, z))) {
+                        // Stepping up needs head room above the current cell.
+                        break;
+                    }
+                    visited.add(neighborKey);
+                    frontier.enqueue(neighborKey);
+                    break;
+                }
+            }
+        }
+        return new ReachableRegion(visited, complete, originY, now + TTL_TICKS);
+    }
+
+    static long coarseTickBucket(long tick) {
+        return Math.max(0L, tick / BUCKET_TICKS);
+    }
+
+    private static boolean isWalkableCell(ServerWorld world, BlockPos feet) {
+        if (!world.isChunkLoaded(feet)) {
+            return false;
+        }
+        BlockPos floorPos = feet.down();
+        BlockState floor = world.getBlockState(floorPos);
+        if (floor.getCollisionShape(world, floorPos).isEmpty()
+                || floor.isIn(BlockTags.FENCES)
+                || floor.isIn(BlockTags.WALLS)
+                || floor.isIn(BlockTags.FENCE_GATES)) {
+            return false;
+        }
+        return isPassable(world, feet) && isPassable(world, feet.up());
+    }
+
+    private static boolean isPassable(ServerWorld world, BlockPos pos) {
+        BlockState state = world.getBlockState(pos);
+        return state.getFluidState().isEmpty() && state.canPathfindThrough(NavigationType.LAND);
+    }
+
+    private record ProbeKey(BlockPos segment, BlockPos navTarget, long coarseTickBucket) {}
+
+    private record ProbeEntry(boolean reachesTarget, long expiresAtTick) {}
+
+    private record ReachableRegion(LongOpenHashSet cells, boolean complete, int originY, long expiresAtTick) {}
+}
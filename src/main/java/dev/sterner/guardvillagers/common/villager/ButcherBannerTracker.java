@@ -3,12 +3,10 @@ package dev.sterner.guardvillagers.common.villager;
 import dev.sterner.guardvillagers.common.entity.ButcherGuardEntity;
 import net.minecraft.util.math.BlockPos;
 
-import java.util.Map;
 import java.util.Optional;
-import java.util.WeakHashMap;
 
 public final class ButcherBannerTracker {
-    private static final Map<ButcherGuardEntity, BlockPos> BANNERS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<BlockPos> BANNERS = VillagerComponents.key("butcher.banner");
 
     private ButcherBannerTracker() {
     }
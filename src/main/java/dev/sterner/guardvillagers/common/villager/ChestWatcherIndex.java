@@ -0,0 +1,102 @@
+package dev.sterner.guardvillagers.common.villager;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Chest position → watching entities, kept per dimension so a chest mutation in one world never wakes
+ * a watcher paired to the same coordinates in another.
+ *
+ * <p>Behaviours store the returned {@link Registration} as a villager component whose releaser calls
+ * {@link #unwatch}, so watchers leave the index when they unload, die or change profession.
+ */
+public final class ChestWatcherIndex<E extends Entity> {
+    private static final List<ChestWatcherIndex<?>> INDEXES = new ArrayList<>();
+
+    private final String name;
+    private final Map<RegistryKey<World>, Map<BlockPos, Set<E>>> watchersByWorld = new HashMap<>();
+
+    private ChestWatcherIndex(String name) {
+        this.name = name;
+    }
+
+    public static <E extends Entity> ChestWatcherIndex<E> create(String name) {
+        ChestWatcherIndex<E> index = new ChestWatcherIndex<>(name);
+        INDEXES.add(index);
+        return index;
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        for (ChestWatcherIndex<?> index : INDEXES) {
+            index.watchersByWorld.remove(world.getRegistryKey());
+        }
+    }
+
+    /** Watched chest positions per index, for the debug dump. */
+    public static Map<String, Integer> watchedPositionCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (ChestWatcherIndex<?> index : INDEXES) {
+            int positions = 0;
+            for (Map<BlockPos, ?> byPos : index.watchersByWorld.values()) {
+                positions += byPos.size();
+            }
+            counts.put(index.name, positions);
+        }
+        return counts;
+    }
+
+    public Registration<E> watch(ServerWorld world, E watcher, Set<BlockPos> positions) {
+        Registration<E> registration = new Registration<>(world.getRegistryKey(), watcher, Set.copyOf(positions));
+        Map<BlockPos, Set<E>> byPos = watchersByWorld.computeIfAbsent(registration.dimension(), ignored -> new HashMap<>());
+        for (BlockPos pos : registration.positions()) {
+            byPos.computeIfAbsent(pos, ignored -> new LinkedHashSet<>()).add(watcher);
+        }
+        return registration;
+    }
+
+    public void unwatch(Registration<E> registration) {
+        Map<BlockPos, Set<E>> byPos = watchersByWorld.get(registration.dimension());
+        if (byPos == null) {
+            return;
+        }
+        for (BlockPos pos : registration.positions()) {
+            Set<E> watchers = byPos.get(pos);
+            if (watchers == null) {
+                continue;
+            }
+            watchers.remove(registration.watcher());
+            if (watchers.isEmpty()) {
+                byPos.remove(pos);
+            }
+        }
+        if (byPos.isEmpty()) {
+            watchersByWorld.remove(registration.dimension());
+        }
+    }
+
+    /** Snapshot of the entities watching {@code chestPos} in {@code world}. */
+    public List<E> watchers(ServerWorld world, BlockPos chestPos) {
+        Map<BlockPos, Set<E>> byPos = watchersByWorld.get(world.getRegistryKey());
+        if (byPos == null) {
+            return List.of();
+        }
+        Set<E> watchers = byPos.get(chestPos);
+        return watchers == null || watchers.isEmpty() ? List.of() : List.copyOf(watchers);
+    }
+
+    public record Registration<E extends Entity>(RegistryKey<World> dimension, E watcher, Set<BlockPos> positions) {
+        public boolean covers(ServerWorld world, Set<BlockPos> observedPositions) {
+            return dimension == world.getRegistryKey() && positions.equals(observedPositions);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package dev.sterner.guardvillagers.common.villager;
 
+import dev.sterner.guardvillagers.common.util.VillageEventJournal;
 import net.minecraft.server.world.ServerWorld;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +23,18 @@ public final class CraftingCheckLogger {
     }
 
     public static void report(ServerWorld world, String profession, String triggerSource, int intervalTicks, String result) {
+        if (VillageEventJournal.isEnabled(VillageEventJournal.Category.CRAFTING)) {
+            VillageEventJournal journal = VillageEventJournal.forWorld(world);
+            VillageEventJournal.record(world, VillageEventJournal.EventType.CRAFT_CHECK, 0L, Long.MIN_VALUE,
+                    journal.intern(profession),
+                    journal.intern(triggerSource),
+                    intervalTicks,
+                    journal.intern(result));
+        }
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
+
         long tick = world.getTime();
         if (tick != lastTick) {
             clear();
@@ -63,6 +76,6 @@ public final class CraftingCheckLogger {
         for (Map.Entry<String, String> entry : ENTRIES.entrySet()) {
             builder.append("\n     ").append(entry.getKey()).append(" - ").append(entry.getValue());
         }
-        LOGGER.info(builder.toString());
+        LOGGER.debug(builder.toString());
     }
 }
@@ -3,12 +3,10 @@ package dev.sterner.guardvillagers.common.villager;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.util.math.BlockPos;
 
-import java.util.Map;
 import java.util.Optional;
-import java.util.WeakHashMap;
 
 public final class FarmerBannerTracker {
-    private static final Map<VillagerEntity, BlockPos> BANNERS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<BlockPos> BANNERS = VillagerComponents.key("farmer.banner");
 
     private FarmerBannerTracker() {
     }
@@ -0,0 +1,5 @@
+package dev.sterner.guardvillagers.common.villager;
+
+public interface VillagerComponentHolder {
+    VillagerComponents guardvillagers$getComponents();
+}
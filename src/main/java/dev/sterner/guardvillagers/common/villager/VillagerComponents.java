@@ -0,0 +1,186 @@
+package dev.sterner.guardvillagers.common.villager;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.ai.goal.Goal;
+import net.minecraft.entity.mob.MobEntity;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Per-entity component store for profession behaviours (goals, chest listeners, pairing state).
+ *
+ * <p>Each villager and guard carries one store. Behaviours declare a static {@link Key} per component
+ * and read or write it with map-like calls ({@code KEY.get(villager)}, {@code KEY.put(villager, value)}).
+ * Components are dropped explicitly through {@link #release} when the entity unloads, dies or changes
+ * profession; each key's {@link Releaser} undoes whatever the component registered outside the entity.
+ */
+public final class VillagerComponents {
+    private static final Map<String, Key<?>> KEYS = new LinkedHashMap<>();
+
+    private final Reference2ObjectOpenHashMap<Key<?>, Object> values = new Reference2ObjectOpenHashMap<>(4);
+
+    public enum ReleaseReason {
+        UNLOADED,
+        DIED,
+        PROFESSION_CHANGED
+    }
+
+    @FunctionalInterface
+    public interface Releaser<T> {
+        void release(Entity owner, T value, ReleaseReason reason);
+    }
+
+    public static <T> Key<T> key(String name) {
+        return key(name, null);
+    }
+
+    public static <T> Key<T> key(String name, @Nullable Releaser<? super T> releaser) {
+        Key<T> key = new Key<>(name, releaser);
+        if (KEYS.putIfAbsent(name, key) != null) {
+            throw new IllegalStateException("Duplicate villager component key " + name);
+        }
+        return key;
+    }
+
+    /**
+     * A key for a goal added to the owner's goal selector. The goal is removed from the selector when the
+     * villager changes profession; on unload or death it simply goes away with the entity.
+     */
+    public static <T extends Goal> Key<T> goalKey(String name) {
+        return key(name, (owner, goal, reason) -> {
+            if (reason == ReleaseReason.PROFESSION_CHANGED && owner instanceof MobEntity mob) {
+                mob.goalSelector.remove(goal);
+            }
+        });
+    }
+
+    @Nullable
+    public static VillagerComponents of(Entity entity) {
+        return entity instanceof VillagerComponentHolder holder ? holder.guardvillagers$getComponents() : null;
+    }
+
+    /** Drops every component of {@code entity}, running each key's releaser. */
+    public static void release(Entity entity, ReleaseReason reason) {
+        VillagerComponents components = of(entity);
+        if (components != null) {
+            components.releaseAll(entity, reason);
+        }
+    }
+
+    /** Live component count per key, in declaration order, for the debug dump. */
+    public static Map<String, Integer> liveCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Key<?> key : KEYS.values()) {
+            counts.put(key.name, key.liveCount);
+        }
+        return counts;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    void releaseAll(Entity owner, ReleaseReason reason) {
+        if (values.isEmpty()) {
+            return;
+        }
+        // Releasers may touch other components of the same entity, so work from a copy.
+        Reference2ObjectOpenHashMap<Key<?>, Object> released = values.clone();
+        values.clear();
+        for (Reference2ObjectMap.Entry<Key<?>, Object> entry : released.reference2ObjectEntrySet()) {
+            Key<Object> key = (Key<Object>) entry.getKey();
+            key.liveCount--;
+            if (key.releaser != null) {
+                key.releaser.release(owner, entry.getValue(), reason);
+            }
+        }
+    }
+
+    public static final class Key<T> {
+        private final String name;
+        @Nullable
+        private final Releaser<? super T> releaser;
+        private int liveCount;
+
+        private Key(String name, @Nullable Releaser<? super T> releaser) {
+            this.name = name;
+            this.releaser = releaser;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public int liveCount() {
+            return liveCount;
+        }
+
+        @Nullable
+        @SuppressWarnings("unchecked")
+        public T get(Entity entity) {
+            VillagerComponents components = of(entity);
+            return components == null ? null : (T) components.values.get(this);
+        }
+
+        public T getOrDefault(Entity entity, T defaultValue) {
+            T value = get(entity);
+            return value == null ? defaultValue : value;
+        }
+
+        public boolean containsKey(Entity entity) {
+            VillagerComponents components = of(entity);
+            return components != null && components.values.containsKey(this);
+        }
+
+        /** Stores {@code value} without releasing a previous one, mirroring {@link Map#put}. */
+        @Nullable
+        @SuppressWarnings("unchecked")
+        public T put(Entity entity, T value) {
+            VillagerComponents components = of(entity);
+            if (components == null) {
+                throw new IllegalArgumentException("Entity " + entity + " cannot hold villager components");
+            }
+            T previous = (T) components.values.put(this, Objects.requireNonNull(value, name));
+            if (previous == null) {
+                liveCount++;
+            }
+            return previous;
+        }
+
+        public T computeIfAbsent(Entity entity, Supplier<? extends T> factory) {
+            T value = get(entity);
+            if (value == null) {
+                value = factory.get();
+                put(entity, value);
+            }
+            return value;
+        }
+
+        /** Removes the component without running the releaser; callers clean up what they registered. */
+        @Nullable
+        @SuppressWarnings("unchecked")
+        public T remove(Entity entity) {
+            VillagerComponents components = of(entity);
+            if (components == null) {
+                return null;
+            }
+            T previous = (T) components.values.remove(this);
+            if (previous != null) {
+                liveCount--;
+            }
+            return previous;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package dev.sterner.guardvillagers.common.villager;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One value per villager, queryable across all villagers of a world (e.g. every active cartographer
+ * pairing). Membership is tracked as a villager component, so entries leave the index through the
+ * same unload/death/profession-change lifecycle as the rest of the villager's components.
+ */
+public final class VillagerWorldIndex<V> {
+    private static final List<VillagerWorldIndex<?>> INDEXES = new ArrayList<>();
+
+    private final Map<RegistryKey<World>, Map<UUID, V>> valuesByWorld = new HashMap<>();
+    private final VillagerComponents.Key<RegistryKey<World>> membership;
+
+    private VillagerWorldIndex(String name) {
+        this.membership = VillagerComponents.key(name, (owner, dimension, reason) -> removeEntry(dimension, owner.getUuid()));
+    }
+
+    public static <V> VillagerWorldIndex<V> create(String name) {
+        VillagerWorldIndex<V> index = new VillagerWorldIndex<>(name);
+        INDEXES.add(index);
+        return index;
+    }
+
+    public static void clearWorld(ServerWorld world) {
+        for (VillagerWorldIndex<?> index : INDEXES) {
+            index.valuesByWorld.remove(world.getRegistryKey());
+        }
+    }
+
+    public void put(ServerWorld world, Entity owner, V value) {
+        RegistryKey<World> dimension = world.getRegistryKey();
+        RegistryKey<World> previous = membership.put(owner, dimension);
+        if (previous != null && previous != dimension) {
+            removeEntry(previous, owner.getUuid());
+        }
+        valuesByWorld.computeIfAbsent(dimension, ignored -> new HashMap<>()).put(owner.getUuid(), value);
+    }
+
+    @Nullable
+    public V get(Entity owner) {
+        RegistryKey<World> dimension = membership.get(owner);
+        if (dimension == null) {
+            return null;
+        }
+        Map<UUID, V> values = valuesByWorld.get(dimension);
+        return values == null ? null : values.get(owner.getUuid());
+    }
+
+    public void remove(Entity owner) {
+        RegistryKey<World> dimension = membership.remove(owner);
+        if (dimension != null) {
+            removeEntry(dimension, owner.getUuid());
+        }
+    }
+
+    public Collection<V> values(ServerWorld world) {
+        Map<UUID, V> values = valuesByWorld.get(world.getRegistryKey());
+        return values == null ? List.of() : Collections.unmodifiableCollection(values.values());
+    }
+
+    private void removeEntry(RegistryKey<World> dimension, UUID owner) {
+        Map<UUID, V> values = valuesByWorld.get(dimension);
+        if (values != null) {
+            values.remove(owner);
+            if (values.isEmpty()) {
+                valuesByWorld.remove(dimension);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package dev.sterner.guardvillagers.common.villager.behavior;
 
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.VillagerProfessionBehavior;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
@@ -11,12 +12,16 @@ import net.minecraft.inventory.SimpleInventory;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 
-import java.util.Map;
 import java.util.function.Supplier;
 
 public abstract class AbstractPairedProfessionBehavior implements VillagerProfessionBehavior {
     protected static final double CHEST_PAIR_RANGE = 3.0D;
 
+    /** A chest-listener component whose listener is detached from the chest when the villager is released. */
+    protected static VillagerComponents.Key<ChestListenerRegistration> chestListenerKey(String name) {
+        return VillagerComponents.key(name, (owner, registration, reason) -> registration.inventory().removeListener(registration.listener()));
+    }
+
     protected boolean checkPairingPreconditions(ServerWorld world,
                                                 VillagerEntity villager,
                                                 BlockPos jobPos,
@@ -30,17 +35,17 @@ public abstract class AbstractPairedProfessionBehavior implements VillagerProfes
         return true;
     }
 
-    protected <T extends Goal> T upsertGoal(Map<VillagerEntity, T> goalMap,
+    protected <T extends Goal> T upsertGoal(VillagerComponents.Key<T> goalKey,
                                             VillagerEntity villager,
                                             int priority,
                                             Supplier<T> factory) {
-        T goal = goalMap.get(villager);
+        T goal = goalKey.get(villager);
         if (goal != null) {
             return goal;
         }
 
         goal = factory.get();
-        goalMap.put(villager, goal);
+        goalKey.put(villager, goal);
         villager.goalSelector.add(priority, goal);
         return goal;
     }
@@ -48,14 +53,14 @@ public abstract class AbstractPairedProfessionBehavior implements VillagerProfes
     protected void updateChestListener(ServerWorld world,
                                        VillagerEntity villager,
                                        BlockPos chestPos,
-                                       Map<VillagerEntity, ChestListenerRegistration> listenerMap,
+                                       VillagerComponents.Key<ChestListenerRegistration> listenerKey,
                                        ChestListenerFactory listenerFactory) {
         Inventory inventory = getChestInventory(world, chestPos);
-        ChestListenerRegistration existing = listenerMap.get(villager);
+        ChestListenerRegistration existing = listenerKey.get(villager);
         if (existing != null && existing.inventory() == inventory) {
             return;
         }
-        clearChestListener(listenerMap, villager);
+        clearChestListener(listenerKey, villager);
 
         if (!(inventory instanceof SimpleInventory simpleInventory)) {
             return;
@@ -63,11 +68,11 @@ public abstract class AbstractPairedProfessionBehavior implements VillagerProfes
 
         InventoryChangedListener listener = listenerFactory.create(world, villager);
         simpleInventory.addListener(listener);
-        listenerMap.put(villager, new ChestListenerRegistration(simpleInventory, listener));
+        listenerKey.put(villager, new ChestListenerRegistration(simpleInventory, listener));
     }
 
-    protected void clearChestListener(Map<VillagerEntity, ChestListenerRegistration> listenerMap, VillagerEntity villager) {
-        ChestListenerRegistration existing = listenerMap.remove(villager);
+    protected void clearChestListener(VillagerComponents.Key<ChestListenerRegistration> listenerKey, VillagerEntity villager) {
+        ChestListenerRegistration existing = listenerKey.remove(villager);
         if (existing != null) {
             existing.inventory().removeListener(existing.listener());
         }
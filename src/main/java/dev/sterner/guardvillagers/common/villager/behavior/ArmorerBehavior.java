@@ -3,6 +3,8 @@ package dev.sterner.guardvillagers.common.villager.behavior;
 import dev.sterner.guardvillagers.common.entity.goal.ArmorerBlastFurnaceGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ArmorerCraftingGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ArmorerDistributionGoal;
+import dev.sterner.guardvillagers.common.villager.ChestWatcherIndex;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
@@ -15,23 +17,21 @@ import net.minecraft.village.VillagerProfession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 public class ArmorerBehavior extends AbstractPairedProfessionBehavior {
     private static final Logger LOGGER = LoggerFactory.getLogger(ArmorerBehavior.class);
     private static final int BLAST_FURNACE_GOAL_PRIORITY = 3;
     private static final int CRAFTING_GOAL_PRIORITY = 4;
     private static final int DISTRIBUTION_GOAL_PRIORITY = 5;
-    private static final Map<VillagerEntity, BlockPos> PAIRED_CHESTS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ArmorerBlastFurnaceGoal> GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ArmorerCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ArmorerDistributionGoal> DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestRegistration> CHEST_REGISTRATIONS = new WeakHashMap<>();
-    private static final Map<BlockPos, Set<VillagerEntity>> CHEST_WATCHERS_BY_POS = new HashMap<>();
+    private static final VillagerComponents.Key<BlockPos> PAIRED_CHESTS = VillagerComponents.key("armorer.paired_chests");
+    private static final VillagerComponents.Key<ArmorerBlastFurnaceGoal> GOALS = VillagerComponents.goalKey("armorer.goals");
+    private static final VillagerComponents.Key<ArmorerCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("armorer.crafting_goals");
+    private static final VillagerComponents.Key<ArmorerDistributionGoal> DISTRIBUTION_GOALS = VillagerComponents.goalKey("armorer.distribution_goals");
+    private static final ChestWatcherIndex<VillagerEntity> CHEST_WATCHERS = ChestWatcherIndex.create("armorer");
+    private static final VillagerComponents.Key<ChestWatcherIndex.Registration<VillagerEntity>> CHEST_REGISTRATIONS = VillagerComponents.key(
+            "armorer.chest_registration", (owner, registration, reason) -> CHEST_WATCHERS.unwatch(registration));
 
     public static BlockPos getPairedChestPos(VillagerEntity villager) {
         return PAIRED_CHESTS.get(villager);
@@ -92,13 +92,8 @@ public class ArmorerBehavior extends AbstractPairedProfessionBehavior {
     }
 
     public static void onChestInventoryMutated(ServerWorld world, BlockPos chestPos) {
-        Set<VillagerEntity> villagers = CHEST_WATCHERS_BY_POS.get(chestPos);
-        if (villagers == null || villagers.isEmpty()) {
-            return;
-        }
-
-        for (VillagerEntity villager : Set.copyOf(villagers)) {
-            if (!villager.isAlive() || villager.getWorld() != world) {
+        for (VillagerEntity villager : CHEST_WATCHERS.watchers(world, chestPos)) {
+            if (!villager.isAlive()) {
                 continue;
             }
             ArmorerBlastFurnaceGoal blastFurnace = GOALS.get(villager);
@@ -123,39 +118,23 @@ public class ArmorerBehavior extends AbstractPairedProfessionBehavior {
             return;
         }
 
-        ChestRegistration existing = CHEST_REGISTRATIONS.get(villager);
-        if (existing != null && existing.observedChestPositions().equals(observedChestPositions)) {
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.get(villager);
+        if (existing != null && existing.covers(world, observedChestPositions)) {
             return;
         }
 
         if (existing != null) {
-            removeChestListener(existing);
+            CHEST_WATCHERS.unwatch(existing);
             CHEST_REGISTRATIONS.remove(villager);
         }
 
-        for (BlockPos observedPos : observedChestPositions) {
-            CHEST_WATCHERS_BY_POS.computeIfAbsent(observedPos, ignored -> new HashSet<>()).add(villager);
-        }
-        CHEST_REGISTRATIONS.put(villager, new ChestRegistration(villager, observedChestPositions));
+        CHEST_REGISTRATIONS.put(villager, CHEST_WATCHERS.watch(world, villager, observedChestPositions));
     }
 
     private void clearChestListener(VillagerEntity villager) {
-        ChestRegistration existing = CHEST_REGISTRATIONS.remove(villager);
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.remove(villager);
         if (existing != null) {
-            removeChestListener(existing);
-        }
-    }
-
-    private void removeChestListener(ChestRegistration existing) {
-        for (BlockPos observedPos : existing.observedChestPositions()) {
-            Set<VillagerEntity> watchers = CHEST_WATCHERS_BY_POS.get(observedPos);
-            if (watchers == null) {
-                continue;
-            }
-            watchers.remove(existing.villager());
-            if (watchers.isEmpty()) {
-                CHEST_WATCHERS_BY_POS.remove(observedPos);
-            }
+            CHEST_WATCHERS.unwatch(existing);
         }
     }
 
@@ -184,10 +163,4 @@ public class ArmorerBehavior extends AbstractPairedProfessionBehavior {
         return positions;
     }
 
-    private record ChestRegistration(VillagerEntity villager, Set<BlockPos> observedChestPositions) {
-        private ChestRegistration(VillagerEntity villager, Set<BlockPos> observedChestPositions) {
-            this.villager = villager;
-            this.observedChestPositions = Set.copyOf(observedChestPositions);
-        }
-    }
 }
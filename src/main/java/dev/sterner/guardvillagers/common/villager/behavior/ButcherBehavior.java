@@ -9,6 +9,8 @@ import dev.sterner.guardvillagers.common.entity.goal.ButcherToLeatherworkerDistr
 import dev.sterner.guardvillagers.common.util.ConvertedWorkerJobSiteReservationManager;
 import dev.sterner.guardvillagers.common.util.JobBlockPairingHelper;
 import dev.sterner.guardvillagers.common.util.VillageGuardStandManager;
+import dev.sterner.guardvillagers.common.villager.ChestWatcherIndex;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.GuardConversionHelper;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import dev.sterner.guardvillagers.common.villager.VillagerConversionCandidateIndex;
@@ -29,13 +31,10 @@ import net.minecraft.village.VillagerProfession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 public class ButcherBehavior extends AbstractPairedProfessionBehavior {
     private static final Logger LOGGER = LoggerFactory.getLogger(ButcherBehavior.class);
@@ -43,12 +42,13 @@ public class ButcherBehavior extends AbstractPairedProfessionBehavior {
     private static final int CRAFTING_GOAL_PRIORITY = 4;
     private static final int MEAT_DISTRIBUTION_GOAL_PRIORITY = 6;
     private static final int LEATHER_DISTRIBUTION_GOAL_PRIORITY = 7;
-    private static final Map<VillagerEntity, ButcherSmokerGoal> GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ButcherCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ButcherMeatDistributionGoal> MEAT_DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ButcherToLeatherworkerDistributionGoal> LEATHER_DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestRegistration> CHEST_REGISTRATIONS = new WeakHashMap<>();
-    private static final Map<BlockPos, Set<VillagerEntity>> CHEST_WATCHERS_BY_POS = new HashMap<>();
+    private static final VillagerComponents.Key<ButcherSmokerGoal> GOALS = VillagerComponents.goalKey("butcher.goals");
+    private static final VillagerComponents.Key<ButcherCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("butcher.crafting_goals");
+    private static final VillagerComponents.Key<ButcherMeatDistributionGoal> MEAT_DISTRIBUTION_GOALS = VillagerComponents.goalKey("butcher.meat_distribution_goals");
+    private static final VillagerComponents.Key<ButcherToLeatherworkerDistributionGoal> LEATHER_DISTRIBUTION_GOALS = VillagerComponents.goalKey("butcher.leather_distribution_goals");
+    private static final ChestWatcherIndex<VillagerEntity> CHEST_WATCHERS = ChestWatcherIndex.create("butcher");
+    private static final VillagerComponents.Key<ChestWatcherIndex.Registration<VillagerEntity>> CHEST_REGISTRATIONS = VillagerComponents.key(
+            "butcher.chest_registration", (owner, registration, reason) -> CHEST_WATCHERS.unwatch(registration));
 
     @Override
     public void onChestPaired(ServerWorld world, VillagerEntity villager, BlockPos jobPos, BlockPos chestPos) {
@@ -116,13 +116,8 @@ public class ButcherBehavior extends AbstractPairedProfessionBehavior {
     }
 
     public static void onChestInventoryMutated(ServerWorld world, BlockPos chestPos) {
-        Set<VillagerEntity> villagers = CHEST_WATCHERS_BY_POS.get(chestPos);
-        if (villagers == null || villagers.isEmpty()) {
-            return;
-        }
-
-        for (VillagerEntity villager : Set.copyOf(villagers)) {
-            if (!villager.isAlive() || villager.getWorld() != world) {
+        for (VillagerEntity villager : CHEST_WATCHERS.watchers(world, chestPos)) {
+            if (!villager.isAlive()) {
                 continue;
             }
 
@@ -265,41 +260,23 @@ public class ButcherBehavior extends AbstractPairedProfessionBehavior {
             return;
         }
 
-        ChestRegistration existing = CHEST_REGISTRATIONS.get(villager);
-        if (existing != null && existing.observedChestPositions().equals(observedChestPositions)) {
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.get(villager);
+        if (existing != null && existing.covers(world, observedChestPositions)) {
             return;
         }
 
         if (existing != null) {
-            removeChestListener(existing);
+            CHEST_WATCHERS.unwatch(existing);
             CHEST_REGISTRATIONS.remove(villager);
         }
 
-        for (BlockPos observedPos : observedChestPositions) {
-            CHEST_WATCHERS_BY_POS.computeIfAbsent(observedPos, ignored -> new HashSet<>()).add(villager);
-        }
-
-        CHEST_REGISTRATIONS.put(villager, new ChestRegistration(villager, observedChestPositions));
+        CHEST_REGISTRATIONS.put(villager, CHEST_WATCHERS.watch(world, villager, observedChestPositions));
     }
 
     private void clearChestListener(VillagerEntity villager) {
-        ChestRegistration existing = CHEST_REGISTRATIONS.remove(villager);
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.remove(villager);
         if (existing != null) {
-            removeChestListener(existing);
-        }
-    }
-
-    private void removeChestListener(ChestRegistration existing) {
-        for (BlockPos observedPos : existing.observedChestPositions()) {
-            Set<VillagerEntity> watchers = CHEST_WATCHERS_BY_POS.get(observedPos);
-            if (watchers == null) {
-                continue;
-            }
-
-            watchers.remove(existing.villager());
-            if (watchers.isEmpty()) {
-                CHEST_WATCHERS_BY_POS.remove(observedPos);
-            }
+            CHEST_WATCHERS.unwatch(existing);
         }
     }
 
@@ -328,11 +305,5 @@ public class ButcherBehavior extends AbstractPairedProfessionBehavior {
         return positions;
     }
 
-    private record ChestRegistration(VillagerEntity villager, Set<BlockPos> observedChestPositions) {
-        private ChestRegistration(VillagerEntity villager, Set<BlockPos> observedChestPositions) {
-            this.villager = villager;
-            this.observedChestPositions = Set.copyOf(observedChestPositions);
-        }
-    }
 
 }
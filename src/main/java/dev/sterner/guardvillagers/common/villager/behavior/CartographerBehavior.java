@@ -4,7 +4,10 @@ import dev.sterner.guardvillagers.common.entity.goal.CartographerCraftingGoal;
 import dev.sterner.guardvillagers.common.entity.goal.CartographerMapExplorationGoal;
 import dev.sterner.guardvillagers.common.entity.goal.CartographerMapWallGoal;
 import dev.sterner.guardvillagers.common.entity.goal.CartographerToLibrarianDistributionGoal;
+import dev.sterner.guardvillagers.common.villager.ChestWatcherIndex;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.VillagerProfessionBehavior;
+import dev.sterner.guardvillagers.common.villager.VillagerWorldIndex;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
@@ -18,14 +21,11 @@ import net.minecraft.village.VillagerProfession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 public class CartographerBehavior implements VillagerProfessionBehavior {
     private static final Logger LOGGER = LoggerFactory.getLogger(CartographerBehavior.class);
@@ -33,13 +33,14 @@ public class CartographerBehavior implements VillagerProfessionBehavior {
     private static final int DISTRIBUTION_GOAL_PRIORITY = 4;
     private static final int CRAFTING_GOAL_PRIORITY = 5;
     private static final int MAP_WALL_GOAL_PRIORITY = 6;
-    private static final Map<VillagerEntity, CartographerMapExplorationGoal> EXPLORATION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, CartographerToLibrarianDistributionGoal> DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, CartographerCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, CartographerMapWallGoal> MAP_WALL_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestRegistration> CHEST_REGISTRATIONS = new WeakHashMap<>();
-    private static final Map<BlockPos, Set<VillagerEntity>> CHEST_WATCHERS_BY_POS = new HashMap<>();
-    private static final Map<VillagerEntity, CartographerPairing> ACTIVE_PAIRINGS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<CartographerMapExplorationGoal> EXPLORATION_GOALS = VillagerComponents.goalKey("cartographer.exploration_goals");
+    private static final VillagerComponents.Key<CartographerToLibrarianDistributionGoal> DISTRIBUTION_GOALS = VillagerComponents.goalKey("cartographer.distribution_goals");
+    private static final VillagerComponents.Key<CartographerCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("cartographer.crafting_goals");
+    private static final VillagerComponents.Key<CartographerMapWallGoal> MAP_WALL_GOALS = VillagerComponents.goalKey("cartographer.map_wall_goals");
+    private static final ChestWatcherIndex<VillagerEntity> CHEST_WATCHERS = ChestWatcherIndex.create("cartographer");
+    private static final VillagerComponents.Key<ChestWatcherIndex.Registration<VillagerEntity>> CHEST_REGISTRATIONS = VillagerComponents.key(
+            "cartographer.chest_registration", (owner, registration, reason) -> CHEST_WATCHERS.unwatch(registration));
+    private static final VillagerWorldIndex<CartographerPairing> ACTIVE_PAIRINGS = VillagerWorldIndex.create("cartographer.active_pairing");
 
     @Override
     public void onChestPaired(ServerWorld world, VillagerEntity villager, BlockPos jobPos, BlockPos chestPos) {
@@ -65,7 +66,7 @@ public class CartographerBehavior implements VillagerProfessionBehavior {
                 villager.getUuidAsString(),
                 chestPos.toShortString(),
                 jobPos.toShortString());
-        ACTIVE_PAIRINGS.put(villager, new CartographerPairing(jobPos.toImmutable(), chestPos.toImmutable()));
+        ACTIVE_PAIRINGS.put(world, villager, new CartographerPairing(jobPos.toImmutable(), chestPos.toImmutable()));
 
         CartographerMapExplorationGoal explorationGoal = EXPLORATION_GOALS.get(villager);
         if (explorationGoal == null) {
@@ -122,7 +123,7 @@ public class CartographerBehavior implements VillagerProfessionBehavior {
             clearChestListener(villager);
             return;
         }
-        ACTIVE_PAIRINGS.put(villager, new CartographerPairing(jobPos.toImmutable(), chestPos.toImmutable()));
+        ACTIVE_PAIRINGS.put(world, villager, new CartographerPairing(jobPos.toImmutable(), chestPos.toImmutable()));
 
         CartographerCraftingGoal goal = CRAFTING_GOALS.get(villager);
         if (goal == null) {
@@ -174,32 +175,22 @@ public class CartographerBehavior implements VillagerProfessionBehavior {
             return;
         }
 
-        ChestRegistration existing = CHEST_REGISTRATIONS.get(villager);
-        if (existing != null && existing.observedChestPositions().equals(observedChestPositions)) {
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.get(villager);
+        if (existing != null && existing.covers(world, observedChestPositions)) {
             return;
         }
 
         if (existing != null) {
-            removeChestListener(existing);
+            CHEST_WATCHERS.unwatch(existing);
             CHEST_REGISTRATIONS.remove(villager);
         }
 
-        for (BlockPos observedPos : observedChestPositions) {
-            CHEST_WATCHERS_BY_POS.computeIfAbsent(observedPos, ignored -> new HashSet<>()).add(villager);
-        }
-
-        CHEST_REGISTRATIONS.put(villager, new ChestRegistration(villager, observedChestPositions));
+        CHEST_REGISTRATIONS.put(villager, CHEST_WATCHERS.watch(world, villager, observedChestPositions));
     }
 
     public static void onChestInventoryMutated(ServerWorld world, BlockPos chestPos) {
-        Set<VillagerEntity> villagers = CHEST_WATCHERS_BY_POS.get(chestPos);
-        if (villagers == null || villagers.isEmpty()) {
-            return;
-        }
-
-        Set<VillagerEntity> snapshot = Set.copyOf(villagers);
-        for (VillagerEntity villager : snapshot) {
-            if (!villager.isAlive() || villager.getWorld() != world) {
+        for (VillagerEntity villager : CHEST_WATCHERS.watchers(world, chestPos)) {
+            if (!villager.isAlive()) {
                 continue;
             }
             triggerChestWakeups(world, villager);
@@ -227,9 +218,9 @@ public class CartographerBehavior implements VillagerProfessionBehavior {
     }
 
     private void clearChestListener(VillagerEntity villager) {
-        ChestRegistration existing = CHEST_REGISTRATIONS.remove(villager);
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.remove(villager);
         if (existing != null) {
-            removeChestListener(existing);
+            CHEST_WATCHERS.unwatch(existing);
         }
         ACTIVE_PAIRINGS.remove(villager);
     }
@@ -238,15 +229,7 @@ public class CartographerBehavior implements VillagerProfessionBehavior {
         long radiusSq = (long) radius * radius;
         List<CartographerPairing> result = new ArrayList<>();
 
-        List<VillagerEntity> stale = new ArrayList<>();
-        for (Map.Entry<VillagerEntity, CartographerPairing> entry : ACTIVE_PAIRINGS.entrySet()) {
-            VillagerEntity villager = entry.getKey();
-            if (villager == null || !villager.isAlive() || villager.getWorld() != world) {
-                stale.add(villager);
-                continue;
-            }
-
-            CartographerPairing pairing = entry.getValue();
+        for (CartographerPairing pairing : ACTIVE_PAIRINGS.values(world)) {
             long dx = pairing.jobPos().getX() - origin.getX();
             long dz = pairing.jobPos().getZ() - origin.getZ();
             long distSq = dx * dx + dz * dz;
@@ -255,27 +238,10 @@ public class CartographerBehavior implements VillagerProfessionBehavior {
             }
         }
 
-        for (VillagerEntity villager : stale) {
-            ACTIVE_PAIRINGS.remove(villager);
-        }
-
         result.sort(Comparator.comparingDouble(pairing -> pairing.jobPos().getSquaredDistance(origin)));
         return result;
     }
 
-    private void removeChestListener(ChestRegistration existing) {
-        for (BlockPos observedPos : existing.observedChestPositions()) {
-            Set<VillagerEntity> watchers = CHEST_WATCHERS_BY_POS.get(observedPos);
-            if (watchers == null) {
-                continue;
-            }
-            watchers.remove(existing.villager());
-            if (watchers.isEmpty()) {
-                CHEST_WATCHERS_BY_POS.remove(observedPos);
-            }
-        }
-    }
-
     private Set<BlockPos> getObservedChestPositions(ServerWorld world, BlockPos chestPos) {
         BlockState state = world.getBlockState(chestPos);
         if (!(state.getBlock() instanceof ChestBlock)) {
@@ -301,12 +267,6 @@ public class CartographerBehavior implements VillagerProfessionBehavior {
         return positions;
     }
 
-    private record ChestRegistration(VillagerEntity villager, Set<BlockPos> observedChestPositions) {
-        private ChestRegistration(VillagerEntity villager, Set<BlockPos> observedChestPositions) {
-            this.villager = villager;
-            this.observedChestPositions = Set.copyOf(observedChestPositions);
-        }
-    }
 
     public record CartographerPairing(BlockPos jobPos, BlockPos chestPos) {
     }
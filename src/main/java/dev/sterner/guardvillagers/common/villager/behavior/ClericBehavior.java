@@ -3,6 +3,7 @@ package dev.sterner.guardvillagers.common.villager.behavior;
 import dev.sterner.guardvillagers.common.entity.goal.ClericBrewingGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ClericCraftingGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ClericDistributionGoal;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.VillagerProfessionBehavior;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import net.minecraft.block.entity.BrewingStandBlockEntity;
@@ -19,20 +20,19 @@ import net.minecraft.village.VillagerProfession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 public class ClericBehavior implements VillagerProfessionBehavior {
     private static final Logger LOGGER = LoggerFactory.getLogger(ClericBehavior.class);
     private static final int BREWING_GOAL_PRIORITY = 3;
     private static final int CRAFTING_GOAL_PRIORITY = 4;
     private static final int DISTRIBUTION_GOAL_PRIORITY = 5;
-    private static final Map<VillagerEntity, BlockPos> PAIRED_CHESTS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ClericBrewingGoal> GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestListener> CHEST_LISTENERS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ClericCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ClericDistributionGoal> DISTRIBUTION_GOALS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<BlockPos> PAIRED_CHESTS = VillagerComponents.key("cleric.paired_chests");
+    private static final VillagerComponents.Key<ClericBrewingGoal> GOALS = VillagerComponents.goalKey("cleric.goals");
+    private static final VillagerComponents.Key<ChestListener> CHEST_LISTENERS = VillagerComponents.key(
+            "cleric.chest_listeners", (owner, registration, reason) -> registration.inventory().removeListener(registration.listener()));
+    private static final VillagerComponents.Key<ClericCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("cleric.crafting_goals");
+    private static final VillagerComponents.Key<ClericDistributionGoal> DISTRIBUTION_GOALS = VillagerComponents.goalKey("cleric.distribution_goals");
     public static Set<ClericBrewingGoal.PotionTarget> getReachableRecipes(VillagerEntity villager,
                                                                            Inventory chestInventory,
                                                                            BrewingStandBlockEntity stand) {
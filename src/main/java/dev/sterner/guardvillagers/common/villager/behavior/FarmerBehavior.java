@@ -4,6 +4,8 @@ import dev.sterner.guardvillagers.common.entity.goal.FarmerCraftingGoal;
 import dev.sterner.guardvillagers.common.entity.goal.FarmerDistributionGoal;
 import dev.sterner.guardvillagers.common.entity.goal.FarmerHarvestGoal;
 import dev.sterner.guardvillagers.common.entity.goal.FarmerBonemealGoal;
+import dev.sterner.guardvillagers.common.villager.ChestWatcherIndex;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
@@ -14,11 +16,8 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.village.VillagerProfession;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 public class FarmerBehavior extends AbstractPairedProfessionBehavior {
     private static final long HARVEST_WAKE_DEBOUNCE_TICKS = 10L;
@@ -29,15 +28,16 @@ public class FarmerBehavior extends AbstractPairedProfessionBehavior {
     private static final int DISTRIBUTION_GOAL_PRIORITY = 4;
     private static final int CRAFTING_GOAL_PRIORITY = 5;
     private static final int BONEMEAL_GOAL_PRIORITY = 6;
-    private static final Map<VillagerEntity, FarmerHarvestGoal> GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, FarmerDistributionGoal> DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, FarmerCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, FarmerBonemealGoal> BONEMEAL_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestListenerRegistration> CHEST_LISTENERS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, Set<BlockPos>> CHEST_REGISTRATIONS = new WeakHashMap<>();
-    private static final Map<BlockPos, Set<VillagerEntity>> CHEST_WATCHERS_BY_POS = new HashMap<>();
-    private static final Map<VillagerEntity, Long> LAST_HARVEST_WAKE_TICKS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, Long> LAST_CRAFT_WAKE_TICKS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<FarmerHarvestGoal> GOALS = VillagerComponents.goalKey("farmer.goals");
+    private static final VillagerComponents.Key<FarmerDistributionGoal> DISTRIBUTION_GOALS = VillagerComponents.goalKey("farmer.distribution_goals");
+    private static final VillagerComponents.Key<FarmerCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("farmer.crafting_goals");
+    private static final VillagerComponents.Key<FarmerBonemealGoal> BONEMEAL_GOALS = VillagerComponents.goalKey("farmer.bonemeal_goals");
+    private static final VillagerComponents.Key<ChestListenerRegistration> CHEST_LISTENERS = chestListenerKey("farmer.chest_listeners");
+    private static final ChestWatcherIndex<VillagerEntity> CHEST_WATCHERS = ChestWatcherIndex.create("farmer");
+    private static final VillagerComponents.Key<ChestWatcherIndex.Registration<VillagerEntity>> CHEST_REGISTRATIONS = VillagerComponents.key(
+            "farmer.chest_registration", (owner, registration, reason) -> CHEST_WATCHERS.unwatch(registration));
+    private static final VillagerComponents.Key<Long> LAST_HARVEST_WAKE_TICKS = VillagerComponents.key("farmer.last_harvest_wake_ticks");
+    private static final VillagerComponents.Key<Long> LAST_CRAFT_WAKE_TICKS = VillagerComponents.key("farmer.last_craft_wake_ticks");
 
     @Override
     public void onChestPaired(ServerWorld world, VillagerEntity villager, BlockPos jobPos, BlockPos chestPos) {
@@ -123,14 +123,8 @@ public class FarmerBehavior extends AbstractPairedProfessionBehavior {
     }
 
     public static void onChestInventoryMutated(ServerWorld world, BlockPos chestPos) {
-        Set<VillagerEntity> villagers = CHEST_WATCHERS_BY_POS.get(chestPos);
-        if (villagers == null || villagers.isEmpty()) {
-            return;
-        }
-
-        Set<VillagerEntity> snapshot = Set.copyOf(villagers);
-        for (VillagerEntity villager : snapshot) {
-            if (!villager.isAlive() || villager.getWorld() != world) {
+        for (VillagerEntity villager : CHEST_WATCHERS.watchers(world, chestPos)) {
+            if (!villager.isAlive()) {
                 continue;
             }
             triggerChestWakeups(world, villager);
@@ -175,34 +169,21 @@ public class FarmerBehavior extends AbstractPairedProfessionBehavior {
             return;
         }
 
-        Set<BlockPos> existing = CHEST_REGISTRATIONS.get(villager);
-        if (existing != null && existing.equals(observedChestPositions)) {
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.get(villager);
+        if (existing != null && existing.covers(world, observedChestPositions)) {
             return;
         }
 
         clearChestWatcher(villager);
-        for (BlockPos observedPos : observedChestPositions) {
-            CHEST_WATCHERS_BY_POS.computeIfAbsent(observedPos, ignored -> new HashSet<>()).add(villager);
-        }
-        CHEST_REGISTRATIONS.put(villager, observedChestPositions);
+        CHEST_REGISTRATIONS.put(villager, CHEST_WATCHERS.watch(world, villager, observedChestPositions));
     }
 
     private void clearChestWatcher(VillagerEntity villager) {
-        Set<BlockPos> existing = CHEST_REGISTRATIONS.remove(villager);
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.remove(villager);
         LAST_HARVEST_WAKE_TICKS.remove(villager);
         LAST_CRAFT_WAKE_TICKS.remove(villager);
-        if (existing == null) {
-            return;
-        }
-        for (BlockPos observedPos : existing) {
-            Set<VillagerEntity> watchers = CHEST_WATCHERS_BY_POS.get(observedPos);
-            if (watchers == null) {
-                continue;
-            }
-            watchers.remove(villager);
-            if (watchers.isEmpty()) {
-                CHEST_WATCHERS_BY_POS.remove(observedPos);
-            }
+        if (existing != null) {
+            CHEST_WATCHERS.unwatch(existing);
         }
     }
 
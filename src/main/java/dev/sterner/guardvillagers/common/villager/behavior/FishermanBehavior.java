@@ -7,6 +7,8 @@ import dev.sterner.guardvillagers.common.entity.goal.FishermanDistributionGoal;
 import dev.sterner.guardvillagers.common.util.ConvertedWorkerJobSiteReservationManager;
 import dev.sterner.guardvillagers.common.util.JobBlockPairingHelper;
 import dev.sterner.guardvillagers.common.util.VillageGuardStandManager;
+import dev.sterner.guardvillagers.common.villager.ChestWatcherIndex;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.GuardConversionHelper;
 import dev.sterner.guardvillagers.common.villager.VillagerProfessionBehavior;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
@@ -32,25 +34,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 public class FishermanBehavior implements VillagerProfessionBehavior {
     private static final Logger LOGGER = LoggerFactory.getLogger(FishermanBehavior.class);
     private static final int CRAFTING_GOAL_PRIORITY = 4;
     private static final int DISTRIBUTION_GOAL_PRIORITY = 5;
-    private static final Map<VillagerEntity, FishermanCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, FishermanDistributionGoal> DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestRegistration> CHEST_REGISTRATIONS = new WeakHashMap<>();
-    private static final Map<BlockPos, Set<VillagerEntity>> CHEST_WATCHERS_BY_POS = new HashMap<>();
-    private static final Map<BlockPos, Set<VillagerEntity>> BARREL_WATCHERS_BY_POS = new HashMap<>();
-    private static final Map<VillagerEntity, Long> NEXT_CONVERSION_SCAN_TICK = new WeakHashMap<>();
+    private static final VillagerComponents.Key<FishermanCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("fisherman.crafting_goals");
+    private static final VillagerComponents.Key<FishermanDistributionGoal> DISTRIBUTION_GOALS = VillagerComponents.goalKey("fisherman.distribution_goals");
+    private static final ChestWatcherIndex<VillagerEntity> CHEST_WATCHERS = ChestWatcherIndex.create("fisherman");
+    private static final VillagerComponents.Key<ChestWatcherIndex.Registration<VillagerEntity>> CHEST_REGISTRATIONS = VillagerComponents.key(
+            "fisherman.chest_registration", (owner, registration, reason) -> CHEST_WATCHERS.unwatch(registration));
+    private static final ChestWatcherIndex<VillagerEntity> BARREL_WATCHERS = ChestWatcherIndex.create("fisherman_barrel");
+    private static final VillagerComponents.Key<ChestWatcherIndex.Registration<VillagerEntity>> BARREL_REGISTRATIONS = VillagerComponents.key(
+            "fisherman.barrel_registration", (owner, registration, reason) -> BARREL_WATCHERS.unwatch(registration));
+    private static final VillagerComponents.Key<Long> NEXT_CONVERSION_SCAN_TICK = VillagerComponents.key("fisherman.next_conversion_scan_tick");
     private static final long STORAGE_SCAN_COOLDOWN_TICKS = 20L;
 
     @Override
@@ -92,7 +95,7 @@ public class FishermanBehavior implements VillagerProfessionBehavior {
         }
 
         updateChestListener(world, villager, chestPos);
-        updateBarrelListener(villager, jobPos);
+        updateBarrelListener(world, villager, jobPos);
         tryConvertWithRod(world, villager, jobPos, chestPos);
     }
 
@@ -145,7 +148,7 @@ public class FishermanBehavior implements VillagerProfessionBehavior {
         distributionGoal.requestImmediateDistribution();
 
         updateChestListener(world, villager, chestPos);
-        updateBarrelListener(villager, jobPos);
+        updateBarrelListener(world, villager, jobPos);
         tryConvertWithRod(world, villager, jobPos, chestPos);
     }
 
@@ -254,47 +257,48 @@ public class FishermanBehavior implements VillagerProfessionBehavior {
             return;
         }
 
-        ChestRegistration existing = CHEST_REGISTRATIONS.get(villager);
-        if (existing != null && existing.observedChestPositions().equals(observedChestPositions)) {
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.get(villager);
+        if (existing != null && existing.covers(world, observedChestPositions)) {
             return;
         }
 
         if (existing != null) {
-            removeChestListener(existing);
+            CHEST_WATCHERS.unwatch(existing);
             CHEST_REGISTRATIONS.remove(villager);
         }
 
-        for (BlockPos observedPos : observedChestPositions) {
-            CHEST_WATCHERS_BY_POS.computeIfAbsent(observedPos, ignored -> new HashSet<>()).add(villager);
-        }
-
-        CHEST_REGISTRATIONS.put(villager, new ChestRegistration(villager, observedChestPositions));
+        CHEST_REGISTRATIONS.put(villager, CHEST_WATCHERS.watch(world, villager, observedChestPositions));
     }
 
-    private void updateBarrelListener(VillagerEntity villager, BlockPos jobPos) {
-        BARREL_WATCHERS_BY_POS.computeIfAbsent(jobPos.toImmutable(), ignored -> new HashSet<>()).add(villager);
+    private void updateBarrelListener(ServerWorld world, VillagerEntity villager, BlockPos jobPos) {
+        Set<BlockPos> observedBarrelPositions = Set.of(jobPos.toImmutable());
+        ChestWatcherIndex.Registration<VillagerEntity> existing = BARREL_REGISTRATIONS.get(villager);
+        if (existing != null && existing.covers(world, observedBarrelPositions)) {
+            return;
+        }
+        if (existing != null) {
+            BARREL_WATCHERS.unwatch(existing);
+        }
+        BARREL_REGISTRATIONS.put(villager, BARREL_WATCHERS.watch(world, villager, observedBarrelPositions));
     }
 
     public static void onChestInventoryMutated(ServerWorld world, BlockPos chestPos) {
-        Set<VillagerEntity> villagers = CHEST_WATCHERS_BY_POS.get(chestPos);
-        if (villagers == null || villagers.isEmpty()) {
+        List<VillagerEntity> villagers = CHEST_WATCHERS.watchers(world, chestPos);
+        if (villagers.isEmpty()) {
             return;
         }
 
-        handleStorageMutation(world, Set.copyOf(villagers));
+        handleStorageMutation(world, villagers);
     }
 
     public static void onBarrelInventoryMutated(ServerWorld world, BlockPos barrelPos) {
-        Set<VillagerEntity> watchedVillagers = BARREL_WATCHERS_BY_POS.get(barrelPos);
+        List<VillagerEntity> watchedVillagers = BARREL_WATCHERS.watchers(world, barrelPos);
 
-        // If the watcher map already has live entries for this barrel, use them directly
+        // If the watcher index already has live entries for this barrel, use them directly
         // and skip the expensive world entity scan.
-        if (watchedVillagers != null && !watchedVillagers.isEmpty()) {
-            Set<VillagerEntity> snapshot = Set.copyOf(watchedVillagers);
-            if (snapshot.stream().anyMatch(v -> v.isAlive() && v.getWorld() == world)) {
-                handleStorageMutation(world, snapshot);
-                return;
-            }
+        if (watchedVillagers.stream().anyMatch(VillagerEntity::isAlive)) {
+            handleStorageMutation(world, watchedVillagers);
+            return;
         }
 
         // Fallback scan: watcher map is empty or stale (fisherman just converted/died).
@@ -317,7 +321,7 @@ public class FishermanBehavior implements VillagerProfessionBehavior {
         handleStorageMutation(world, Set.copyOf(villagers));
     }
 
-    private static void handleStorageMutation(ServerWorld world, Set<VillagerEntity> snapshot) {
+    private static void handleStorageMutation(ServerWorld world, Collection<VillagerEntity> snapshot) {
         boolean shouldRunConversionHooks = false;
 
         for (VillagerEntity villager : snapshot) {
@@ -359,31 +363,18 @@ public class FishermanBehavior implements VillagerProfessionBehavior {
     }
 
     private void clearChestListener(VillagerEntity villager) {
-        ChestRegistration existing = CHEST_REGISTRATIONS.remove(villager);
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.remove(villager);
         if (existing != null) {
-            removeChestListener(existing);
+            CHEST_WATCHERS.unwatch(existing);
         }
 
-        for (Set<VillagerEntity> watchers : BARREL_WATCHERS_BY_POS.values()) {
-            watchers.remove(villager);
+        ChestWatcherIndex.Registration<VillagerEntity> barrel = BARREL_REGISTRATIONS.remove(villager);
+        if (barrel != null) {
+            BARREL_WATCHERS.unwatch(barrel);
         }
-        BARREL_WATCHERS_BY_POS.entrySet().removeIf(entry -> entry.getValue().isEmpty());
         NEXT_CONVERSION_SCAN_TICK.remove(villager);
     }
 
-    private void removeChestListener(ChestRegistration existing) {
-        for (BlockPos observedPos : existing.observedChestPositions()) {
-            Set<VillagerEntity> watchers = CHEST_WATCHERS_BY_POS.get(observedPos);
-            if (watchers == null) {
-                continue;
-            }
-            watchers.remove(existing.villager());
-            if (watchers.isEmpty()) {
-                CHEST_WATCHERS_BY_POS.remove(observedPos);
-            }
-        }
-    }
-
     private Set<BlockPos> getObservedChestPositions(ServerWorld world, BlockPos chestPos) {
         BlockState state = world.getBlockState(chestPos);
         Set<BlockPos> positions = new HashSet<>();
@@ -416,10 +407,4 @@ public class FishermanBehavior implements VillagerProfessionBehavior {
         return positions;
     }
 
-    private record ChestRegistration(VillagerEntity villager, Set<BlockPos> observedChestPositions) {
-        private ChestRegistration(VillagerEntity villager, Set<BlockPos> observedChestPositions) {
-            this.villager = villager;
-            this.observedChestPositions = Set.copyOf(observedChestPositions);
-        }
-    }
 }
@@ -3,6 +3,7 @@ package dev.sterner.guardvillagers.common.villager.behavior;
 import dev.sterner.guardvillagers.common.entity.goal.FletcherCraftingGoal;
 import dev.sterner.guardvillagers.common.entity.goal.FletcherDistributionGoal;
 import dev.sterner.guardvillagers.common.entity.goal.FletcherFletchingTableGoal;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.VillagerProfessionBehavior;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import net.minecraft.block.BlockState;
@@ -18,18 +19,17 @@ import net.minecraft.village.VillagerProfession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-import java.util.WeakHashMap;
 
 public class FletcherBehavior implements VillagerProfessionBehavior {
     private static final Logger LOGGER = LoggerFactory.getLogger(FletcherBehavior.class);
     private static final int DISTRIBUTION_GOAL_PRIORITY = 3;
     private static final int CRAFTING_GOAL_PRIORITY = 4;
     private static final int FLETCHING_TABLE_GOAL_PRIORITY = 5;
-    private static final Map<VillagerEntity, FletcherCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, FletcherDistributionGoal> DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, FletcherFletchingTableGoal> FLETCHING_TABLE_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestListener> CHEST_LISTENERS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<FletcherCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("fletcher.crafting_goals");
+    private static final VillagerComponents.Key<FletcherDistributionGoal> DISTRIBUTION_GOALS = VillagerComponents.goalKey("fletcher.distribution_goals");
+    private static final VillagerComponents.Key<FletcherFletchingTableGoal> FLETCHING_TABLE_GOALS = VillagerComponents.goalKey("fletcher.fletching_table_goals");
+    private static final VillagerComponents.Key<ChestListener> CHEST_LISTENERS = VillagerComponents.key(
+            "fletcher.chest_listeners", (owner, registration, reason) -> registration.inventory().removeListener(registration.listener()));
 
     @Override
     public void onChestPaired(ServerWorld world, VillagerEntity villager, BlockPos jobPos, BlockPos chestPos) {
@@ -2,6 +2,7 @@ package dev.sterner.guardvillagers.common.villager.behavior;
 
 import dev.sterner.guardvillagers.common.entity.goal.LeatherworkerCraftingGoal;
 import dev.sterner.guardvillagers.common.entity.goal.LeatherworkerDistributionGoal;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.VillagerProfessionBehavior;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import net.minecraft.block.BlockState;
@@ -17,16 +18,15 @@ import net.minecraft.village.VillagerProfession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-import java.util.WeakHashMap;
 
 public class LeatherworkerBehavior implements VillagerProfessionBehavior {
     private static final Logger LOGGER = LoggerFactory.getLogger(LeatherworkerBehavior.class);
     private static final int DISTRIBUTION_GOAL_PRIORITY = 3;
     private static final int CRAFTING_GOAL_PRIORITY = 4;
-    private static final Map<VillagerEntity, LeatherworkerCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, LeatherworkerDistributionGoal> DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestListener> CHEST_LISTENERS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<LeatherworkerCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("leatherworker.crafting_goals");
+    private static final VillagerComponents.Key<LeatherworkerDistributionGoal> DISTRIBUTION_GOALS = VillagerComponents.goalKey("leatherworker.distribution_goals");
+    private static final VillagerComponents.Key<ChestListener> CHEST_LISTENERS = VillagerComponents.key(
+            "leatherworker.chest_listeners", (owner, registration, reason) -> registration.inventory().removeListener(registration.listener()));
 
     @Override
     public void onChestPaired(ServerWorld world, VillagerEntity villager, BlockPos jobPos, BlockPos chestPos) {
@@ -5,6 +5,7 @@ import dev.sterner.guardvillagers.common.entity.goal.LibrarianBellChestDistribut
 import dev.sterner.guardvillagers.common.entity.goal.QuartermasterGoal;
 import dev.sterner.guardvillagers.common.util.QuartermasterPrerequisiteHelper;
 import dev.sterner.guardvillagers.common.util.VillageAnchorState;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.VillagerProfessionBehavior;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import net.minecraft.block.BlockState;
@@ -20,9 +21,7 @@ import net.minecraft.village.VillagerProfession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
 import java.util.Objects;
-import java.util.WeakHashMap;
 
 public class LibrarianBehavior implements VillagerProfessionBehavior {
     private static final Logger LOGGER = LoggerFactory.getLogger(LibrarianBehavior.class);
@@ -31,14 +30,15 @@ public class LibrarianBehavior implements VillagerProfessionBehavior {
     private static final int QUARTERMASTER_GOAL_PRIORITY = 3;
     private static final long INVENTORY_MUTATION_DEBOUNCE_TICKS = 30L;
     private static final long QUARTERMASTER_PAIR_REVALIDATION_GUARD_TICKS = 1L;
-    private static final Map<VillagerEntity, LibrarianCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, LibrarianBellChestDistributionGoal> DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, QuartermasterGoal> QUARTERMASTER_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, BlockPos> PAIRED_CHEST_POS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestListener> CHEST_LISTENERS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, Long> LAST_IMMEDIATE_REQUEST_TICK = new WeakHashMap<>();
-    private static final Map<VillagerEntity, Boolean> INVENTORY_DIRTY_FLAGS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, LastQuartermasterPair> LAST_QUARTERMASTER_PAIR = new WeakHashMap<>();
+    private static final VillagerComponents.Key<LibrarianCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("librarian.crafting_goals");
+    private static final VillagerComponents.Key<LibrarianBellChestDistributionGoal> DISTRIBUTION_GOALS = VillagerComponents.goalKey("librarian.distribution_goals");
+    private static final VillagerComponents.Key<QuartermasterGoal> QUARTERMASTER_GOALS = VillagerComponents.goalKey("librarian.quartermaster_goals");
+    private static final VillagerComponents.Key<BlockPos> PAIRED_CHEST_POS = VillagerComponents.key("librarian.paired_chest_pos");
+    private static final VillagerComponents.Key<ChestListener> CHEST_LISTENERS = VillagerComponents.key(
+            "librarian.chest_listeners", (owner, listener, reason) -> listener.inventory().removeListener(listener.listener()));
+    private static final VillagerComponents.Key<Long> LAST_IMMEDIATE_REQUEST_TICK = VillagerComponents.key("librarian.last_immediate_request_tick");
+    private static final VillagerComponents.Key<Boolean> INVENTORY_DIRTY_FLAGS = VillagerComponents.key("librarian.inventory_dirty_flags");
+    private static final VillagerComponents.Key<LastQuartermasterPair> LAST_QUARTERMASTER_PAIR = VillagerComponents.key("librarian.last_quartermaster_pair");
 
     @Override
     public void onChestPaired(ServerWorld world, VillagerEntity villager, BlockPos jobPos, BlockPos chestPos) {
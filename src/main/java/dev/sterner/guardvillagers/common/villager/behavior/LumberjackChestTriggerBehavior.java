@@ -1,6 +1,8 @@
 package dev.sterner.guardvillagers.common.villager.behavior;
 
 import dev.sterner.guardvillagers.common.entity.LumberjackGuardEntity;
+import dev.sterner.guardvillagers.common.villager.ChestWatcherIndex;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ChestBlock;
 import net.minecraft.block.enums.ChestType;
@@ -8,15 +10,13 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 public final class LumberjackChestTriggerBehavior {
-    private static final Map<LumberjackGuardEntity, Set<BlockPos>> CHEST_REGISTRATIONS = new WeakHashMap<>();
-    private static final Map<BlockPos, Set<LumberjackGuardEntity>> CHEST_WATCHERS_BY_POS = new HashMap<>();
+    private static final ChestWatcherIndex<LumberjackGuardEntity> CHEST_WATCHERS = ChestWatcherIndex.create("lumberjack");
+    private static final VillagerComponents.Key<ChestWatcherIndex.Registration<LumberjackGuardEntity>> CHEST_REGISTRATIONS = VillagerComponents.key(
+            "lumberjack.chest_registration", (owner, registration, reason) -> CHEST_WATCHERS.unwatch(registration));
 
     private LumberjackChestTriggerBehavior() {
     }
@@ -28,44 +28,25 @@ public final class LumberjackChestTriggerBehavior {
             return;
         }
 
-        Set<BlockPos> existing = CHEST_REGISTRATIONS.get(guard);
-        if (existing != null && existing.equals(observedChestPositions)) {
+        ChestWatcherIndex.Registration<LumberjackGuardEntity> existing = CHEST_REGISTRATIONS.get(guard);
+        if (existing != null && existing.covers(world, observedChestPositions)) {
             return;
         }
 
         clearChestWatcher(guard);
-        for (BlockPos observedPos : observedChestPositions) {
-            CHEST_WATCHERS_BY_POS.computeIfAbsent(observedPos, ignored -> new HashSet<>()).add(guard);
-        }
-        CHEST_REGISTRATIONS.put(guard, observedChestPositions);
+        CHEST_REGISTRATIONS.put(guard, CHEST_WATCHERS.watch(world, guard, observedChestPositions));
     }
 
     public static void clearChestWatcher(LumberjackGuardEntity guard) {
-        Set<BlockPos> existing = CHEST_REGISTRATIONS.remove(guard);
-        if (existing == null) {
-            return;
-        }
-        for (BlockPos observedPos : existing) {
-            Set<LumberjackGuardEntity> watchers = CHEST_WATCHERS_BY_POS.get(observedPos);
-            if (watchers == null) {
-                continue;
-            }
-            watchers.remove(guard);
-            if (watchers.isEmpty()) {
-                CHEST_WATCHERS_BY_POS.remove(observedPos);
-            }
+        ChestWatcherIndex.Registration<LumberjackGuardEntity> existing = CHEST_REGISTRATIONS.remove(guard);
+        if (existing != null) {
+            CHEST_WATCHERS.unwatch(existing);
         }
     }
 
     public static void onChestInventoryMutated(ServerWorld world, BlockPos chestPos) {
-        Set<LumberjackGuardEntity> guards = CHEST_WATCHERS_BY_POS.get(chestPos);
-        if (guards == null || guards.isEmpty()) {
-            return;
-        }
-
-        Set<LumberjackGuardEntity> snapshot = Set.copyOf(guards);
-        for (LumberjackGuardEntity guard : snapshot) {
-            if (!guard.isAlive() || guard.getWorld() != world) {
+        for (LumberjackGuardEntity guard : CHEST_WATCHERS.watchers(world, chestPos)) {
+            if (!guard.isAlive()) {
                 continue;
             }
             guard.requestTriggerEvaluation();
@@ -10,6 +10,8 @@ import dev.sterner.guardvillagers.common.util.ConvertedWorkerJobSiteReservationM
 import dev.sterner.guardvillagers.common.util.JobBlockPairingHelper;
 import dev.sterner.guardvillagers.common.util.PairedStorageHelper;
 import dev.sterner.guardvillagers.common.util.VillageGuardStandManager;
+import dev.sterner.guardvillagers.common.villager.ChestWatcherIndex;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.GuardConversionHelper;
 import dev.sterner.guardvillagers.common.villager.VillagerProfessionBehavior;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
@@ -29,24 +31,21 @@ import net.minecraft.village.VillagerProfession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 public class MasonBehavior implements VillagerProfessionBehavior {
     private static final Logger LOGGER = LoggerFactory.getLogger(MasonBehavior.class);
     private static final int CRAFTING_GOAL_PRIORITY = 4;
     private static final int DISTRIBUTION_GOAL_PRIORITY = 5;
     private static final int TABLE_CRAFTING_GOAL_PRIORITY = 6;
-    private static final Map<VillagerEntity, MasonCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, MasonToLibrarianDistributionGoal> DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, MasonTableCraftingGoal> TABLE_CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestRegistration> CHEST_REGISTRATIONS = new WeakHashMap<>();
-    private static final Map<BlockPos, Set<VillagerEntity>> CHEST_WATCHERS_BY_POS = new HashMap<>();
-    private static final Map<VillagerEntity, Long> NEXT_CONVERSION_SCAN_TICK = new WeakHashMap<>();
+    private static final VillagerComponents.Key<MasonCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("mason.crafting_goals");
+    private static final VillagerComponents.Key<MasonToLibrarianDistributionGoal> DISTRIBUTION_GOALS = VillagerComponents.goalKey("mason.distribution_goals");
+    private static final VillagerComponents.Key<MasonTableCraftingGoal> TABLE_CRAFTING_GOALS = VillagerComponents.goalKey("mason.table_crafting_goals");
+    private static final ChestWatcherIndex<VillagerEntity> CHEST_WATCHERS = ChestWatcherIndex.create("mason");
+    private static final VillagerComponents.Key<ChestWatcherIndex.Registration<VillagerEntity>> CHEST_REGISTRATIONS = VillagerComponents.key(
+            "mason.chest_registration", (owner, registration, reason) -> CHEST_WATCHERS.unwatch(registration));
+    private static final VillagerComponents.Key<Long> NEXT_CONVERSION_SCAN_TICK = VillagerComponents.key("mason.next_conversion_scan_tick");
     private static final long CHEST_SCAN_COOLDOWN_TICKS = 10L;
 
     @Override
@@ -166,32 +165,22 @@ public class MasonBehavior implements VillagerProfessionBehavior {
             return;
         }
 
-        ChestRegistration existing = CHEST_REGISTRATIONS.get(villager);
-        if (existing != null && existing.observedChestPositions().equals(observedChestPositions)) {
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.get(villager);
+        if (existing != null && existing.covers(world, observedChestPositions)) {
             return;
         }
 
         if (existing != null) {
-            removeChestListener(existing);
+            CHEST_WATCHERS.unwatch(existing);
             CHEST_REGISTRATIONS.remove(villager);
         }
 
-        for (BlockPos observedPos : observedChestPositions) {
-            CHEST_WATCHERS_BY_POS.computeIfAbsent(observedPos, ignored -> new HashSet<>()).add(villager);
-        }
-
-        CHEST_REGISTRATIONS.put(villager, new ChestRegistration(villager, observedChestPositions));
+        CHEST_REGISTRATIONS.put(villager, CHEST_WATCHERS.watch(world, villager, observedChestPositions));
     }
 
     public static void onChestInventoryMutated(ServerWorld world, BlockPos chestPos) {
-        Set<VillagerEntity> villagers = CHEST_WATCHERS_BY_POS.get(chestPos);
-        if (villagers == null || villagers.isEmpty()) {
-            return;
-        }
-
-        Set<VillagerEntity> snapshot = Set.copyOf(villagers);
-        for (VillagerEntity villager : snapshot) {
-            if (!villager.isAlive() || villager.getWorld() != world) {
+        for (VillagerEntity villager : CHEST_WATCHERS.watchers(world, chestPos)) {
+            if (!villager.isAlive()) {
                 continue;
             }
 
@@ -239,22 +228,9 @@ public class MasonBehavior implements VillagerProfessionBehavior {
     }
 
     private void clearChestListener(VillagerEntity villager) {
-        ChestRegistration existing = CHEST_REGISTRATIONS.remove(villager);
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.remove(villager);
         if (existing != null) {
-            removeChestListener(existing);
-        }
-    }
-
-    private void removeChestListener(ChestRegistration existing) {
-        for (BlockPos observedPos : existing.observedChestPositions()) {
-            Set<VillagerEntity> watchers = CHEST_WATCHERS_BY_POS.get(observedPos);
-            if (watchers == null) {
-                continue;
-            }
-            watchers.remove(existing.villager());
-            if (watchers.isEmpty()) {
-                CHEST_WATCHERS_BY_POS.remove(observedPos);
-            }
+            CHEST_WATCHERS.unwatch(existing);
         }
     }
 
@@ -262,12 +238,6 @@ public class MasonBehavior implements VillagerProfessionBehavior {
         return PairedStorageHelper.getNormalizedStoragePositions(world, chestPos);
     }
 
-    private record ChestRegistration(VillagerEntity villager, Set<BlockPos> observedChestPositions) {
-        private ChestRegistration(VillagerEntity villager, Set<BlockPos> observedChestPositions) {
-            this.villager = villager;
-            this.observedChestPositions = Set.copyOf(observedChestPositions);
-        }
-    }
 
     private static void tryConvertWithMiningTool(ServerWorld world, VillagerEntity villager, BlockPos jobPos, BlockPos chestPos, String source) {
         Optional<MiningToolTrigger> trigger = checkMiningToolConversionTrigger(world, villager, jobPos, chestPos, source);
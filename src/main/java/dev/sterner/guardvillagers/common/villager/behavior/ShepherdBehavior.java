@@ -7,6 +7,8 @@ import dev.sterner.guardvillagers.common.entity.goal.ShepherdFenceCraftingGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ShepherdFencePlacerGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ShepherdSpecialGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ShepherdToLibrarianDistributionGoal;
+import dev.sterner.guardvillagers.common.villager.ChestWatcherIndex;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import dev.sterner.guardvillagers.common.villager.VillagerProfessionBehavior;
 import net.minecraft.block.BlockState;
@@ -23,11 +25,8 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.village.VillagerProfession;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 public class ShepherdBehavior implements VillagerProfessionBehavior {
     enum FenceCraftingOwner {
@@ -43,19 +42,20 @@ public class ShepherdBehavior implements VillagerProfessionBehavior {
     private static final int BED_PLACER_GOAL_PRIORITY = 7;
     private static final int FENCE_CRAFTING_GOAL_PRIORITY = 8;
     private static final int FENCE_PLACER_GOAL_PRIORITY = 9;
-    private static final Map<VillagerEntity, ShepherdCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ShepherdSpecialGoal> SPECIAL_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ShepherdToLibrarianDistributionGoal> DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ShepherdBedCraftingGoal> BED_CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ShepherdBedPlacerGoal> BED_PLACER_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ShepherdFenceCraftingGoal> FENCE_CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ShepherdFencePlacerGoal> FENCE_PLACER_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestRegistration> CHEST_REGISTRATIONS = new WeakHashMap<>();
-    private static final Map<BlockPos, Set<VillagerEntity>> CHEST_WATCHERS_BY_POS = new HashMap<>();
-    private static final Map<VillagerEntity, Long> LAST_WAKE_TICKS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, Long> QUEUED_WAKE_TICKS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, Integer> DIRTY_WAKE_FLAGS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestCategorySnapshot> LAST_CHEST_SNAPSHOTS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<ShepherdCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("shepherd.crafting_goals");
+    private static final VillagerComponents.Key<ShepherdSpecialGoal> SPECIAL_GOALS = VillagerComponents.goalKey("shepherd.special_goals");
+    private static final VillagerComponents.Key<ShepherdToLibrarianDistributionGoal> DISTRIBUTION_GOALS = VillagerComponents.goalKey("shepherd.distribution_goals");
+    private static final VillagerComponents.Key<ShepherdBedCraftingGoal> BED_CRAFTING_GOALS = VillagerComponents.goalKey("shepherd.bed_crafting_goals");
+    private static final VillagerComponents.Key<ShepherdBedPlacerGoal> BED_PLACER_GOALS = VillagerComponents.goalKey("shepherd.bed_placer_goals");
+    private static final VillagerComponents.Key<ShepherdFenceCraftingGoal> FENCE_CRAFTING_GOALS = VillagerComponents.goalKey("shepherd.fence_crafting_goals");
+    private static final VillagerComponents.Key<ShepherdFencePlacerGoal> FENCE_PLACER_GOALS = VillagerComponents.goalKey("shepherd.fence_placer_goals");
+    private static final ChestWatcherIndex<VillagerEntity> CHEST_WATCHERS = ChestWatcherIndex.create("shepherd");
+    private static final VillagerComponents.Key<ChestWatcherIndex.Registration<VillagerEntity>> CHEST_REGISTRATIONS = VillagerComponents.key(
+            "shepherd.chest_registration", (owner, registration, reason) -> CHEST_WATCHERS.unwatch(registration));
+    private static final VillagerComponents.Key<Long> LAST_WAKE_TICKS = VillagerComponents.key("shepherd.last_wake_ticks");
+    private static final VillagerComponents.Key<Long> QUEUED_WAKE_TICKS = VillagerComponents.key("shepherd.queued_wake_ticks");
+    private static final VillagerComponents.Key<Integer> DIRTY_WAKE_FLAGS = VillagerComponents.key("shepherd.dirty_wake_flags");
+    private static final VillagerComponents.Key<ChestCategorySnapshot> LAST_CHEST_SNAPSHOTS = VillagerComponents.key("shepherd.last_chest_snapshots");
     private static final int DIRTY_SPECIAL = 1 << 0;
     private static final int DIRTY_CRAFTING = 1 << 1;
     private static final int DIRTY_DISTRIBUTION = 1 << 2;
@@ -192,33 +192,23 @@ public class ShepherdBehavior implements VillagerProfessionBehavior {
             return;
         }
 
-        ChestRegistration existing = CHEST_REGISTRATIONS.get(villager);
-        if (existing != null && existing.observedChestPositions().equals(observedChestPositions)) {
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.get(villager);
+        if (existing != null && existing.covers(world, observedChestPositions)) {
             return;
         }
 
         if (existing != null) {
-            removeChestListener(existing);
+            CHEST_WATCHERS.unwatch(existing);
             CHEST_REGISTRATIONS.remove(villager);
             clearWakeScheduler(villager);
         }
 
-        for (BlockPos observedPos : observedChestPositions) {
-            CHEST_WATCHERS_BY_POS.computeIfAbsent(observedPos, ignored -> new HashSet<>()).add(villager);
-        }
-
-        CHEST_REGISTRATIONS.put(villager, new ChestRegistration(villager, observedChestPositions));
+        CHEST_REGISTRATIONS.put(villager, CHEST_WATCHERS.watch(world, villager, observedChestPositions));
     }
 
     public static void onChestInventoryMutated(ServerWorld world, BlockPos chestPos) {
-        Set<VillagerEntity> villagers = CHEST_WATCHERS_BY_POS.get(chestPos);
-        if (villagers == null || villagers.isEmpty()) {
-            return;
-        }
-
-        Set<VillagerEntity> snapshot = Set.copyOf(villagers);
-        for (VillagerEntity villager : snapshot) {
-            if (!villager.isAlive() || villager.getWorld() != world) {
+        for (VillagerEntity villager : CHEST_WATCHERS.watchers(world, chestPos)) {
+            if (!villager.isAlive()) {
                 continue;
             }
             int dirtyFlags = detectDirtyCategories(world, villager, chestPos);
@@ -381,23 +371,10 @@ public class ShepherdBehavior implements VillagerProfessionBehavior {
     }
 
     private void clearChestListener(VillagerEntity villager) {
-        ChestRegistration existing = CHEST_REGISTRATIONS.remove(villager);
+        ChestWatcherIndex.Registration<VillagerEntity> existing = CHEST_REGISTRATIONS.remove(villager);
         clearWakeScheduler(villager);
         if (existing != null) {
-            removeChestListener(existing);
-        }
-    }
-
-    private void removeChestListener(ChestRegistration existing) {
-        for (BlockPos observedPos : existing.observedChestPositions()) {
-            Set<VillagerEntity> watchers = CHEST_WATCHERS_BY_POS.get(observedPos);
-            if (watchers == null) {
-                continue;
-            }
-            watchers.remove(existing.villager());
-            if (watchers.isEmpty()) {
-                CHEST_WATCHERS_BY_POS.remove(observedPos);
-            }
+            CHEST_WATCHERS.unwatch(existing);
         }
     }
 
@@ -426,12 +403,6 @@ public class ShepherdBehavior implements VillagerProfessionBehavior {
         return positions;
     }
 
-    private record ChestRegistration(VillagerEntity villager, Set<BlockPos> observedChestPositions) {
-        private ChestRegistration(VillagerEntity villager, Set<BlockPos> observedChestPositions) {
-            this.villager = villager;
-            this.observedChestPositions = Set.copyOf(observedChestPositions);
-        }
-    }
 
     private record ChestCategorySnapshot(int banners, int shears, int wheat, int wool, int sticks, int planks,
                                          int beds, int fences, int fenceGates, int stringCount) {
@@ -4,6 +4,7 @@ import dev.sterner.guardvillagers.common.entity.goal.ToolsmithCraftingGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ToolsmithDistributionGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ToolsmithSmithingGoal;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
@@ -11,18 +12,16 @@ import net.minecraft.village.VillagerProfession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-import java.util.WeakHashMap;
 
 public class ToolsmithBehavior extends AbstractPairedProfessionBehavior {
     private static final Logger LOGGER = LoggerFactory.getLogger(ToolsmithBehavior.class);
     private static final int DISTRIBUTION_GOAL_PRIORITY = 3;
     private static final int CRAFTING_GOAL_PRIORITY = 4;
     private static final int SMITHING_GOAL_PRIORITY = 5;
-    private static final Map<VillagerEntity, ToolsmithCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ToolsmithDistributionGoal> DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ToolsmithSmithingGoal> SMITHING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestListenerRegistration> CHEST_LISTENERS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<ToolsmithCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("toolsmith.crafting_goals");
+    private static final VillagerComponents.Key<ToolsmithDistributionGoal> DISTRIBUTION_GOALS = VillagerComponents.goalKey("toolsmith.distribution_goals");
+    private static final VillagerComponents.Key<ToolsmithSmithingGoal> SMITHING_GOALS = VillagerComponents.goalKey("toolsmith.smithing_goals");
+    private static final VillagerComponents.Key<ChestListenerRegistration> CHEST_LISTENERS = chestListenerKey("toolsmith.chest_listeners");
 
     public static void requestImmediateDistribution(VillagerEntity villager) {
         ToolsmithDistributionGoal distributionGoal = DISTRIBUTION_GOALS.get(villager);
@@ -4,6 +4,8 @@ import dev.sterner.guardvillagers.common.entity.goal.WeaponsmithCraftingGoal;
 import dev.sterner.guardvillagers.common.entity.goal.WeaponsmithDistributionGoal;
 import dev.sterner.guardvillagers.common.entity.goal.WeaponsmithRepairGoal;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
+import dev.sterner.guardvillagers.common.villager.VillagerWorldIndex;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
@@ -11,24 +13,22 @@ import net.minecraft.village.VillagerProfession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-import java.util.WeakHashMap;
 
 public class WeaponsmithBehavior extends AbstractPairedProfessionBehavior {
     private static final Logger LOGGER = LoggerFactory.getLogger(WeaponsmithBehavior.class);
     private static final int DISTRIBUTION_GOAL_PRIORITY = 3;
     private static final int CRAFTING_GOAL_PRIORITY = 4;
     private static final int REPAIR_GOAL_PRIORITY = 5;
-    private static final Map<VillagerEntity, WeaponsmithCraftingGoal> CRAFTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, WeaponsmithDistributionGoal> DISTRIBUTION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, WeaponsmithRepairGoal> REPAIR_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestListenerRegistration> CHEST_LISTENERS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<WeaponsmithCraftingGoal> CRAFTING_GOALS = VillagerComponents.goalKey("weaponsmith.crafting_goals");
+    private static final VillagerComponents.Key<WeaponsmithDistributionGoal> DISTRIBUTION_GOALS = VillagerComponents.goalKey("weaponsmith.distribution_goals");
+    private static final VillagerComponents.Key<WeaponsmithRepairGoal> REPAIR_GOALS = VillagerComponents.goalKey("weaponsmith.repair_goals");
+    private static final VillagerComponents.Key<ChestListenerRegistration> CHEST_LISTENERS = chestListenerKey("weaponsmith.chest_listeners");
     /** Exposed for QM plank delivery — maps each weaponsmith villager to their paired chest pos. */
-    private static final Map<VillagerEntity, BlockPos> PAIRED_CHESTS = new WeakHashMap<>();
+    private static final VillagerWorldIndex<BlockPos> PAIRED_CHESTS = VillagerWorldIndex.create("weaponsmith.paired_chest");
 
-    /** Returns all currently-paired weaponsmith chest positions (for QM plank delivery). */
-    public static java.util.Collection<BlockPos> getPairedChestPositions() {
-        return PAIRED_CHESTS.values();
+    /** Returns all currently-paired weaponsmith chest positions in {@code world} (for QM plank delivery). */
+    public static java.util.Collection<BlockPos> getPairedChestPositions(ServerWorld world) {
+        return PAIRED_CHESTS.values(world);
     }
 
     @Override
@@ -40,7 +40,7 @@ public class WeaponsmithBehavior extends AbstractPairedProfessionBehavior {
         }
 
         LOGGER.info("Weaponsmith {} paired chest at {} for job site {}", villager.getUuidAsString(), chestPos.toShortString(), jobPos.toShortString());
-        PAIRED_CHESTS.put(villager, chestPos.toImmutable());
+        PAIRED_CHESTS.put(world, villager, chestPos.toImmutable());
 
         WeaponsmithDistributionGoal distributionGoal = upsertGoal(DISTRIBUTION_GOALS, villager, DISTRIBUTION_GOAL_PRIORITY,
                 () -> new WeaponsmithDistributionGoal(villager, jobPos, chestPos, null));
@@ -71,7 +71,7 @@ public class WeaponsmithBehavior extends AbstractPairedProfessionBehavior {
 
     @Override
     public void onCraftingTablePaired(ServerWorld world, VillagerEntity villager, BlockPos jobPos, BlockPos chestPos, BlockPos craftingTablePos) {
-        PAIRED_CHESTS.put(villager, chestPos.toImmutable());
+        PAIRED_CHESTS.put(world, villager, chestPos.toImmutable());
         WeaponsmithCraftingGoal craftingGoal = upsertGoal(CRAFTING_GOALS, villager, CRAFTING_GOAL_PRIORITY,
                 () -> new WeaponsmithCraftingGoal(villager, jobPos, chestPos, craftingTablePos));
         craftingGoal.setTargets(jobPos, chestPos, craftingTablePos);
@@ -1,5 +1,6 @@
 package dev.sterner.guardvillagers.compat.morevillagers.behavior;
 
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.behavior.AbstractPairedProfessionBehavior;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.server.world.ServerWorld;
@@ -9,8 +10,6 @@ import net.minecraft.registry.Registries;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-import java.util.WeakHashMap;
 
 /**
  * Behavior for the MoreVillagers Engineer profession.
@@ -28,7 +27,7 @@ public class MoreVillagersEngineer extends AbstractPairedProfessionBehavior {
     private static final int CRAFTING_GOAL_PRIORITY = 4;
     private static final int DISTRIBUTION_GOAL_PRIORITY = 5;
 
-    private static final Map<VillagerEntity, ChestListenerRegistration> CHEST_LISTENERS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<ChestListenerRegistration> CHEST_LISTENERS = chestListenerKey("morevillagers.engineer.chest_listeners");
 
     @Override
     public void onChestPaired(ServerWorld world, VillagerEntity villager, BlockPos jobPos, BlockPos chestPos) {
@@ -4,6 +4,7 @@ import dev.sterner.guardvillagers.common.entity.goal.ForesterSaplingPlantingGoal
 import dev.sterner.guardvillagers.common.entity.goal.ForesterSaplingProvisionGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ForesterTreeDropPickupGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ForesterBonemealGoal;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.behavior.AbstractPairedProfessionBehavior;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.registry.Registries;
@@ -13,8 +14,6 @@ import net.minecraft.util.math.BlockPos;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-import java.util.WeakHashMap;
 
 /**
  * Behavior for the MoreVillagers Forester profession.
@@ -45,17 +44,17 @@ public class MoreVillagersForester extends AbstractPairedProfessionBehavior {
     private static final int BONEMEAL_GOAL_PRIORITY = 6;
 
     // V2 goals (chest-paired)
-    private static final Map<VillagerEntity, ForesterSaplingProvisionGoal> PROVISION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ForesterSaplingPlantingGoal> PLANTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ForesterTreeDropPickupGoal> PICKUP_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ForesterBonemealGoal> BONEMEAL_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ChestListenerRegistration> CHEST_LISTENERS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<ForesterSaplingProvisionGoal> PROVISION_GOALS = VillagerComponents.goalKey("morevillagers.forester.provision_goals");
+    private static final VillagerComponents.Key<ForesterSaplingPlantingGoal> PLANTING_GOALS = VillagerComponents.goalKey("morevillagers.forester.planting_goals");
+    private static final VillagerComponents.Key<ForesterTreeDropPickupGoal> PICKUP_GOALS = VillagerComponents.goalKey("morevillagers.forester.pickup_goals");
+    private static final VillagerComponents.Key<ForesterBonemealGoal> BONEMEAL_GOALS = VillagerComponents.goalKey("morevillagers.forester.bonemeal_goals");
+    private static final VillagerComponents.Key<ChestListenerRegistration> CHEST_LISTENERS = chestListenerKey("morevillagers.forester.chest_listeners");
 
     // V1 goals (no chest – provision into own inventory, plant from inventory)
-    private static final Map<VillagerEntity, ForesterSaplingProvisionGoal> V1_PROVISION_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ForesterSaplingPlantingGoal> V1_PLANTING_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ForesterTreeDropPickupGoal> V1_PICKUP_GOALS = new WeakHashMap<>();
-    private static final Map<VillagerEntity, ForesterBonemealGoal> V1_BONEMEAL_GOALS = new WeakHashMap<>();
+    private static final VillagerComponents.Key<ForesterSaplingProvisionGoal> V1_PROVISION_GOALS = VillagerComponents.goalKey("morevillagers.forester.v1_provision_goals");
+    private static final VillagerComponents.Key<ForesterSaplingPlantingGoal> V1_PLANTING_GOALS = VillagerComponents.goalKey("morevillagers.forester.v1_planting_goals");
+    private static final VillagerComponents.Key<ForesterTreeDropPickupGoal> V1_PICKUP_GOALS = VillagerComponents.goalKey("morevillagers.forester.v1_pickup_goals");
+    private static final VillagerComponents.Key<ForesterBonemealGoal> V1_BONEMEAL_GOALS = VillagerComponents.goalKey("morevillagers.forester.v1_bonemeal_goals");
 
     @Override
     public void onChestPaired(ServerWorld world, VillagerEntity villager, BlockPos jobPos, BlockPos chestPos) {
@@ -1,14 +1,18 @@
 package dev.sterner.guardvillagers.mixin;
 
 import dev.sterner.guardvillagers.common.util.VillageGuardStandManager;
+import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.decoration.ArmorStandEntity;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
 import net.minecraft.util.math.Vec3d;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(ArmorStandEntity.class)
@@ -20,4 +24,15 @@ public class ArmorStandEntityMixin {
             return;
         }
     }
+
+    // interactAt, dispensers and commands all funnel through equipStack, so this one hook
+    // pushes every stand loadout change to the paired guard.
+    @Inject(method = "equipStack", at = @At("TAIL"))
+    private void guardvillagers$notifyGuardStandEquipmentChanged(EquipmentSlot slot, ItemStack stack, CallbackInfo ci) {
+        ArmorStandEntity stand = (ArmorStandEntity) (Object) this;
+        if (stand.getWorld() instanceof ServerWorld serverWorld
+                && stand.getCommandTags().contains(VillageGuardStandManager.GUARD_STAND_TAG)) {
+            VillageGuardStandManager.onStandEquipmentChanged(serverWorld, stand);
+        }
+    }
 }
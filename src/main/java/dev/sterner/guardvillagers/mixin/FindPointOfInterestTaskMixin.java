@@ -18,6 +18,7 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
 
 import java.util.Optional;
+import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -99,10 +100,11 @@ public class FindPointOfInterestTaskMixin {
             PathAwareEntity entity,
             RegistryEntry<PointOfInterestType> poiType
     ) {
+        LongPredicate reserved = ConvertedWorkerJobSiteReservationManager.reservedPositions(world);
         return blockPos -> {
             TakeJobSiteInjectDiagnostics.markPotentialJobSiteHookObserved();
 
-            if (ConvertedWorkerJobSiteReservationManager.isReservedForAnyConvertedWorker(world, blockPos)) {
+            if (reserved.test(blockPos.asLong())) {
                 LOGGER.debug("potential job site rejected (reserved): entity={} jobSite={} poiType={}",
                         entity.getUuidAsString(),
                         blockPos.toShortString(),
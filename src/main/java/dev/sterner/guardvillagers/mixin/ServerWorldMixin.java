@@ -5,7 +5,9 @@ import dev.sterner.guardvillagers.common.entity.GuardEntity;
 import dev.sterner.guardvillagers.common.entity.goal.AttackEntityDaytimeGoal;
 import dev.sterner.guardvillagers.common.entity.goal.HealGolemGoal;
 import dev.sterner.guardvillagers.common.entity.goal.HealGuardAndPlayerGoal;
+import dev.sterner.guardvillagers.common.event.GuardVillagersEvents;
 import dev.sterner.guardvillagers.common.villager.VillagerProfessionBehaviorRegistry;
+import net.minecraft.block.BlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.ai.brain.MemoryModuleType;
 import net.minecraft.entity.ai.goal.ActiveTargetGoal;
@@ -19,6 +21,7 @@ import net.minecraft.registry.DynamicRegistryManager;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.profiler.Profiler;
 import net.minecraft.world.MutableWorldProperties;
 import net.minecraft.world.StructureWorldAccess;
@@ -27,6 +30,7 @@ import net.minecraft.world.dimension.DimensionType;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import java.util.function.Supplier;
@@ -109,4 +113,12 @@ public abstract class ServerWorldMixin extends World implements StructureWorldAc
             cat.goalSelector.add(1, new FleeEntityGoal<>(cat, IllagerEntity.class, 12.0F, 1.0D, 1.2D));
         }
     }
+
+    @Inject(method = "onBlockChanged", at = @At("TAIL"))
+    private void guardvillagers$onBlockChanged(BlockPos pos, BlockState oldBlock, BlockState newBlock, CallbackInfo ci) {
+        if (oldBlock == newBlock) {
+            return;
+        }
+        GuardVillagersEvents.BLOCK_CHANGED.invoker().onBlockChanged((ServerWorld) (Object) this, pos, oldBlock, newBlock);
+    }
 }
@@ -2,6 +2,7 @@ package dev.sterner.guardvillagers.mixin;
 
 import dev.sterner.guardvillagers.common.util.ArmorerStandManager;
 import dev.sterner.guardvillagers.common.util.ArmorerStandMemoryHolder;
+import dev.sterner.guardvillagers.common.util.DistributionSortieCargoHolder;
 import dev.sterner.guardvillagers.common.util.LeatherworkerCraftingMemoryHolder;
 import dev.sterner.guardvillagers.common.util.ToolsmithCraftingMemoryHolder;
 import dev.sterner.guardvillagers.common.util.VillageMembershipTracker;
@@ -10,12 +11,19 @@ import dev.sterner.guardvillagers.common.util.WeaponsmithStandManager;
 import dev.sterner.guardvillagers.common.util.WeaponsmithStandMemoryHolder;
 import dev.sterner.guardvillagers.common.util.ConvertedWorkerJobSiteReservationManager;
 import dev.sterner.guardvillagers.common.util.ShepherdPenStateHolder;
+import dev.sterner.guardvillagers.common.util.VillageExpansionWorkQueue;
+import dev.sterner.guardvillagers.common.villager.VillagerComponentHolder;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import dev.sterner.guardvillagers.common.villager.behavior.VillagerFenceGateEscapeHelper;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.entity.ai.brain.MemoryModuleType;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.GlobalPos;
+import net.minecraft.village.VillagerData;
 import net.minecraft.village.VillagerProfession;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtList;
@@ -32,11 +40,12 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Mixin(VillagerEntity.class)
-public class VillagerEntityMixin implements ArmorerStandMemoryHolder, WeaponsmithStandMemoryHolder, WeaponsmithCraftingMemoryHolder, ToolsmithCraftingMemoryHolder, LeatherworkerCraftingMemoryHolder, VillageMembershipTracker.VillageMembershipHolder, ShepherdPenStateHolder {
+public class VillagerEntityMixin implements ArmorerStandMemoryHolder, WeaponsmithStandMemoryHolder, WeaponsmithCraftingMemoryHolder, ToolsmithCraftingMemoryHolder, LeatherworkerCraftingMemoryHolder, VillageMembershipTracker.VillageMembershipHolder, ShepherdPenStateHolder, VillagerComponentHolder, DistributionSortieCargoHolder {
     private static final String WEAPONSMITH_LAST_CRAFTED_KEY = "GuardVillagersLastWeaponsmithCrafted";
     private static final String TOOLSMITH_LAST_CRAFTED_KEY = "GuardVillagersLastToolsmithCrafted";
     private static final String LEATHERWORKER_LAST_CRAFTED_KEY = "GuardVillagersLastLeatherworkerCrafted";
@@ -83,6 +92,21 @@ public class VillagerEntityMixin implements ArmorerStandMemoryHolder, Weaponsmit
     @Unique
     private long guardvillagers$emergencyEscapeLastAttemptTick = Long.MIN_VALUE;
 
+    @Unique
+    private boolean guardvillagers$expansionQueueSignalled;
+    @Unique
+    @Nullable
+    private GlobalPos guardvillagers$expansionJobSite;
+    @Unique
+    @Nullable
+    private VillagerProfession guardvillagers$expansionProfession;
+    @Unique
+    private long guardvillagers$membershipChunk = Long.MIN_VALUE;
+    @Unique
+    private final VillagerComponents guardvillagers$components = new VillagerComponents();
+    @Unique
+    private final SimpleInventory guardvillagers$sortieCargo = new SimpleInventory(DistributionSortieCargoHolder.SORTIE_CARGO_SLOTS);
+
     // -------------------------------------------------------------------------
     // Village membership — home bell tag (Cluster 1B)
     // -------------------------------------------------------------------------
@@ -102,6 +126,16 @@ public class VillagerEntityMixin implements ArmorerStandMemoryHolder, Weaponsmit
     @Nullable
     private BlockPos guardvillagers$ownedPenAnchor;
 
+    @Override
+    public VillagerComponents guardvillagers$getComponents() {
+        return guardvillagers$components;
+    }
+
+    @Override
+    public SimpleInventory guardvillagers$getSortieCargo() {
+        return guardvillagers$sortieCargo;
+    }
+
     @Override
     public GlobalPos guardvillagers$getHomeBellPos() {
         return guardvillagers$homeBellPos;
@@ -255,6 +289,38 @@ public class VillagerEntityMixin implements ArmorerStandMemoryHolder, Weaponsmit
         guardvillagers$lastLeatherworkerCrafted = parsed;
     }
 
+    @Inject(method = "readCustomDataFromNbt", at = @At("TAIL"))
+    private void guardvillagers$readSortieCargo(NbtCompound nbt, CallbackInfo ci) {
+        VillagerEntity villager = (VillagerEntity) (Object) this;
+        guardvillagers$sortieCargo.clear();
+        NbtList list = nbt.getList(DistributionSortieCargoHolder.SORTIE_CARGO_KEY, 10);
+        for (int i = 0; i < list.size(); i++) {
+            NbtCompound entry = list.getCompound(i);
+            int slot = entry.getByte("Slot") & 255;
+            if (slot < guardvillagers$sortieCargo.size()) {
+                guardvillagers$sortieCargo.setStack(slot, ItemStack.fromNbtOrEmpty(villager.getRegistryManager(), entry));
+            }
+        }
+    }
+
+    @Inject(method = "writeCustomDataToNbt", at = @At("TAIL"))
+    private void guardvillagers$writeSortieCargo(NbtCompound nbt, CallbackInfo ci) {
+        VillagerEntity villager = (VillagerEntity) (Object) this;
+        NbtList list = new NbtList();
+        for (int slot = 0; slot < guardvillagers$sortieCargo.size(); slot++) {
+            ItemStack stack = guardvillagers$sortieCargo.getStack(slot);
+            if (!stack.isEmpty()) {
+                NbtCompound entry = new NbtCompound();
+                entry.putByte("Slot", (byte) slot);
+                list.add(stack.encode(villager.getRegistryManager(), entry));
+            }
+        }
+        if (list.isEmpty()) {
+            nbt.remove(DistributionSortieCargoHolder.SORTIE_CARGO_KEY);
+        } else {
+            nbt.put(DistributionSortieCargoHolder.SORTIE_CARGO_KEY, list);
+        }
+    }
 
     @Inject(method = "writeCustomDataToNbt", at = @At("TAIL"))
     private void guardvillagers$writeShepherdPenState(NbtCompound nbt, CallbackInfo ci) {
@@ -486,6 +552,59 @@ public class VillagerEntityMixin implements ArmorerStandMemoryHolder, Weaponsmit
         }
     }
 
+    @Inject(method = "setVillagerData", at = @At("HEAD"))
+    private void guardvillagers$releaseComponentsOnProfessionChange(VillagerData villagerData, CallbackInfo ci) {
+        VillagerEntity villager = (VillagerEntity) (Object) this;
+        // setVillagerData runs from the constructor before our fields are guaranteed to be assigned.
+        if (guardvillagers$components == null || villager.getWorld().isClient) {
+            return;
+        }
+        if (villager.getVillagerData().getProfession() != villagerData.getProfession()) {
+            VillagerComponents.release(villager, VillagerComponents.ReleaseReason.PROFESSION_CHANGED);
+        }
+    }
+
+    @Inject(method = "mobTick", at = @At("TAIL"))
+    private void guardvillagers$signalVillageExpansionChanges(CallbackInfo ci) {
+        VillagerEntity villager = (VillagerEntity) (Object) this;
+        if (villager.getWorld().isClient || !(villager.getWorld() instanceof ServerWorld serverWorld)) {
+            return;
+        }
+
+        // First tick after load, job-site acquisition/loss and profession changes (re)queue the
+        // villager for lumberjack chest/crafting-table expansion work.
+        @Nullable GlobalPos jobSite = villager.getBrain().getOptionalMemory(MemoryModuleType.JOB_SITE).orElse(null);
+        VillagerProfession profession = villager.getVillagerData().getProfession();
+        if (guardvillagers$expansionQueueSignalled
+                && Objects.equals(jobSite, guardvillagers$expansionJobSite)
+                && profession == guardvillagers$expansionProfession) {
+            return;
+        }
+        guardvillagers$expansionQueueSignalled = true;
+        guardvillagers$expansionJobSite = jobSite;
+        guardvillagers$expansionProfession = profession;
+        VillageExpansionWorkQueue.onVillagerChanged(serverWorld, villager.getUuid(),
+                jobSite != null && jobSite.dimension() == serverWorld.getRegistryKey() ? jobSite.pos() : null);
+        VillageMembershipTracker.refreshMembership(serverWorld, villager);
+    }
+
+    @Inject(method = "mobTick", at = @At("TAIL"))
+    private void guardvillagers$refreshVillageMembershipOnMove(CallbackInfo ci) {
+        VillagerEntity villager = (VillagerEntity) (Object) this;
+        if (villager.getWorld().isClient || !(villager.getWorld() instanceof ServerWorld serverWorld)) {
+            return;
+        }
+
+        // Bell ranges are far wider than a chunk, so re-checking membership on chunk crossings is
+        // enough to catch villagers walking into another bell's range.
+        long chunk = ChunkPos.toLong(villager.getBlockX() >> 4, villager.getBlockZ() >> 4);
+        if (chunk == guardvillagers$membershipChunk) {
+            return;
+        }
+        guardvillagers$membershipChunk = chunk;
+        VillageMembershipTracker.refreshMembership(serverWorld, villager);
+    }
+
     @Inject(method = "mobTick", at = @At("TAIL"))
     private void guardvillagers$handleEmergencyFenceGateEscape(CallbackInfo ci) {
         VillagerEntity villager = (VillagerEntity) (Object) this;
@@ -0,0 +1,55 @@
+package dev.sterner.guardvillagers.common.entity.goal;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AbstractInventoryDistributionGoalSortieOrderTest {
+
+    private static final BlockPos SOURCE = new BlockPos(0, 64, 0);
+
+    @Test
+    void legsAreVisitedNearestFirstFromTheSourceChest() {
+        AbstractInventoryDistributionGoal.SortieLeg far = leg(new BlockPos(30, 64, 0));
+        AbstractInventoryDistributionGoal.SortieLeg near = leg(new BlockPos(4, 64, 0));
+        AbstractInventoryDistributionGoal.SortieLeg middle = leg(new BlockPos(12, 64, 2));
+
+        List<AbstractInventoryDistributionGoal.SortieLeg> ordered =
+                AbstractInventoryDistributionGoal.orderSortieLegs(SOURCE, List.of(far, near, middle));
+
+        assertEquals(List.of(near, middle, far), ordered);
+    }
+
+    @Test
+    void routeFollowsTheLastStopRatherThanTheSource() {
+        AbstractInventoryDistributionGoal.SortieLeg west = leg(new BlockPos(-10, 64, 0));
+        AbstractInventoryDistributionGoal.SortieLeg eastNear = leg(new BlockPos(9, 64, 0));
+        AbstractInventoryDistributionGoal.SortieLeg eastFar = leg(new BlockPos(20, 64, 0));
+
+        List<AbstractInventoryDistributionGoal.SortieLeg> ordered =
+                AbstractInventoryDistributionGoal.orderSortieLegs(SOURCE, List.of(west, eastFar, eastNear));
+
+        assertEquals(List.of(eastNear, eastFar, west), ordered);
+    }
+
+    @Test
+    void legsToTheSameChestStayAdjacentInPlanningOrder() {
+        BlockPos chest = new BlockPos(6, 64, 6);
+        AbstractInventoryDistributionGoal.SortieLeg first = leg(chest);
+        AbstractInventoryDistributionGoal.SortieLeg other = leg(new BlockPos(-7, 64, -7));
+        AbstractInventoryDistributionGoal.SortieLeg second = leg(chest);
+
+        List<AbstractInventoryDistributionGoal.SortieLeg> ordered =
+                AbstractInventoryDistributionGoal.orderSortieLegs(SOURCE, List.of(first, other, second));
+
+        assertEquals(List.of(first, second, other), ordered);
+    }
+
+    private static AbstractInventoryDistributionGoal.SortieLeg leg(BlockPos chest) {
+        return new AbstractInventoryDistributionGoal.SortieLeg(0, UUID.randomUUID(), chest);
+    }
+}
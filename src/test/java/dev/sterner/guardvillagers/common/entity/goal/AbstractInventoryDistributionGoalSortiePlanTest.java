@@ -0,0 +1,267 @@
+package dev.sterner.guardvillagers.common.entity.goal;
+
+import dev.sterner.guardvillagers.GuardVillagersConfig;
+import dev.sterner.guardvillagers.common.util.DistributionRecipientHelper;
+import dev.sterner.guardvillagers.common.util.DistributionSortieCargoHolder;
+import dev.sterner.guardvillagers.common.util.UniversalDistributionRouter;
+import net.minecraft.entity.ai.pathing.EntityNavigation;
+import net.minecraft.entity.decoration.ArmorStandEntity;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class AbstractInventoryDistributionGoalSortiePlanTest {
+
+    private static final BlockPos SOURCE_CHEST = new BlockPos(0, 64, 0);
+    private static final int DEFAULT_MAX_LEGS = GuardVillagersConfig.distributionSortieMaxLegs;
+
+    private final ServerWorld world = mock(ServerWorld.class);
+
+    @AfterEach
+    void restoreConfig() {
+        GuardVillagersConfig.distributionSortieMaxLegs = DEFAULT_MAX_LEGS;
+    }
+
+    @Test
+    void routesResolveAgainstAMaskedCopySoEachSourceSlotIsPlannedOnce() {
+        SimpleInventory source = new SimpleInventory(new ItemStack(Items.WHEAT, 16), new ItemStack(Items.BREAD, 8));
+        DistributionRecipientHelper.RecipientRecord recipient = recipient(new BlockPos(6, 64, 0));
+        SortiePlanTestGoal goal = new SortiePlanTestGoal(villager(new SimpleInventory(8)), source, 4, recipient, null);
+
+        List<AbstractInventoryDistributionGoal.SortieLeg> legs = goal.planUniversalSortie(world, source);
+
+        assertEquals(2, legs.size());
+        assertEquals(3, goal.resolvedInventories.size());
+        for (Inventory resolved : goal.resolvedInventories) {
+            assertNotSame(source, resolved);
+        }
+        assertEquals(12, source.getStack(0).getCount());
+        assertEquals(4, source.getStack(1).getCount());
+        assertEquals(4, goal.carried().getStack(legs.get(0).carriedSlot()).getCount());
+        assertEquals(Items.BREAD, goal.carried().getStack(legs.get(1).carriedSlot()).getItem());
+    }
+
+    @Test
+    void splitPlanSharesBecomeExtraLegsForTheOtherRecipients() {
+        SimpleInventory source = new SimpleInventory(new ItemStack(Items.WHEAT, 10));
+        DistributionRecipientHelper.RecipientRecord selected = recipient(new BlockPos(6, 64, 0));
+        DistributionRecipientHelper.RecipientRecord other = recipient(new BlockPos(-6, 64, 0));
+        UniversalDistributionRouter.SplitPlan splitPlan = new UniversalDistributionRouter.SplitPlan(
+                List.of(new UniversalDistributionRouter.RecipientShare(selected, 6),
+                        new UniversalDistributionRouter.RecipientShare(other, 3)),
+                selected,
+                0);
+        SortiePlanTestGoal goal = new SortiePlanTestGoal(villager(new SimpleInventory(8)), source, 4, selected, splitPlan);
+
+        List<AbstractInventoryDistributionGoal.SortieLeg> legs = goal.planUniversalSortie(world, source);
+
+        assertEquals(2, legs.size());
+        assertEquals(selected.recipient().getUuid(), legs.get(0).recipientId());
+        assertEquals(other.recipient().getUuid(), legs.get(1).recipientId());
+        assertEquals(4, goal.carried().getStack(legs.get(0).carriedSlot()).getCount());
+        assertEquals(3, goal.carried().getStack(legs.get(1).carriedSlot()).getCount());
+        assertEquals(3, source.getStack(0).getCount());
+    }
+
+    @Test
+    void capacityIsCappedByFreeCarriedSlotsAndTheConfiguredMaximum() {
+        SimpleInventory source = new SimpleInventory(
+                new ItemStack(Items.WHEAT, 4), new ItemStack(Items.BREAD, 4), new ItemStack(Items.CARROT, 4));
+        DistributionRecipientHelper.RecipientRecord recipient = recipient(new BlockPos(6, 64, 0));
+
+        SimpleInventory nearlyFull = new SimpleInventory(8);
+        for (int slot = 1; slot < nearlyFull.size(); slot++) {
+            nearlyFull.setStack(slot, new ItemStack(Items.WHEAT_SEEDS, 64));
+        }
+        SortiePlanTestGoal oneSlotGoal = new SortiePlanTestGoal(villager(nearlyFull), source, 4, recipient, null);
+        assertEquals(1, oneSlotGoal.planUniversalSortie(world, source).size());
+        assertEquals(Items.WHEAT, nearlyFull.getStack(0).getItem());
+
+        GuardVillagersConfig.distributionSortieMaxLegs = 1;
+        SortiePlanTestGoal cappedGoal = new SortiePlanTestGoal(villager(new SimpleInventory(8)), source, 4, recipient, null);
+        assertEquals(1, cappedGoal.planUniversalSortie(world, source).size());
+
+        GuardVillagersConfig.distributionSortieMaxLegs = DEFAULT_MAX_LEGS;
+        SimpleInventory full = new SimpleInventory(8);
+        for (int slot = 0; slot < full.size(); slot++) {
+            full.setStack(slot, new ItemStack(Items.WHEAT_SEEDS, 64));
+        }
+        SortiePlanTestGoal fullGoal = new SortiePlanTestGoal(villager(full), source, 4, recipient, null);
+        assertTrue(fullGoal.planUniversalSortie(world, source).isEmpty());
+        assertEquals(4, source.getStack(2).getCount());
+    }
+
+    @Test
+    void failedLegAndQueuedLegsGoBackToTheSourceChest() {
+        SimpleInventory source = new SimpleInventory(new ItemStack(Items.WHEAT, 4), new ItemStack(Items.BREAD, 4));
+        DistributionRecipientHelper.RecipientRecord recipient = recipient(new BlockPos(6, 64, 0));
+        VillagerEntity villager = villager(new SimpleInventory(8));
+        when(villager.getNavigation()).thenReturn(mock(EntityNavigation.class));
+        when(villager.getWorld()).thenReturn(world);
+        SortiePlanTestGoal goal = new SortiePlanTestGoal(villager, source, 4, recipient, null);
+
+        assertTrue(goal.selectUniversalPendingTransfer(world, source));
+        assertTrue(source.getStack(0).isEmpty());
+        assertTrue(source.getStack(1).isEmpty());
+        assertEquals(1, goal.queuedSortieLegs.size());
+
+        goal.returnPendingItem(world);
+
+        assertTrue(goal.pendingItem.isEmpty());
+        assertEquals(4, countIn(source));
+        assertEquals(4, countIn(goal.carried()));
+
+        goal.stop();
+
+        assertEquals(8, countIn(source));
+        assertTrue(goal.carried().isEmpty());
+        assertTrue(goal.queuedSortieLegs.isEmpty());
+    }
+
+    @Test
+    void capacityIgnoresTheVillagersOwnInventory() {
+        SimpleInventory source = new SimpleInventory(new ItemStack(Items.WHEAT, 4), new ItemStack(Items.BREAD, 4));
+        VillagerEntity villager = villager(new SimpleInventory(8));
+        SimpleInventory own = villager.getInventory();
+        for (int slot = 0; slot < own.size(); slot++) {
+            own.setStack(slot, new ItemStack(Items.WHEAT_SEEDS, 64));
+        }
+        SortiePlanTestGoal goal = new SortiePlanTestGoal(villager, source, 4, recipient(new BlockPos(6, 64, 0)), null);
+
+        assertEquals(2, goal.planUniversalSortie(world, source).size());
+        assertEquals(8, countIn(goal.carried()));
+    }
+
+    @Test
+    void cargoLeftFromAnInterruptedSortieGoesBackToTheSourceChest() {
+        SimpleInventory source = new SimpleInventory(new ItemStack(Items.WHEAT, 4), new ItemStack(Items.BREAD, 4));
+        DistributionRecipientHelper.RecipientRecord recipient = recipient(new BlockPos(6, 64, 0));
+        VillagerEntity villager = villager(new SimpleInventory(8));
+        when(villager.getWorld()).thenReturn(world);
+        SortiePlanTestGoal goal = new SortiePlanTestGoal(villager, source, 4, recipient, null);
+
+        assertTrue(goal.selectUniversalPendingTransfer(world, source));
+        goal.returnOrphanedSortieCargo(world);
+        assertEquals(8, countIn(goal.carried()));
+
+        // A reload recreates the goal with the cargo still on the villager but no legs.
+        SortiePlanTestGoal reloaded = new SortiePlanTestGoal(villager, source, 4, recipient, null);
+        reloaded.returnOrphanedSortieCargo(world);
+
+        assertTrue(goal.carried().isEmpty());
+        assertEquals(8, countIn(source));
+    }
+
+    private static int countIn(Inventory inventory) {
+        int count = 0;
+        for (int slot = 0; slot < inventory.size(); slot++) {
+            count += inventory.getStack(slot).getCount();
+        }
+        return count;
+    }
+
+    private static VillagerEntity villager(SimpleInventory cargo) {
+        VillagerEntity villager = mock(VillagerEntity.class, withSettings().extraInterfaces(DistributionSortieCargoHolder.class));
+        when(villager.getInventory()).thenReturn(new SimpleInventory(8));
+        when(((DistributionSortieCargoHolder) villager).guardvillagers$getSortieCargo()).thenReturn(cargo);
+        return villager;
+    }
+
+    private static DistributionRecipientHelper.RecipientRecord recipient(BlockPos chestPos) {
+        VillagerEntity recipient = mock(VillagerEntity.class);
+        when(recipient.getUuid()).thenReturn(UUID.randomUUID());
+        return new DistributionRecipientHelper.RecipientRecord(recipient, chestPos.down(), chestPos, chestPos.getSquaredDistance(SOURCE_CHEST));
+    }
+
+    private static final class SortiePlanTestGoal extends AbstractInventoryDistributionGoal {
+        private final Inventory source;
+        private final int batchSize;
+        private final DistributionRecipientHelper.RecipientRecord recipient;
+        private final UniversalDistributionRouter.SplitPlan splitPlan;
+        private final List<Inventory> resolvedInventories = new ArrayList<>();
+
+        private SortiePlanTestGoal(VillagerEntity villager,
+                                   Inventory source,
+                                   int batchSize,
+                                   DistributionRecipientHelper.RecipientRecord recipient,
+                                   UniversalDistributionRouter.SplitPlan splitPlan) {
+            super(villager, SOURCE_CHEST, SOURCE_CHEST, null);
+            this.source = source;
+            this.batchSize = batchSize;
+            this.recipient = recipient;
+            this.splitPlan = splitPlan;
+        }
+
+        Inventory carried() {
+            return sortieCargo();
+        }
+
+        @Override
+        protected Optional<UniversalDistributionRouter.ResolvedRoute> resolveUniversalRoute(ServerWorld world, Inventory inventory) {
+            resolvedInventories.add(inventory);
+            for (int slot = 0; slot < inventory.size(); slot++) {
+                if (!inventory.getStack(slot).isEmpty()) {
+                    return Optional.of(new UniversalDistributionRouter.ResolvedRoute(null, slot, List.of(recipient), splitPlan));
+                }
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        protected int getChestTransferBatchSize(ServerWorld world) {
+            return batchSize;
+        }
+
+        @Override
+        protected Optional<Inventory> getChestInventory(ServerWorld world) {
+            return Optional.of(source);
+        }
+
+        @Override
+        protected boolean isDistributableItem(ItemStack stack) {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        protected Optional<ArmorStandEntity> findPlacementStand(ServerWorld world, ItemStack stack) {
+            return Optional.empty();
+        }
+
+        @Override
+        protected boolean isStandAvailableForPendingItem(ServerWorld world, ArmorStandEntity stand) {
+            return false;
+        }
+
+        @Override
+        protected boolean placePendingItemOnStand(ServerWorld world, ArmorStandEntity stand) {
+            return false;
+        }
+
+        @Override
+        protected void clearPendingTargetState() {
+        }
+
+        @Override
+        protected boolean matchesProfession(VillagerEntity villager) {
+            return true;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package dev.sterner.guardvillagers.common.entity.goal;
 
 import dev.sterner.guardvillagers.common.util.VillageMappedBoundsState;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -72,4 +73,21 @@ class LumberjackGuardChopTreesMappedBoundsModeTest {
                 0,
                 0));
     }
+
+    @Test
+    void registeredBounds_includeRegionsCoveringTheCenterAndAnchorsWithinRadius() {
+        VillageMappedBoundsState state = new VillageMappedBoundsState();
+        VillageMappedBoundsState.MappedBounds covering = new VillageMappedBoundsState.MappedBounds(-600, 600, -600, 600);
+        VillageMappedBoundsState.MappedBounds nearby = new VillageMappedBoundsState.MappedBounds(100, 200, 100, 200);
+        VillageMappedBoundsState.MappedBounds distant = new VillageMappedBoundsState.MappedBounds(4000, 4100, 4000, 4100);
+        state.putBounds(World.OVERWORLD, new BlockPos(500, 64, 500), covering);
+        state.putBounds(World.OVERWORLD, new BlockPos(150, 64, 150), nearby);
+        state.putBounds(World.OVERWORLD, new BlockPos(4050, 64, 4050), distant);
+        state.putBounds(World.NETHER, new BlockPos(10, 64, 10), nearby);
+
+        List<VillageMappedBoundsState.MappedBounds> bounds = LumberjackGuardChopTreesGoal.collectRegisteredMappedBounds(
+                state, World.OVERWORLD, new BlockPos(0, 64, 0), 300);
+
+        assertEquals(List.of(covering, nearby), LumberjackGuardChopTreesGoal.uniqueValidMappedBounds(bounds));
+    }
 }
@@ -6,7 +6,9 @@ import org.junit.jupiter.api.Test;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class MasonWallBuilderGoalBaselineReplanTest {
@@ -43,4 +45,19 @@ class MasonWallBuilderGoalBaselineReplanTest {
                         > frozenBaseline.get(MasonWallBuilderGoal.perimeterColumnKey(firstColumn.getX(), firstColumn.getZ())),
                 "Test setup should simulate a taller live heightmap for a placed column.");
     }
+
+    @Test
+    void layerProgressIgnoresGateColumnsAndMeasuresAgainstFrozenBaseline() {
+        Map<Long, Integer> baseline = Map.of(
+                MasonWallBuilderGoal.perimeterColumnKey(0, 0), 60,
+                MasonWallBuilderGoal.perimeterColumnKey(1, 0), 62);
+        List<BlockPos> unbuilt = List.of(
+                new BlockPos(1, 65, 0),
+                new BlockPos(0, 61, 0));
+
+        assertArrayEquals(new boolean[]{true, true, false},
+                MasonWallBuilderGoal.computeLayerProgress(unbuilt, Set.of(new BlockPos(0, 61, 0)), baseline));
+        assertArrayEquals(new boolean[]{false, true, false},
+                MasonWallBuilderGoal.computeLayerProgress(unbuilt, Set.of(), baseline));
+    }
 }
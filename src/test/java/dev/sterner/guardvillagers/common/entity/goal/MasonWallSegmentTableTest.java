@@ -0,0 +1,101 @@
+package dev.sterner.guardvillagers.common.entity.goal;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MasonWallSegmentTableTest {
+
+    @Test
+    void unknownSegmentsReadDefaultsWithoutAllocatingRows() {
+        MasonWallSegmentTable table = new MasonWallSegmentTable();
+        BlockPos pos = new BlockPos(10, 64, -4);
+
+        assertEquals(MasonWallSegmentTable.NONE, table.stateOrdinal(pos));
+        assertEquals(MasonWallSegmentTable.NO_TICK, table.cooldownUntilTick(pos));
+        assertEquals(MasonWallSegmentTable.NONE, table.candidateIndex(pos));
+        table.clearCooldown(pos);
+        assertEquals(0, table.rowCount());
+
+        assertEquals(MasonWallSegmentTable.NONE, table.setStateOrdinal(pos, 3));
+        assertEquals(3, table.setStateOrdinal(pos.toImmutable(), 5));
+        assertEquals(1, table.rowCount());
+    }
+
+    @Test
+    void bandsAreInternedAndDescribedInLogForm() {
+        MasonWallSegmentTable table = new MasonWallSegmentTable();
+        int band = table.bandId(-1200, 3400, 2);
+
+        assertEquals(band, table.bandId(-1200, 3400, 2));
+        assertNotEquals(band, table.bandId(-1200, 3400, 3));
+        assertEquals("-1200|3400|2", table.describeBand(band));
+        assertEquals("5|-7|-1", table.describeBand(table.bandId(5, -7, -1)));
+    }
+
+    @Test
+    void bandWindowsRestartAfterTheirWindowExpires() {
+        MasonWallSegmentTable table = new MasonWallSegmentTable();
+        int band = table.bandId(0, 0, 1);
+        MasonWallSegmentTable.BandWindow window = MasonWallSegmentTable.BandWindow.PATH_FAILURE;
+
+        assertEquals(1, table.registerWindowHit(window, band, 100L, 50L));
+        assertEquals(2, table.registerWindowHit(window, band, 140L, 50L));
+        assertEquals(1, table.registerWindowHit(window, band, 160L, 50L));
+        assertEquals(1, table.registerWindowHit(MasonWallSegmentTable.BandWindow.NO_PROGRESS_ABORT, band, 160L, 50L));
+    }
+
+    @Test
+    void sortieAbortHistoryClearsEverySegmentInThePlacedBand() {
+        MasonWallSegmentTable table = new MasonWallSegmentTable();
+        BlockPos a = new BlockPos(1, 65, 1);
+        BlockPos b = new BlockPos(2, 65, 1);
+        BlockPos other = new BlockPos(9, 65, 9);
+        int band = table.bandId(1, 1, 1);
+        int otherBand = table.bandId(9, 9, 1);
+        table.incrementSortieAbortRepeatCount(a, band);
+        table.incrementSortieAbortRepeatCount(b, band);
+        table.incrementSortieAbortRepeatCount(other, otherBand);
+        table.incrementBandSortieAbortRepeatCount(band);
+
+        table.clearSortieAbortHistory(a, band);
+
+        assertEquals(1, table.incrementSortieAbortRepeatCount(b, band));
+        assertEquals(2, table.incrementSortieAbortRepeatCount(other, otherBand));
+        assertEquals(1, table.incrementBandSortieAbortRepeatCount(band));
+    }
+
+    @Test
+    void growsPastInitialCapacityAndReindexesCandidates() {
+        MasonWallSegmentTable table = new MasonWallSegmentTable();
+        List<BlockPos> segments = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            segments.add(new BlockPos(i, 64, 0));
+        }
+        table.reindexCandidates(segments);
+        for (int i = 0; i < 500; i++) {
+            table.setCooldownUntilTick(segments.get(i), i);
+            assertTrue(table.bandId(i, 0, 1) < 500);
+        }
+
+        table.reindexCandidates(segments.subList(250, 500));
+
+        assertEquals(MasonWallSegmentTable.NONE, table.candidateIndex(segments.get(10)));
+        assertEquals(0, table.candidateIndex(segments.get(250)));
+        assertEquals(499L, table.cooldownUntilTick(segments.get(499)));
+        table.resetSegmentProgress();
+        assertEquals(MasonWallSegmentTable.NO_TICK, table.cooldownUntilTick(segments.get(499)));
+        assertEquals(0, table.candidateIndex(segments.get(250)));
+
+        table.clear();
+        assertEquals(0, table.rowCount());
+        assertFalse(table.bandCount() > 0);
+    }
+}
@@ -0,0 +1,111 @@
+package dev.sterner.guardvillagers.common.entity.goal;
+
+import dev.sterner.guardvillagers.common.util.FlatSiteFinder;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ShepherdFlatSiteFinderBenchmarkTest {
+
+    private static final int PEN_SIZE = 7;
+    private static final int SEARCH_RADIUS = 32;
+
+    @Test
+    void slidingWindowFinder_matchesLegacyPerFootprintScan() {
+        for (long seed = 1L; seed <= 12L; seed++) {
+            Terrain terrain = Terrain.create(seed, 0, 0);
+            for (int delta = 0; delta <= 2; delta++) {
+                assertEquals(
+                        ShepherdFencePlacerGoal.findFirstFlatCandidateForTest(0, 0, SEARCH_RADIUS, terrain, delta),
+                        slidingWindowFind(0, 0, terrain, delta),
+                        "seed " + seed + " delta " + delta
+                );
+            }
+        }
+    }
+
+    @Test
+    void benchmarkUtility_roughTerrainComparison_printsFlatSiteSearchRuntime() {
+        Terrain terrain = Terrain.create(0xF1A7L, 100, -100);
+
+        int warmupIterations = 5;
+        int measuredIterations = 25;
+
+        runIterations(warmupIterations, terrain, true);
+        runIterations(warmupIterations, terrain, false);
+
+        long legacyNanos = runIterations(measuredIterations, terrain, true);
+        long slidingNanos = runIterations(measuredIterations, terrain, false);
+
+        BlockPos legacy = ShepherdFencePlacerGoal.findFirstFlatCandidateForTest(100, -100, SEARCH_RADIUS, terrain, 0);
+        assertEquals(legacy, slidingWindowFind(100, -100, terrain, 0));
+
+        System.out.printf(
+                "Shepherd flat site benchmark -> legacy: %.3f ms, sliding window: %.3f ms, site: %s%n",
+                legacyNanos / 1_000_000.0D,
+                slidingNanos / 1_000_000.0D,
+                legacy == null ? "none" : legacy.toShortString()
+        );
+    }
+
+    private static long runIterations(int iterations, Terrain terrain, boolean legacyMode) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            if (legacyMode) {
+                ShepherdFencePlacerGoal.findFirstFlatCandidateForTest(terrain.centerX, terrain.centerZ, SEARCH_RADIUS, terrain, 0);
+            } else {
+                slidingWindowFind(terrain.centerX, terrain.centerZ, terrain, 0);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static BlockPos slidingWindowFind(int jobX, int jobZ, IntBinaryOperator surfaceYAt, int delta) {
+        return FlatSiteFinder.sample(
+                jobX - SEARCH_RADIUS, jobZ - SEARCH_RADIUS,
+                jobX + SEARCH_RADIUS - PEN_SIZE, jobZ + SEARCH_RADIUS - PEN_SIZE,
+                PEN_SIZE, surfaceYAt
+        ).findFirst(1, delta, (x, y, z) -> true);
+    }
+
+    /** Noisy terrain with a single flat plateau near the far corner of the search area. */
+    private static final class Terrain implements IntBinaryOperator {
+        private final int centerX;
+        private final int centerZ;
+        private final int[][] heights;
+
+        private Terrain(int centerX, int centerZ, int[][] heights) {
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.heights = heights;
+        }
+
+        private static Terrain create(long seed, int centerX, int centerZ) {
+            Random random = new Random(seed);
+            int size = SEARCH_RADIUS * 2 + 1;
+            int[][] heights = new int[size][size];
+            for (int x = 0; x < size; x++) {
+                for (int z = 0; z < size; z++) {
+                    heights[x][z] = 64 + random.nextInt(3);
+                }
+            }
+            int plateauX = size - PEN_SIZE - 2 - random.nextInt(6);
+            int plateauZ = size - PEN_SIZE - 2 - random.nextInt(6);
+            for (int x = plateauX; x < plateauX + PEN_SIZE; x++) {
+                for (int z = plateauZ; z < plateauZ + PEN_SIZE; z++) {
+                    heights[x][z] = 66;
+                }
+            }
+            return new Terrain(centerX, centerZ, heights);
+        }
+
+        @Override
+        public int applyAsInt(int x, int z) {
+            return heights[x - centerX + SEARCH_RADIUS][z - centerZ + SEARCH_RADIUS];
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package dev.sterner.guardvillagers.common.util;
+
+import dev.sterner.guardvillagers.common.util.ConvertedWorkerJobSiteReservationState.Ledger;
+import dev.sterner.guardvillagers.common.util.ConvertedWorkerJobSiteReservationState.Reservation;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.village.VillagerProfession;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConvertedWorkerJobSiteReservationStateTest {
+
+    private static final long SMOKER = new BlockPos(5, 64, 5).asLong();
+    private static final long STONECUTTER = new BlockPos(18, 64, 5).asLong();
+
+    private final UUID butcher = UUID.randomUUID();
+    private final UUID mason = UUID.randomUUID();
+
+    @Test
+    void ledgerKeepsGuardAndChunkIndexesInStep() {
+        Ledger ledger = new ConvertedWorkerJobSiteReservationState().ledger(World.OVERWORLD);
+        ledger.put(SMOKER, new Reservation(butcher, VillagerProfession.BUTCHER));
+        ledger.put(STONECUTTER, new Reservation(butcher, VillagerProfession.MASON));
+
+        assertTrue(ledger.contains(SMOKER));
+        assertEquals(LongArrayList.of(SMOKER), ledger.positionsInChunk(0, 0));
+        assertEquals(LongArrayList.of(STONECUTTER), ledger.positionsInChunk(1, 0));
+
+        Reservation replaced = ledger.put(STONECUTTER, new Reservation(mason, VillagerProfession.MASON));
+        assertEquals(butcher, replaced.guardUuid());
+        assertEquals(LongArrayList.of(SMOKER), ledger.positionsOf(butcher));
+        assertEquals(LongArrayList.of(STONECUTTER), ledger.positionsOf(mason));
+
+        ledger.remove(STONECUTTER);
+        assertFalse(ledger.contains(STONECUTTER));
+        assertTrue(ledger.positionsOf(mason).isEmpty());
+        assertTrue(ledger.positionsInChunk(1, 0).isEmpty());
+        assertNull(ledger.remove(STONECUTTER));
+    }
+
+    @Test
+    void reservationsSurviveAnNbtRoundTripPerDimension() {
+        ConvertedWorkerJobSiteReservationState state = new ConvertedWorkerJobSiteReservationState();
+        state.ledger(World.OVERWORLD).put(SMOKER, new Reservation(butcher, VillagerProfession.BUTCHER));
+        state.ledger(World.NETHER).put(STONECUTTER, new Reservation(mason, VillagerProfession.MASON));
+
+        ConvertedWorkerJobSiteReservationState loaded =
+                ConvertedWorkerJobSiteReservationState.fromNbt(state.writeNbt(new NbtCompound(), null), null);
+
+        assertEquals(new Reservation(butcher, VillagerProfession.BUTCHER), loaded.ledger(World.OVERWORLD).get(SMOKER));
+        assertFalse(loaded.ledger(World.OVERWORLD).contains(STONECUTTER));
+        assertEquals(new Reservation(mason, VillagerProfession.MASON), loaded.ledger(World.NETHER).get(STONECUTTER));
+        assertEquals(LongArrayList.of(STONECUTTER), loaded.ledger(World.NETHER).positionsOf(mason));
+    }
+
+    @Test
+    void evictStaleDropsReservationsOfDeadOrLongUnseenGuards() {
+        Ledger ledger = new ConvertedWorkerJobSiteReservationState().ledger(World.OVERWORLD);
+        UUID farmer = UUID.randomUUID();
+        long composter = new BlockPos(40, 64, 5).asLong();
+        ledger.put(SMOKER, new Reservation(butcher, VillagerProfession.BUTCHER));
+        ledger.put(STONECUTTER, new Reservation(mason, VillagerProfession.MASON));
+        ledger.put(composter, new Reservation(farmer, VillagerProfession.FARMER));
+        ledger.markSeen(butcher, 100L);
+        ledger.markSeen(mason, 100L);
+        Entity deadFarmer = mock(Entity.class);
+        when(deadFarmer.isAlive()).thenReturn(false);
+        Entity liveMason = mock(Entity.class);
+        when(liveMason.isAlive()).thenReturn(true);
+        Map<UUID, Entity> loaded = new HashMap<>(Map.of(farmer, deadFarmer, mason, liveMason));
+
+        assertEquals(LongArrayList.of(composter), ledger.evictStale(1_000L, 5_000L, loaded::get));
+        assertTrue(ledger.contains(SMOKER));
+
+        loaded.clear();
+        assertEquals(LongArrayList.of(SMOKER), ledger.evictStale(5_101L, 5_000L, loaded::get));
+        assertTrue(ledger.contains(STONECUTTER));
+        assertEquals(LongArrayList.of(STONECUTTER), ledger.evictStale(6_001L, 5_000L, loaded::get));
+        assertEquals(0, ledger.size());
+    }
+
+    @Test
+    void lastSeenTicksSurviveAnNbtRoundTrip() {
+        ConvertedWorkerJobSiteReservationState state = new ConvertedWorkerJobSiteReservationState();
+        state.ledger(World.OVERWORLD).put(SMOKER, new Reservation(butcher, VillagerProfession.BUTCHER));
+        state.ledger(World.OVERWORLD).markSeen(butcher, 100L);
+
+        Ledger loaded = ConvertedWorkerJobSiteReservationState.fromNbt(state.writeNbt(new NbtCompound(), null), null)
+                .ledger(World.OVERWORLD);
+
+        assertTrue(loaded.evictStale(5_000L, 5_000L, uuid -> null).isEmpty());
+        assertEquals(LongArrayList.of(SMOKER), loaded.evictStale(5_101L, 5_000L, uuid -> null));
+    }
+}
@@ -0,0 +1,156 @@
+package dev.sterner.guardvillagers.common.util;
+
+import dev.sterner.guardvillagers.GuardVillagersConfig;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.recipe.RecipeManager;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.village.VillagerProfession;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DormantVillageEconomyTest {
+
+    private static final BlockPos VILLAGE = new BlockPos(4000, 64, 4000);
+    private static final long DAY = DormantVillageEconomy.TICKS_PER_DAY;
+
+    private final List<String> applied = new ArrayList<>();
+    private ServerWorld world;
+    private long time;
+
+    @BeforeEach
+    void setUp() {
+        world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(World.OVERWORLD);
+        when(world.getTime()).thenAnswer(invocation -> time);
+        when(world.getRecipeManager()).thenReturn(mock(RecipeManager.class));
+        VillageAiLod.clearWorld(world);
+        DormantVillageEconomy.clearWorld(world);
+        RecipeDemandIndex.clearWorld(world);
+    }
+
+    @Test
+    void producersAreOwedWholeMissedDaysUpToTheConfiguredCap() {
+        DormantVillageEconomy.Snapshot producer = DormantVillageEconomy.Snapshot.producer(VILLAGE, 4, 1);
+
+        assertEquals(0, DormantVillageEconomy.catchUpBudget(producer, 1000L, DAY - 1));
+        assertEquals(3, DormantVillageEconomy.catchUpBudget(producer, 1000L, DAY + 10));
+        assertEquals(7, DormantVillageEconomy.catchUpBudget(producer, 1000L, 2 * DAY + 10));
+        assertEquals(4 * GuardVillagersConfig.villageDormancyMaxCatchUpDays,
+                DormantVillageEconomy.catchUpBudget(producer, 1000L, 50 * DAY));
+    }
+
+    @Test
+    void transfersAreOwedOneItemPerIntervalUpToTheConfiguredCap() {
+        DormantVillageEconomy.Snapshot transfer = DormantVillageEconomy.Snapshot.transfer(VILLAGE, 100);
+
+        assertEquals(5, DormantVillageEconomy.catchUpBudget(transfer, 0L, 550L));
+        assertEquals(GuardVillagersConfig.villageDormancyMaxCatchUpTransfers,
+                DormantVillageEconomy.catchUpBudget(transfer, 0L, 10 * DAY));
+        assertEquals(0, DormantVillageEconomy.catchUpBudget(DormantVillageEconomy.Snapshot.hauler(VILLAGE), 0L, DAY));
+    }
+
+    @Test
+    void transfersEarnNothingForNightTicks() {
+        DormantVillageEconomy.Snapshot transfer = DormantVillageEconomy.Snapshot.transfer(VILLAGE, 1000);
+
+        assertEquals(12, DormantVillageEconomy.catchUpBudget(transfer, 0L, DAY));
+        assertEquals(0, DormantVillageEconomy.catchUpBudget(transfer, DAY / 2, DAY));
+        assertEquals(6, DormantVillageEconomy.catchUpBudget(transfer, DAY / 4, 3 * DAY / 4));
+        assertEquals(18, DormantVillageEconomy.catchUpBudget(transfer, DAY / 4, 2 * DAY));
+    }
+
+    @Test
+    void wakeAppliesProductionThenTransfersThenHaulsOnce() {
+        FakeParticipant hauler = new FakeParticipant("haul", DormantVillageEconomy.Snapshot.hauler(VILLAGE));
+        FakeParticipant transfer = new FakeParticipant("transfer", DormantVillageEconomy.Snapshot.transfer(VILLAGE, 100));
+        FakeParticipant producer = new FakeParticipant("produce", DormantVillageEconomy.Snapshot.producer(VILLAGE, 2, 0));
+        FakeParticipant retired = new FakeParticipant("retired", DormantVillageEconomy.Snapshot.producer(VILLAGE, 2, 0));
+
+        DormantVillageEconomy.enterDormancy(world, VILLAGE, hauler);
+        DormantVillageEconomy.enterDormancy(world, VILLAGE, transfer);
+        DormantVillageEconomy.enterDormancy(world, VILLAGE, producer);
+        DormantVillageEconomy.enterDormancy(world, VILLAGE, producer);
+        DormantVillageEconomy.enterDormancy(world, VILLAGE, retired);
+        retired.active = false;
+        assertEquals(1, DormantVillageEconomy.forWorld(world).dormantVillageCount());
+
+        time = DAY + 500L;
+        DormantVillageEconomy.wakeIfDormant(world, new BlockPos(0, 64, 0));
+        assertTrue(applied.isEmpty());
+
+        DormantVillageEconomy.wakeIfDormant(world, VILLAGE);
+        assertEquals(List.of("produce:2", "transfer:" + GuardVillagersConfig.villageDormancyMaxCatchUpTransfers, "haul:0"), applied);
+        assertTrue(transfer.routes != null);
+        assertEquals(0, DormantVillageEconomy.forWorld(world).dormantVillageCount());
+
+        DormantVillageEconomy.wakeIfDormant(world, VILLAGE);
+        assertEquals(3, applied.size());
+    }
+
+    @Test
+    void disabledDormancyRegistersNothing() {
+        GuardVillagersConfig.villageDormancyEnabled = false;
+        try {
+            DormantVillageEconomy.enterDormancy(world, VILLAGE,
+                    new FakeParticipant("produce", DormantVillageEconomy.Snapshot.producer(VILLAGE, 2, 0)));
+            assertEquals(0, DormantVillageEconomy.forWorld(world).dormantVillageCount());
+        } finally {
+            GuardVillagersConfig.villageDormancyEnabled = true;
+        }
+    }
+
+    @Test
+    void routeStockRoomHonoursSnapshottedCaps() {
+        RecipeDemandIndex.RouteIndex routes = RecipeDemandIndex.buildFixedRouteIndexForTests();
+        SimpleInventory shepherdChest = new SimpleInventory(27);
+        shepherdChest.setStack(0, new ItemStack(Items.STICK, 20));
+        ItemStack sticks = new ItemStack(Items.STICK, 16);
+
+        assertEquals(4, DormantVillageEconomy.routeStockRoom(routes, sticks, VillagerProfession.SHEPHERD, shepherdChest));
+        assertEquals(Integer.MAX_VALUE, DormantVillageEconomy.routeStockRoom(routes, sticks, VillagerProfession.CLERIC, shepherdChest));
+        assertEquals(Integer.MAX_VALUE, DormantVillageEconomy.routeStockRoom(null, sticks, VillagerProfession.SHEPHERD, shepherdChest));
+    }
+
+    private final class FakeParticipant implements DormantVillageEconomy.Participant {
+        private final String name;
+        private final DormantVillageEconomy.Snapshot snapshot;
+        private boolean active = true;
+        private RecipeDemandIndex.RouteIndex routes;
+
+        private FakeParticipant(String name, DormantVillageEconomy.Snapshot snapshot) {
+            this.name = name;
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean isDormantParticipantActive() {
+            return active;
+        }
+
+        @Override
+        public DormantVillageEconomy.Snapshot snapshotForDormancy(ServerWorld world) {
+            return snapshot;
+        }
+
+        @Override
+        public int applyDormantCatchUp(ServerWorld world, DormantVillageEconomy.Snapshot snapshot, int budget,
+                                       @Nullable RecipeDemandIndex.RouteIndex routes) {
+            this.routes = routes;
+            applied.add(name + ":" + budget);
+            return budget;
+        }
+    }
+}
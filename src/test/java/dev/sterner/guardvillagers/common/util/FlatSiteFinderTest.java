@@ -0,0 +1,79 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FlatSiteFinderTest {
+
+    @Test
+    void windowSpreadAndFlatnessMatchBruteForce() {
+        Random random = new Random(0x5EEDL);
+        int[][] terrain = new int[40][40];
+        for (int x = 0; x < 40; x++) {
+            for (int z = 0; z < 40; z++) {
+                terrain[x][z] = 64 + random.nextInt(4);
+            }
+        }
+        int window = 5;
+        FlatSiteFinder finder = FlatSiteFinder.sample(-20, -20, 15, 15, window, (x, z) -> terrain[x + 20][z + 20]);
+
+        for (int originX = -20; originX <= 15; originX++) {
+            for (int originZ = -20; originZ <= 15; originZ++) {
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                int cornerY = terrain[originX + 20][originZ + 20];
+                boolean flat = true;
+                for (int dx = 0; dx < window; dx++) {
+                    for (int dz = 0; dz < window; dz++) {
+                        int y = terrain[originX + 20 + dx][originZ + 20 + dz];
+                        min = Math.min(min, y);
+                        max = Math.max(max, y);
+                        flat &= Math.abs(y - cornerY) <= 1;
+                    }
+                }
+                assertEquals(max - min, finder.spread(originX, originZ));
+                assertEquals(flat, finder.isFlat(originX, originZ, 1));
+            }
+        }
+    }
+
+    @Test
+    void findFirstWalksOriginsXOuterAtTheRequestedStep() {
+        List<BlockPos> visited = new ArrayList<>();
+        FlatSiteFinder finder = FlatSiteFinder.sample(0, 0, 8, 8, 3, (x, z) -> 70);
+
+        BlockPos found = finder.findFirst(4, 0, (x, y, z) -> {
+            visited.add(new BlockPos(x, y, z));
+            return x == 4 && z == 4;
+        });
+
+        assertEquals(new BlockPos(4, 70, 4), found);
+        assertEquals(List.of(
+                new BlockPos(0, 70, 0), new BlockPos(0, 70, 4), new BlockPos(0, 70, 8),
+                new BlockPos(4, 70, 0), new BlockPos(4, 70, 4)), visited);
+    }
+
+    @Test
+    void slopedFootprintsNeverReachTheSiteCheck() {
+        FlatSiteFinder finder = FlatSiteFinder.sample(0, 0, 10, 10, 4, (x, z) -> 64 + x);
+
+        assertNull(finder.findFirst(1, 2, (x, y, z) -> {
+            throw new AssertionError("sloped footprint at " + x + "," + z);
+        }));
+        assertEquals(new BlockPos(0, 64, 0), finder.findFirst(1, 3, (x, y, z) -> true));
+    }
+
+    @Test
+    void emptySearchAreaFindsNothing() {
+        FlatSiteFinder finder = FlatSiteFinder.sample(5, 5, 4, 9, 3, (x, z) -> 64);
+
+        assertNull(finder.findFirst(1, 0, (x, y, z) -> true));
+    }
+}
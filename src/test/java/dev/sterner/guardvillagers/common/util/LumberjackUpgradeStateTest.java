@@ -0,0 +1,98 @@
+package dev.sterner.guardvillagers.common.util;
+
+import dev.sterner.guardvillagers.common.entity.goal.LumberjackChestTriggerController.UpgradeStage;
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LumberjackUpgradeStateTest {
+
+    private static final BlockPos JOB_A = new BlockPos(10, 64, 10);
+    private static final BlockPos JOB_B = new BlockPos(40, 64, 10);
+    private static final long VILLAGE = new BlockPos(0, 64, 0).asLong();
+    private static final long TTL = 72000L;
+
+    private final UUID villagerA = UUID.randomUUID();
+    private final UUID villagerB = UUID.randomUUID();
+    private final UUID guard = UUID.randomUUID();
+
+    @Test
+    void stagesResolveByVillagerThenByJobSite() {
+        LumberjackUpgradeState state = new LumberjackUpgradeState();
+        state.putEntry(World.OVERWORLD, villagerA, JOB_A, VILLAGE, UpgradeStage.CHEST_PAIRED, 100L, 100L);
+
+        assertEquals(new LumberjackUpgradeState.EntryValue(UpgradeStage.CHEST_PAIRED, 100L),
+                state.getEntry(World.OVERWORLD, villagerA, JOB_B, 120L).orElseThrow());
+        assertEquals(UpgradeStage.CHEST_PAIRED,
+                state.getEntry(World.OVERWORLD, villagerB, JOB_A, 120L).orElseThrow().stage());
+        assertTrue(state.getEntry(World.NETHER, villagerA, JOB_A, 120L).isEmpty());
+
+        state.putEntry(World.OVERWORLD, villagerA, JOB_A, VILLAGE, UpgradeStage.TABLE_PAIRED, 0L, 200L);
+        LumberjackUpgradeState.Stats stats = state.stats(World.OVERWORLD);
+        assertEquals(0, stats.chestPaired());
+        assertEquals(1, stats.tablePaired());
+        assertEquals(1L, stats.chestPairedTransitions());
+        assertEquals(1L, stats.tablePairedTransitions());
+        assertEquals(1, stats.stagesByVillage().get(VILLAGE).get(UpgradeStage.TABLE_PAIRED));
+
+        state.removeEntry(World.OVERWORLD, villagerB, JOB_A);
+        assertFalse(state.hasEntries(World.OVERWORLD));
+    }
+
+    @Test
+    void entriesAndBackoffsSurviveAnNbtRoundTrip() {
+        LumberjackUpgradeState state = new LumberjackUpgradeState();
+        state.putEntry(World.OVERWORLD, villagerA, JOB_A, VILLAGE, UpgradeStage.CHEST_PAIRED, 100L, 150L);
+        state.putRetryBackoff(World.OVERWORLD, guard, new LumberjackUpgradeState.RetryBackoff(2, 1200L, 1350L), 150L);
+
+        LumberjackUpgradeState loaded = LumberjackUpgradeState.fromNbt(state.writeNbt(new NbtCompound(), null), null);
+
+        assertEquals(new LumberjackUpgradeState.EntryValue(UpgradeStage.CHEST_PAIRED, 100L),
+                loaded.getEntry(World.OVERWORLD, villagerB, JOB_A, 200L).orElseThrow());
+        assertEquals(new LumberjackUpgradeState.RetryBackoff(2, 1200L, 1350L), loaded.getRetryBackoff(World.OVERWORLD, guard));
+        assertEquals(1, loaded.stats(World.OVERWORLD).stagesByVillage().get(VILLAGE).get(UpgradeStage.CHEST_PAIRED));
+    }
+
+    @Test
+    void deadEntitiesAreEvictedImmediatelyAndUnseenOnesAfterTheTtl() {
+        LumberjackUpgradeState state = new LumberjackUpgradeState();
+        state.putEntry(World.OVERWORLD, villagerA, JOB_A, VILLAGE, UpgradeStage.CHEST_PAIRED, 0L, 0L);
+        state.putEntry(World.OVERWORLD, villagerB, JOB_B, VILLAGE, UpgradeStage.TABLE_PAIRED, 0L, 0L);
+        state.putRetryBackoff(World.OVERWORLD, guard, new LumberjackUpgradeState.RetryBackoff(1, 600L, 600L), 0L);
+
+        Map<UUID, Entity> loaded = new HashMap<>();
+        loaded.put(villagerA, entity(false));
+        loaded.put(guard, entity(true));
+        assertEquals(1, state.evictStale(World.OVERWORLD, 100L, TTL, loaded::get));
+        assertFalse(state.isTracked(World.OVERWORLD, villagerA));
+        assertTrue(state.isTracked(World.OVERWORLD, villagerB));
+
+        loaded.clear();
+        assertEquals(1, state.evictStale(World.OVERWORLD, TTL + 1L, TTL, loaded::get));
+        assertFalse(state.isTracked(World.OVERWORLD, villagerB));
+        assertEquals(new LumberjackUpgradeState.RetryBackoff(1, 600L, 600L), state.getRetryBackoff(World.OVERWORLD, guard));
+
+        assertEquals(1, state.evictStale(World.OVERWORLD, TTL + 101L, TTL, loaded::get));
+        assertNull(state.getRetryBackoff(World.OVERWORLD, guard));
+        assertEquals(3L, state.stats(World.OVERWORLD).evicted());
+    }
+
+    private static Entity entity(boolean alive) {
+        Entity entity = mock(Entity.class);
+        when(entity.isAlive()).thenReturn(alive);
+        return entity;
+    }
+}
@@ -0,0 +1,111 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MapWallFaceIndexTest {
+
+    private static final BlockPos JOB = new BlockPos(0, 64, 0);
+    private static final int RADIUS = 8;
+
+    private final Map<BlockPos, BlockState> blocks = new HashMap<>();
+    private final BlockState air = state(false, true);
+    private final BlockState stone = state(true, false);
+    private ServerWorld world;
+    private long time;
+
+    @BeforeEach
+    void setUp() {
+        world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(World.OVERWORLD);
+        when(world.getTime()).thenAnswer(invocation -> time);
+        when(world.getBlockState(any())).thenAnswer(invocation -> blocks.getOrDefault(invocation.getArgument(0), air));
+        MapWallFaceIndex.clearWorld(world);
+        for (int x = 0; x <= 3; x++) {
+            for (int y = 64; y <= 65; y++) {
+                blocks.put(new BlockPos(x, y, 5), stone);
+            }
+        }
+    }
+
+    @Test
+    void nearestFrameReadyFaceIsChosenWithoutRescanningOnRetry() {
+        MapWallFaceIndex index = MapWallFaceIndex.forWorld(world);
+
+        assertEquals(new MapWallFaceIndex.Candidate(new BlockPos(0, 64, 5), Direction.NORTH), findAny(index));
+
+        clearInvocations(world);
+        assertEquals(new MapWallFaceIndex.Candidate(new BlockPos(0, 64, 5), Direction.NORTH), findAny(index));
+        verify(world, never()).getBlockState(any());
+    }
+
+    @Test
+    void blockChangesKeepFacesCurrent() {
+        MapWallFaceIndex index = MapWallFaceIndex.forWorld(world);
+        findAny(index);
+
+        set(new BlockPos(0, 64, 4), stone);
+        assertEquals(new MapWallFaceIndex.Candidate(new BlockPos(1, 64, 5), Direction.SOUTH), findAny(index));
+
+        set(new BlockPos(1, 65, 6), stone);
+        set(new BlockPos(2, 65, 6), stone);
+        set(new BlockPos(3, 65, 6), stone);
+        assertEquals(new MapWallFaceIndex.Candidate(new BlockPos(1, 64, 5), Direction.NORTH), findAny(index));
+
+        set(new BlockPos(1, 64, 4), stone);
+        set(new BlockPos(2, 64, 4), stone);
+        assertNull(findAny(index));
+
+        set(new BlockPos(0, 64, 4), air);
+        set(new BlockPos(1, 64, 4), air);
+        assertEquals(new MapWallFaceIndex.Candidate(new BlockPos(0, 64, 5), Direction.NORTH), findAny(index));
+    }
+
+    @Test
+    void declinedCandidatesAreSkippedUntilTheirRejectionExpires() {
+        MapWallFaceIndex index = MapWallFaceIndex.forWorld(world);
+        MapWallFaceIndex.Candidate nearest = new MapWallFaceIndex.Candidate(new BlockPos(0, 64, 5), Direction.NORTH);
+
+        MapWallFaceIndex.Candidate chosen = index.findNearest2x2(world, JOB, RADIUS, candidate -> !candidate.equals(nearest));
+        assertEquals(new MapWallFaceIndex.Candidate(new BlockPos(1, 64, 5), Direction.SOUTH), chosen);
+
+        time += MapWallFaceIndex.REJECTION_TTL_TICKS - 1;
+        assertEquals(chosen, findAny(index));
+
+        time += 1;
+        assertEquals(nearest, findAny(index));
+    }
+
+    private MapWallFaceIndex.Candidate findAny(MapWallFaceIndex index) {
+        return index.findNearest2x2(world, JOB, RADIUS, candidate -> true);
+    }
+
+    private void set(BlockPos pos, BlockState state) {
+        blocks.put(pos, state);
+        MapWallFaceIndex.onBlockChanged(world, pos, state);
+    }
+
+    private static BlockState state(boolean solid, boolean isAir) {
+        BlockState state = mock(BlockState.class);
+        when(state.isSolidBlock(any(), any())).thenReturn(solid);
+        when(state.isAir()).thenReturn(isAir);
+        return state;
+    }
+}
@@ -0,0 +1,100 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MasonShaftRegistryStateTest {
+    private static final long VILLAGE = new BlockPos(0, 64, 0).asLong();
+    private static final BlockPos CHEST = new BlockPos(2, 64, 2);
+
+    @Test
+    void shaftsAreSharedOnlyOnceReleasedOrIdle() {
+        MasonShaftRegistryState state = new MasonShaftRegistryState();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        BlockPos origin = new BlockPos(10, 64, 10);
+
+        state.recordSession(World.OVERWORLD, VILLAGE, first, origin, Direction.NORTH.getId(), 12, 40, false, 100L);
+        assertNull(state.claimShaft(World.OVERWORLD, VILLAGE, second, CHEST, 48, 20, 200L));
+
+        MasonShaftRegistryState.ShaftView resumed = state.claimShaft(World.OVERWORLD, VILLAGE, first, CHEST, 48, 20, 200L);
+        assertEquals(origin, resumed.origin());
+        assertEquals(12, resumed.stepIndex());
+
+        long idle = 200L + MasonShaftRegistryState.OWNER_TIMEOUT_TICKS;
+        MasonShaftRegistryState.ShaftView taken = state.claimShaft(World.OVERWORLD, VILLAGE, second, CHEST, 48, 20, idle);
+        assertEquals(second, taken.owner());
+
+        state.recordSession(World.OVERWORLD, VILLAGE, second, origin, Direction.NORTH.getId(), 20, 25, true, idle + 10L);
+        assertNull(state.claimShaft(World.OVERWORLD, VILLAGE, first, CHEST, 48, 20, idle + 20L));
+        List<MasonShaftRegistryState.ShaftReport> reports = state.shaftReports(World.OVERWORLD);
+        assertEquals(1, reports.size());
+        assertEquals(65L, reports.get(0).shaft().minedBlocks());
+    }
+
+    @Test
+    void hazardsAndStagingSurviveReloadAndHazardsExpire() {
+        MasonShaftRegistryState state = new MasonShaftRegistryState();
+        UUID mason = UUID.randomUUID();
+        BlockPos wetOrigin = new BlockPos(5, 60, 5);
+        BlockPos blocked = new BlockPos(-4, 64, 0);
+        BlockPos staging = new BlockPos(-9, 64, 0);
+        state.addHazard(World.OVERWORLD, VILLAGE, wetOrigin, 1000L);
+        state.recordSession(World.OVERWORLD, VILLAGE, mason, new BlockPos(8, 62, 8), Direction.EAST.getId(), 3, 7, false, 50L);
+        state.putStaging(World.OVERWORLD, VILLAGE, blocked, staging, 50L, 50L);
+
+        MasonShaftRegistryState loaded = MasonShaftRegistryState.fromNbt(state.writeNbt(new NbtCompound(), null), null);
+
+        assertTrue(loaded.isNearHazard(World.OVERWORLD, VILLAGE, new BlockPos(8, 62, 8), 20, 500L));
+        assertNull(loaded.claimShaft(World.OVERWORLD, VILLAGE, mason, CHEST, 48, 20, 500L));
+        assertEquals(staging, loaded.stagingFor(World.OVERWORLD, VILLAGE, blocked).stagingOrigin());
+        assertEquals(new MasonShaftRegistryState.Stats(1, 1, 0, 1, 7L), loaded.stats(World.OVERWORLD));
+
+        loaded.expireHazards(World.OVERWORLD, VILLAGE, 1000L);
+        assertFalse(loaded.isNearHazard(World.OVERWORLD, VILLAGE, new BlockPos(8, 62, 8), 20, 1000L));
+        assertEquals(3, loaded.claimShaft(World.OVERWORLD, VILLAGE, mason, CHEST, 48, 20, 1000L).stepIndex());
+    }
+
+    @Test
+    void idleVillagesArePrunedOnceTheirHazardsExpire() {
+        MasonShaftRegistryState state = new MasonShaftRegistryState();
+        long busyVillage = new BlockPos(500, 64, 0).asLong();
+        UUID mason = UUID.randomUUID();
+        state.recordSession(World.OVERWORLD, VILLAGE, mason, new BlockPos(10, 64, 10), Direction.NORTH.getId(), 4, 9, false, 100L);
+        state.addHazard(World.OVERWORLD, VILLAGE, new BlockPos(12, 60, 12), 100L + MasonShaftRegistryState.IDLE_VILLAGE_RETENTION_TICKS * 2L);
+        state.recordSession(World.OVERWORLD, busyVillage, mason, new BlockPos(510, 64, 0), Direction.EAST.getId(), 2, 3, false, 100L);
+
+        long idle = 101L + MasonShaftRegistryState.IDLE_VILLAGE_RETENTION_TICKS;
+        state.recordSession(World.OVERWORLD, busyVillage, mason, new BlockPos(510, 64, 0), Direction.EAST.getId(), 3, 3, false, idle);
+        assertEquals(0, state.pruneIdleVillagesIfDue(World.OVERWORLD, idle));
+        assertEquals(0, state.pruneIdleVillagesIfDue(World.OVERWORLD, idle + MasonShaftRegistryState.PRUNE_INTERVAL_TICKS - 1L));
+
+        long hazardGone = 100L + MasonShaftRegistryState.IDLE_VILLAGE_RETENTION_TICKS * 2L;
+        assertEquals(1, state.pruneIdleVillagesIfDue(World.OVERWORLD, hazardGone));
+        assertEquals(new MasonShaftRegistryState.Stats(1, 1, 0, 0, 6L), state.stats(World.OVERWORLD));
+    }
+
+    @Test
+    void villagesLoadedWithoutAnActivityTickStartTheirIdleClockAtTheFirstPrune() {
+        MasonShaftRegistryState state = new MasonShaftRegistryState();
+        state.addHazard(World.OVERWORLD, VILLAGE, new BlockPos(5, 60, 5), 10L);
+        MasonShaftRegistryState loaded = MasonShaftRegistryState.fromNbt(state.writeNbt(new NbtCompound(), null), null);
+
+        long first = MasonShaftRegistryState.IDLE_VILLAGE_RETENTION_TICKS * 3L;
+        assertEquals(0, loaded.pruneIdleVillagesIfDue(World.OVERWORLD, first));
+        MasonShaftRegistryState reloaded = MasonShaftRegistryState.fromNbt(loaded.writeNbt(new NbtCompound(), null), null);
+        assertEquals(0, reloaded.pruneIdleVillagesIfDue(World.OVERWORLD, first + MasonShaftRegistryState.IDLE_VILLAGE_RETENTION_TICKS));
+        assertEquals(1, reloaded.pruneIdleVillagesIfDue(World.OVERWORLD, first + MasonShaftRegistryState.IDLE_VILLAGE_RETENTION_TICKS + MasonShaftRegistryState.PRUNE_INTERVAL_TICKS));
+    }
+}
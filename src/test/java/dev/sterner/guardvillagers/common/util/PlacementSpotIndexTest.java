@@ -0,0 +1,113 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PlacementSpotIndexTest {
+
+    private static final BlockPos JOB = new BlockPos(0, 64, 0);
+
+    private final Map<BlockPos, BlockState> blocks = new HashMap<>();
+    private final BlockState air = state(true, true, false);
+    private final BlockState stone = state(false, false, true);
+    private final BlockState loom = state(false, false, true);
+    private ServerWorld world;
+    private PlacementSpotIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ChunkSection section = mock(ChunkSection.class);
+        when(section.isEmpty()).thenReturn(false);
+        WorldChunk chunk = mock(WorldChunk.class);
+        when(chunk.getSection(anyInt())).thenReturn(section);
+        world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(World.OVERWORLD);
+        when(world.getBottomSectionCoord()).thenReturn(-4);
+        when(world.getTopSectionCoord()).thenReturn(20);
+        when(world.isChunkLoaded(anyInt(), anyInt())).thenReturn(true);
+        when(world.getChunk(anyInt(), anyInt())).thenReturn(chunk);
+        when(world.getBlockState(any())).thenAnswer(invocation -> blocks.getOrDefault(invocation.getArgument(0), air));
+        for (int x = -3; x <= 3; x++) {
+            for (int z = -3; z <= 3; z++) {
+                blocks.put(new BlockPos(x, 63, z), stone);
+            }
+        }
+        blocks.put(JOB, stone);
+        index = new PlacementSpotIndex(state -> state == loom);
+    }
+
+    @Test
+    void nearestSpotFollowsBlockChangesWithoutRescanning() {
+        assertEquals(new BlockPos(0, 64, -1), findNearest());
+
+        clearInvocations(world);
+        assertEquals(new BlockPos(0, 64, -1), findNearest());
+        verify(world, never()).getBlockState(any());
+
+        set(new BlockPos(0, 64, -1), stone);
+        assertEquals(new BlockPos(-1, 64, 0), findNearest());
+
+        set(new BlockPos(0, 64, -1), air);
+        assertEquals(new BlockPos(0, 64, -1), findNearest());
+        assertEquals(new BlockPos(-1, 64, 0), index.findNearest(world, JOB, 4, null, 1, PlacementSpotIndex.SOLID_FLOOR,
+                spot -> spot.pos().getZ() >= 0));
+    }
+
+    @Test
+    void spotsNextToJobBlocksAreFlagged() {
+        set(new BlockPos(2, 64, 2), loom);
+
+        Map<BlockPos, PlacementSpotIndex.Spot> spots = new HashMap<>();
+        for (PlacementSpotIndex.Spot spot : index.spotsIn(world, new BlockBox(-3, 64, -3, 3, 64, 3), PlacementSpotIndex.SOLID_FLOOR)) {
+            spots.put(spot.pos(), spot);
+        }
+
+        assertFalse(spots.containsKey(new BlockPos(2, 64, 2)));
+        assertTrue(spots.get(new BlockPos(1, 64, 2)).has(PlacementSpotIndex.NEAR_JOB_BLOCK));
+        assertFalse(spots.get(new BlockPos(-1, 64, -1)).has(PlacementSpotIndex.NEAR_JOB_BLOCK));
+        assertTrue(spots.get(new BlockPos(-1, 64, -1)).has(PlacementSpotIndex.CLEAR_ABOVE | PlacementSpotIndex.DRY));
+        assertEquals(7 * 7 - 2, spots.size());
+    }
+
+    private BlockPos findNearest() {
+        return index.findNearest(world, JOB, 4, null, 1, PlacementSpotIndex.SOLID_FLOOR, null);
+    }
+
+    private void set(BlockPos pos, BlockState state) {
+        blocks.put(pos, state);
+        index.refreshAround(world, pos);
+    }
+
+    private static BlockState state(boolean replaceable, boolean isAir, boolean solid) {
+        FluidState fluid = mock(FluidState.class);
+        when(fluid.isEmpty()).thenReturn(true);
+        BlockState state = mock(BlockState.class);
+        when(state.isReplaceable()).thenReturn(replaceable);
+        when(state.isAir()).thenReturn(isAir);
+        when(state.isSolidBlock(any(), any())).thenReturn(solid);
+        when(state.getFluidState()).thenReturn(fluid);
+        return state;
+    }
+}
@@ -0,0 +1,96 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.SmithingRecipe;
+import net.minecraft.util.Identifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SmithingMatchIndexTest {
+
+    private static final List<Item> ITEMS = List.of(
+            Items.STICK,
+            Items.IRON_INGOT,
+            Items.NETHERITE_INGOT,
+            Items.COAST_ARMOR_TRIM_SMITHING_TEMPLATE,
+            Items.NETHERITE_UPGRADE_SMITHING_TEMPLATE,
+            Items.IRON_HELMET,
+            Items.DIAMOND_CHESTPLATE
+    );
+
+    private final RecipeEntry<SmithingRecipe> trim = recipe("b_trim",
+            Set.of(Items.COAST_ARMOR_TRIM_SMITHING_TEMPLATE),
+            Set.of(Items.IRON_HELMET, Items.DIAMOND_CHESTPLATE),
+            Set.of(Items.IRON_INGOT));
+    private final RecipeEntry<SmithingRecipe> upgrade = recipe("a_netherite",
+            Set.of(Items.NETHERITE_UPGRADE_SMITHING_TEMPLATE),
+            Set.of(Items.DIAMOND_CHESTPLATE),
+            Set.of(Items.NETHERITE_INGOT));
+
+    @Test
+    void recipesAreOrderedByIdAndMatchedOnlyWhenEveryRoleIsPresent() {
+        SmithingMatchIndex index = SmithingMatchIndex.build(List.of(trim, upgrade), ITEMS);
+        assertEquals(2, index.recipeCount());
+        assertEquals(upgrade, index.recipe(0));
+
+        SimpleInventory chest = new SimpleInventory(9);
+        chest.setStack(0, new ItemStack(Items.STICK, 5));
+        chest.setStack(1, new ItemStack(Items.IRON_INGOT, 3));
+        chest.setStack(2, new ItemStack(Items.COAST_ARMOR_TRIM_SMITHING_TEMPLATE));
+        chest.setStack(5, new ItemStack(Items.IRON_HELMET));
+        chest.setStack(3, new ItemStack(Items.DIAMOND_CHESTPLATE));
+        SmithingMatchIndex.SlotBuckets buckets = SmithingMatchIndex.bucket(chest);
+
+        assertEquals(bits(1), index.candidateRecipes(buckets));
+        assertArrayEquals(new int[]{3, 5}, index.matchingSlots(buckets, 1, SmithingMatchIndex.Role.BASE));
+        assertArrayEquals(new int[]{2}, index.matchingSlots(buckets, 1, SmithingMatchIndex.Role.TEMPLATE));
+        assertArrayEquals(new int[]{1}, index.matchingSlots(buckets, 1, SmithingMatchIndex.Role.ADDITION));
+
+        chest.setStack(7, new ItemStack(Items.NETHERITE_UPGRADE_SMITHING_TEMPLATE));
+        chest.setStack(8, new ItemStack(Items.NETHERITE_INGOT));
+        buckets = SmithingMatchIndex.bucket(chest);
+
+        assertEquals(bits(0, 1), index.candidateRecipes(buckets));
+        assertArrayEquals(new int[]{3}, index.matchingSlots(buckets, 0, SmithingMatchIndex.Role.BASE));
+    }
+
+    @Test
+    void inventoriesWithoutAnyAdditionHaveNoCandidates() {
+        SmithingMatchIndex index = SmithingMatchIndex.build(List.of(trim, upgrade), ITEMS);
+        SimpleInventory chest = new SimpleInventory(9);
+        chest.setStack(0, new ItemStack(Items.NETHERITE_UPGRADE_SMITHING_TEMPLATE));
+        chest.setStack(1, new ItemStack(Items.DIAMOND_CHESTPLATE));
+
+        assertTrue(index.candidateRecipes(SmithingMatchIndex.bucket(chest)).isEmpty());
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) {
+            bits.set(ordinal);
+        }
+        return bits;
+    }
+
+    private static RecipeEntry<SmithingRecipe> recipe(String id, Set<Item> templates, Set<Item> bases, Set<Item> additions) {
+        SmithingRecipe recipe = mock(SmithingRecipe.class);
+        when(recipe.testTemplate(any())).thenAnswer(invocation -> templates.contains(((ItemStack) invocation.getArgument(0)).getItem()));
+        when(recipe.testBase(any())).thenAnswer(invocation -> bases.contains(((ItemStack) invocation.getArgument(0)).getItem()));
+        when(recipe.testAddition(any())).thenAnswer(invocation -> additions.contains(((ItemStack) invocation.getArgument(0)).getItem()));
+        return new RecipeEntry<>(Identifier.of("guardvillagers", id), recipe);
+    }
+}
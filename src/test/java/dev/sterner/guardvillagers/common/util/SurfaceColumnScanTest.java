@@ -0,0 +1,113 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.Heightmap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SurfaceColumnScanTest {
+
+    private static final BlockPos CENTER = new BlockPos(0, 64, 0);
+
+    @Test
+    void annulusVisitsEachColumnOnceFromTheInsideOut() {
+        SurfaceColumnScan scan = SurfaceColumnScan.capture(flatWorld(), CENTER, 20);
+        Set<Long> seen = new HashSet<>();
+        List<Double> distances = new ArrayList<>();
+
+        scan.forEachAnnulusColumn(8, 20, 4, (x, surfaceY, z) -> {
+            assertTrue(seen.add(BlockPos.asLong(x, 0, z)), "column visited twice");
+            assertEquals(63, surfaceY);
+            distances.add(Math.sqrt(x * x + z * z));
+            return true;
+        });
+
+        int expected = 0;
+        for (int dx = -20; dx <= 20; dx++) {
+            for (int dz = -20; dz <= 20; dz++) {
+                int distSq = dx * dx + dz * dz;
+                if (distSq >= 64 && distSq <= 400) {
+                    expected++;
+                }
+            }
+        }
+        assertEquals(expected, seen.size());
+        for (int i = 1; i < distances.size(); i++) {
+            assertTrue((int) ((distances.get(i) - 8) / 4) >= (int) ((distances.get(i - 1) - 8) / 4), "bands out of order");
+        }
+    }
+
+    @Test
+    void spacingGridReportsOccupiedColumnsWithinRadius() {
+        BlockState log = mock(BlockState.class);
+        ServerWorld world = flatWorld();
+        BlockPos trunk = new BlockPos(10, 63, 10);
+        when(world.getBlockState(trunk)).thenReturn(log);
+
+        SurfaceColumnScan scan = SurfaceColumnScan.capture(world, CENTER, 20, Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, state -> state == log);
+
+        assertTrue(scan.isOccupiedWithin(16, 10, 6));
+        assertTrue(scan.isOccupiedWithin(4, 4, 6));
+        assertFalse(scan.isOccupiedWithin(17, 10, 6));
+        assertFalse(scan.isOccupiedWithin(-10, -10, 6));
+    }
+
+    @Test
+    void unloadedChunksAreSkippedWithoutReadingTheHeightmap() {
+        ServerWorld world = flatWorld();
+        when(world.isChunkLoaded(-1, -1)).thenReturn(false);
+
+        SurfaceColumnScan scan = SurfaceColumnScan.capture(world, CENTER, 8);
+
+        assertEquals(SurfaceColumnScan.UNLOADED, scan.surfaceY(-3, -3));
+        assertEquals(63, scan.surfaceY(3, 3));
+    }
+
+    @Test
+    void defaultCaptureReadsTheGroundBelowALeafCanopy() {
+        ServerWorld world = flatWorld();
+        BlockState sapling = mock(BlockState.class);
+        when(world.getTopY(Heightmap.Type.MOTION_BLOCKING, 5, 5)).thenReturn(70);
+        when(world.getBlockState(new BlockPos(5, 64, 5))).thenReturn(sapling);
+
+        SurfaceColumnScan ground = SurfaceColumnScan.capture(world, CENTER, 8);
+        SurfaceColumnScan canopy = SurfaceColumnScan.capture(world, CENTER, 8, Heightmap.Type.MOTION_BLOCKING, state -> state == sapling);
+
+        assertEquals(63, ground.surfaceY(5, 5));
+        List<BlockPos> found = new ArrayList<>();
+        ground.forEachColumn((x, surfaceY, z) -> {
+            BlockPos above = new BlockPos(x, surfaceY + 1, z);
+            if (world.getBlockState(above) == sapling) {
+                found.add(above);
+            }
+            return true;
+        });
+        assertEquals(List.of(new BlockPos(5, 64, 5)), found);
+
+        assertEquals(69, canopy.surfaceY(5, 5));
+        assertFalse(canopy.isOccupiedWithin(5, 5, 0));
+    }
+
+    private static ServerWorld flatWorld() {
+        ServerWorld world = mock(ServerWorld.class);
+        BlockState air = mock(BlockState.class);
+        when(world.isChunkLoaded(anyInt(), anyInt())).thenReturn(true);
+        when(world.getTopY(any(Heightmap.Type.class), anyInt(), anyInt())).thenReturn(64);
+        when(world.getBlockState(any())).thenReturn(air);
+        return world;
+    }
+}
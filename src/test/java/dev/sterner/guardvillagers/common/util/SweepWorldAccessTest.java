@@ -0,0 +1,88 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SweepWorldAccessTest {
+
+    private static final BlockPos POS = new BlockPos(100, 64, 100);
+
+    private ServerWorld world;
+
+    @BeforeEach
+    void setUp() {
+        world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(World.OVERWORLD);
+        SweepWorldAccess.clearWorld(world);
+    }
+
+    @Test
+    void unloadedRead_isUnknownAndDoesNotTouchTheWorld() {
+        assertTrue(SweepWorldAccess.getBlockStateIfLoaded(world, POS).isEmpty());
+        verify(world, never()).getBlockState(any());
+    }
+
+    @Test
+    void deferredTask_runsOnTickAfterItsChunkLoads() {
+        AtomicInteger runs = new AtomicInteger();
+        assertTrue(SweepWorldAccess.deferUntilLoaded(world, POS, "test", deferredWorld -> runs.incrementAndGet()));
+        assertTrue(SweepWorldAccess.deferUntilLoaded(world, POS, "test", deferredWorld -> runs.incrementAndGet()));
+
+        SweepWorldAccess.tick(world);
+        assertEquals(0, runs.get());
+        assertEquals(new SweepWorldAccess.Stats(2L, 0L, 1, 0), SweepWorldAccess.getStats(world));
+
+        SweepWorldAccess.onChunkLoad(world, chunkAt(new ChunkPos(POS)));
+        assertEquals(0, runs.get());
+        SweepWorldAccess.tick(world);
+
+        assertEquals(1, runs.get());
+        assertEquals(new SweepWorldAccess.Stats(2L, 1L, 0, 0), SweepWorldAccess.getStats(world));
+    }
+
+    @Test
+    void loadedPosition_isNotDeferred() {
+        when(world.isChunkLoaded(6, 6)).thenReturn(true);
+
+        assertFalse(SweepWorldAccess.deferUntilLoaded(world, POS, "test", deferredWorld -> {
+        }));
+        assertEquals(0L, SweepWorldAccess.getStats(world).deferredReads());
+    }
+
+    @Test
+    void areaDeferral_parksOnTheFirstMissingChunk() {
+        when(world.isChunkLoaded(6, 6)).thenReturn(true);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(SweepWorldAccess.deferUntilAreaLoaded(world, POS, 16, "test", deferredWorld -> runs.incrementAndGet()));
+        SweepWorldAccess.onChunkLoad(world, chunkAt(new ChunkPos(6, 6)));
+        SweepWorldAccess.tick(world);
+        assertEquals(0, runs.get());
+
+        SweepWorldAccess.onChunkLoad(world, chunkAt(new ChunkPos(5, 5)));
+        SweepWorldAccess.tick(world);
+        assertEquals(1, runs.get());
+    }
+
+    private static WorldChunk chunkAt(ChunkPos pos) {
+        WorldChunk chunk = mock(WorldChunk.class);
+        when(chunk.getPos()).thenReturn(pos);
+        return chunk;
+    }
+}
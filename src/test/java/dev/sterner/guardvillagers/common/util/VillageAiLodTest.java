@@ -0,0 +1,86 @@
+package dev.sterner.guardvillagers.common.util;
+
+import dev.sterner.guardvillagers.GuardVillagersConfig;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VillageAiLodTest {
+
+    private final List<ServerPlayerEntity> players = new ArrayList<>();
+    private ServerWorld world;
+    private long time;
+
+    @BeforeEach
+    void setUp() {
+        world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(World.OVERWORLD);
+        when(world.getTime()).thenAnswer(invocation -> time);
+        when(world.getPlayers()).thenAnswer(invocation -> players);
+        VillageAiLod.clearWorld(world);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GuardVillagersConfig.villageAiLodEnabled = true;
+    }
+
+    @Test
+    void villagesAreTieredByNearestPlayerDistance() {
+        placePlayer(0, 0);
+
+        assertEquals(VillageAiLod.Tier.NEAR, VillageAiLod.tierAt(world, new BlockPos(40, 64, 40)));
+        assertEquals(VillageAiLod.Tier.MID, VillageAiLod.tierAt(world, new BlockPos(150, 64, 0)));
+        assertEquals(VillageAiLod.Tier.FAR, VillageAiLod.tierAt(world, new BlockPos(1000, 64, 1000)));
+    }
+
+    @Test
+    void tiersRefreshWhenPlayersMove() {
+        BlockPos village = new BlockPos(2000, 64, 2000);
+        assertEquals(VillageAiLod.Tier.FAR, VillageAiLod.tierAt(world, village));
+
+        placePlayer(2010, 2010);
+        time += VillageAiLod.REFRESH_INTERVAL_TICKS - 1;
+        assertEquals(VillageAiLod.Tier.FAR, VillageAiLod.tierAt(world, village));
+
+        time += 1;
+        assertEquals(VillageAiLod.Tier.NEAR, VillageAiLod.tierAt(world, village));
+    }
+
+    @Test
+    void tierScalingOnlyAppliesAwayFromPlayers() {
+        assertEquals(300L, VillageAiLod.Tier.NEAR.scaleCooldown(300L));
+        assertEquals(300L * GuardVillagersConfig.villageAiLodMidCooldownMultiplier, VillageAiLod.Tier.MID.scaleCooldown(300L));
+        assertEquals(1, VillageAiLod.Tier.NEAR.transferBatchSize());
+        assertEquals(GuardVillagersConfig.villageAiLodMidTransferBatchSize, VillageAiLod.Tier.MID.transferBatchSize());
+        assertTrue(VillageAiLod.Tier.MID.runsProfessionWork());
+        assertFalse(VillageAiLod.Tier.FAR.runsProfessionWork());
+    }
+
+    @Test
+    void disabledLodKeepsEveryVillageNear() {
+        GuardVillagersConfig.villageAiLodEnabled = false;
+
+        assertEquals(VillageAiLod.Tier.NEAR, VillageAiLod.tierAt(world, new BlockPos(5000, 64, 5000)));
+    }
+
+    private void placePlayer(double x, double z) {
+        ServerPlayerEntity player = mock(ServerPlayerEntity.class);
+        when(player.getX()).thenReturn(x);
+        when(player.getZ()).thenReturn(z);
+        players.add(player);
+    }
+}
@@ -0,0 +1,86 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.village.VillagerProfession;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VillageBellMembershipIndexTest {
+
+    @Test
+    void nearestBellInRangeLooksAcrossCellBoundaries() {
+        VillageBellMembershipIndex index = new VillageBellMembershipIndex();
+        BlockPos west = new BlockPos(-250, 64, 10);
+        BlockPos east = new BlockPos(320, 64, 10);
+        assertTrue(index.addBell(west));
+        assertTrue(index.addBell(east));
+        assertFalse(index.addBell(new BlockPos(-250, 64, 10)));
+
+        assertEquals(west, index.nearestBellInRange(new BlockPos(10, 64, 10)));
+        assertEquals(east, index.nearestBellInRange(new BlockPos(100, 64, 10)));
+        assertNull(index.nearestBellInRange(new BlockPos(-600, 64, 10)));
+        assertNull(index.nearestBellInRange(new BlockPos(320, 400, 10)));
+        assertTrue(VillageBellMembershipIndex.isInRange(east, new BlockPos(620, 64, -290)));
+    }
+
+    @Test
+    void rosterTracksBellAndProfessionChanges() {
+        VillageBellMembershipIndex index = new VillageBellMembershipIndex();
+        BlockPos bell = new BlockPos(0, 64, 0);
+        BlockPos otherBell = new BlockPos(900, 64, 0);
+        UUID farmer = UUID.randomUUID();
+        UUID mason = UUID.randomUUID();
+
+        index.putMember(farmer, bell, VillagerProfession.FARMER);
+        index.putMember(mason, bell, VillagerProfession.MASON);
+        assertEquals(List.of(farmer), index.members(bell, VillagerProfession.FARMER));
+        assertEquals(2, index.members(bell, null).size());
+
+        index.putMember(farmer, bell, VillagerProfession.LIBRARIAN);
+        assertTrue(index.members(bell, VillagerProfession.FARMER).isEmpty());
+        assertEquals(List.of(farmer), index.members(bell, VillagerProfession.LIBRARIAN));
+
+        index.putMember(mason, otherBell, VillagerProfession.MASON);
+        assertEquals(List.of(farmer), index.members(bell, null));
+        assertEquals(List.of(mason), index.members(otherBell, null));
+
+        index.removeMember(farmer);
+        assertTrue(index.members(bell, null).isEmpty());
+        assertEquals(1, index.memberCount());
+    }
+
+    @Test
+    void removeBellDropsItsRosterAndHandsBackTheMembers() {
+        VillageBellMembershipIndex index = new VillageBellMembershipIndex();
+        BlockPos broken = new BlockPos(0, 64, 0);
+        BlockPos neighbour = new BlockPos(40, 64, 0);
+        index.addBell(broken);
+        index.addBell(neighbour);
+        UUID farmer = UUID.randomUUID();
+        UUID mason = UUID.randomUUID();
+        UUID cleric = UUID.randomUUID();
+        index.putMember(farmer, broken, VillagerProfession.FARMER);
+        index.putMember(mason, broken, VillagerProfession.MASON);
+        index.putMember(cleric, neighbour, VillagerProfession.CLERIC);
+
+        List<UUID> orphans = index.removeBell(broken);
+
+        assertEquals(2, orphans.size());
+        assertTrue(orphans.containsAll(List.of(farmer, mason)));
+        assertFalse(index.containsBell(broken));
+        assertEquals(neighbour, index.nearestBellInRange(new BlockPos(5, 64, 0)));
+        assertTrue(index.members(broken, null).isEmpty());
+        assertEquals(1, index.memberCount());
+        assertTrue(index.removeBell(broken).isEmpty());
+
+        index.putMember(farmer, neighbour, VillagerProfession.FARMER);
+        assertEquals(2, index.members(neighbour, null).size());
+    }
+}
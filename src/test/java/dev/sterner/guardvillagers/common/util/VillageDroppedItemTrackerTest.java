@@ -0,0 +1,128 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.tag.ItemTags;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VillageDroppedItemTrackerTest {
+
+    private static final UUID FORESTER = UUID.randomUUID();
+    private static final UUID LUMBERJACK = UUID.randomUUID();
+    private static final Box AREA = new Box(BlockPos.ORIGIN).expand(8.0D);
+
+    private ServerWorld world;
+
+    @BeforeEach
+    void setUp() {
+        world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(World.OVERWORLD);
+        VillageDroppedItemTracker.clearWorld(world);
+    }
+
+    @Test
+    void dropsAreSplitByKindAndRemovedOnUnload() {
+        ItemEntity log = drop(new Vec3d(1, 64, 1), ItemTags.LOGS);
+        ItemEntity wool = drop(new Vec3d(2, 64, 2), ItemTags.WOOL);
+        VillageDroppedItemTracker.onEntityLoad(world, log);
+        VillageDroppedItemTracker.onEntityLoad(world, wool);
+        VillageDroppedItemTracker tracker = VillageDroppedItemTracker.forWorld(world);
+        Box area = AREA.offset(0, 64, 0);
+
+        assertEquals(List.of(log), tracker.findDrops(area, VillageDroppedItemTracker.DropKind.TREE, null, item -> true));
+        assertEquals(List.of(wool), tracker.findDrops(area, VillageDroppedItemTracker.DropKind.WOOL, null, item -> true));
+        assertEquals(2, tracker.findDrops(area, VillageDroppedItemTracker.DropKind.ANY, null, item -> true).size());
+
+        VillageDroppedItemTracker.onEntityUnload(world, log);
+        assertTrue(tracker.findDrops(area, VillageDroppedItemTracker.DropKind.TREE, null, item -> true).isEmpty());
+        assertEquals(1, tracker.trackedCount());
+    }
+
+    @Test
+    void claimedDropsAreHiddenFromOtherClaimantsUntilReleased() {
+        ItemEntity log = drop(new Vec3d(1, 64, 1), ItemTags.LOGS);
+        VillageDroppedItemTracker.onEntityLoad(world, log);
+        VillageDroppedItemTracker tracker = VillageDroppedItemTracker.forWorld(world);
+        Box area = AREA.offset(0, 64, 0);
+
+        assertTrue(tracker.claim(log, FORESTER));
+        assertFalse(tracker.claim(log, LUMBERJACK));
+        assertEquals(1, tracker.findDrops(area, VillageDroppedItemTracker.DropKind.TREE, FORESTER, item -> true).size());
+        assertTrue(tracker.findDrops(area, VillageDroppedItemTracker.DropKind.TREE, LUMBERJACK, item -> true).isEmpty());
+
+        tracker.release(log, FORESTER);
+        assertTrue(tracker.claim(log, LUMBERJACK));
+    }
+
+    @Test
+    void pickUpInPlaceSkipsDropsClaimedByOthersAndReleasesPartialPickups() {
+        ItemEntity claimed = drop(new Vec3d(1, 64, 1), ItemTags.LOGS);
+        ItemEntity free = drop(new Vec3d(2, 64, 2), ItemTags.LOGS);
+        VillageDroppedItemTracker.onEntityLoad(world, claimed);
+        VillageDroppedItemTracker.onEntityLoad(world, free);
+        VillageDroppedItemTracker tracker = VillageDroppedItemTracker.forWorld(world);
+        Box area = AREA.offset(0, 64, 0);
+        assertTrue(tracker.claim(claimed, FORESTER));
+
+        List<ItemEntity> picked = new ArrayList<>();
+        tracker.pickUpInPlace(area, VillageDroppedItemTracker.DropKind.TREE, LUMBERJACK, item -> true, item -> {
+            assertFalse(tracker.claim(item, FORESTER));
+            picked.add(item);
+        });
+
+        assertEquals(List.of(free), picked);
+        assertTrue(tracker.claim(free, FORESTER));
+    }
+
+    @Test
+    void claimsExpireAndFallingDropsAreRebucketed() {
+        ItemEntity log = drop(new Vec3d(1, 70, 1), ItemTags.LOGS);
+        VillageDroppedItemTracker.onEntityLoad(world, log);
+        VillageDroppedItemTracker tracker = VillageDroppedItemTracker.forWorld(world);
+        assertTrue(tracker.claim(log, FORESTER));
+
+        place(log, new Vec3d(1, 62, 1));
+        when(world.getTime()).thenReturn(VillageDroppedItemTracker.CLAIM_TTL_TICKS);
+        VillageDroppedItemTracker.tick(world);
+
+        List<ItemEntity> found = tracker.findDrops(new Box(0, 60, 0, 2, 63, 2),
+                VillageDroppedItemTracker.DropKind.TREE, LUMBERJACK, item -> true);
+        assertEquals(List.of(log), found);
+    }
+
+    private static ItemEntity drop(Vec3d pos, TagKey<Item> tag) {
+        ItemStack stack = mock(ItemStack.class);
+        when(stack.isIn(tag)).thenReturn(true);
+        ItemEntity item = mock(ItemEntity.class);
+        when(item.isAlive()).thenReturn(true);
+        when(item.getStack()).thenReturn(stack);
+        place(item, pos);
+        return item;
+    }
+
+    private static void place(ItemEntity item, Vec3d pos) {
+        when(item.getPos()).thenReturn(pos);
+        when(item.getBlockX()).thenReturn(MathHelper.floor(pos.x));
+        when(item.getBlockY()).thenReturn(MathHelper.floor(pos.y));
+        when(item.getBlockZ()).thenReturn(MathHelper.floor(pos.z));
+    }
+}
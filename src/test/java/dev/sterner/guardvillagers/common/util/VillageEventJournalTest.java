@@ -0,0 +1,104 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VillageEventJournalTest {
+
+    @AfterEach
+    void resetGlobals() {
+        VillageEventJournal.setSampleEvery(1);
+        for (VillageEventJournal.Category category : VillageEventJournal.Category.values()) {
+            VillageEventJournal.setCategoryEnabled(category, true);
+        }
+    }
+
+    @Test
+    void snapshot_keepsOnlyNewestEventsInOrderAfterWraparound() {
+        VillageEventJournal.setSampleEvery(1);
+        VillageEventJournal journal = new VillageEventJournal(16);
+        for (int i = 0; i < 20; i++) {
+            journal.append(i, VillageEventJournal.EventType.LUMBERJACK_FORCED_PROBE, 0L, Long.MIN_VALUE, i);
+        }
+
+        VillageEventJournal.Snapshot snapshot = journal.snapshot();
+        assertEquals(20L, journal.getWrittenCount());
+        assertEquals(16, snapshot.count);
+        assertEquals(4L, snapshot.ticks[0]);
+        assertEquals(19L, snapshot.ticks[15]);
+        assertEquals(19, snapshot.fields[0][15]);
+    }
+
+    @Test
+    void append_samplesOnlySampledEventTypes() {
+        VillageEventJournal.setSampleEvery(4);
+        VillageEventJournal journal = new VillageEventJournal(64);
+        for (int i = 0; i < 8; i++) {
+            journal.append(i, VillageEventJournal.EventType.MASON_PLACEMENT_PROGRESS, 0L, Long.MIN_VALUE, i);
+            journal.append(i, VillageEventJournal.EventType.MASON_PERIODIC_SUMMARY, 0L, Long.MIN_VALUE, i);
+        }
+
+        assertEquals(10L, journal.getWrittenCount());
+        assertEquals(6L, journal.getSampledOutCount());
+    }
+
+    @Test
+    void fixedArityAppend_clearsFieldsLeftByWiderEventInReusedSlot() {
+        VillageEventJournal.setSampleEvery(1);
+        VillageEventJournal journal = new VillageEventJournal(16);
+        for (int i = 0; i < 16; i++) {
+            journal.append(i, VillageEventJournal.EventType.MASON_PERIODIC_SUMMARY, 0L, Long.MIN_VALUE, 1, 2, 3, 4, 5, 6);
+        }
+        journal.append(16L, VillageEventJournal.EventType.LUMBERJACK_BACKPRESSURE_DEFER, 0L, Long.MIN_VALUE, 7, 8, 0);
+
+        VillageEventJournal.Snapshot snapshot = journal.snapshot();
+        assertEquals(16L, snapshot.ticks[15]);
+        assertEquals(7, snapshot.fields[0][15]);
+        assertEquals(8, snapshot.fields[1][15]);
+        for (int field = 2; field < VillageEventJournal.FIELD_COUNT; field++) {
+            assertEquals(0, snapshot.fields[field][15]);
+        }
+    }
+
+    @Test
+    void categoryMask_disablesOnlyThatCategory() {
+        VillageEventJournal.setCategoryEnabled(VillageEventJournal.Category.CRAFTING, false);
+
+        assertFalse(VillageEventJournal.isEnabled(VillageEventJournal.Category.CRAFTING));
+        assertTrue(VillageEventJournal.isEnabled(VillageEventJournal.Category.MASON_WALL));
+    }
+
+    @Test
+    void intern_reusesIdsAndStopsGrowingWhenFull() {
+        VillageEventJournal journal = new VillageEventJournal(16);
+        int first = journal.intern("empty_chest");
+        assertEquals(first, journal.intern("empty_chest"));
+        for (int i = 1; i < VillageEventJournal.MAX_DICTIONARY_SIZE; i++) {
+            journal.intern("value-" + i);
+        }
+        assertEquals(-1, journal.intern("overflow"));
+    }
+
+    @Test
+    void writeNdjson_resolvesInternedFieldsAndPositions() throws IOException {
+        VillageEventJournal.setSampleEvery(1);
+        VillageEventJournal journal = new VillageEventJournal(16);
+        int reason = journal.intern("empty_chest");
+        journal.append(42L, VillageEventJournal.EventType.QM_BOOTSTRAP_CANDIDATE_REJECTED, 0L, new BlockPos(1, 64, -3).asLong(), reason);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        journal.snapshot().writeNdjson(out);
+
+        assertEquals("{\"tick\":42,\"type\":\"qm_bootstrap_candidate_rejected\",\"category\":\"quartermaster\",\"pos\":[1,64,-3],\"reason\":\"empty_chest\"}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VillageExpansionWorkQueueTest {
+
+    private static final Box AREA = new Box(new BlockPos(0, 64, 0)).expand(300.0D);
+
+    private final Map<UUID, VillagerEntity> loaded = new HashMap<>();
+    private final Map<UUID, VillageExpansionWorkQueue.Need> needs = new HashMap<>();
+    private final AtomicInteger classifications = new AtomicInteger();
+    private final Function<VillagerEntity, VillageExpansionWorkQueue.Need> classifier = villager -> {
+        classifications.incrementAndGet();
+        return needs.getOrDefault(villager.getUuid(), VillageExpansionWorkQueue.Need.NONE);
+    };
+    private ServerWorld world;
+
+    @BeforeEach
+    void setUp() {
+        world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(World.OVERWORLD);
+        when(world.getEntity(any(UUID.class))).thenAnswer(invocation -> loaded.get(invocation.getArgument(0)));
+        VillageAiLod.clearWorld(world);
+        VillageExpansionWorkQueue.clearWorld(world);
+    }
+
+    @Test
+    void villagersAreClassifiedOnceAndOnlyPendingOnesAreReturned() {
+        VillagerEntity needsChest = villager(new Vec3d(10, 64, 10));
+        VillagerEntity satisfied = villager(new Vec3d(20, 64, 10));
+        needs.put(needsChest.getUuid(), VillageExpansionWorkQueue.Need.CHEST);
+        VillageExpansionWorkQueue.onVillagerChanged(world, needsChest.getUuid(), new BlockPos(10, 64, 10));
+        VillageExpansionWorkQueue.onVillagerChanged(world, satisfied.getUuid(), new BlockPos(20, 64, 10));
+        VillageExpansionWorkQueue queue = VillageExpansionWorkQueue.forWorld(world);
+
+        assertEquals(List.of(needsChest), queue.pendingVillagers(world, AREA, classifier));
+        assertEquals(List.of(needsChest), queue.pendingVillagers(world, AREA, classifier));
+        assertEquals(2, classifications.get());
+        assertEquals(1, queue.pendingCount());
+        assertEquals(2, queue.trackedCount());
+    }
+
+    @Test
+    void upgradeBlockChangesNearAJobSiteRequeueItsVillager() {
+        VillagerEntity villager = villager(new Vec3d(20, 64, 10));
+        VillageExpansionWorkQueue.onVillagerChanged(world, villager.getUuid(), new BlockPos(20, 64, 10));
+        VillageExpansionWorkQueue queue = VillageExpansionWorkQueue.forWorld(world);
+        queue.pendingVillagers(world, AREA, classifier);
+
+        BlockState air = mock(BlockState.class);
+        BlockState chest = mock(BlockState.class);
+        when(chest.getBlock()).thenReturn(Blocks.CHEST);
+        VillageExpansionWorkQueue.onBlockChanged(world, new BlockPos(30, 64, 10), chest, air);
+        VillageExpansionWorkQueue.onBlockChanged(world, new BlockPos(21, 64, 10), air, air);
+        assertEquals(0, queue.pendingCount());
+
+        VillageExpansionWorkQueue.onBlockChanged(world, new BlockPos(17, 65, 12), chest, air);
+        assertEquals(1, queue.pendingCount());
+
+        needs.put(villager.getUuid(), VillageExpansionWorkQueue.Need.CHEST);
+        assertEquals(List.of(villager), queue.pendingVillagers(world, AREA, classifier));
+    }
+
+    @Test
+    void brokenBarrelRequeuesAVillagerItSatisfied() {
+        VillagerEntity villager = villager(new Vec3d(20, 64, 10));
+        VillageExpansionWorkQueue.onVillagerChanged(world, villager.getUuid(), new BlockPos(20, 64, 10));
+        VillageExpansionWorkQueue queue = VillageExpansionWorkQueue.forWorld(world);
+        assertEquals(List.of(), queue.pendingVillagers(world, AREA, classifier));
+
+        BlockState air = mock(BlockState.class);
+        when(air.getBlock()).thenReturn(Blocks.AIR);
+        BlockState barrel = mock(BlockState.class);
+        when(barrel.getBlock()).thenReturn(Blocks.BARREL);
+        VillageExpansionWorkQueue.onBlockChanged(world, new BlockPos(22, 64, 10), barrel, air);
+        assertEquals(1, queue.pendingCount());
+
+        needs.put(villager.getUuid(), VillageExpansionWorkQueue.Need.CHEST);
+        assertEquals(List.of(villager), queue.pendingVillagers(world, AREA, classifier));
+    }
+
+    @Test
+    void unloadedVillagersAndLostJobSitesLeaveTheQueue() {
+        VillagerEntity far = villager(new Vec3d(900, 64, 0));
+        VillagerEntity gone = villager(new Vec3d(10, 64, 0));
+        VillagerEntity jobless = villager(new Vec3d(12, 64, 0));
+        for (VillagerEntity villager : List.of(far, gone, jobless)) {
+            needs.put(villager.getUuid(), VillageExpansionWorkQueue.Need.CRAFTING_TABLE);
+            VillageExpansionWorkQueue.onVillagerChanged(world, villager.getUuid(), villager.getBlockPos());
+        }
+        loaded.remove(gone.getUuid());
+        VillageExpansionWorkQueue.onVillagerChanged(world, jobless.getUuid(), null);
+        VillageExpansionWorkQueue queue = VillageExpansionWorkQueue.forWorld(world);
+
+        assertEquals(List.of(), queue.pendingVillagers(world, AREA, classifier));
+        assertEquals(1, queue.trackedCount());
+        assertEquals(List.of(far), queue.pendingVillagers(world, AREA.offset(900, 0, 0), classifier));
+    }
+
+    private VillagerEntity villager(Vec3d pos) {
+        VillagerEntity villager = mock(VillagerEntity.class);
+        UUID id = UUID.randomUUID();
+        when(villager.getUuid()).thenReturn(id);
+        when(villager.isAlive()).thenReturn(true);
+        when(villager.getPos()).thenReturn(pos);
+        when(villager.getBlockPos()).thenReturn(BlockPos.ofFloored(pos));
+        loaded.put(id, villager);
+        return villager;
+    }
+}
@@ -0,0 +1,90 @@
+package dev.sterner.guardvillagers.common.util;
+
+import dev.sterner.guardvillagers.common.entity.GuardEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.decoration.ArmorStandEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VillageGuardStandManagerStandSyncTest {
+
+    private static final UUID GUARD_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID STAND_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Test
+    void loadedGuard_isValidatedOnlyAfterGracePeriod() {
+        ServerWorld world = overworld(100L);
+        GuardEntity guard = anchoredGuard(world);
+
+        VillageGuardStandManager.onGuardLoaded(world, guard);
+        VillageGuardStandManager.tickStandSync(world);
+        verify(guard, never()).setPairedStandUuid(any());
+
+        when(world.getTime()).thenReturn(140L);
+        VillageGuardStandManager.tickStandSync(world);
+        verify(guard).setPairedStandUuid(null);
+    }
+
+    @Test
+    void killedStand_validatesPairedGuardOnNextTick() {
+        ServerWorld world = overworld(100L);
+        GuardEntity guard = anchoredGuard(world);
+        VillageGuardStandManager.onGuardLoaded(world, guard);
+        when(world.getTime()).thenReturn(140L);
+        VillageGuardStandManager.tickStandSync(world);
+
+        GuardEntity repaired = anchoredGuard(world);
+        VillageGuardStandManager.onGuardStandPairingChanged(world, repaired, null);
+        ArmorStandEntity stand = stand(Entity.RemovalReason.KILLED);
+        VillageGuardStandManager.onStandUnloaded(world, stand);
+        VillageGuardStandManager.tickStandSync(world);
+
+        verify(repaired).setPairedStandUuid(null);
+    }
+
+    @Test
+    void standUnloadedWithChunk_doesNotInvalidatePairing() {
+        ServerWorld world = overworld(100L);
+        GuardEntity guard = anchoredGuard(world);
+        VillageGuardStandManager.onGuardStandPairingChanged(world, guard, null);
+
+        VillageGuardStandManager.onStandUnloaded(world, stand(Entity.RemovalReason.UNLOADED_TO_CHUNK));
+        VillageGuardStandManager.tickStandSync(world);
+
+        verify(guard, never()).setPairedStandUuid(any());
+    }
+
+    private static ServerWorld overworld(long time) {
+        ServerWorld world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(World.OVERWORLD);
+        when(world.getTime()).thenReturn(time);
+        VillageGuardStandManager.clearWorld(world);
+        return world;
+    }
+
+    private static GuardEntity anchoredGuard(ServerWorld world) {
+        GuardEntity guard = mock(GuardEntity.class);
+        when(guard.getUuid()).thenReturn(GUARD_ID);
+        when(guard.getPairedStandUuid()).thenReturn(STAND_ID);
+        when(guard.isAlive()).thenReturn(true);
+        when(guard.isStandAnchorEnabled()).thenReturn(true);
+        when(world.getEntity(GUARD_ID)).thenReturn(guard);
+        return guard;
+    }
+
+    private static ArmorStandEntity stand(Entity.RemovalReason reason) {
+        ArmorStandEntity stand = mock(ArmorStandEntity.class);
+        when(stand.getUuid()).thenReturn(STAND_ID);
+        when(stand.getRemovalReason()).thenReturn(reason);
+        return stand;
+    }
+}
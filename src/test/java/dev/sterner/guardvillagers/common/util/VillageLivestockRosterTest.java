@@ -0,0 +1,130 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.entity.passive.AnimalEntity;
+import net.minecraft.entity.passive.CowEntity;
+import net.minecraft.entity.passive.SheepEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VillageLivestockRosterTest {
+
+    private static final BlockPos PEN = new BlockPos(8, 64, 8);
+
+    private ServerWorld world;
+
+    @BeforeEach
+    void setUp() {
+        world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(World.OVERWORLD);
+        VillageLivestockRoster.clearWorld(world);
+    }
+
+    @Test
+    void penRosterTracksLoadAndUnload() {
+        SheepEntity shearable = sheep(new Vec3d(10, 64, 10), true);
+        SheepEntity sheared = sheep(new Vec3d(6, 64, 6), false);
+        SheepEntity outside = sheep(new Vec3d(80, 64, 80), true);
+        VillageLivestockRoster.onEntityLoad(world, shearable);
+        VillageLivestockRoster.onEntityLoad(world, sheared);
+        VillageLivestockRoster.onEntityLoad(world, outside);
+
+        VillageLivestockRoster.PenRoster roster = VillageLivestockRoster.forWorld(world).getPenRoster(PEN, 16.0D, 6.0D);
+        assertEquals(1, roster.countShearableSheep());
+        assertEquals(2, roster.members(SheepEntity.class, sheep -> true).size());
+
+        VillageLivestockRoster.onEntityUnload(world, shearable);
+        assertEquals(0, roster.countShearableSheep());
+        assertEquals(2, VillageLivestockRoster.forWorld(world).trackedCount());
+    }
+
+    @Test
+    void animalsWanderingAcrossChunksAreRebucketedOnTick() {
+        CowEntity cow = mock(CowEntity.class);
+        when(cow.isAlive()).thenReturn(true);
+        place(cow, new Vec3d(200, 64, 200));
+        VillageLivestockRoster.onEntityLoad(world, cow);
+        VillageLivestockRoster.PenRoster roster = VillageLivestockRoster.forWorld(world).getPenRoster(PEN, 6.0D, 6.0D);
+        assertTrue(roster.members(AnimalEntity.class, animal -> true).isEmpty());
+
+        place(cow, new Vec3d(9, 64, 9));
+        when(world.getTime()).thenReturn((long) VillageLivestockRoster.REBUCKET_INTERVAL_TICKS);
+        VillageLivestockRoster.tick(world);
+
+        assertEquals(List.of(cow), roster.members(AnimalEntity.class, animal -> true));
+        assertEquals(1, roster.countBreedable());
+    }
+
+    @Test
+    void penRosterOnlyRebuildsWhenItsOwnChunksChange() {
+        VillageLivestockRoster.onEntityLoad(world, sheep(new Vec3d(10, 64, 10), true));
+        VillageLivestockRoster.PenRoster roster = VillageLivestockRoster.forWorld(world).getPenRoster(PEN, 6.0D, 6.0D);
+        assertEquals(1, roster.countShearableSheep());
+        assertEquals(1, roster.rebuildCount());
+
+        SheepEntity elsewhere = sheep(new Vec3d(500, 64, 500), true);
+        VillageLivestockRoster.onEntityLoad(world, elsewhere);
+        VillageLivestockRoster.onEntityUnload(world, elsewhere);
+        assertEquals(1, roster.countShearableSheep());
+        assertEquals(1, roster.rebuildCount());
+
+        VillageLivestockRoster.onEntityLoad(world, sheep(new Vec3d(12, 64, 4), true));
+        assertEquals(2, roster.countShearableSheep());
+        assertEquals(2, roster.rebuildCount());
+    }
+
+    @Test
+    void emptiedChunkStillInvalidatesAcrossAVersionPrune() {
+        SheepEntity sheep = sheep(new Vec3d(10, 64, 10), true);
+        VillageLivestockRoster.onEntityLoad(world, sheep);
+        VillageLivestockRoster.PenRoster roster = VillageLivestockRoster.forWorld(world).getPenRoster(PEN, 6.0D, 6.0D);
+        assertEquals(1, roster.countShearableSheep());
+
+        VillageLivestockRoster.onEntityUnload(world, sheep);
+        when(world.getTime()).thenReturn((long) VillageLivestockRoster.VERSION_PRUNE_INTERVAL_TICKS);
+        VillageLivestockRoster.tick(world);
+
+        assertEquals(0, roster.countShearableSheep());
+    }
+
+    @Test
+    void boxQueryFiltersByTypeAndPosition() {
+        SheepEntity near = sheep(new Vec3d(2, 64, 2), true);
+        CowEntity cow = mock(CowEntity.class);
+        when(cow.isAlive()).thenReturn(true);
+        place(cow, new Vec3d(3, 64, 3));
+        VillageLivestockRoster.onEntityLoad(world, near);
+        VillageLivestockRoster.onEntityLoad(world, cow);
+
+        List<SheepEntity> sheep = VillageLivestockRoster.forWorld(world)
+                .getAnimals(SheepEntity.class, new Box(BlockPos.ORIGIN).expand(24.0D, 6.0D, 24.0D), SheepEntity::isShearable);
+
+        assertEquals(List.of(near), sheep);
+    }
+
+    private static SheepEntity sheep(Vec3d pos, boolean shearable) {
+        SheepEntity sheep = mock(SheepEntity.class);
+        when(sheep.isAlive()).thenReturn(true);
+        when(sheep.isShearable()).thenReturn(shearable);
+        place(sheep, pos);
+        return sheep;
+    }
+
+    private static void place(AnimalEntity animal, Vec3d pos) {
+        when(animal.getPos()).thenReturn(pos);
+        when(animal.getBlockX()).thenReturn(MathHelper.floor(pos.x));
+        when(animal.getBlockZ()).thenReturn(MathHelper.floor(pos.z));
+    }
+}
@@ -0,0 +1,61 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VillageMappedBoundsStateTest {
+
+    private static final VillageMappedBoundsState.MappedBounds NEAR_BOUNDS =
+            new VillageMappedBoundsState.MappedBounds(-128, 127, -128, 127);
+    private static final VillageMappedBoundsState.MappedBounds FAR_BOUNDS =
+            new VillageMappedBoundsState.MappedBounds(1900, 2200, 1900, 2200);
+
+    @Test
+    void containmentQuery_returnsOnlyRegionsCoveringThePosition() {
+        VillageMappedBoundsState state = new VillageMappedBoundsState();
+        state.putBounds(World.OVERWORLD, new BlockPos(0, 64, 0), NEAR_BOUNDS);
+        state.putBounds(World.OVERWORLD, new BlockPos(2048, 64, 2048), FAR_BOUNDS);
+        state.putBounds(World.NETHER, new BlockPos(0, 64, 0), NEAR_BOUNDS);
+
+        List<VillageMappedBoundsState.AnchorMappedBounds> hits =
+                state.getBoundsContaining(World.OVERWORLD, new BlockPos(100, 70, -100));
+
+        assertEquals(1, hits.size());
+        assertEquals(NEAR_BOUNDS, hits.get(0).bounds());
+        assertTrue(state.getBoundsContaining(World.OVERWORLD, new BlockPos(500, 70, 500)).isEmpty());
+    }
+
+    @Test
+    void nearestAnchors_areSortedAndLimited() {
+        VillageMappedBoundsState state = new VillageMappedBoundsState();
+        state.putBounds(World.OVERWORLD, new BlockPos(300, 64, 0), NEAR_BOUNDS);
+        state.putBounds(World.OVERWORLD, new BlockPos(-40, 64, 0), NEAR_BOUNDS);
+        state.putBounds(World.OVERWORLD, new BlockPos(2048, 64, 2048), FAR_BOUNDS);
+
+        List<VillageMappedBoundsState.AnchorMappedBounds> nearest =
+                state.getNearestAnchors(World.OVERWORLD, BlockPos.ORIGIN, 400, 2);
+
+        assertEquals(2, nearest.size());
+        assertEquals(new BlockPos(-40, 64, 0), nearest.get(0).anchorPos());
+        assertEquals(new BlockPos(300, 64, 0), nearest.get(1).anchorPos());
+        assertEquals(FAR_BOUNDS, state.getBoundsNear(World.OVERWORLD, new BlockPos(2000, 64, 2000), 100).orElseThrow());
+    }
+
+    @Test
+    void replacingBounds_reindexesTheAnchor() {
+        VillageMappedBoundsState state = new VillageMappedBoundsState();
+        BlockPos anchor = new BlockPos(0, 64, 0);
+        state.putBounds(World.OVERWORLD, anchor, NEAR_BOUNDS);
+        state.putBounds(World.OVERWORLD, anchor, new VillageMappedBoundsState.MappedBounds(-16, 16, -16, 16));
+
+        assertTrue(state.getBoundsContaining(World.OVERWORLD, new BlockPos(100, 64, 100)).isEmpty());
+        assertEquals(1, state.getBoundsContaining(World.OVERWORLD, new BlockPos(8, 64, 8)).size());
+        assertEquals(1, state.getBoundsEntriesNear(World.OVERWORLD, anchor, 10).size());
+    }
+}
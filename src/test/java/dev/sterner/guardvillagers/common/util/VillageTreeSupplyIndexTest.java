@@ -0,0 +1,139 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VillageTreeSupplyIndexTest {
+
+    private static final BlockPos BELL = new BlockPos(0, 64, 0);
+
+    private final Map<BlockPos, BlockState> blocks = new HashMap<>();
+    private final Set<ChunkPos> unloadedChunks = new HashSet<>();
+    private final BlockState air = mock(BlockState.class);
+    private final BlockState log = tagged(true, false);
+    private final BlockState sapling = tagged(false, true);
+    private ServerWorld world;
+
+    @BeforeEach
+    void setUp() {
+        world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(World.OVERWORLD);
+        when(world.getBlockState(any())).thenAnswer(invocation -> blocks.getOrDefault(invocation.getArgument(0), air));
+        when(world.getChunk(anyInt(), anyInt())).thenAnswer(invocation -> emptyChunk(invocation.getArgument(0), invocation.getArgument(1)));
+        when(world.isChunkLoaded(anyInt(), anyInt())).thenAnswer(invocation ->
+                !unloadedChunks.contains(new ChunkPos(invocation.<Integer>getArgument(0), invocation.<Integer>getArgument(1))));
+        VillageTreeSupplyIndex.clearWorld(world);
+    }
+
+    @Test
+    void countsTrunkBasesOnceAndSaplingsAtHalfWeight() {
+        VillageTreeSupplyIndex index = VillageTreeSupplyIndex.forWorld(world);
+        assertEquals(0.0D, index.countTreeUnits(world, BELL, 16, 16));
+
+        BlockPos trunk = BELL.add(4, 0, 4);
+        set(trunk, log);
+        set(trunk.up(), log);
+        set(trunk.up(2), log);
+        set(BELL.add(-3, 0, 2), sapling);
+
+        assertEquals(1.5D, index.countTreeUnits(world, BELL, 16, 16));
+    }
+
+    @Test
+    void choppingTheBaseLogPromotesTheLogAbove() {
+        VillageTreeSupplyIndex index = VillageTreeSupplyIndex.forWorld(world);
+        index.countTreeUnits(world, BELL, 16, 16);
+
+        BlockPos trunk = BELL.add(2, 0, 2);
+        set(trunk, log);
+        set(trunk.up(), log);
+        set(trunk, air);
+        assertEquals(1.0D, index.countTreeUnits(world, BELL, 16, 16));
+
+        set(trunk.up(), air);
+        assertEquals(0.0D, index.countTreeUnits(world, BELL, 16, 16));
+    }
+
+    @Test
+    void saplingGrowthReplacesHalfUnitWithTrunk() {
+        VillageTreeSupplyIndex index = VillageTreeSupplyIndex.forWorld(world);
+        index.countTreeUnits(world, BELL, 16, 16);
+
+        BlockPos spot = BELL.add(-5, 0, -5);
+        set(spot, sapling);
+        assertEquals(0.5D, index.countTreeUnits(world, BELL, 16, 16));
+
+        set(spot, log);
+        assertEquals(1.0D, index.countTreeUnits(world, BELL, 16, 16));
+    }
+
+    @Test
+    void changesOutsideRadiusOrUntrackedChunksAreIgnored() {
+        VillageTreeSupplyIndex index = VillageTreeSupplyIndex.forWorld(world);
+        index.countTreeUnits(world, BELL, 8, 16);
+
+        set(BELL.add(12, 0, 0), log);
+        set(BELL.add(400, 0, 400), log);
+
+        assertEquals(0.0D, index.countTreeUnits(world, BELL, 8, 16));
+        assertEquals(4, index.trackedChunkCount());
+    }
+
+    @Test
+    void unloadedChunksAreSkippedAndIndexedWhenTheyLoad() {
+        VillageTreeSupplyIndex index = VillageTreeSupplyIndex.forWorld(world);
+        unloadedChunks.add(new ChunkPos(0, 0));
+
+        assertEquals(0.0D, index.countTreeUnits(world, BELL, 8, 16));
+        verify(world, never()).getChunk(0, 0);
+        assertEquals(3, index.trackedChunkCount());
+
+        unloadedChunks.clear();
+        VillageTreeSupplyIndex.onChunkLoad(world, emptyChunk(0, 0));
+        assertEquals(4, index.trackedChunkCount());
+
+        set(BELL.add(3, 0, 3), sapling);
+        assertEquals(0.5D, index.countTreeUnits(world, BELL, 8, 16));
+    }
+
+    private void set(BlockPos pos, BlockState state) {
+        BlockState old = blocks.getOrDefault(pos, air);
+        blocks.put(pos, state);
+        VillageTreeSupplyIndex.onBlockChanged(world, pos, old, state);
+    }
+
+    private static BlockState tagged(boolean isLog, boolean isSapling) {
+        BlockState state = mock(BlockState.class);
+        when(state.isIn(BlockTags.LOGS)).thenReturn(isLog);
+        when(state.isIn(BlockTags.SAPLINGS)).thenReturn(isSapling);
+        return state;
+    }
+
+    private static WorldChunk emptyChunk(int chunkX, int chunkZ) {
+        WorldChunk chunk = mock(WorldChunk.class);
+        when(chunk.getPos()).thenReturn(new ChunkPos(chunkX, chunkZ));
+        when(chunk.getSectionArray()).thenReturn(new ChunkSection[0]);
+        return chunk;
+    }
+}
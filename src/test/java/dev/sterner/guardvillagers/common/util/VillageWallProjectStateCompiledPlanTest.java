@@ -0,0 +1,68 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VillageWallProjectStateCompiledPlanTest {
+
+    private static final RegistryKey<World> OVERWORLD = RegistryKey.of(RegistryKeys.WORLD, Identifier.of("minecraft", "overworld"));
+    private static final BlockPos ANCHOR = new BlockPos(10, 64, 10);
+    private static final VillageWallProjectState.PerimeterBounds BOUNDS = new VillageWallProjectState.PerimeterBounds(0, 20, 0, 20);
+
+    @Test
+    void compiledPlanAndLayerProgressSurviveNbtRoundTrip() throws Exception {
+        VillageWallProjectState state = new VillageWallProjectState();
+        state.upsertProject(OVERWORLD, ANCHOR, BOUNDS, new VillageWallProjectState.PerimeterSignature(8, 12345));
+        VillageWallProjectState.CompiledWallPlan plan = plan(42);
+        state.storeCompiledPlan(OVERWORLD, ANCHOR, plan);
+        state.updateLayerProgress(OVERWORLD, ANCHOR, true, false, false);
+
+        NbtCompound out = state.writeNbt(new NbtCompound(), null);
+        Method fromNbt = VillageWallProjectState.class.getDeclaredMethod("fromNbt", NbtCompound.class, RegistryWrapper.WrapperLookup.class);
+        fromNbt.setAccessible(true);
+        VillageWallProjectState restored = (VillageWallProjectState) fromNbt.invoke(null, out, null);
+
+        assertEquals(plan, restored.getCompiledPlan(OVERWORLD, ANCHOR, 42).orElseThrow());
+        NbtCompound row = restored.writeNbt(new NbtCompound(), null).getList("Projects", 10).getCompound(0);
+        assertTrue(row.getBoolean("Layer1Complete"));
+        assertFalse(row.getBoolean("Layer2Complete"));
+    }
+
+    @Test
+    void planIsHiddenForOtherVersionsAndDroppedWhenFootprintChanges() {
+        VillageWallProjectState state = new VillageWallProjectState();
+        state.upsertProject(OVERWORLD, ANCHOR, BOUNDS, new VillageWallProjectState.PerimeterSignature(8, 12345));
+        state.storeCompiledPlan(OVERWORLD, ANCHOR, plan(42));
+
+        assertTrue(state.getCompiledPlan(OVERWORLD, ANCHOR, 43).isEmpty());
+        assertTrue(state.getCompiledPlan(OVERWORLD, ANCHOR, 42).isPresent());
+
+        state.upsertProject(OVERWORLD, ANCHOR, BOUNDS, new VillageWallProjectState.PerimeterSignature(9, 54321));
+        assertTrue(state.getCompiledPlan(OVERWORLD, ANCHOR, 42).isEmpty());
+    }
+
+    private static VillageWallProjectState.CompiledWallPlan plan(int version) {
+        return new VillageWallProjectState.CompiledWallPlan(
+                version,
+                BOUNDS,
+                64,
+                List.of(new BlockPos(0, 65, 0), new BlockPos(1, 65, 0), new BlockPos(0, 66, 0)),
+                Map.of(BlockPos.asLong(0, 0, 0), 64, BlockPos.asLong(1, 0, 0), 64),
+                List.of(new BlockPos(10, 65, 0))
+        );
+    }
+}
@@ -0,0 +1,172 @@
+package dev.sterner.guardvillagers.common.util;
+
+import net.minecraft.block.Blocks;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WallPathReachabilityCacheTest {
+
+    private static final BlockPos ANCHOR = new BlockPos(0, 64, 0);
+    private static final BlockPos ORIGIN = new BlockPos(2, 64, 2);
+    private static final BlockPos SEGMENT = new BlockPos(10, 65, 0);
+    private static final BlockPos NAV_TARGET = new BlockPos(9, 64, 0);
+
+    @Test
+    void forProject_sharesProbeResultsBetweenMasonsOfTheSameProject() {
+        ServerWorld world = overworld();
+        WallPathReachabilityCache.clearWorld(world);
+
+        WallPathReachabilityCache first = WallPathReachabilityCache.forProject(world, ANCHOR);
+        first.updateFootprint(-10, -10, 10, 10);
+        first.recordProbe(SEGMENT, NAV_TARGET, true, 100L);
+
+        WallPathReachabilityCache second = WallPathReachabilityCache.forProject(world, ANCHOR.toImmutable());
+        assertSame(first, second);
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.REACHABLE,
+                second.query(world, ORIGIN, SEGMENT, NAV_TARGET, 130L, false));
+    }
+
+    @Test
+    void onBlockChanged_invalidatesOnlyForChangesNearTheWallLine() {
+        ServerWorld world = overworld();
+        WallPathReachabilityCache.clearWorld(world);
+
+        WallPathReachabilityCache cache = WallPathReachabilityCache.forProject(world, ANCHOR);
+        cache.updateFootprint(-10, -10, 10, 10);
+        cache.recordProbe(SEGMENT, NAV_TARGET, false, 100L);
+
+        WallPathReachabilityCache.onBlockChanged(world, new BlockPos(200, 64, 200));
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.UNREACHABLE,
+                cache.query(world, ORIGIN, SEGMENT, NAV_TARGET, 110L, false));
+
+        WallPathReachabilityCache.onBlockChanged(world, new BlockPos(0, 64, 0));
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.UNREACHABLE,
+                cache.query(world, ORIGIN, SEGMENT, NAV_TARGET, 110L, false));
+
+        WallPathReachabilityCache.onBlockChanged(world, new BlockPos(10 + WallPathReachabilityCache.FOOTPRINT_MARGIN, 64, 0));
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.UNKNOWN,
+                cache.query(world, ORIGIN, SEGMENT, NAV_TARGET, 110L, false));
+    }
+
+    @Test
+    void onBlockChanged_plannedPlacementOnlyDropsProbesForThePlacedSegment() {
+        ServerWorld world = overworld();
+        WallPathReachabilityCache.clearWorld(world);
+        BlockPos otherSegment = new BlockPos(10, 65, 4);
+        BlockPos otherNavTarget = new BlockPos(9, 64, 4);
+
+        WallPathReachabilityCache cache = WallPathReachabilityCache.forProject(world, ANCHOR);
+        cache.updateFootprint(-10, -10, 10, 10);
+        cache.recordProbe(SEGMENT, NAV_TARGET, true, 100L);
+        cache.recordProbe(otherSegment, otherNavTarget, true, 100L);
+
+        cache.beginPlannedPlacement(SEGMENT);
+        WallPathReachabilityCache.onBlockChanged(world, SEGMENT);
+        cache.endPlannedPlacement();
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.UNKNOWN,
+                cache.query(world, ORIGIN, SEGMENT, NAV_TARGET, 110L, false));
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.REACHABLE,
+                cache.query(world, ORIGIN, otherSegment, otherNavTarget, 110L, false));
+
+        WallPathReachabilityCache.onBlockChanged(world, SEGMENT.up());
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.UNKNOWN,
+                cache.query(world, ORIGIN, otherSegment, otherNavTarget, 110L, false));
+    }
+
+    @Test
+    void query_expiresProbeResultsAfterTtl() {
+        WallPathReachabilityCache cache = new WallPathReachabilityCache();
+        cache.recordProbe(SEGMENT, NAV_TARGET, true, 100L);
+
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.REACHABLE,
+                cache.query(null, ORIGIN, SEGMENT, NAV_TARGET, 100L + WallPathReachabilityCache.TTL_TICKS - 1L, false));
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.UNKNOWN,
+                cache.query(null, ORIGIN, SEGMENT, NAV_TARGET, 100L + WallPathReachabilityCache.TTL_TICKS, false));
+    }
+
+    @Test
+    void query_regionOnlyAnswersFromItsOwnFillOrigin() {
+        ServerWorld world = ledgeWorld();
+        WallPathReachabilityCache.clearWorld(world);
+        BlockPos ledge = new BlockPos(0, 67, 8);
+        BlockPos ground = new BlockPos(5, 64, 8);
+
+        WallPathReachabilityCache cache = WallPathReachabilityCache.forProject(world, ANCHOR);
+        cache.updateFootprint(-10, -10, 10, 10);
+
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.REACHABLE,
+                cache.query(world, ledge, ground.up(), ground, 100L, true));
+        // The ledge region holds the ground cell, but climbing back up is three blocks.
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.UNKNOWN,
+                cache.query(world, ground, ledge.up(), ledge, 100L, false));
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.UNREACHABLE,
+                cache.query(world, ground, ledge.up(), ledge, 100L, true));
+    }
+
+    @Test
+    void plannedPlacement_dropsRegionsHoldingThePlacedCell() {
+        ServerWorld world = ledgeWorld();
+        WallPathReachabilityCache.clearWorld(world);
+        BlockPos origin = new BlockPos(5, 64, 8);
+        BlockPos placed = new BlockPos(7, 64, 8);
+
+        WallPathReachabilityCache cache = WallPathReachabilityCache.forProject(world, ANCHOR);
+        cache.updateFootprint(-10, -10, 10, 10);
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.REACHABLE,
+                cache.query(world, origin, new BlockPos(9, 65, 8), new BlockPos(9, 64, 8), 100L, true));
+
+        cache.beginPlannedPlacement(placed);
+        WallPathReachabilityCache.onBlockChanged(world, placed);
+        cache.endPlannedPlacement();
+
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.REACHABLE,
+                cache.query(world, origin, new BlockPos(9, 65, 8), new BlockPos(9, 64, 8), 110L, false));
+        assertEquals(WallPathReachabilityCache.ProbeAnswer.UNKNOWN,
+                cache.query(world, origin, new BlockPos(3, 65, 8), new BlockPos(3, 64, 8), 110L, false));
+    }
+
+    @Test
+    void evictIdleIfDue_dropsProjectsNoMasonHasUsedWithinTheIdleWindow() {
+        ServerWorld world = overworld();
+        WallPathReachabilityCache.clearWorld(world);
+        BlockPos abandonedAnchor = new BlockPos(100, 64, 100);
+
+        WallPathReachabilityCache active = WallPathReachabilityCache.forProject(world, ANCHOR);
+        WallPathReachabilityCache abandoned = WallPathReachabilityCache.forProject(world, abandonedAnchor);
+        abandoned.recordProbe(SEGMENT, NAV_TARGET, true, 100L);
+        active.recordProbe(SEGMENT, NAV_TARGET, true, 100L + WallPathReachabilityCache.IDLE_EVICTION_TICKS);
+
+        when(world.getTime()).thenReturn(100L + WallPathReachabilityCache.IDLE_EVICTION_TICKS);
+        WallPathReachabilityCache.evictIdleIfDue(world);
+
+        assertSame(active, WallPathReachabilityCache.forProject(world, ANCHOR));
+        assertNotSame(abandoned, WallPathReachabilityCache.forProject(world, abandonedAnchor));
+    }
+
+    /** Stone ground with feet at y=64, and a two-wide ledge along z with feet at y=67. */
+    private static ServerWorld ledgeWorld() {
+        ServerWorld world = overworld();
+        when(world.isChunkLoaded(any(BlockPos.class))).thenReturn(true);
+        when(world.getBlockState(any(BlockPos.class))).thenAnswer(invocation -> {
+            BlockPos pos = invocation.getArgument(0);
+            int top = pos.getX() >= 0 && pos.getX() <= 1 ? 66 : 63;
+            return pos.getY() <= top ? Blocks.STONE.getDefaultState() : Blocks.AIR.getDefaultState();
+        });
+        return world;
+    }
+
+    private static ServerWorld overworld() {
+        ServerWorld world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(World.OVERWORLD);
+        return world;
+    }
+}
@@ -0,0 +1,96 @@
+package dev.sterner.guardvillagers.common.villager;
+
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class VillagerComponentsTest {
+
+    private static final List<VillagerComponents.ReleaseReason> RELEASED = new ArrayList<>();
+    private static final VillagerComponents.Key<Long> TICKS = VillagerComponents.key("test.ticks");
+    private static final VillagerComponents.Key<BlockPos> TRACKED = VillagerComponents.key(
+            "test.tracked", (owner, pos, reason) -> RELEASED.add(reason));
+    private static final ChestWatcherIndex<VillagerEntity> WATCHERS = ChestWatcherIndex.create("test");
+    private static final VillagerComponents.Key<ChestWatcherIndex.Registration<VillagerEntity>> REGISTRATION = VillagerComponents.key(
+            "test.chest_registration", (owner, registration, reason) -> WATCHERS.unwatch(registration));
+
+    private final ServerWorld overworld = world(World.OVERWORLD);
+    private final ServerWorld nether = world(World.NETHER);
+
+    @AfterEach
+    void tearDown() {
+        RELEASED.clear();
+        ChestWatcherIndex.clearWorld(overworld);
+        ChestWatcherIndex.clearWorld(nether);
+    }
+
+    @Test
+    void keysTrackLiveCountsAndIgnoreNonHolders() {
+        VillagerEntity villager = holder();
+        int before = TICKS.liveCount();
+
+        assertNull(TICKS.put(villager, 10L));
+        assertEquals(Long.valueOf(10L), TICKS.put(villager, 20L));
+        assertEquals(before + 1, TICKS.liveCount());
+        assertEquals(Long.valueOf(20L), TICKS.get(villager));
+        assertEquals(Integer.valueOf(before + 1), VillagerComponents.liveCounts().get("test.ticks"));
+
+        assertEquals(Long.valueOf(20L), TICKS.remove(villager));
+        assertFalse(TICKS.containsKey(villager));
+        assertEquals(Long.valueOf(0L), TICKS.getOrDefault(villager, 0L));
+        assertEquals(before, TICKS.liveCount());
+
+        VillagerEntity plain = mock(VillagerEntity.class);
+        assertNull(TICKS.get(plain));
+        assertNull(TICKS.remove(plain));
+        VillagerComponents.release(plain, VillagerComponents.ReleaseReason.UNLOADED);
+    }
+
+    @Test
+    void releaseRunsReleasersAndDropsWorldScopedWatchers() {
+        VillagerEntity villager = holder();
+        BlockPos chestPos = new BlockPos(4, 64, 4);
+        TRACKED.put(villager, chestPos);
+        TICKS.put(villager, 5L);
+        REGISTRATION.put(villager, WATCHERS.watch(overworld, villager, Set.of(chestPos)));
+
+        assertEquals(List.of(villager), WATCHERS.watchers(overworld, chestPos));
+        assertTrue(WATCHERS.watchers(nether, chestPos).isEmpty());
+
+        VillagerComponents.release(villager, VillagerComponents.ReleaseReason.PROFESSION_CHANGED);
+
+        assertEquals(List.of(VillagerComponents.ReleaseReason.PROFESSION_CHANGED), RELEASED);
+        assertTrue(WATCHERS.watchers(overworld, chestPos).isEmpty());
+        assertNull(TICKS.get(villager));
+        assertEquals(0, VillagerComponents.of(villager).size());
+    }
+
+    private static VillagerEntity holder() {
+        VillagerEntity villager = mock(VillagerEntity.class, withSettings().extraInterfaces(VillagerComponentHolder.class));
+        VillagerComponents components = new VillagerComponents();
+        when(((VillagerComponentHolder) villager).guardvillagers$getComponents()).thenReturn(components);
+        return villager;
+    }
+
+    private static ServerWorld world(RegistryKey<World> dimension) {
+        ServerWorld world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(dimension);
+        return world;
+    }
+}
@@ -1,18 +1,18 @@
 package dev.sterner.guardvillagers.common.villager.behavior;
 
+import dev.sterner.guardvillagers.common.villager.ChestWatcherIndex;
 import dev.sterner.guardvillagers.common.villager.ProfessionDefinitions;
 import dev.sterner.guardvillagers.common.villager.VillagerConversionCandidateIndex;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Field;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
 import static org.mockito.Mockito.mock;
@@ -20,14 +20,19 @@ import static org.mockito.Mockito.when;
 
 class ButcherBehaviorChestMutationConversionRegressionTest {
 
+    private ServerWorld world;
+
     @AfterEach
-    void clearWatcherState() throws Exception {
-        watcherMap().clear();
+    void clearWatcherState() {
+        if (world != null) {
+            ChestWatcherIndex.clearWorld(world);
+        }
     }
 
     @Test
     void pairedButcherWithoutInitialWeapon_rechecksConversionWhenChestMutatesLater() throws Exception {
-        ServerWorld world = mock(ServerWorld.class);
+        world = mock(ServerWorld.class);
+        when(world.getRegistryKey()).thenReturn(World.OVERWORLD);
         VillagerEntity villager = mock(VillagerEntity.class);
         BlockPos chestPos = new BlockPos(3, 64, 7);
 
@@ -35,7 +40,7 @@ class ButcherBehaviorChestMutationConversionRegressionTest {
         when(villager.getWorld()).thenReturn(world);
 
         // Simulate existing chest pairing while no weapon is present yet.
-        watcherMap().computeIfAbsent(chestPos, ignored -> new HashSet<>()).add(villager);
+        chestWatchers().watch(world, villager, Set.of(chestPos));
 
         try (MockedStatic<VillagerConversionCandidateIndex> candidateIndex = Mockito.mockStatic(VillagerConversionCandidateIndex.class);
              MockedStatic<ProfessionDefinitions> professionDefinitions = Mockito.mockStatic(ProfessionDefinitions.class)) {
@@ -53,9 +58,9 @@ class ButcherBehaviorChestMutationConversionRegressionTest {
     }
 
     @SuppressWarnings("unchecked")
-    private static Map<BlockPos, Set<VillagerEntity>> watcherMap() throws Exception {
-        Field field = ButcherBehavior.class.getDeclaredField("CHEST_WATCHERS_BY_POS");
+    private static ChestWatcherIndex<VillagerEntity> chestWatchers() throws Exception {
+        Field field = ButcherBehavior.class.getDeclaredField("CHEST_WATCHERS");
         field.setAccessible(true);
-        return (Map<BlockPos, Set<VillagerEntity>>) field.get(null);
+        return (ChestWatcherIndex<VillagerEntity>) field.get(null);
     }
 }
@@ -8,6 +8,8 @@ import net.minecraft.block.Blocks;
 import net.minecraft.block.ChestBlock;
 import net.minecraft.block.enums.ChestType;
 import net.minecraft.entity.ai.goal.GoalSelector;
+import dev.sterner.guardvillagers.common.villager.VillagerComponentHolder;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.inventory.DoubleInventory;
 import net.minecraft.inventory.SimpleInventory;
@@ -16,14 +18,12 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.village.VillagerData;
 import net.minecraft.village.VillagerProfession;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,21 +33,10 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 class LibrarianBehaviorChestListenerAndDoubleInventoryRegressionTest {
 
-    @AfterEach
-    void clearStaticState() throws Exception {
-        map("CRAFTING_GOALS").clear();
-        map("DISTRIBUTION_GOALS").clear();
-        map("QUARTERMASTER_GOALS").clear();
-        map("PAIRED_CHEST_POS").clear();
-        map("CHEST_LISTENERS").clear();
-        map("LAST_IMMEDIATE_REQUEST_TICK").clear();
-        map("INVENTORY_DIRTY_FLAGS").clear();
-        map("LAST_QUARTERMASTER_PAIR").clear();
-    }
-
     @Test
     void singleChestPairing_keepsListenerAndImmediateRefresh() throws Exception {
         LibrarianBehavior behavior = new LibrarianBehavior();
@@ -58,8 +47,8 @@ class LibrarianBehaviorChestListenerAndDoubleInventoryRegressionTest {
         LibrarianBellChestDistributionGoal distributionGoal = mock(LibrarianBellChestDistributionGoal.class);
         BlockPos chestPos = new BlockPos(8, 64, 8);
 
-        map("CRAFTING_GOALS").put(villager, craftingGoal);
-        map("DISTRIBUTION_GOALS").put(villager, distributionGoal);
+        key("CRAFTING_GOALS").put(villager, craftingGoal);
+        key("DISTRIBUTION_GOALS").put(villager, distributionGoal);
         when(world.getBlockState(chestPos)).thenReturn(chestState(ChestType.SINGLE, Direction.NORTH));
         when(world.getTime()).thenReturn(200L);
 
@@ -74,7 +63,7 @@ class LibrarianBehaviorChestListenerAndDoubleInventoryRegressionTest {
 
         verify(craftingGoal, times(1)).requestImmediateCraft(world);
         verify(distributionGoal, times(1)).requestImmediateDistribution();
-        assertTrue(map("CHEST_LISTENERS").containsKey(villager));
+        assertTrue(key("CHEST_LISTENERS").containsKey(villager));
     }
 
     @Test
@@ -103,7 +92,7 @@ class LibrarianBehaviorChestListenerAndDoubleInventoryRegressionTest {
             behavior.onChestPaired(world, villager, jobPos, chestPos);
         }
 
-        assertTrue(map("QUARTERMASTER_GOALS").containsKey(villager));
+        assertTrue(key("QUARTERMASTER_GOALS").containsKey(villager));
         verify(goalSelector, times(1)).add(eq(3), any(QuartermasterGoal.class));
         verify(goalSelector, never()).remove(any(QuartermasterGoal.class));
     }
@@ -122,8 +111,15 @@ class LibrarianBehaviorChestListenerAndDoubleInventoryRegressionTest {
         method.invoke(behavior, world, villager, chestPos);
     }
 
+    private static VillagerEntity holder() {
+        VillagerEntity villager = mock(VillagerEntity.class, withSettings().extraInterfaces(VillagerComponentHolder.class));
+        VillagerComponents components = new VillagerComponents();
+        when(((VillagerComponentHolder) villager).guardvillagers$getComponents()).thenReturn(components);
+        return villager;
+    }
+
     private static VillagerEntity mockLibrarian(ServerWorld world) {
-        VillagerEntity villager = mock(VillagerEntity.class);
+        VillagerEntity villager = holder();
         VillagerData villagerData = mock(VillagerData.class);
         when(villager.getVillagerData()).thenReturn(villagerData);
         when(villagerData.getProfession()).thenReturn(VillagerProfession.LIBRARIAN);
@@ -140,10 +136,10 @@ class LibrarianBehaviorChestListenerAndDoubleInventoryRegressionTest {
     }
 
     @SuppressWarnings("unchecked")
-    private static Map<Object, Object> map(String fieldName) throws Exception {
+    private static VillagerComponents.Key<Object> key(String fieldName) throws Exception {
         Field field = LibrarianBehavior.class.getDeclaredField(fieldName);
         field.setAccessible(true);
-        return (Map<Object, Object>) field.get(null);
+        return (VillagerComponents.Key<Object>) field.get(null);
     }
 
     private static void setGoalSelector(VillagerEntity villager, GoalSelector selector) throws Exception {
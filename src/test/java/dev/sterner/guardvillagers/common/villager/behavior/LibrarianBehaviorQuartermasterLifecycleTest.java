@@ -6,6 +6,8 @@ import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.block.enums.ChestType;
 import net.minecraft.entity.ai.goal.GoalSelector;
+import dev.sterner.guardvillagers.common.villager.VillagerComponentHolder;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.world.ServerWorld;
@@ -13,14 +15,12 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.village.VillagerData;
 import net.minecraft.village.VillagerProfession;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -30,15 +30,10 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 class LibrarianBehaviorQuartermasterLifecycleTest {
 
-    @AfterEach
-    void clearStaticState() throws Exception {
-        map("QUARTERMASTER_GOALS").clear();
-        map("PAIRED_CHEST_POS").clear();
-    }
-
     @Test
     void librarianPairedWithSingleChest_only_doesNotPromoteToQuartermaster() throws Exception {
         LibrarianBehavior behavior = new LibrarianBehavior();
@@ -55,7 +50,7 @@ class LibrarianBehaviorQuartermasterLifecycleTest {
 
         invokeSyncQuartermasterState(behavior, world, villager, jobPos, chestPos, "single_chest_only");
 
-        assertFalse(map("QUARTERMASTER_GOALS").containsKey(villager));
+        assertFalse(key("QUARTERMASTER_GOALS").containsKey(villager));
         verify(goalSelector, never()).add(eq(3), any(QuartermasterGoal.class));
     }
 
@@ -80,8 +75,8 @@ class LibrarianBehaviorQuartermasterLifecycleTest {
 
         invokeSyncQuartermasterState(behavior, world, villager, jobPos, chestPos, "second_chest_added");
 
-        assertTrue(map("QUARTERMASTER_GOALS").containsKey(villager));
-        map("PAIRED_CHEST_POS").put(villager, chestPos);
+        assertTrue(key("QUARTERMASTER_GOALS").containsKey(villager));
+        key("PAIRED_CHEST_POS").put(villager, chestPos);
         verify(goalSelector).add(eq(3), any(QuartermasterGoal.class));
 
         when(world.getBlockState(secondPos)).thenReturn(Blocks.AIR.getDefaultState());
@@ -91,13 +86,20 @@ class LibrarianBehaviorQuartermasterLifecycleTest {
             invokeSyncQuartermasterState(behavior, world, villager, jobPos, chestPos, "second_chest_removed");
         }
 
-        assertFalse(map("QUARTERMASTER_GOALS").containsKey(villager));
+        assertFalse(key("QUARTERMASTER_GOALS").containsKey(villager));
         verify(goalSelector).remove(any(QuartermasterGoal.class));
         verify(anchorState).unregister(world, chestPos);
     }
 
+    private static VillagerEntity holder() {
+        VillagerEntity villager = mock(VillagerEntity.class, withSettings().extraInterfaces(VillagerComponentHolder.class));
+        VillagerComponents components = new VillagerComponents();
+        when(((VillagerComponentHolder) villager).guardvillagers$getComponents()).thenReturn(components);
+        return villager;
+    }
+
     private static VillagerEntity mockLibrarian() {
-        VillagerEntity villager = mock(VillagerEntity.class);
+        VillagerEntity villager = holder();
         VillagerData villagerData = mock(VillagerData.class);
         when(villager.getVillagerData()).thenReturn(villagerData);
         when(villagerData.getProfession()).thenReturn(VillagerProfession.LIBRARIAN);
@@ -131,10 +133,10 @@ class LibrarianBehaviorQuartermasterLifecycleTest {
     }
 
     @SuppressWarnings("unchecked")
-    private static Map<Object, Object> map(String fieldName) throws Exception {
+    private static VillagerComponents.Key<Object> key(String fieldName) throws Exception {
         Field field = LibrarianBehavior.class.getDeclaredField(fieldName);
         field.setAccessible(true);
-        return (Map<Object, Object>) field.get(null);
+        return (VillagerComponents.Key<Object>) field.get(null);
     }
 
     private static void setGoalSelector(VillagerEntity villager, GoalSelector selector) throws Exception {
@@ -4,44 +4,33 @@ import dev.sterner.guardvillagers.common.entity.goal.ShepherdBedPlacerGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ShepherdCraftingGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ShepherdFencePlacerGoal;
 import dev.sterner.guardvillagers.common.entity.goal.ShepherdSpecialGoal;
+import dev.sterner.guardvillagers.common.villager.VillagerComponentHolder;
+import dev.sterner.guardvillagers.common.villager.VillagerComponents;
 import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.server.world.ServerWorld;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Map;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 class ShepherdBehaviorChestMutationWakeSchedulerTest {
 
-    @AfterEach
-    void clearStaticState() throws Exception {
-        map("SPECIAL_GOALS").clear();
-        map("CRAFTING_GOALS").clear();
-        map("BED_PLACER_GOALS").clear();
-        map("FENCE_PLACER_GOALS").clear();
-        map("LAST_WAKE_TICKS").clear();
-        map("QUEUED_WAKE_TICKS").clear();
-        map("DIRTY_WAKE_FLAGS").clear();
-        map("LAST_CHEST_SNAPSHOTS").clear();
-    }
-
     @Test
     void burstMutationsWithinDebounce_onlyOneImmediateWakeupPerWindow() throws Exception {
         ServerWorld world = mock(ServerWorld.class);
-        VillagerEntity villager = mock(VillagerEntity.class);
+        VillagerEntity villager = villager();
         ShepherdSpecialGoal specialGoal = mock(ShepherdSpecialGoal.class);
         ShepherdCraftingGoal craftingGoal = mock(ShepherdCraftingGoal.class);
 
-        map("SPECIAL_GOALS").put(villager, specialGoal);
-        map("CRAFTING_GOALS").put(villager, craftingGoal);
+        key("SPECIAL_GOALS").put(villager, specialGoal);
+        key("CRAFTING_GOALS").put(villager, craftingGoal);
 
         int dirtySpecial = getDirtyFlag("DIRTY_SPECIAL");
         int dirtyCrafting = getDirtyFlag("DIRTY_CRAFTING");
@@ -62,14 +51,14 @@ class ShepherdBehaviorChestMutationWakeSchedulerTest {
     @Test
     void categoryDirtyFlags_preventUnrelatedBedAndFenceWakeups() throws Exception {
         ServerWorld world = mock(ServerWorld.class);
-        VillagerEntity villager = mock(VillagerEntity.class);
+        VillagerEntity villager = villager();
         ShepherdSpecialGoal specialGoal = mock(ShepherdSpecialGoal.class);
         ShepherdBedPlacerGoal bedPlacerGoal = mock(ShepherdBedPlacerGoal.class);
         ShepherdFencePlacerGoal fencePlacerGoal = mock(ShepherdFencePlacerGoal.class);
 
-        map("SPECIAL_GOALS").put(villager, specialGoal);
-        map("BED_PLACER_GOALS").put(villager, bedPlacerGoal);
-        map("FENCE_PLACER_GOALS").put(villager, fencePlacerGoal);
+        key("SPECIAL_GOALS").put(villager, specialGoal);
+        key("BED_PLACER_GOALS").put(villager, bedPlacerGoal);
+        key("FENCE_PLACER_GOALS").put(villager, fencePlacerGoal);
 
         when(world.getTime()).thenReturn(200L);
 
@@ -98,10 +87,17 @@ class ShepherdBehaviorChestMutationWakeSchedulerTest {
         return field.getInt(null);
     }
 
+    private static VillagerEntity villager() {
+        VillagerEntity villager = mock(VillagerEntity.class, withSettings().extraInterfaces(VillagerComponentHolder.class));
+        VillagerComponents components = new VillagerComponents();
+        when(((VillagerComponentHolder) villager).guardvillagers$getComponents()).thenReturn(components);
+        return villager;
+    }
+
     @SuppressWarnings("unchecked")
-    private static Map<Object, Object> map(String fieldName) throws Exception {
+    private static VillagerComponents.Key<Object> key(String fieldName) throws Exception {
         Field field = ShepherdBehavior.class.getDeclaredField(fieldName);
         field.setAccessible(true);
-        return (Map<Object, Object>) field.get(null);
+        return (VillagerComponents.Key<Object>) field.get(null);
     }
 }
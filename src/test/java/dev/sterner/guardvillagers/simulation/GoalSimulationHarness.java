@@ -0,0 +1,232 @@
+package dev.sterner.guardvillagers.simulation;
+
+import net.minecraft.entity.ai.goal.Goal;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Drives goals against a {@link SimulatedVillageWorld} with vanilla {@code GoalSelector} lifecycle
+ * semantics (canStart → start → tick/shouldContinue → stop) and accounts CPU time, allocated bytes
+ * and outcomes per goal class.
+ *
+ * <p>A goal that throws is recorded as an error and retired for the rest of the run so a single
+ * unsupported world interaction cannot flood the report.
+ */
+public final class GoalSimulationHarness {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final SimulatedVillageWorld world;
+    private final List<ScheduledGoal> goals = new ArrayList<>();
+    private final Map<String, GoalStats> statsByGoal = new LinkedHashMap<>();
+    private final boolean measureAllocations;
+
+    public GoalSimulationHarness(SimulatedVillageWorld world) {
+        this.world = world;
+        this.measureAllocations = THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+        if (THREADS.isThreadCpuTimeSupported()) {
+            THREADS.setThreadCpuTimeEnabled(true);
+        }
+    }
+
+    public void addGoal(String agent, Goal goal) {
+        String label = goal.getClass().getSimpleName();
+        goals.add(new ScheduledGoal(agent, goal, statsByGoal.computeIfAbsent(label, GoalStats::new)));
+    }
+
+    public int goalCount() {
+        return goals.size();
+    }
+
+    public Report run(int ticks) {
+        long wallStart = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            for (ScheduledGoal scheduled : goals) {
+                if (!scheduled.retired) {
+                    step(scheduled);
+                }
+            }
+            world.advanceTick();
+        }
+        for (ScheduledGoal scheduled : goals) {
+            if (scheduled.running && !scheduled.retired) {
+                measure(scheduled, () -> {
+                    scheduled.goal.stop();
+                    return null;
+                });
+                scheduled.stats.interrupted++;
+            }
+        }
+        return new Report(ticks, goals.size(), System.nanoTime() - wallStart, List.copyOf(statsByGoal.values()));
+    }
+
+    private void step(ScheduledGoal scheduled) {
+        GoalStats stats = scheduled.stats;
+        if (!scheduled.running) {
+            Boolean canStart = measure(scheduled, scheduled.goal::canStart);
+            if (canStart == null || !canStart) {
+                stats.idleTicks++;
+                return;
+            }
+            measure(scheduled, () -> {
+                scheduled.goal.start();
+                return null;
+            });
+            scheduled.running = !scheduled.retired;
+            stats.starts++;
+            return;
+        }
+        Boolean shouldContinue = measure(scheduled, scheduled.goal::shouldContinue);
+        if (shouldContinue == null || !shouldContinue) {
+            measure(scheduled, () -> {
+                scheduled.goal.stop();
+                return null;
+            });
+            scheduled.running = false;
+            stats.completions++;
+            return;
+        }
+        measure(scheduled, () -> {
+            scheduled.goal.tick();
+            return null;
+        });
+        stats.activeTicks++;
+    }
+
+    private <T> T measure(ScheduledGoal scheduled, Callable<T> call) {
+        GoalStats stats = scheduled.stats;
+        long threadId = Thread.currentThread().getId();
+        long cpuStart = THREADS.getCurrentThreadCpuTime();
+        long allocStart = measureAllocations ? THREADS.getThreadAllocatedBytes(threadId) : 0L;
+        try {
+            return call.call();
+        } catch (Throwable throwable) {
+            stats.errors++;
+            if (stats.firstError == null) {
+                stats.firstError = scheduled.agent + ": " + throwable;
+            }
+            scheduled.retired = true;
+            scheduled.running = false;
+            return null;
+        } finally {
+            stats.cpuNanos += THREADS.getCurrentThreadCpuTime() - cpuStart;
+            if (measureAllocations) {
+                stats.allocatedBytes += THREADS.getThreadAllocatedBytes(threadId) - allocStart;
+            }
+            stats.invocations++;
+        }
+    }
+
+    private static final class ScheduledGoal {
+        private final String agent;
+        private final Goal goal;
+        private final GoalStats stats;
+        private boolean running;
+        private boolean retired;
+
+        private ScheduledGoal(String agent, Goal goal, GoalStats stats) {
+            this.agent = agent;
+            this.goal = goal;
+            this.stats = stats;
+        }
+    }
+
+    public static final class GoalStats {
+        private final String goal;
+        private long invocations;
+        private long cpuNanos;
+        private long allocatedBytes;
+        private long starts;
+        private long completions;
+        private long interrupted;
+        private long activeTicks;
+        private long idleTicks;
+        private long errors;
+        private String firstError;
+
+        private GoalStats(String goal) {
+            this.goal = goal;
+        }
+
+        public String goal() {
+            return goal;
+        }
+
+        public long cpuNanos() {
+            return cpuNanos;
+        }
+
+        public long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public long starts() {
+            return starts;
+        }
+
+        public long completions() {
+            return completions;
+        }
+
+        public long errors() {
+            return errors;
+        }
+
+        public String firstError() {
+            return firstError;
+        }
+    }
+
+    public record Report(int ticks, int goalCount, long wallNanos, List<GoalStats> stats) {
+        public String format() {
+            StringBuilder builder = new StringBuilder();
+            builder.append(String.format(Locale.ROOT, "Village simulation: %d goals x %d ticks, wall=%.1fms%n",
+                    goalCount, ticks, wallNanos / 1_000_000.0D));
+            builder.append(String.format(Locale.ROOT, "%-40s %10s %10s %12s %8s %8s %8s %10s %10s %6s%n",
+                    "goal", "cpu_ms", "us/tick", "alloc_kb", "starts", "done", "intr", "active", "idle", "errors"));
+            for (GoalStats stat : stats) {
+                builder.append(String.format(Locale.ROOT, "%-40s %10.2f %10.3f %12d %8d %8d %8d %10d %10d %6d%n",
+                        stat.goal,
+                        stat.cpuNanos / 1_000_000.0D,
+                        ticks == 0 ? 0.0D : stat.cpuNanos / 1_000.0D / ticks,
+                        stat.allocatedBytes / 1024L,
+                        stat.starts,
+                        stat.completions,
+                        stat.interrupted,
+                        stat.activeTicks,
+                        stat.idleTicks,
+                        stat.errors));
+                if (stat.firstError != null) {
+                    builder.append("    first error: ").append(stat.firstError).append(System.lineSeparator());
+                }
+            }
+            return builder.toString();
+        }
+
+        public void writeCsv(Path file) throws IOException {
+            StringBuilder csv = new StringBuilder("goal,cpu_nanos,allocated_bytes,starts,completions,interrupted,active_ticks,idle_ticks,errors\n");
+            for (GoalStats stat : stats) {
+                csv.append(stat.goal).append(',')
+                        .append(stat.cpuNanos).append(',')
+                        .append(stat.allocatedBytes).append(',')
+                        .append(stat.starts).append(',')
+                        .append(stat.completions).append(',')
+                        .append(stat.interrupted).append(',')
+                        .append(stat.activeTicks).append(',')
+                        .append(stat.idleTicks).append(',')
+                        .append(stat.errors).append('\n');
+            }
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, csv);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package dev.sterner.guardvillagers.simulation;
+
+import dev.sterner.guardvillagers.common.entity.GuardEntity;
+import dev.sterner.guardvillagers.common.entity.LumberjackGuardEntity;
+import dev.sterner.guardvillagers.common.entity.MasonGuardEntity;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.SharedConstants;
+import net.minecraft.Bootstrap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.ChestBlockEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.ai.brain.Brain;
+import net.minecraft.entity.ai.brain.MemoryModuleType;
+import net.minecraft.entity.ai.pathing.EntityNavigation;
+import net.minecraft.entity.ai.pathing.Path;
+import net.minecraft.entity.ai.pathing.PathNode;
+import net.minecraft.entity.mob.PathAwareEntity;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.GlobalPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.village.VillagerData;
+import net.minecraft.village.VillagerProfession;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.PersistentStateManager;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Deterministic in-memory stand-in for a {@link ServerWorld}: a sparse block grid over a flat
+ * ground plane, chest inventories, a UUID entity registry, persistent states and a tick clock.
+ *
+ * <p>Entities are Mockito fakes whose positions live in this world. Navigation is "instant": any
+ * {@code startMovingTo}/{@code findPathTo} call succeeds and teleports the mob to its target, so goal
+ * pipelines progress without a pathfinder and every run with the same seed is identical.
+ */
+public final class SimulatedVillageWorld {
+    public static final int GROUND_Y = 63;
+
+    private final ServerWorld world = mock(ServerWorld.class);
+    private final MinecraftServer server = mock(MinecraftServer.class);
+    private final PersistentStateManager persistentStateManager = mock(PersistentStateManager.class);
+    private final Long2ObjectOpenHashMap<BlockState> blocks = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<BlockEntity> blockEntities = new Long2ObjectOpenHashMap<>();
+    private final Map<UUID, Entity> entities = new LinkedHashMap<>();
+    private final Map<UUID, Vec3d> positions = new HashMap<>();
+    private final Map<String, PersistentState> persistentStates = new HashMap<>();
+    private final List<ServerPlayerEntity> players = new ArrayList<>();
+    private final long seed;
+    private long time;
+
+    static {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    public SimulatedVillageWorld(long seed) {
+        this.seed = seed;
+        RegistryKey<World> key = World.OVERWORLD;
+        when(world.getRegistryKey()).thenReturn(key);
+        when(world.getTime()).thenAnswer(invocation -> time);
+        when(world.getTimeOfDay()).thenAnswer(invocation -> time);
+        when(world.getRandom()).thenReturn(Random.create(seed));
+        when(world.getBottomY()).thenReturn(-64);
+        when(world.getTopY()).thenReturn(320);
+        when(world.isChunkLoaded(any(BlockPos.class))).thenReturn(true);
+        when(world.isChunkLoaded(anyInt(), anyInt())).thenReturn(true);
+        when(world.getServer()).thenReturn(server);
+        when(world.getPersistentStateManager()).thenReturn(persistentStateManager);
+        when(server.getOverworld()).thenReturn(world);
+        when(server.getWorld(key)).thenReturn(world);
+        when(server.getWorlds()).thenReturn(List.of(world));
+        when(persistentStateManager.getOrCreate(any(PersistentState.Type.class), anyString())).thenAnswer(invocation -> {
+            PersistentState.Type<?> type = invocation.getArgument(0);
+            return persistentStates.computeIfAbsent(invocation.getArgument(1), id -> type.constructor().get());
+        });
+
+        when(world.getBlockState(any(BlockPos.class))).thenAnswer(invocation -> getBlockState(invocation.getArgument(0)));
+        when(world.isAir(any(BlockPos.class))).thenAnswer(invocation -> getBlockState(invocation.getArgument(0)).isAir());
+        when(world.setBlockState(any(BlockPos.class), any(BlockState.class))).thenAnswer(invocation ->
+                setBlockState(invocation.getArgument(0), invocation.getArgument(1)));
+        when(world.setBlockState(any(BlockPos.class), any(BlockState.class), anyInt())).thenAnswer(invocation ->
+                setBlockState(invocation.getArgument(0), invocation.getArgument(1)));
+        when(world.removeBlock(any(BlockPos.class), anyBoolean())).thenAnswer(invocation ->
+                setBlockState(invocation.getArgument(0), Blocks.AIR.getDefaultState()));
+        when(world.breakBlock(any(BlockPos.class), anyBoolean(), any())).thenAnswer(invocation ->
+                setBlockState(invocation.getArgument(0), Blocks.AIR.getDefaultState()));
+        when(world.breakBlock(any(BlockPos.class), anyBoolean())).thenAnswer(invocation ->
+                setBlockState(invocation.getArgument(0), Blocks.AIR.getDefaultState()));
+        when(world.getBlockEntity(any(BlockPos.class))).thenAnswer(invocation ->
+                blockEntities.get(((BlockPos) invocation.getArgument(0)).asLong()));
+        when(world.getTopY(any(Heightmap.Type.class), anyInt(), anyInt())).thenAnswer(invocation ->
+                topY(invocation.getArgument(1), invocation.getArgument(2)));
+        when(world.getTopPosition(any(Heightmap.Type.class), any(BlockPos.class))).thenAnswer(invocation -> {
+            BlockPos pos = invocation.getArgument(1);
+            return new BlockPos(pos.getX(), topY(pos.getX(), pos.getZ()), pos.getZ());
+        });
+
+        when(world.getEntity(any(UUID.class))).thenAnswer(invocation -> entities.get((UUID) invocation.getArgument(0)));
+        when(world.getEntitiesByClass(any(), any(Box.class), any())).thenAnswer(invocation ->
+                entitiesInBox(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+        when(world.getNonSpectatingEntities(any(), any(Box.class))).thenAnswer(invocation ->
+                entitiesInBox(invocation.getArgument(0), invocation.getArgument(1), entity -> true));
+        when(world.getPlayers()).thenAnswer(invocation -> players);
+        when(world.spawnEntity(any(Entity.class))).thenReturn(true);
+    }
+
+    public ServerWorld world() {
+        return world;
+    }
+
+    public long time() {
+        return time;
+    }
+
+    public void advanceTick() {
+        time++;
+    }
+
+    /** Puts a stationary player at {@code pos}, keeping nearby villages at full AI detail. */
+    public void placePlayer(BlockPos pos) {
+        ServerPlayerEntity player = mock(ServerPlayerEntity.class);
+        when(player.getX()).thenReturn(pos.getX() + 0.5D);
+        when(player.getZ()).thenReturn(pos.getZ() + 0.5D);
+        players.add(player);
+    }
+
+    public int entityCount() {
+        return entities.size();
+    }
+
+    public BlockState getBlockState(BlockPos pos) {
+        BlockState state = blocks.get(pos.asLong());
+        if (state != null) {
+            return state;
+        }
+        return pos.getY() <= GROUND_Y ? Blocks.DIRT.getDefaultState() : Blocks.AIR.getDefaultState();
+    }
+
+    public boolean setBlockState(BlockPos pos, BlockState state) {
+        blocks.put(pos.asLong(), state);
+        if (!state.hasBlockEntity()) {
+            blockEntities.remove(pos.asLong());
+        }
+        return true;
+    }
+
+    public void placeChest(BlockPos pos, ItemStack... contents) {
+        BlockState state = Blocks.CHEST.getDefaultState();
+        setBlockState(pos, state);
+        ChestBlockEntity chest = new ChestBlockEntity(pos.toImmutable(), state);
+        for (int i = 0; i < contents.length && i < chest.size(); i++) {
+            chest.setStack(i, contents[i].copy());
+        }
+        blockEntities.put(pos.asLong(), chest);
+    }
+
+    /** Plants a simple 5-log oak with a leaf cap at ground level. */
+    public void plantTree(BlockPos base) {
+        for (int dy = 0; dy < 5; dy++) {
+            setBlockState(base.up(dy), Blocks.OAK_LOG.getDefaultState());
+        }
+        for (int dx = -2; dx <= 2; dx++) {
+            for (int dz = -2; dz <= 2; dz++) {
+                for (int dy = 3; dy <= 5; dy++) {
+                    BlockPos leaf = base.add(dx, dy, dz);
+                    if (getBlockState(leaf).isAir()) {
+                        setBlockState(leaf, Blocks.OAK_LEAVES.getDefaultState());
+                    }
+                }
+            }
+        }
+    }
+
+    public void tillFarmland(BlockPos center, int radius) {
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                BlockPos soil = new BlockPos(center.getX() + dx, GROUND_Y, center.getZ() + dz);
+                setBlockState(soil, Blocks.FARMLAND.getDefaultState());
+                setBlockState(soil.up(), Blocks.WHEAT.getDefaultState());
+            }
+        }
+    }
+
+    public VillagerEntity spawnVillager(VillagerProfession profession, BlockPos pos, BlockPos jobSite) {
+        VillagerEntity villager = mock(VillagerEntity.class);
+        stubEntity(villager, pos);
+        VillagerData data = mock(VillagerData.class);
+        when(data.getProfession()).thenReturn(profession);
+        when(data.getLevel()).thenReturn(1);
+        when(villager.getVillagerData()).thenReturn(data);
+        @SuppressWarnings("unchecked")
+        Brain<VillagerEntity> brain = (Brain<VillagerEntity>) mock(Brain.class);
+        when(brain.getOptionalMemory(MemoryModuleType.JOB_SITE))
+                .thenReturn(Optional.of(GlobalPos.create(world.getRegistryKey(), jobSite.toImmutable())));
+        when(brain.getOptionalRegisteredMemory(MemoryModuleType.JOB_SITE))
+                .thenReturn(Optional.of(GlobalPos.create(world.getRegistryKey(), jobSite.toImmutable())));
+        when(villager.getBrain()).thenReturn(brain);
+        when(villager.getInventory()).thenReturn(new SimpleInventory(8));
+        return villager;
+    }
+
+    public LumberjackGuardEntity spawnLumberjack(BlockPos pos, BlockPos craftingTable, BlockPos chest) {
+        LumberjackGuardEntity guard = mock(LumberjackGuardEntity.class);
+        stubGuard(guard, pos);
+        when(guard.getPairedCraftingTablePos()).thenReturn(craftingTable.toImmutable());
+        when(guard.getPairedJobPos()).thenReturn(craftingTable.toImmutable());
+        when(guard.getPairedChestPos()).thenReturn(chest.toImmutable());
+        return guard;
+    }
+
+    public MasonGuardEntity spawnMason(BlockPos pos, BlockPos jobSite, BlockPos chest) {
+        MasonGuardEntity guard = mock(MasonGuardEntity.class);
+        stubGuard(guard, pos);
+        when(guard.getPairedJobPos()).thenReturn(jobSite.toImmutable());
+        when(guard.getPairedChestPos()).thenReturn(chest.toImmutable());
+        return guard;
+    }
+
+    public Vec3d positionOf(Entity entity) {
+        return positions.get(entity.getUuid());
+    }
+
+    private void stubGuard(GuardEntity guard, BlockPos pos) {
+        stubEntity(guard, pos);
+        guard.guardInventory = new SimpleInventory(6);
+        when(guard.getMainHandStack()).thenReturn(ItemStack.EMPTY);
+        when(guard.getOffHandStack()).thenReturn(ItemStack.EMPTY);
+    }
+
+    private void stubEntity(PathAwareEntity entity, BlockPos start) {
+        UUID uuid = new UUID(seed, entities.size() + 1L);
+        entities.put(uuid, entity);
+        positions.put(uuid, Vec3d.ofBottomCenter(start));
+        when(entity.getUuid()).thenReturn(uuid);
+        when(entity.getUuidAsString()).thenReturn(uuid.toString());
+        when(entity.isAlive()).thenReturn(true);
+        when(entity.isRemoved()).thenReturn(false);
+        when(entity.getWorld()).thenReturn(world);
+        when(entity.getRandom()).thenReturn(Random.create(seed ^ uuid.getLeastSignificantBits()));
+        when(entity.getPos()).thenAnswer(invocation -> positions.get(uuid));
+        when(entity.getX()).thenAnswer(invocation -> positions.get(uuid).x);
+        when(entity.getY()).thenAnswer(invocation -> positions.get(uuid).y);
+        when(entity.getZ()).thenAnswer(invocation -> positions.get(uuid).z);
+        when(entity.getBlockPos()).thenAnswer(invocation -> BlockPos.ofFloored(positions.get(uuid)));
+        when(entity.getBoundingBox()).thenAnswer(invocation -> boxAround(positions.get(uuid)));
+        when(entity.squaredDistanceTo(anyDouble(), anyDouble(), anyDouble())).thenAnswer(invocation ->
+                positions.get(uuid).squaredDistanceTo(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+        when(entity.squaredDistanceTo(any(Vec3d.class))).thenAnswer(invocation ->
+                positions.get(uuid).squaredDistanceTo((Vec3d) invocation.getArgument(0)));
+        when(entity.squaredDistanceTo(any(Entity.class))).thenAnswer(invocation ->
+                positions.get(uuid).squaredDistanceTo(((Entity) invocation.getArgument(0)).getPos()));
+
+        EntityNavigation navigation = mock(EntityNavigation.class);
+        when(navigation.isIdle()).thenReturn(true);
+        when(navigation.startMovingTo(anyDouble(), anyDouble(), anyDouble(), anyDouble())).thenAnswer(invocation -> {
+            positions.put(uuid, new Vec3d(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+            return true;
+        });
+        when(navigation.startMovingTo(any(Entity.class), anyDouble())).thenAnswer(invocation -> {
+            positions.put(uuid, ((Entity) invocation.getArgument(0)).getPos());
+            return true;
+        });
+        when(navigation.findPathTo(any(BlockPos.class), anyInt())).thenAnswer(invocation -> instantPath(invocation.getArgument(0)));
+        when(navigation.findPathTo(anyDouble(), anyDouble(), anyDouble(), anyInt())).thenAnswer(invocation ->
+                instantPath(BlockPos.ofFloored(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2))));
+        when(navigation.startMovingAlong(any(Path.class), anyDouble())).thenAnswer(invocation -> {
+            Path path = invocation.getArgument(0);
+            if (path == null) {
+                return false;
+            }
+            positions.put(uuid, Vec3d.ofBottomCenter(path.getTarget()));
+            return true;
+        });
+        when(entity.getNavigation()).thenReturn(navigation);
+    }
+
+    private static Path instantPath(BlockPos target) {
+        List<PathNode> nodes = new ArrayList<>(1);
+        nodes.add(new PathNode(target.getX(), target.getY(), target.getZ()));
+        return new Path(nodes, target.toImmutable(), true);
+    }
+
+    private int topY(int x, int z) {
+        for (int y = GROUND_Y + 32; y > GROUND_Y; y--) {
+            if (!getBlockState(new BlockPos(x, y, z)).isAir()) {
+                return y + 1;
+            }
+        }
+        return GROUND_Y + 1;
+    }
+
+    private <T extends Entity> List<T> entitiesInBox(Object filter, Box box, Predicate<? super T> predicate) {
+        Class<?> type = filter instanceof Class<?> cls ? cls : Entity.class;
+        List<T> matches = new ArrayList<>();
+        for (Map.Entry<UUID, Entity> entry : entities.entrySet()) {
+            Entity entity = entry.getValue();
+            if (!type.isInstance(entity) || !box.contains(positions.get(entry.getKey()))) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            T typed = (T) entity;
+            if (predicate.test(typed)) {
+                matches.add(typed);
+            }
+        }
+        return matches;
+    }
+
+    private static Box boxAround(Vec3d pos) {
+        return new Box(pos.x - 0.3D, pos.y, pos.z - 0.3D, pos.x + 0.3D, pos.y + 1.95D, pos.z + 0.3D);
+    }
+}
@@ -0,0 +1,112 @@
+package dev.sterner.guardvillagers.simulation;
+
+import dev.sterner.guardvillagers.common.entity.LumberjackGuardEntity;
+import dev.sterner.guardvillagers.common.entity.MasonGuardEntity;
+import dev.sterner.guardvillagers.common.entity.goal.FarmerHarvestGoal;
+import dev.sterner.guardvillagers.common.entity.goal.LumberjackGuardChopTreesGoal;
+import dev.sterner.guardvillagers.common.entity.goal.MasonWallBuilderGoal;
+import dev.sterner.guardvillagers.common.entity.goal.QuartermasterGoal;
+import dev.sterner.guardvillagers.common.util.VillageAnchorState;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.village.VillagerProfession;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Headless village load run: farmers, lumberjacks, a quartermaster and masons building a wall.
+ * Excluded from {@code test}; run with {@code ./gradlew simulateVillage}
+ * ({@code -Dguardvillagers.sim.villagers=500 -Dguardvillagers.sim.ticks=1200 -Dguardvillagers.sim.seed=1}).
+ */
+@Tag("simulation")
+class VillageLoadSimulationTest {
+    private static final BlockPos BELL = new BlockPos(0, SimulatedVillageWorld.GROUND_Y + 1, 0);
+    private static final int PLOT_SPACING = 12;
+
+    @Test
+    void simulateVillageLoad() throws Exception {
+        int villagers = Integer.getInteger("guardvillagers.sim.villagers", 500);
+        int ticks = Integer.getInteger("guardvillagers.sim.ticks", 1200);
+        long seed = Long.getLong("guardvillagers.sim.seed", 1L);
+
+        SimulatedVillageWorld sim = new SimulatedVillageWorld(seed);
+        GoalSimulationHarness harness = new GoalSimulationHarness(sim);
+        sim.placePlayer(BELL);
+
+        BlockPos qmJob = BELL.add(2, 0, 0);
+        BlockPos qmChest = BELL.add(3, 0, 0);
+        sim.setBlockState(BELL, Blocks.BELL.getDefaultState());
+        sim.setBlockState(qmJob, Blocks.LECTERN.getDefaultState());
+        sim.placeChest(qmChest, new ItemStack(Items.BREAD, 32), new ItemStack(Items.OAK_LOG, 32));
+        VillageAnchorState.get(sim.world().getServer()).register(sim.world(), qmChest);
+        VillagerEntity quartermaster = sim.spawnVillager(VillagerProfession.LIBRARIAN, qmJob.north(), qmJob);
+        harness.addGoal("quartermaster", new QuartermasterGoal(quartermaster, qmJob, qmChest));
+
+        int masons = Math.max(1, villagers / 10);
+        int lumberjacks = Math.max(1, villagers / 5);
+        int farmers = Math.max(0, villagers - masons - lumberjacks - 1);
+        int gridSide = (int) Math.ceil(Math.sqrt(villagers));
+        int plot = 0;
+        for (int i = 0; i < farmers; i++, plot++) {
+            BlockPos origin = plotOrigin(plot, gridSide);
+            BlockPos job = origin;
+            BlockPos chest = origin.east();
+            sim.setBlockState(job, Blocks.COMPOSTER.getDefaultState());
+            sim.placeChest(chest, new ItemStack(Items.WHEAT_SEEDS, 16));
+            sim.tillFarmland(origin.add(0, 0, 4), 2);
+            VillagerEntity farmer = sim.spawnVillager(VillagerProfession.FARMER, origin.north(), job);
+            harness.addGoal("farmer-" + i, new FarmerHarvestGoal(farmer, job, chest));
+        }
+        for (int i = 0; i < lumberjacks; i++, plot++) {
+            BlockPos origin = plotOrigin(plot, gridSide);
+            BlockPos chest = origin.east();
+            sim.setBlockState(origin, Blocks.CRAFTING_TABLE.getDefaultState());
+            sim.placeChest(chest);
+            sim.plantTree(origin.add(4, 0, 4));
+            sim.plantTree(origin.add(-4, 0, 4));
+            LumberjackGuardEntity lumberjack = sim.spawnLumberjack(origin.north(), origin, chest);
+            harness.addGoal("lumberjack-" + i, new LumberjackGuardChopTreesGoal(lumberjack));
+        }
+        for (int i = 0; i < masons; i++, plot++) {
+            BlockPos origin = plotOrigin(plot, gridSide);
+            BlockPos chest = origin.east();
+            sim.setBlockState(origin, Blocks.STONECUTTER.getDefaultState());
+            sim.placeChest(chest, new ItemStack(Items.COBBLESTONE, 64), new ItemStack(Items.COBBLESTONE, 64));
+            MasonGuardEntity mason = sim.spawnMason(origin.north(), origin, chest);
+            harness.addGoal("mason-" + i, new MasonWallBuilderGoal(mason));
+        }
+
+        GoalSimulationHarness.Report report = harness.run(ticks);
+        System.out.println(report.format());
+        report.writeCsv(Path.of("build", "reports", "simulation", "village-load-" + villagers + "-" + ticks + ".csv"));
+
+        assertEquals(villagers, sim.entityCount());
+        assertEquals(ticks, sim.time());
+        // The harness retires a goal on its first exception, so a goal that breaks early would
+        // otherwise sit idle for the rest of the run and still pass.
+        List<String> simulated = List.of(QuartermasterGoal.class.getSimpleName(), FarmerHarvestGoal.class.getSimpleName(),
+                LumberjackGuardChopTreesGoal.class.getSimpleName(), MasonWallBuilderGoal.class.getSimpleName());
+        assertEquals(simulated.size(), report.stats().size());
+        for (GoalSimulationHarness.GoalStats stats : report.stats()) {
+            assertTrue(simulated.contains(stats.goal()), stats.goal());
+            assertEquals(0L, stats.errors(), () -> stats.goal() + " threw: " + stats.firstError());
+            assertTrue(stats.starts() + stats.completions() > 0L, () -> stats.goal() + " never started or completed");
+        }
+    }
+
+    /** Square grid of plots centred on the bell, offset half a plot so none overlaps the quartermaster. */
+    private static BlockPos plotOrigin(int index, int gridSide) {
+        int x = index % gridSide - gridSide / 2;
+        int z = index / gridSide - gridSide / 2;
+        return BELL.add(x * PLOT_SPACING + PLOT_SPACING / 2, 0, z * PLOT_SPACING + PLOT_SPACING / 2);
+    }
+}